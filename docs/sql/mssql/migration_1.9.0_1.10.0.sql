@@ -0,0 +1,87 @@
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-version.xml::1::agent
+-- Add version column to pa_operation table.
+ALTER TABLE pa_operation ADD version bigint CONSTRAINT DF_pa_operation_version DEFAULT 0 NOT NULL;
+GO
+
+
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-archive.xml::1::agent
+-- Create a new table pa_operation_archive
+CREATE TABLE pa_operation_archive (id varchar(37) NOT NULL, user_id varchar(255), external_id varchar(255), activation_flag varchar(255), operation_type varchar(255) NOT NULL, template_name varchar(255), data varchar (max) NOT NULL, parameters varchar (max), additional_data varchar (max), status int NOT NULL, status_reason varchar(32), signature_type varchar(255) NOT NULL, failure_count bigint CONSTRAINT DF_pa_operation_archive_failure_count DEFAULT 0 NOT NULL, max_failure_count bigint NOT NULL, timestamp_created datetime2 NOT NULL, timestamp_expires datetime2 NOT NULL, timestamp_finalized datetime2, risk_flags varchar(255), totp_seed varchar(24), activation_id varchar(37), CONSTRAINT PK_PA_OPERATION_ARCHIVE PRIMARY KEY (id));
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-archive.xml::2::agent
+-- Create a new table pa_operation_archive_application
+CREATE TABLE pa_operation_archive_application (application_id bigint NOT NULL, operation_id varchar(37) NOT NULL, CONSTRAINT PK_PA_OPERATION_ARCHIVE_APPLICATION PRIMARY KEY (application_id, operation_id));
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-archive.xml::3::agent
+-- Create a new index on pa_operation_archive(external_id)
+CREATE NONCLUSTERED INDEX pa_operation_archive_ext_id_idx ON pa_operation_archive(external_id);
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-archive.xml::4::agent
+-- Create a new index on pa_operation(status, timestamp_created)
+CREATE NONCLUSTERED INDEX pa_operation_status_ts_idx ON pa_operation(status, timestamp_created);
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-cache-invalidation-event.xml::1::agent
+-- Create a new table pa_cache_invalidation_event
+CREATE TABLE pa_cache_invalidation_event (id bigint NOT NULL, node_id varchar(255) NOT NULL, event_type varchar(32) NOT NULL, event_key varchar(255) NOT NULL, timestamp_created datetime2(6) NOT NULL, CONSTRAINT PK_PA_CACHE_INVALIDATION_EVENT PRIMARY KEY (id));
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-cache-invalidation-event.xml::2::agent
+-- Create a new index on pa_cache_invalidation_event(timestamp_created)
+CREATE NONCLUSTERED INDEX pa_cache_invalidation_event_ts_idx ON pa_cache_invalidation_event(timestamp_created);
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-cache-invalidation-event.xml::3::agent
+-- Create a new sequence pa_cache_invalidation_event_seq
+CREATE SEQUENCE pa_cache_invalidation_event_seq START WITH 1 INCREMENT BY 50;
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-activation-flag.xml::1::agent
+-- Create a new table pa_activation_flag
+CREATE TABLE pa_activation_flag (activation_id varchar(37) NOT NULL, flag varchar(255) NOT NULL, CONSTRAINT PK_PA_ACTIVATION_FLAG PRIMARY KEY (activation_id, flag), CONSTRAINT pa_activation_flag_activation_id_fk FOREIGN KEY (activation_id) REFERENCES pa_activation(activation_id));
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-activation-flag.xml::2::agent
+-- Create a new index on pa_activation_flag(flag)
+CREATE NONCLUSTERED INDEX pa_activation_flag_flag_idx ON pa_activation_flag(flag);
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-activation-flag.xml::3::agent
+-- Copy activation flags from pa_activation(flags) to pa_activation_flag
+INSERT INTO pa_activation_flag (activation_id, flag)
+            SELECT DISTINCT a.activation_id, f.value FROM pa_activation a CROSS APPLY OPENJSON(a.flags) f
+            WHERE a.flags IS NOT NULL AND a.flags <> '[]';
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-pooled-sequences.xml::1::agent
+-- Set increment of the sequence pa_activation_history_seq to 50
+ALTER SEQUENCE pa_activation_history_seq INCREMENT BY 50;
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-pooled-sequences.xml::2::agent
+-- Set increment of the sequence pa_signature_audit_seq to 50
+ALTER SEQUENCE pa_signature_audit_seq INCREMENT BY 50;
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-encryption-progress.xml::1::agent
+-- Create a new table pa_encryption_progress
+CREATE TABLE pa_encryption_progress (target varchar(32) NOT NULL, last_id varchar(255), records_encrypted bigint NOT NULL, timestamp_last_change datetime2(6) NOT NULL, timestamp_completed datetime2(6), CONSTRAINT PK_PA_ENCRYPTION_PROGRESS PRIMARY KEY (target));
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-encryption-progress.xml::2::agent
+-- Add records_failed column to pa_encryption_progress table.
+ALTER TABLE pa_encryption_progress ADD records_failed bigint CONSTRAINT DF_pa_encryption_progress_records_failed DEFAULT 0 NOT NULL;
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-encryption-progress.xml::3::agent
+-- Add key_fingerprint column to pa_encryption_progress table.
+ALTER TABLE pa_encryption_progress ADD key_fingerprint varchar(64);
+GO
+
+-- Changeset powerauth-java-server/1.10.x/20261019-activation-external-id-index.xml::1::agent
+-- Create a new index on pa_activation(application_id, external_id)
+CREATE NONCLUSTERED INDEX pa_activation_app_ext_id_idx ON pa_activation(application_id, external_id);
+GO
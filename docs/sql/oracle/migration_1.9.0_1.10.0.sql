@@ -0,0 +1,70 @@
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-version.xml::1::agent
+-- Add version column to pa_operation table.
+ALTER TABLE pa_operation ADD version NUMBER(38, 0) DEFAULT 0 NOT NULL;
+
+
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-archive.xml::1::agent
+-- Create a new table pa_operation_archive
+CREATE TABLE pa_operation_archive (id VARCHAR2(37) NOT NULL, user_id VARCHAR2(255), external_id VARCHAR2(255), activation_flag VARCHAR2(255), operation_type VARCHAR2(255) NOT NULL, template_name VARCHAR2(255), data CLOB NOT NULL, parameters CLOB, additional_data CLOB, status INTEGER NOT NULL, status_reason VARCHAR2(32), signature_type VARCHAR2(255) NOT NULL, failure_count NUMBER(38, 0) DEFAULT 0 NOT NULL, max_failure_count NUMBER(38, 0) NOT NULL, timestamp_created TIMESTAMP NOT NULL, timestamp_expires TIMESTAMP NOT NULL, timestamp_finalized TIMESTAMP, risk_flags VARCHAR2(255), totp_seed VARCHAR2(24), activation_id VARCHAR2(37), CONSTRAINT PK_PA_OPERATION_ARCHIVE PRIMARY KEY (id));
+
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-archive.xml::2::agent
+-- Create a new table pa_operation_archive_application
+CREATE TABLE pa_operation_archive_application (application_id NUMBER(38, 0) NOT NULL, operation_id VARCHAR2(37) NOT NULL, CONSTRAINT PK_PA_OPERATION_ARCHIVE_APPLICATION PRIMARY KEY (application_id, operation_id));
+
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-archive.xml::3::agent
+-- Create a new index on pa_operation_archive(external_id)
+CREATE INDEX pa_operation_archive_ext_id_idx ON pa_operation_archive(external_id);
+
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-archive.xml::4::agent
+-- Create a new index on pa_operation(status, timestamp_created)
+CREATE INDEX pa_operation_status_ts_idx ON pa_operation(status, timestamp_created);
+
+-- Changeset powerauth-java-server/1.10.x/20261019-cache-invalidation-event.xml::1::agent
+-- Create a new table pa_cache_invalidation_event
+CREATE TABLE pa_cache_invalidation_event (id NUMBER(38, 0) NOT NULL, node_id VARCHAR2(255) NOT NULL, event_type VARCHAR2(32) NOT NULL, event_key VARCHAR2(255) NOT NULL, timestamp_created TIMESTAMP(6) NOT NULL, CONSTRAINT PK_PA_CACHE_INVALIDATION_EVENT PRIMARY KEY (id));
+
+-- Changeset powerauth-java-server/1.10.x/20261019-cache-invalidation-event.xml::2::agent
+-- Create a new index on pa_cache_invalidation_event(timestamp_created)
+CREATE INDEX pa_cache_invalidation_event_ts_idx ON pa_cache_invalidation_event(timestamp_created);
+
+-- Changeset powerauth-java-server/1.10.x/20261019-cache-invalidation-event.xml::3::agent
+-- Create a new sequence pa_cache_invalidation_event_seq
+CREATE SEQUENCE pa_cache_invalidation_event_seq START WITH 1 INCREMENT BY 50 CACHE 20;
+
+-- Changeset powerauth-java-server/1.10.x/20261019-activation-flag.xml::1::agent
+-- Create a new table pa_activation_flag
+CREATE TABLE pa_activation_flag (activation_id VARCHAR2(37) NOT NULL, flag VARCHAR2(255) NOT NULL, CONSTRAINT PK_PA_ACTIVATION_FLAG PRIMARY KEY (activation_id, flag), CONSTRAINT pa_activation_flag_activation_id_fk FOREIGN KEY (activation_id) REFERENCES pa_activation(activation_id));
+
+-- Changeset powerauth-java-server/1.10.x/20261019-activation-flag.xml::2::agent
+-- Create a new index on pa_activation_flag(flag)
+CREATE INDEX pa_activation_flag_flag_idx ON pa_activation_flag(flag);
+
+-- Changeset powerauth-java-server/1.10.x/20261019-activation-flag.xml::3::agent
+-- Copy activation flags from pa_activation(flags) to pa_activation_flag
+INSERT INTO pa_activation_flag (activation_id, flag)
+            SELECT DISTINCT a.activation_id, f.flag FROM pa_activation a, JSON_TABLE(a.flags, '$[*]' COLUMNS (flag VARCHAR2(255) PATH '$')) f
+            WHERE a.flags IS NOT NULL AND a.flags <> '[]';
+
+-- Changeset powerauth-java-server/1.10.x/20261019-pooled-sequences.xml::1::agent
+-- Set increment of the sequence pa_activation_history_seq to 50
+ALTER SEQUENCE pa_activation_history_seq INCREMENT BY 50;
+
+-- Changeset powerauth-java-server/1.10.x/20261019-pooled-sequences.xml::2::agent
+-- Set increment of the sequence pa_signature_audit_seq to 50
+ALTER SEQUENCE pa_signature_audit_seq INCREMENT BY 50;
+
+-- Changeset powerauth-java-server/1.10.x/20261019-encryption-progress.xml::1::agent
+-- Create a new table pa_encryption_progress
+CREATE TABLE pa_encryption_progress (target VARCHAR2(32) NOT NULL, last_id VARCHAR2(255), records_encrypted NUMBER(38, 0) NOT NULL, timestamp_last_change TIMESTAMP(6) NOT NULL, timestamp_completed TIMESTAMP(6), CONSTRAINT PK_PA_ENCRYPTION_PROGRESS PRIMARY KEY (target));
+
+-- Changeset powerauth-java-server/1.10.x/20261019-encryption-progress.xml::2::agent
+-- Add records_failed column to pa_encryption_progress table.
+ALTER TABLE pa_encryption_progress ADD records_failed NUMBER(38, 0) DEFAULT 0 NOT NULL;
+
+-- Changeset powerauth-java-server/1.10.x/20261019-encryption-progress.xml::3::agent
+-- Add key_fingerprint column to pa_encryption_progress table.
+ALTER TABLE pa_encryption_progress ADD key_fingerprint VARCHAR2(64);
+
+-- Changeset powerauth-java-server/1.10.x/20261019-activation-external-id-index.xml::1::agent
+-- Create a new index on pa_activation(application_id, external_id)
+CREATE INDEX pa_activation_app_ext_id_idx ON pa_activation(application_id, external_id);
@@ -0,0 +1,70 @@
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-version.xml::1::agent
+-- Add version column to pa_operation table.
+ALTER TABLE pa_operation ADD version BIGINT DEFAULT 0 NOT NULL;
+
+
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-archive.xml::1::agent
+-- Create a new table pa_operation_archive
+CREATE TABLE pa_operation_archive (id VARCHAR(37) NOT NULL, user_id VARCHAR(255), external_id VARCHAR(255), activation_flag VARCHAR(255), operation_type VARCHAR(255) NOT NULL, template_name VARCHAR(255), data TEXT NOT NULL, parameters TEXT, additional_data TEXT, status INTEGER NOT NULL, status_reason VARCHAR(32), signature_type VARCHAR(255) NOT NULL, failure_count BIGINT DEFAULT 0 NOT NULL, max_failure_count BIGINT NOT NULL, timestamp_created TIMESTAMP WITHOUT TIME ZONE NOT NULL, timestamp_expires TIMESTAMP WITHOUT TIME ZONE NOT NULL, timestamp_finalized TIMESTAMP WITHOUT TIME ZONE, risk_flags VARCHAR(255), totp_seed VARCHAR(24), activation_id VARCHAR(37), CONSTRAINT pa_operation_archive_pkey PRIMARY KEY (id));
+
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-archive.xml::2::agent
+-- Create a new table pa_operation_archive_application
+CREATE TABLE pa_operation_archive_application (application_id BIGINT NOT NULL, operation_id VARCHAR(37) NOT NULL, CONSTRAINT pa_operation_archive_application_pkey PRIMARY KEY (application_id, operation_id));
+
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-archive.xml::3::agent
+-- Create a new index on pa_operation_archive(external_id)
+CREATE INDEX pa_operation_archive_ext_id_idx ON pa_operation_archive(external_id);
+
+-- Changeset powerauth-java-server/1.10.x/20261019-operation-archive.xml::4::agent
+-- Create a new index on pa_operation(status, timestamp_created)
+CREATE INDEX pa_operation_status_ts_idx ON pa_operation(status, timestamp_created);
+
+-- Changeset powerauth-java-server/1.10.x/20261019-cache-invalidation-event.xml::1::agent
+-- Create a new table pa_cache_invalidation_event
+CREATE TABLE pa_cache_invalidation_event (id BIGINT NOT NULL, node_id VARCHAR(255) NOT NULL, event_type VARCHAR(32) NOT NULL, event_key VARCHAR(255) NOT NULL, timestamp_created TIMESTAMP(6) WITHOUT TIME ZONE NOT NULL, CONSTRAINT pa_cache_invalidation_event_pkey PRIMARY KEY (id));
+
+-- Changeset powerauth-java-server/1.10.x/20261019-cache-invalidation-event.xml::2::agent
+-- Create a new index on pa_cache_invalidation_event(timestamp_created)
+CREATE INDEX pa_cache_invalidation_event_ts_idx ON pa_cache_invalidation_event(timestamp_created);
+
+-- Changeset powerauth-java-server/1.10.x/20261019-cache-invalidation-event.xml::3::agent
+-- Create a new sequence pa_cache_invalidation_event_seq
+CREATE SEQUENCE  IF NOT EXISTS pa_cache_invalidation_event_seq START WITH 1 INCREMENT BY 50 CACHE 20;
+
+-- Changeset powerauth-java-server/1.10.x/20261019-activation-flag.xml::1::agent
+-- Create a new table pa_activation_flag
+CREATE TABLE pa_activation_flag (activation_id VARCHAR(37) NOT NULL, flag VARCHAR(255) NOT NULL, CONSTRAINT pa_activation_flag_pkey PRIMARY KEY (activation_id, flag), CONSTRAINT pa_activation_flag_activation_id_fk FOREIGN KEY (activation_id) REFERENCES pa_activation(activation_id));
+
+-- Changeset powerauth-java-server/1.10.x/20261019-activation-flag.xml::2::agent
+-- Create a new index on pa_activation_flag(flag)
+CREATE INDEX pa_activation_flag_flag_idx ON pa_activation_flag(flag);
+
+-- Changeset powerauth-java-server/1.10.x/20261019-activation-flag.xml::3::agent
+-- Copy activation flags from pa_activation(flags) to pa_activation_flag
+INSERT INTO pa_activation_flag (activation_id, flag)
+            SELECT DISTINCT a.activation_id, f.flag FROM pa_activation a, jsonb_array_elements_text(a.flags::jsonb) AS f(flag)
+            WHERE a.flags IS NOT NULL AND a.flags <> '[]';
+
+-- Changeset powerauth-java-server/1.10.x/20261019-pooled-sequences.xml::1::agent
+-- Set increment of the sequence pa_activation_history_seq to 50
+ALTER SEQUENCE pa_activation_history_seq INCREMENT BY 50;
+
+-- Changeset powerauth-java-server/1.10.x/20261019-pooled-sequences.xml::2::agent
+-- Set increment of the sequence pa_signature_audit_seq to 50
+ALTER SEQUENCE pa_signature_audit_seq INCREMENT BY 50;
+
+-- Changeset powerauth-java-server/1.10.x/20261019-encryption-progress.xml::1::agent
+-- Create a new table pa_encryption_progress
+CREATE TABLE pa_encryption_progress (target VARCHAR(32) NOT NULL, last_id VARCHAR(255), records_encrypted BIGINT NOT NULL, timestamp_last_change TIMESTAMP(6) WITHOUT TIME ZONE NOT NULL, timestamp_completed TIMESTAMP(6) WITHOUT TIME ZONE, CONSTRAINT pa_encryption_progress_pkey PRIMARY KEY (target));
+
+-- Changeset powerauth-java-server/1.10.x/20261019-encryption-progress.xml::2::agent
+-- Add records_failed column to pa_encryption_progress table.
+ALTER TABLE pa_encryption_progress ADD records_failed BIGINT DEFAULT 0 NOT NULL;
+
+-- Changeset powerauth-java-server/1.10.x/20261019-encryption-progress.xml::3::agent
+-- Add key_fingerprint column to pa_encryption_progress table.
+ALTER TABLE pa_encryption_progress ADD key_fingerprint VARCHAR(64);
+
+-- Changeset powerauth-java-server/1.10.x/20261019-activation-external-id-index.xml::1::agent
+-- Create a new index on pa_activation(application_id, external_id)
+CREATE INDEX pa_activation_app_ext_id_idx ON pa_activation(application_id, external_id);
@@ -172,6 +172,27 @@ public interface PowerAuthClient {
     @Deprecated
     InitActivationResponse initActivation(String userId, String applicationId, Long maxFailureCount, Date timestampActivationExpire,
                                           ActivationOtpValidation otpValidation, String otp) throws PowerAuthClientException;
+
+    /**
+     * Initialize activations of several users of an application in a single batch. Either all activations are initialized or none of them.
+     *
+     * @param request {@link InitActivationBatchRequest} instance
+     * @return {@link InitActivationBatchResponse}
+     * @throws PowerAuthClientException In case REST API call fails.
+     */
+    InitActivationBatchResponse initActivationBatch(InitActivationBatchRequest request) throws PowerAuthClientException;
+
+    /**
+     * Initialize activations of several users of an application in a single batch. Either all activations are initialized or none of them.
+     *
+     * @param request {@link InitActivationBatchRequest} instance
+     * @param queryParams HTTP query parameters.
+     * @param httpHeaders HTTP headers.
+     * @return {@link InitActivationBatchResponse}
+     * @throws PowerAuthClientException In case REST API call fails.
+     */
+    InitActivationBatchResponse initActivationBatch(InitActivationBatchRequest request, MultiValueMap<String, String> queryParams, MultiValueMap<String, String> httpHeaders) throws PowerAuthClientException;
+
     /**
      * Call the prepareActivation method of the PowerAuth 3.0 Server interface.
      *
@@ -1958,6 +1979,24 @@ public interface PowerAuthClient {
      */
     OperationDetailResponse createOperation(OperationCreateRequest request, MultiValueMap<String, String> queryParams, MultiValueMap<String, String> httpHeaders) throws PowerAuthClientException;
 
+    /**
+     * Create new operations in a single batch. Either all operations are created or none of them.
+     * @param request Create operation batch request.
+     * @return Create operation batch response.
+     * @throws PowerAuthClientException In case REST API call fails.
+     */
+    OperationCreateBatchResponse createOperationBatch(OperationCreateBatchRequest request) throws PowerAuthClientException;
+
+    /**
+     * Create new operations in a single batch. Either all operations are created or none of them.
+     * @param request Create operation batch request.
+     * @param queryParams HTTP query parameters.
+     * @param httpHeaders HTTP headers.
+     * @return Create operation batch response.
+     * @throws PowerAuthClientException In case REST API call fails.
+     */
+    OperationCreateBatchResponse createOperationBatch(OperationCreateBatchRequest request, MultiValueMap<String, String> queryParams, MultiValueMap<String, String> httpHeaders) throws PowerAuthClientException;
+
     /**
      * Get operation detail.
      * @param request Operation detail request.
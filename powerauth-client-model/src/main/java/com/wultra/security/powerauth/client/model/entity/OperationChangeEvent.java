@@ -0,0 +1,47 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.wultra.security.powerauth.client.model.entity;
+
+import com.wultra.security.powerauth.client.model.enumeration.OperationStatus;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Model class representing a change of an operation pushed to subscribers.
+ * The event intentionally does not contain operation data and parameters, use operation detail to obtain them.
+ *
+ * @author agent, agent@local
+ */
+@Data
+public class OperationChangeEvent {
+
+    private String operationId;
+    private String userId;
+    private List<String> applications = new ArrayList<>();
+    private String externalId;
+    private String operationType;
+    private OperationStatus status;
+    private Date timestampCreated;
+    private Date timestampExpires;
+    private Date timestampFinalized;
+
+}
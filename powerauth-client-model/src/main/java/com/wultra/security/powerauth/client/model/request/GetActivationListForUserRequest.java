@@ -25,6 +25,7 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
+import java.util.Date;
 import java.util.Set;
 
 /**
@@ -43,6 +44,10 @@ public class GetActivationListForUserRequest {
     private Integer pageNumber;
     @Min(1)
     private Integer pageSize;
+    @Schema(description = "Creation timestamp of the last item of the previous page. When specified together with the activation ID, the next page is fetched by keyset pagination and the page number is ignored.")
+    private Date afterTimestampCreated;
+    @Schema(description = "Activation ID of the last item of the previous page, used together with the creation timestamp.")
+    private String afterActivationId;
 
     @Schema(description = "Optional statuses according to which activations should be filtered. Return all activations if empty.")
     private Set<ActivationStatus> activationStatuses;
@@ -0,0 +1,55 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.wultra.security.powerauth.client.model.request;
+
+import com.wultra.security.powerauth.client.model.enumeration.CommitPhase;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Request method for initializing activations of several users in a single batch.
+ *
+ * @author agent, agent@local
+ */
+@Data
+public class InitActivationBatchRequest {
+
+    @Schema(description = "Application ID", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String applicationId;
+
+    @Schema(description = "User IDs, an activation is initialized for each of them", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<String> userIds = new ArrayList<>();
+
+    @Schema(description = "Timestamp when the activations expire when not completed")
+    private Date timestampActivationExpire;
+
+    @Schema(description = "Maximum number of failed attempts of the activations")
+    private Long maxFailureCount;
+
+    @Schema(description = "Phase in which the activations are committed")
+    private CommitPhase commitPhase;
+
+    @Schema(description = "Activation flags")
+    private List<String> flags = new ArrayList<>();
+
+}
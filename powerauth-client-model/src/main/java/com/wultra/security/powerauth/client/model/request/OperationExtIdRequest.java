@@ -18,10 +18,12 @@
 
 package com.wultra.security.powerauth.client.model.request;
 
+import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Min;
 import lombok.Data;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -38,5 +40,9 @@ public class OperationExtIdRequest {
     private Integer pageNumber;
     @Min(1)
     private Integer pageSize;
+    @Schema(description = "Creation timestamp of the last item of the previous page. When specified together with the operation ID, the next page is fetched by keyset pagination and the page number is ignored.")
+    private Date afterTimestampCreated;
+    @Schema(description = "Operation ID of the last item of the previous page, used together with the creation timestamp.")
+    private String afterId;
 
 }
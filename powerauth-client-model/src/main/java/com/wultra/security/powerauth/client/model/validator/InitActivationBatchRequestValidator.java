@@ -0,0 +1,51 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.wultra.security.powerauth.client.model.validator;
+
+import com.wultra.security.powerauth.client.model.request.InitActivationBatchRequest;
+
+/**
+ * Validator for InitActivationBatchRequest class.
+ *
+ * @author agent, agent@local
+ */
+public class InitActivationBatchRequestValidator {
+
+    public static String validate(InitActivationBatchRequest source) {
+        if (source == null) {
+            return "Init activation batch request must not be null";
+        }
+        if (source.getApplicationId() == null) {
+            return "Application ID must not be null when initializing activation batch";
+        }
+        if (source.getUserIds() == null || source.getUserIds().isEmpty()) {
+            return "User IDs must not be null or empty when initializing activation batch";
+        }
+        for (String userId : source.getUserIds()) {
+            if (userId == null || userId.isEmpty() || userId.length() > 255) {
+                return "Invalid user ID when initializing activation batch";
+            }
+        }
+        if (source.getMaxFailureCount() != null && source.getMaxFailureCount() <= 0) {
+            return "Max failure count must be positive when initializing activation batch";
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.wultra.security.powerauth.client.model.validator;
+
+import com.wultra.security.powerauth.client.model.request.OperationChangeSubscribeRequest;
+
+/**
+ * Validator for OperationChangeSubscribeRequest class.
+ *
+ * @author agent, agent@local
+ */
+public class OperationChangeSubscribeRequestValidator {
+
+    public static String validate(OperationChangeSubscribeRequest source) {
+        if (source == null) {
+            return "Operation change subscribe request must not be null";
+        }
+        final boolean userIdMissing = source.getUserId() == null || source.getUserId().isEmpty();
+        final boolean applicationIdMissing = source.getApplicationId() == null || source.getApplicationId().isEmpty();
+        if (userIdMissing && applicationIdMissing) {
+            return "User ID or application ID must be specified when subscribing to operation changes";
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.wultra.security.powerauth.client.model.validator;
+
+import com.wultra.security.powerauth.client.model.request.OperationCreateBatchRequest;
+import com.wultra.security.powerauth.client.model.request.OperationCreateRequest;
+
+/**
+ * Validator for OperationCreateBatchRequest class.
+ *
+ * @author agent, agent@local
+ */
+public class OperationCreateBatchRequestValidator {
+
+    public static String validate(OperationCreateBatchRequest source) {
+        if (source == null) {
+            return "Operation create batch request must not be null";
+        }
+        if (source.getOperations() == null || source.getOperations().isEmpty()) {
+            return "Operations must not be null or empty when creating operation batch";
+        }
+        for (OperationCreateRequest operation : source.getOperations()) {
+            final String error = OperationCreateRequestValidator.validate(operation);
+            if (error != null) {
+                return error;
+            }
+        }
+        return null;
+    }
+
+}
@@ -40,6 +40,9 @@ public class OperationExtIdRequestValidator {
         if (source.getExternalId().isEmpty()) {
             return "External ID must not be empty when requesting operation lookup by external ID";
         }
+        if ((source.getAfterTimestampCreated() == null) != (source.getAfterId() == null)) {
+            return "Timestamp created and operation ID must be specified together when requesting next page of operation lookup by external ID";
+        }
         return null;
     }
 
@@ -40,6 +40,9 @@ public class OperationListForUserRequestValidator {
         if (source.getUserId().isEmpty()) {
             return "User ID must not be empty when requesting operation list";
         }
+        if ((source.getAfterTimestampCreated() == null) != (source.getAfterId() == null)) {
+            return "Timestamp created and operation ID must be specified together when requesting next page of operation list";
+        }
         return null;
     }
 
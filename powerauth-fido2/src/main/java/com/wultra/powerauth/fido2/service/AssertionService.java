@@ -45,6 +45,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
 
 /**
  * Service related to handling assertions.
@@ -103,35 +104,34 @@ public class AssertionService {
             final AuthenticatorData authenticatorData = wrapper.authenticatorData();
             final String challenge = clientDataJSON.getChallenge();
 
-            // Obtain clean credential ID encoded in Base64
+            // Obtain clean credential ID encoded in Base64, look up also the trimmed version in the same query
             String credentialId = request.getCredentialId();
+            final String credentialIdTrimmed = trimCredentialId(credentialId);
+            final List<String> credentialIds = credentialIdTrimmed != null ? List.of(credentialId, credentialIdTrimmed) : List.of(credentialId);
+            logger.debug("Looking up authenticator for credential IDs: {}, application ID: {}", credentialIds, applicationId);
+            final List<AuthenticatorDetail> authenticators = authenticatorProvider.findByCredentialIds(credentialIds, applicationId);
+
             AuthenticatorDetail authenticatorDetail;
             try {
-                logger.debug("Looking up authenticator for credential ID: {}, application ID: {}", credentialId, applicationId);
-                authenticatorDetail = getAuthenticatorDetail(credentialId, applicationId);
+                authenticatorDetail = getAuthenticatorDetail(authenticators, credentialId);
                 logger.info("Found authenticator with ID: {}, for credential ID: {}, application ID: {}", authenticatorDetail.getActivationId(), credentialId, applicationId);
             } catch (Fido2AuthenticationFailedException ex) {
-                logger.debug("Authenticator lookup failed, trying find trimmed version.");
-                // Try to find trimmed credential ID
-                final byte[] credentialIdBytes = Base64.getDecoder().decode(credentialId);
-                if (credentialIdBytes.length > 32) {
-                   final String credentialIdTrimmed = Base64.getEncoder().encodeToString(Arrays.copyOfRange(credentialIdBytes, 0, 32));
-                    logger.debug("Looking up authenticator for trimmed credential ID: {}, application ID: {}", credentialIdTrimmed, applicationId);
-                    authenticatorDetail = getAuthenticatorDetail(credentialIdTrimmed, applicationId);
-                    // Check if trimming is supported
-                    final String aaguid = (String) authenticatorDetail.getExtras().get("aaguid");
-                    final boolean isWultraModel = Fido2DefaultAuthenticators.isWultraModel(aaguid);
-                    if (isWultraModel) {
-                        logger.info("Found authenticator with ID: {}, for trimmed credential ID: {}, application ID: {}, with AAGUID: {}", authenticatorDetail.getActivationId(), credentialIdTrimmed, applicationId, aaguid);
-                        credentialId = credentialIdTrimmed;
-                    } else {
-                        logger.debug("Trimmed credentials are only supported for Wultra models, found trimmed credential ID: {}, application ID: {}, with AAGUID: {}", credentialIdTrimmed, applicationId, aaguid);
-                        throw ex;
-                    }
-                } else {
+                if (credentialIdTrimmed == null) {
                     logger.debug("Credential ID: {}, does not have sufficient length (32 bytes) to use trimmed version", credentialId);
                     throw ex;
                 }
+                logger.debug("Authenticator lookup failed, trying trimmed credential ID: {}, application ID: {}", credentialIdTrimmed, applicationId);
+                authenticatorDetail = getAuthenticatorDetail(authenticators, credentialIdTrimmed);
+                // Check if trimming is supported
+                final String aaguid = (String) authenticatorDetail.getExtras().get("aaguid");
+                final boolean isWultraModel = Fido2DefaultAuthenticators.isWultraModel(aaguid);
+                if (isWultraModel) {
+                    logger.info("Found authenticator with ID: {}, for trimmed credential ID: {}, application ID: {}, with AAGUID: {}", authenticatorDetail.getActivationId(), credentialIdTrimmed, applicationId, aaguid);
+                    credentialId = credentialIdTrimmed;
+                } else {
+                    logger.debug("Trimmed credentials are only supported for Wultra models, found trimmed credential ID: {}, application ID: {}, with AAGUID: {}", credentialIdTrimmed, applicationId, aaguid);
+                    throw ex;
+                }
             }
 
             if (authenticatorDetail.getActivationStatus() == ActivationStatus.ACTIVE) {
@@ -152,9 +152,34 @@ public class AssertionService {
         }
     }
 
-    private AuthenticatorDetail getAuthenticatorDetail(String credentialId, String applicationId) throws Fido2AuthenticationFailedException {
-        return authenticatorProvider.findByCredentialId(credentialId, applicationId)
-                .orElseThrow(() -> new Fido2AuthenticationFailedException("Invalid request"));
+    /**
+     * Trim the credential ID to 32 bytes, Wultra authenticators may be registered with the trimmed credential ID.
+     *
+     * @param credentialId Credential ID encoded in Base64.
+     * @return Trimmed credential ID encoded in Base64, null if the credential ID is not longer than 32 bytes or it is not encoded in Base64.
+     */
+    private static String trimCredentialId(String credentialId) {
+        final byte[] credentialIdBytes;
+        try {
+            credentialIdBytes = Base64.getDecoder().decode(credentialId);
+        } catch (IllegalArgumentException ex) {
+            logger.debug("Credential ID: {}, is not encoded in Base64, trimmed version is not used", credentialId);
+            return null;
+        }
+        if (credentialIdBytes.length <= 32) {
+            return null;
+        }
+        return Base64.getEncoder().encodeToString(Arrays.copyOfRange(credentialIdBytes, 0, 32));
+    }
+
+    private static AuthenticatorDetail getAuthenticatorDetail(List<AuthenticatorDetail> authenticators, String credentialId) throws Fido2AuthenticationFailedException {
+        final List<AuthenticatorDetail> matching = authenticators.stream()
+                .filter(authenticator -> credentialId.equals(authenticator.getCredentialId()))
+                .toList();
+        if (matching.size() != 1) {
+            throw new Fido2AuthenticationFailedException("Invalid request");
+        }
+        return matching.get(0);
     }
 
 }
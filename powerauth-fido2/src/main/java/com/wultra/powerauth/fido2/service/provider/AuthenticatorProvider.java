@@ -62,4 +62,14 @@ public interface AuthenticatorProvider {
      */
     Optional<AuthenticatorDetail> findByCredentialId(String credentialId, String applicationId) throws Fido2AuthenticationFailedException;
 
+    /**
+     * Find authenticators by any of the given credential identifiers using a single lookup.
+     *
+     * @param credentialIds Credential identifiers.
+     * @param applicationId Application identifier.
+     * @return Authenticator detail list, empty if no authenticator is found.
+     * @throws Fido2AuthenticationFailedException Thrown in case lookup fails.
+     */
+    List<AuthenticatorDetail> findByCredentialIds(List<String> credentialIds, String applicationId) throws Fido2AuthenticationFailedException;
+
 }
@@ -0,0 +1,195 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.wultra.powerauth.fido2.service;
+
+import com.wultra.powerauth.fido2.errorhandling.Fido2AuthenticationFailedException;
+import com.wultra.powerauth.fido2.rest.model.converter.AssertionConverter;
+import com.wultra.powerauth.fido2.rest.model.converter.AssertionVerificationRequestWrapperConverter;
+import com.wultra.powerauth.fido2.rest.model.entity.AuthenticatorData;
+import com.wultra.powerauth.fido2.rest.model.entity.CollectedClientData;
+import com.wultra.powerauth.fido2.rest.model.request.AssertionVerificationRequestWrapper;
+import com.wultra.powerauth.fido2.rest.model.validator.AssertionRequestValidator;
+import com.wultra.powerauth.fido2.service.provider.AssertionProvider;
+import com.wultra.powerauth.fido2.service.provider.AuthenticatorProvider;
+import com.wultra.powerauth.fido2.service.provider.CryptographyService;
+import com.wultra.security.powerauth.fido2.model.entity.AuthenticatorDetail;
+import com.wultra.security.powerauth.fido2.model.enumeration.ActivationStatus;
+import com.wultra.security.powerauth.fido2.model.request.AssertionVerificationRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test of {@link AssertionService}
+ *
+ * @author agent, agent@local
+ */
+@ExtendWith(MockitoExtension.class)
+class AssertionServiceTest {
+
+    private static final String WA1_AAGUID = "dca09ba7-4992-4be8-9283-ee98cd6fb529";
+    private static final String OTHER_AAGUID = "00000000-0000-0000-0000-000000000000";
+    private static final String APPLICATION_ID = "app";
+    private static final String CHALLENGE = "challenge";
+
+    private static final byte[] CREDENTIAL_ID_BYTES = createCredentialIdBytes();
+    private static final String CREDENTIAL_ID = Base64.getEncoder().encodeToString(CREDENTIAL_ID_BYTES);
+    private static final String CREDENTIAL_ID_TRIMMED = Base64.getEncoder().encodeToString(Arrays.copyOfRange(CREDENTIAL_ID_BYTES, 0, 32));
+
+    @Mock
+    private CryptographyService cryptographyService;
+
+    @Mock
+    private AuthenticatorProvider authenticatorProvider;
+
+    @Mock
+    private AssertionProvider assertionProvider;
+
+    @Mock
+    private AssertionConverter assertionConverter;
+
+    @Mock
+    private AssertionRequestValidator assertionRequestValidator;
+
+    @Mock
+    private AssertionVerificationRequestWrapperConverter assertionVerificationRequestWrapperConverter;
+
+    @InjectMocks
+    private AssertionService tested;
+
+    @Test
+    void testAuthenticate_fullCredentialId() throws Exception {
+        final AssertionVerificationRequest request = createRequest();
+        final AssertionVerificationRequestWrapper wrapper = createWrapper(request);
+        final AuthenticatorDetail authenticator = createAuthenticator(CREDENTIAL_ID, OTHER_AAGUID);
+        final AuthenticatorDetail authenticatorTrimmed = createAuthenticator(CREDENTIAL_ID_TRIMMED, WA1_AAGUID);
+
+        when(assertionVerificationRequestWrapperConverter.convert(request))
+                .thenReturn(wrapper);
+        when(authenticatorProvider.findByCredentialIds(List.of(CREDENTIAL_ID, CREDENTIAL_ID_TRIMMED), APPLICATION_ID))
+                .thenReturn(List.of(authenticatorTrimmed, authenticator));
+        when(cryptographyService.verifySignatureForAssertion(eq(APPLICATION_ID), eq(CREDENTIAL_ID), any(), any(), any(), eq(authenticator)))
+                .thenReturn(true);
+
+        tested.authenticate(request);
+
+        verify(assertionProvider).approveAssertion(CHALLENGE, authenticator, wrapper.authenticatorData(), wrapper.clientDataJSON());
+        verify(assertionConverter).fromAuthenticatorDetail(authenticator, true);
+    }
+
+    @Test
+    void testAuthenticate_trimmedCredentialIdWultraModel() throws Exception {
+        final AssertionVerificationRequest request = createRequest();
+        final AssertionVerificationRequestWrapper wrapper = createWrapper(request);
+        final AuthenticatorDetail authenticator = createAuthenticator(CREDENTIAL_ID_TRIMMED, WA1_AAGUID);
+
+        when(assertionVerificationRequestWrapperConverter.convert(request))
+                .thenReturn(wrapper);
+        when(authenticatorProvider.findByCredentialIds(List.of(CREDENTIAL_ID, CREDENTIAL_ID_TRIMMED), APPLICATION_ID))
+                .thenReturn(List.of(authenticator));
+        when(cryptographyService.verifySignatureForAssertion(eq(APPLICATION_ID), eq(CREDENTIAL_ID_TRIMMED), any(), any(), any(), eq(authenticator)))
+                .thenReturn(true);
+
+        tested.authenticate(request);
+
+        verify(assertionProvider).approveAssertion(CHALLENGE, authenticator, wrapper.authenticatorData(), wrapper.clientDataJSON());
+        verify(assertionConverter).fromAuthenticatorDetail(authenticator, true);
+    }
+
+    @Test
+    void testAuthenticate_trimmedCredentialIdOtherModel() throws Exception {
+        final AssertionVerificationRequest request = createRequest();
+        final AuthenticatorDetail authenticator = createAuthenticator(CREDENTIAL_ID_TRIMMED, OTHER_AAGUID);
+
+        when(assertionVerificationRequestWrapperConverter.convert(request))
+                .thenReturn(createWrapper(request));
+        when(authenticatorProvider.findByCredentialIds(List.of(CREDENTIAL_ID, CREDENTIAL_ID_TRIMMED), APPLICATION_ID))
+                .thenReturn(List.of(authenticator));
+
+        assertThrows(Fido2AuthenticationFailedException.class, () -> tested.authenticate(request));
+
+        verify(cryptographyService, never()).verifySignatureForAssertion(any(), any(), any(), any(), any(), any());
+        verify(assertionProvider, never()).approveAssertion(any(), any(), any(), any());
+    }
+
+    @Test
+    void testAuthenticate_ambiguousCredentialId() throws Exception {
+        final AssertionVerificationRequest request = createRequest();
+
+        when(assertionVerificationRequestWrapperConverter.convert(request))
+                .thenReturn(createWrapper(request));
+        when(authenticatorProvider.findByCredentialIds(List.of(CREDENTIAL_ID, CREDENTIAL_ID_TRIMMED), APPLICATION_ID))
+                .thenReturn(List.of(createAuthenticator(CREDENTIAL_ID, WA1_AAGUID), createAuthenticator(CREDENTIAL_ID, WA1_AAGUID)));
+
+        assertThrows(Fido2AuthenticationFailedException.class, () -> tested.authenticate(request));
+
+        verify(cryptographyService, never()).verifySignatureForAssertion(any(), any(), any(), any(), any(), any());
+        verify(assertionProvider, never()).approveAssertion(any(), any(), any(), any());
+    }
+
+    private static byte[] createCredentialIdBytes() {
+        final byte[] result = new byte[64];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte) i;
+        }
+        return result;
+    }
+
+    private static AssertionVerificationRequest createRequest() {
+        final AssertionVerificationRequest request = new AssertionVerificationRequest();
+        request.setCredentialId(CREDENTIAL_ID);
+        request.setApplicationId(APPLICATION_ID);
+        return request;
+    }
+
+    private static AssertionVerificationRequestWrapper createWrapper(final AssertionVerificationRequest request) {
+        final CollectedClientData clientDataJSON = new CollectedClientData();
+        clientDataJSON.setChallenge(CHALLENGE);
+        return AssertionVerificationRequestWrapper.builder()
+                .assertionVerificationRequest(request)
+                .clientDataJSON(clientDataJSON)
+                .authenticatorData(new AuthenticatorData())
+                .build();
+    }
+
+    private static AuthenticatorDetail createAuthenticator(final String credentialId, final String aaguid) {
+        final AuthenticatorDetail authenticator = new AuthenticatorDetail();
+        authenticator.setActivationId(credentialId.equals(CREDENTIAL_ID) ? "activation" : "activation-trimmed");
+        authenticator.setApplicationId(APPLICATION_ID);
+        authenticator.setCredentialId(credentialId);
+        authenticator.setActivationStatus(ActivationStatus.ACTIVE);
+        authenticator.setExtras(Map.of("aaguid", aaguid));
+        return authenticator;
+    }
+
+}
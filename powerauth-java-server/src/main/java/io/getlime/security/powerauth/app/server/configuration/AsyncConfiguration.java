@@ -19,6 +19,7 @@
 package io.getlime.security.powerauth.app.server.configuration;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -44,4 +45,61 @@ public class AsyncConfiguration {
         return executor;
     }
 
+    /**
+     * Executor dispatching operation change events to subscribers. A single thread is used to keep the events ordered.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor operationChangeEventsThreadPoolExecutor(
+            @Value("${powerauth.service.operations.subscriptions.queueCapacity:10000}") final int queueCapacity) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("operation-change-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor sending operation change events to subscribers. Each subscriber is served by at most one thread at a time.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor operationChangeSendThreadPoolExecutor(
+            @Value("${powerauth.service.operations.subscriptions.sendThreadPoolSize:4}") final int threadPoolSize) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threadPoolSize);
+        executor.setMaxPoolSize(threadPoolSize);
+        executor.setThreadNamePrefix("operation-change-send-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor generating key pairs of activations initialized in a batch.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor activationBatchThreadPoolExecutor(
+            @Value("${powerauth.service.activations.batch.threadPoolSize:4}") final int threadPoolSize) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threadPoolSize);
+        executor.setMaxPoolSize(threadPoolSize);
+        executor.setThreadNamePrefix("activation-batch-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor encrypting records of a chunk processed by the re-encryption job.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reEncryptionThreadPoolExecutor(
+            @Value("${powerauth.service.crypto.reEncryption.threadPoolSize:2}") final int threadPoolSize) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threadPoolSize);
+        executor.setMaxPoolSize(threadPoolSize);
+        executor.setThreadNamePrefix("re-encryption-");
+        executor.initialize();
+        return executor;
+    }
+
 }
@@ -18,11 +18,20 @@
 
 package io.getlime.security.powerauth.app.server.configuration;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import io.getlime.security.powerauth.app.server.database.model.entity.CallbackUrlEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
+import io.getlime.security.powerauth.app.server.service.cache.CachedActivationKeys;
+import io.getlime.security.powerauth.app.server.service.cache.CachedApplicationVersion;
+import io.getlime.security.powerauth.app.server.service.cache.CachedMasterKeyPair;
+import io.getlime.security.powerauth.app.server.service.cache.CachedOperationTemplate;
+import io.getlime.security.powerauth.app.server.service.cache.PendingOperations;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationBus;
 import io.getlime.security.powerauth.app.server.service.callbacks.CallbackUrlRestClientCacheLoader;
 import io.getlime.security.powerauth.app.server.service.callbacks.model.CachedRestClient;
+import io.getlime.security.powerauth.app.server.service.encryption.CachedDerivedKey;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -41,19 +50,141 @@ public class CacheConfiguration {
 
     /**
      * Configuration of the cache for RestClient used for posting callbacks.
-     * {@link CallbackUrlEntity#getId()} is used as a cache key.
+     * {@link CallbackUrlEntity#getId()} is used as a cache key. Entries changed by other nodes are invalidated
+     * through the {@link CacheInvalidationBus}.
      *
      * @return Cache for CachedRestClient.
      */
     @Bean
     public LoadingCache<String, CachedRestClient> callbackUrlRestClientCache(
             @Value("${powerauth.service.callbacks.clients.cache.refreshAfterWrite:5m}") final Duration refreshAfterWrite,
-            final CallbackUrlRestClientCacheLoader cacheLoader) {
+            final CallbackUrlRestClientCacheLoader cacheLoader,
+            final CacheInvalidationBus cacheInvalidationBus) {
 
         logger.info("Initializing Callback URL REST Client cache with refreshAfterWrite={}", refreshAfterWrite);
-        return Caffeine.newBuilder()
+        final LoadingCache<String, CachedRestClient> cache = Caffeine.newBuilder()
                 .refreshAfterWrite(refreshAfterWrite)
                 .build(cacheLoader);
+        cacheInvalidationBus.subscribe(CacheInvalidationType.CALLBACK_URL, cache::invalidate);
+        return cache;
+    }
+
+    /**
+     * Configuration of the node-local index of pending operations per user.
+     * User ID is used as a cache key.
+     *
+     * @return Cache for PendingOperations.
+     */
+    @Bean
+    public Cache<String, PendingOperations> pendingOperationCache(
+            @Value("${powerauth.service.operations.pendingCache.expireAfterWrite:5s}") final Duration expireAfterWrite,
+            @Value("${powerauth.service.operations.pendingCache.maximumSize:100000}") final long maximumSize) {
+
+        logger.info("Initializing pending operation cache with expireAfterWrite={}, maximumSize={}", expireAfterWrite, maximumSize);
+        return Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Configuration of the node-local registry of operation templates.
+     * Template name is used as a cache key.
+     *
+     * @return Cache for CachedOperationTemplate.
+     */
+    @Bean
+    public Cache<String, CachedOperationTemplate> operationTemplateCache(
+            @Value("${powerauth.service.operations.templateCache.expireAfterWrite:10s}") final Duration expireAfterWrite,
+            @Value("${powerauth.service.operations.templateCache.maximumSize:1000}") final long maximumSize) {
+
+        logger.info("Initializing operation template cache with expireAfterWrite={}, maximumSize={}", expireAfterWrite, maximumSize);
+        return Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Configuration of the node-local registry of application versions.
+     * Application key is used as a cache key.
+     *
+     * @return Cache for CachedApplicationVersion.
+     */
+    @Bean
+    public Cache<String, CachedApplicationVersion> applicationVersionCache(
+            @Value("${powerauth.service.applications.keyCache.expireAfterWrite:10s}") final Duration expireAfterWrite,
+            @Value("${powerauth.service.applications.keyCache.maximumSize:10000}") final long maximumSize) {
+
+        logger.info("Initializing application version cache with expireAfterWrite={}, maximumSize={}", expireAfterWrite, maximumSize);
+        return Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Configuration of the node-local registry of master key pairs.
+     * Application ID is used as a cache key.
+     *
+     * @return Cache for CachedMasterKeyPair.
+     */
+    @Bean
+    public Cache<String, CachedMasterKeyPair> masterKeyPairCache(
+            @Value("${powerauth.service.applications.keyCache.expireAfterWrite:10s}") final Duration expireAfterWrite,
+            @Value("${powerauth.service.applications.keyCache.maximumSize:10000}") final long maximumSize) {
+
+        logger.info("Initializing master key pair cache with expireAfterWrite={}, maximumSize={}", expireAfterWrite, maximumSize);
+        return Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Configuration of the node-local cache of activation key material derived for the activation status.
+     * Activation ID is used as a cache key. Transport key bytes of removed entries are zeroed.
+     *
+     * @return Cache for CachedActivationKeys.
+     */
+    @Bean
+    public Cache<String, CachedActivationKeys> activationKeyCache(
+            @Value("${powerauth.service.activations.statusCache.expireAfterWrite:5m}") final Duration expireAfterWrite,
+            @Value("${powerauth.service.activations.statusCache.maximumSize:100000}") final long maximumSize) {
+
+        logger.info("Initializing activation key cache with expireAfterWrite={}, maximumSize={}", expireAfterWrite, maximumSize);
+        return Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .maximumSize(maximumSize)
+                .<String, CachedActivationKeys>removalListener((key, value, cause) -> {
+                    if (value != null) {
+                        value.destroy();
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Configuration of the node-local cache of secret keys derived from the master DB encryption key.
+     * The derivation index of a record is used as a cache key. Key bytes of removed entries are zeroed.
+     *
+     * @return Cache for CachedDerivedKey.
+     */
+    @Bean
+    public Cache<String, CachedDerivedKey> derivedKeyCache(
+            @Value("${powerauth.service.crypto.derivedKeyCache.expireAfterAccess:5m}") final Duration expireAfterAccess,
+            @Value("${powerauth.service.crypto.derivedKeyCache.maximumSize:100000}") final long maximumSize) {
+
+        logger.info("Initializing derived key cache with expireAfterAccess={}, maximumSize={}", expireAfterAccess, maximumSize);
+        return Caffeine.newBuilder()
+                .expireAfterAccess(expireAfterAccess)
+                .maximumSize(maximumSize)
+                .<String, CachedDerivedKey>removalListener((key, value, cause) -> {
+                    if (value != null) {
+                        value.destroy();
+                    }
+                })
+                .build();
     }
 
 }
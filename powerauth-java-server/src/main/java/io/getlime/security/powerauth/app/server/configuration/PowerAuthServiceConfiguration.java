@@ -33,6 +33,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.Duration;
@@ -122,6 +123,39 @@ public class PowerAuthServiceConfiguration {
     @Min(1)
     private int generateOperationIterations;
 
+    /**
+     * Whether uniqueness of generated identifiers and codes is verified by a database query before they are stored.
+     */
+    @Value("${powerauth.service.crypto.verifyGeneratedIdentifiers:true}")
+    private boolean verifyGeneratedIdentifiers;
+
+    /**
+     * Maximum number of operations created in a single batch request.
+     */
+    @Value("${powerauth.service.operations.batch.maxSize:1000}")
+    @Min(1)
+    private int createOperationBatchMaxSize;
+
+    /**
+     * Maximum number of activations initialized in a single batch request.
+     */
+    @Value("${powerauth.service.activations.batch.maxSize:1000}")
+    @Min(1)
+    private int initActivationBatchMaxSize;
+
+    /**
+     * Whether operation approval, rejection and failure use optimistic concurrency control instead of a row lock.
+     */
+    @Value("${powerauth.service.operations.optimisticLocking.enabled:false}")
+    private boolean operationOptimisticLockingEnabled;
+
+    /**
+     * Maximum number of attempts to apply a change of an operation which has been changed concurrently.
+     */
+    @Value("${powerauth.service.operations.optimisticLocking.maxAttempts:3}")
+    @Min(1)
+    private int operationOptimisticLockingMaxAttempts;
+
     /**
      * How many milliseconds should be CREATED or PENDING_COMMIT record usable for
      * completing the activation.
@@ -137,6 +171,21 @@ public class PowerAuthServiceConfiguration {
     @Min(0)
     private int activationsCleanupLookBackInMilliseconds;
 
+    /**
+     * Whether the activation cleanup job should remove abandoned activations in chunks using bulk updates
+     * instead of removing the activations one by one.
+     */
+    @Value("${powerauth.service.scheduled.job.activationsCleanup.bulk:false}")
+    private boolean activationsCleanupBulk;
+
+    /**
+     * Number of activations removed by a single bulk update, used only when the bulk cleanup is enabled.
+     */
+    @Value("${powerauth.service.scheduled.job.activationsCleanup.chunkSize:500}")
+    @Min(1)
+    @Max(1000)
+    private int activationsCleanupChunkSize;
+
     /**
      * How many failed signatures cause activation record blocking. The maximum supported value is 64.
      */
@@ -244,6 +293,12 @@ public class PowerAuthServiceConfiguration {
     @Value("${powerauth.server.db.master.encryption.key}")
     private String masterDbEncryptionKey;
 
+    /**
+     * Previous master DB encryption key, records encrypted by the key are decrypted until they are re-encrypted.
+     */
+    @Value("${powerauth.server.db.master.encryption.previousKey:}")
+    private String masterDbEncryptionPreviousKey;
+
     /**
      * How many failed usages of recovery code block the recovery code. The maximum supported value is 64.
      */
@@ -282,6 +337,22 @@ public class PowerAuthServiceConfiguration {
     @Value("${powerauth.service.scheduled.job.expireOperationsLimit:100}")
     private int expireOperationsLimit;
 
+    /**
+     * Whether operations should be expired by all nodes in parallel. Each node claims disjoint chunks
+     * of expired operations using row-level locks with skip locked semantics instead of running the
+     * expiration under the cluster-wide scheduler lock.
+     */
+    @Value("${powerauth.service.scheduled.job.expireOperationsParallel:false}")
+    private boolean expireOperationsParallel;
+
+    /**
+     * Maximum number of chunks expired by a single node in one scheduled job run, used only when the parallel
+     * expiration is enabled. The chunk size is driven by {@link #expireOperationsLimit}.
+     */
+    @Value("${powerauth.service.scheduled.job.expireOperationsMaxChunks:10}")
+    @Min(1)
+    private int expireOperationsMaxChunks;
+
     /**
      * Validity of the temporary key pair in milliseconds.
      */
@@ -289,6 +360,75 @@ public class PowerAuthServiceConfiguration {
     @DurationMin(millis = 0)
     private Duration temporaryKeyValidity;
 
+    /**
+     * Whether temporary keys are returned as sealed key handles instead of being stored in the database.
+     */
+    @Value("${powerauth.service.temporaryKey.stateless:false}")
+    private boolean temporaryKeyStateless;
+
+    /**
+     * Whether finalized operations are moved to the archive table and read through from it.
+     */
+    @Value("${powerauth.service.operations.archive.enabled:false}")
+    private boolean operationArchiveEnabled;
+
+    /**
+     * Age of finalized operations, measured from their creation, after which they are moved to the archive.
+     */
+    @Value("${powerauth.service.operations.archive.retention:90d}")
+    @DurationMin(millis = 0)
+    private Duration operationArchiveRetention;
+
+    /**
+     * Number of operations moved to the archive in a single transaction.
+     */
+    @Value("${powerauth.service.operations.archive.chunkSize:500}")
+    @Min(1)
+    @Max(1000)
+    private int operationArchiveChunkSize;
+
+    /**
+     * Delay between two consecutive chunks moved to the archive, to throttle the load of the database.
+     */
+    @Value("${powerauth.service.operations.archive.chunkDelay:100ms}")
+    @DurationMin(millis = 0)
+    private Duration operationArchiveChunkDelay;
+
+    /**
+     * Maximum number of chunks moved to the archive in one scheduled job run.
+     */
+    @Value("${powerauth.service.operations.archive.maxChunks:100}")
+    @Min(1)
+    private int operationArchiveMaxChunks;
+
+    /**
+     * Whether records stored without encryption are encrypted in bulk by the master DB encryption key.
+     */
+    @Value("${powerauth.service.crypto.reEncryption.enabled:false}")
+    private boolean reEncryptionEnabled;
+
+    /**
+     * Number of records encrypted in a single transaction.
+     */
+    @Value("${powerauth.service.crypto.reEncryption.chunkSize:100}")
+    @Min(1)
+    @Max(1000)
+    private int reEncryptionChunkSize;
+
+    /**
+     * Delay between two consecutive chunks of encrypted records, to throttle the load of the database.
+     */
+    @Value("${powerauth.service.crypto.reEncryption.chunkDelay:100ms}")
+    @DurationMin(millis = 0)
+    private Duration reEncryptionChunkDelay;
+
+    /**
+     * Maximum number of chunks of encrypted records in one scheduled job run.
+     */
+    @Value("${powerauth.service.crypto.reEncryption.maxChunks:100}")
+    @Min(1)
+    private int reEncryptionMaxChunks;
+
     /**
      * Prepare and configure object mapper.
      * @return Object mapper.
@@ -460,6 +600,22 @@ public class PowerAuthServiceConfiguration {
         this.generateOperationIterations = generateOperationIterations;
     }
 
+    /**
+     * Get whether uniqueness of generated identifiers and codes is verified by a database query.
+     * @return Whether generated identifiers are verified (true, by default).
+     */
+    public boolean isVerifyGeneratedIdentifiers() {
+        return verifyGeneratedIdentifiers;
+    }
+
+    /**
+     * Set whether uniqueness of generated identifiers and codes is verified by a database query.
+     * @param verifyGeneratedIdentifiers Whether generated identifiers are verified (true, by default).
+     */
+    public void setVerifyGeneratedIdentifiers(boolean verifyGeneratedIdentifiers) {
+        this.verifyGeneratedIdentifiers = verifyGeneratedIdentifiers;
+    }
+
     /**
      * Get default number of maximum failed attempts.
      * @return Maximum failed attempts (5, by default).
@@ -702,6 +858,22 @@ public class PowerAuthServiceConfiguration {
         this.masterDbEncryptionKey = masterDbEncryptionKey;
     }
 
+    /**
+     * Get previous master DB encryption key.
+     * @return Previous master DB encryption key.
+     */
+    public String getMasterDbEncryptionPreviousKey() {
+        return masterDbEncryptionPreviousKey;
+    }
+
+    /**
+     * Set previous master DB encryption key.
+     * @param masterDbEncryptionPreviousKey Previous master DB encryption key.
+     */
+    public void setMasterDbEncryptionPreviousKey(String masterDbEncryptionPreviousKey) {
+        this.masterDbEncryptionPreviousKey = masterDbEncryptionPreviousKey;
+    }
+
     /**
      * Get default number of maximum failed attempts for recovery codes.
      * @return Maximum failed attempts for recovery codes (5, by default).
@@ -757,5 +929,9 @@ public class PowerAuthServiceConfiguration {
     void validate() {
         Assert.state(proximityCheckOtpLength >= MINIMAL_PROXIMITY_CHECK_OTP_LENGTH,
                 "Proximity check OTP length %d is smaller then required minimal %d".formatted(proximityCheckOtpLength, MINIMAL_PROXIMITY_CHECK_OTP_LENGTH));
+        Assert.state(!temporaryKeyStateless || StringUtils.hasText(masterDbEncryptionKey),
+                "Master DB encryption key is required when the stateless temporary keys are enabled");
+        Assert.state(!StringUtils.hasText(masterDbEncryptionPreviousKey) || StringUtils.hasText(masterDbEncryptionKey),
+                "Master DB encryption key is required when the previous master DB encryption key is configured");
     }
 }
@@ -0,0 +1,110 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Data source of the read replica guarding against stale reads.
+ * <p>
+ * The replication lag is periodically measured by the configured query, which returns the lag in milliseconds.
+ * While the lag exceeds the maximum or cannot be measured, connections are obtained from the primary data source.
+ * The replica is not used until the lag has been measured for the first time, so reads are never staler than the maximum lag.
+ *
+ * @author agent, agent@local
+ */
+@Slf4j
+public class ReplicaDataSource extends DelegatingDataSource {
+
+    private final DataSource primaryDataSource;
+
+    private final String lagQuery;
+
+    private final Duration maxLag;
+
+    private volatile boolean replicaUsable;
+
+    /**
+     * Data source constructor.
+     *
+     * @param replicaDataSource Data source of the read replica.
+     * @param primaryDataSource Primary data source used while the replica lags behind.
+     * @param lagQuery Query returning the replication lag in milliseconds.
+     * @param maxLag Maximum acceptable replication lag.
+     */
+    public ReplicaDataSource(final DataSource replicaDataSource, final DataSource primaryDataSource, final String lagQuery, final Duration maxLag) {
+        super(replicaDataSource);
+        Assert.state(StringUtils.isNotBlank(lagQuery), "Property powerauth.service.datasource.replica.lagQuery is required when the read replica is enabled");
+        this.primaryDataSource = primaryDataSource;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return replicaUsable ? super.getConnection() : primaryDataSource.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return replicaUsable ? super.getConnection(username, password) : primaryDataSource.getConnection(username, password);
+    }
+
+    /**
+     * Measure the replication lag and decide whether the replica is used for read-only transactions.
+     */
+    @Scheduled(fixedDelayString = "${powerauth.service.datasource.replica.lagCheckInterval:1000}")
+    public void checkReplicationLag() {
+        final boolean usable = isLagAcceptable();
+        if (usable != replicaUsable) {
+            logger.info("Read replica is {} for read-only transactions", usable ? "used" : "not used");
+        }
+        replicaUsable = usable;
+    }
+
+    private boolean isLagAcceptable() {
+        try (final Connection connection = obtainTargetDataSource().getConnection();
+             final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                logger.warn("Replication lag query returned no result");
+                return false;
+            }
+            final long lag = resultSet.getLong(1);
+            logger.debug("Replication lag: {} ms", lag);
+            return !resultSet.wasNull() && lag <= maxLag.toMillis();
+        } catch (SQLException ex) {
+            logger.warn("Replication lag check failed, error: {}", ex.getMessage());
+            logger.debug("Exception detail: ", ex);
+            return false;
+        }
+    }
+
+}
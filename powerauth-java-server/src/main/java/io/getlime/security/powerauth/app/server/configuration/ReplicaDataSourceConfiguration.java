@@ -0,0 +1,101 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuration of the read replica data source.
+ * <p>
+ * Connections of read-only transactions are obtained from the replica pool, all other connections from the primary pool.
+ * Connections are fetched lazily, so that the read-only flag set by the transaction manager decides the target pool.
+ * Read-only transactions fall back to the primary pool while the replica lags behind, see {@link ReplicaDataSource}.
+ *
+ * @author agent, agent@local
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "powerauth.service.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+
+    private final DataSourceProperties dataSourceProperties;
+
+    @Value("${powerauth.service.datasource.replica.lagQuery:}")
+    private String lagQuery;
+
+    @Value("${powerauth.service.datasource.replica.maxLag:5s}")
+    private Duration maxLag;
+
+    public ReplicaDataSourceConfiguration(final DataSourceProperties dataSourceProperties) {
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource() {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("powerauth.service.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("powerauth.service.datasource.replica.hikari")
+    public HikariDataSource replicaPoolDataSource() {
+        return replicaDataSourceProperties().initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(autowireCandidate = false)
+    public ReplicaDataSource replicaDataSource() {
+        return new ReplicaDataSource(replicaPoolDataSource(), primaryDataSource(), lagQuery, maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        return routingDataSource(primaryDataSource(), replicaDataSource());
+    }
+
+    /**
+     * Create the data source routing connections of read-only transactions to the replica.
+     *
+     * @param primaryDataSource Primary data source.
+     * @param replicaDataSource Replica data source.
+     * @return Routing data source.
+     */
+    static DataSource routingDataSource(final DataSource primaryDataSource, final DataSource replicaDataSource) {
+        final LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+}
@@ -32,6 +32,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Optional;
+
 /**
  * Controller managing the endpoints related to activations.
  *
@@ -65,6 +67,21 @@ public class ActivationController {
         return response;
     }
 
+    /**
+     * Init activations of several users in a batch.
+     *
+     * @param request Init activation batch request.
+     * @return Init activation batch response.
+     * @throws Exception In case the service throws exception.
+     */
+    @PostMapping("/init/batch")
+    public ObjectResponse<InitActivationBatchResponse> initActivationBatch(@RequestBody ObjectRequest<InitActivationBatchRequest> request) throws Exception {
+        logger.info("InitActivationBatchRequest received: {}", request);
+        final ObjectResponse<InitActivationBatchResponse> response = new ObjectResponse<>(activationServiceBehavior.initActivationBatch(request.getRequestObject()));
+        logger.info("InitActivationBatchRequest succeeded, activations: {}", response.getResponseObject().getActivations().size());
+        return response;
+    }
+
     /**
      * Prepare activation.
      *
@@ -150,7 +167,10 @@ public class ActivationController {
     @PostMapping("/status")
     public ObjectResponse<GetActivationStatusResponse> getActivationStatus(@RequestBody ObjectRequest<GetActivationStatusRequest> request) throws Exception {
         logger.info("GetActivationStatusRequest received: {}", request);
-        final ObjectResponse<GetActivationStatusResponse> response = new ObjectResponse<>(activationServiceBehavior.getActivationStatus(request.getRequestObject()));
+        // Status is served without writing to the database, unless the activation has to be deactivated
+        final Optional<GetActivationStatusResponse> readOnlyResponse = activationServiceBehavior.findActivationStatus(request.getRequestObject());
+        final GetActivationStatusResponse activationStatus = readOnlyResponse.isPresent() ? readOnlyResponse.get() : activationServiceBehavior.getActivationStatus(request.getRequestObject());
+        final ObjectResponse<GetActivationStatusResponse> response = new ObjectResponse<>(activationStatus);
         logger.info("GetActivationStatusResponse succeeded: {}", response);
         return response;
     }
@@ -19,19 +19,23 @@
 package io.getlime.security.powerauth.app.server.controller.api;
 
 import com.wultra.security.powerauth.client.model.request.*;
+import com.wultra.security.powerauth.client.model.response.OperationCreateBatchResponse;
 import com.wultra.security.powerauth.client.model.response.OperationDetailResponse;
 import com.wultra.security.powerauth.client.model.response.OperationListResponse;
 import com.wultra.security.powerauth.client.model.response.OperationUserActionResponse;
 import io.getlime.core.rest.model.base.request.ObjectRequest;
 import io.getlime.core.rest.model.base.response.ObjectResponse;
 import io.getlime.security.powerauth.app.server.service.behavior.tasks.OperationServiceBehavior;
+import io.getlime.security.powerauth.app.server.service.subscription.OperationChangeSubscriptionService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Controller managing the endpoints related to operations.
@@ -45,10 +49,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class OperationsController {
 
     private final OperationServiceBehavior service;
+    private final OperationChangeSubscriptionService subscriptionService;
 
     @Autowired
-    public OperationsController(OperationServiceBehavior service) {
+    public OperationsController(OperationServiceBehavior service, OperationChangeSubscriptionService subscriptionService) {
         this.service = service;
+        this.subscriptionService = subscriptionService;
     }
 
     /**
@@ -66,6 +72,21 @@ public class OperationsController {
         return response;
     }
 
+    /**
+     * Create a batch of new operations.
+     *
+     * @param request Create a batch of operations request.
+     * @return Create operation batch response.
+     * @throws Exception In case the service throws exception.
+     */
+    @PostMapping("/create/batch")
+    public ObjectResponse<OperationCreateBatchResponse> createOperationBatch(@RequestBody ObjectRequest<OperationCreateBatchRequest> request) throws Exception {
+        logger.info("OperationCreateBatchRequest received: {}", request);
+        final ObjectResponse<OperationCreateBatchResponse> response = new ObjectResponse<>(service.createOperationBatch(request.getRequestObject()));
+        logger.info("OperationCreateBatchRequest succeeded: {}", response);
+        return response;
+    }
+
     /**
      * Get operation detail.
      *
@@ -185,4 +206,19 @@ public class OperationsController {
         logger.info("OperationRejectRequest succeeded: {}", response);
         return response;
     }
+
+    /**
+     * Subscribe to changes of operations of the user and/or application. Changes are streamed as server-sent events.
+     *
+     * @param request Subscribe to operation changes request.
+     * @return Emitter of operation change events.
+     * @throws Exception In case the service throws exception.
+     */
+    @PostMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeOperationChanges(@RequestBody ObjectRequest<OperationChangeSubscribeRequest> request) throws Exception {
+        logger.info("OperationChangeSubscribeRequest received: {}", request);
+        final SseEmitter emitter = subscriptionService.subscribe(request.getRequestObject());
+        logger.info("OperationChangeSubscribeRequest succeeded: {}", request);
+        return emitter;
+    }
 }
@@ -52,10 +52,22 @@ public class RecoveryPrivateKeyConverter {
      */
     public String fromDBValue(final RecoveryPrivateKey recoveryPrivateKey, long applicationRid) throws GenericServiceException {
         final byte[] data = convert(recoveryPrivateKey.recoveryPrivateKeyBase64());
-        final byte[] decrypted = encryptionService.decrypt(data, recoveryPrivateKey.encryptionMode(), createEncryptionKeyProvider(applicationRid));
+        final byte[] decrypted = encryptionService.decrypt(data, recoveryPrivateKey.encryptionMode(), createEncryptionKeyProvider(applicationRid), EncryptionService.PRIVATE_KEY_VALIDATOR);
         return convert(decrypted);
     }
 
+    /**
+     * Whether the recovery postcard private key is encrypted by the previous master DB encryption key and needs to be re-encrypted.
+     * @param recoveryPrivateKey Recovery private key composite database value recovery postcard private key and encryption mode.
+     * @param applicationRid Application RID used for derivation of secret key.
+     * @return True if the recovery postcard private key is encrypted by the previous master DB encryption key.
+     * @throws GenericServiceException In case the master DB encryption key is not configured or the derivation fails.
+     */
+    public boolean isEncryptedByPreviousKey(final RecoveryPrivateKey recoveryPrivateKey, long applicationRid) throws GenericServiceException {
+        final byte[] data = convert(recoveryPrivateKey.recoveryPrivateKeyBase64());
+        return encryptionService.isEncryptedByPreviousKey(data, recoveryPrivateKey.encryptionMode(), createEncryptionKeyProvider(applicationRid), EncryptionService.PRIVATE_KEY_VALIDATOR);
+    }
+
     /**
      * Convert recovery postcard private key to composite database value. Recovery postcard private key is encrypted
      * in case master DB encryption key is configured in PA server configuration.
@@ -56,6 +56,20 @@ public class RecoveryPukConverter {
         return encryptionService.decrypt(recoveryPuk.pukHash(), recoveryPuk.encryptionMode(), createEncryptionKeyProvider(applicationRid, userId, recoveryCode, pukIndex));
     }
 
+    /**
+     * Whether the recovery PUK hash is encrypted by the previous master DB encryption key and needs to be re-encrypted.
+     * @param recoveryPuk Recovery PUK hash composite database value including PUK hash and encryption mode.
+     * @param applicationRid Application RID used for derivation of secret key.
+     * @param userId User ID used for derivation of secret key.
+     * @param recoveryCode Recovery code used for derivation of secret key.
+     * @param pukIndex Recovery PUK index used for derivation of secret key.
+     * @return True if the recovery PUK hash is encrypted by the previous master DB encryption key.
+     * @throws GenericServiceException In case the master DB encryption key is not configured or the derivation fails.
+     */
+    public boolean isEncryptedByPreviousKey(final RecoveryPuk recoveryPuk, final long applicationRid, final String userId, final String recoveryCode, final long pukIndex) throws GenericServiceException {
+        return encryptionService.isEncryptedByPreviousKey(recoveryPuk.pukHash(), recoveryPuk.encryptionMode(), createEncryptionKeyProvider(applicationRid, userId, recoveryCode, pukIndex));
+    }
+
     /**
      * Convert PUK hash to composite database value. PUK hash is encrypted
      * in case master DB encryption key is configured in PA server configuration.
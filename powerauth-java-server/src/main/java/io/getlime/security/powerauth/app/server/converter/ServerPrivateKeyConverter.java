@@ -53,10 +53,23 @@ public class ServerPrivateKeyConverter {
      */
     public String fromDBValue(final ServerPrivateKey serverPrivateKey, final String userId, final String activationId) throws GenericServiceException {
         final byte[] data = convert(serverPrivateKey.serverPrivateKeyBase64());
-        final byte[] decrypted = encryptionService.decrypt(data, serverPrivateKey.encryptionMode(), createEncryptionKeyProvider(userId, activationId));
+        final byte[] decrypted = encryptionService.decrypt(data, serverPrivateKey.encryptionMode(), createEncryptionKeyProvider(userId, activationId), EncryptionService.PRIVATE_KEY_VALIDATOR);
         return convert(decrypted);
     }
 
+    /**
+     * Whether the server private key is encrypted by the previous master DB encryption key and needs to be re-encrypted.
+     * @param serverPrivateKey Server private key composite database value server private key and encryption mode.
+     * @param userId User ID used for derivation of secret key.
+     * @param activationId Activation ID used for derivation of secret key.
+     * @return True if the server private key is encrypted by the previous master DB encryption key.
+     * @throws GenericServiceException In case the master DB encryption key is not configured or the derivation fails.
+     */
+    public boolean isEncryptedByPreviousKey(final ServerPrivateKey serverPrivateKey, final String userId, final String activationId) throws GenericServiceException {
+        final byte[] data = convert(serverPrivateKey.serverPrivateKeyBase64());
+        return encryptionService.isEncryptedByPreviousKey(data, serverPrivateKey.encryptionMode(), createEncryptionKeyProvider(userId, activationId), EncryptionService.PRIVATE_KEY_VALIDATOR);
+    }
+
     /**
      * Convert server private key to composite database value. Server private key is encrypted
      * in case master DB encryption key is configured in PA server configuration.
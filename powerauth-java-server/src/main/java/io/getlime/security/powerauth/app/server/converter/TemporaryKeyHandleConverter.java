@@ -0,0 +1,134 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.converter;
+
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.DirectDecrypter;
+import com.nimbusds.jose.crypto.DirectEncrypter;
+import com.nimbusds.jwt.EncryptedJWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.getlime.security.powerauth.app.server.database.model.entity.TemporaryKeyEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
+import io.getlime.security.powerauth.app.server.service.encryption.EncryptionService;
+import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
+import io.getlime.security.powerauth.app.server.service.i18n.LocalizationProvider;
+import io.getlime.security.powerauth.app.server.service.model.ServiceError;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.text.ParseException;
+import java.util.Optional;
+
+/**
+ * Converter of temporary keys to opaque key handles used instead of stored temporary keys in the stateless mode.
+ * <p>
+ * The handle is a JWE with direct encryption by a secret key derived from the master DB encryption key. It carries
+ * the temporary private key, the expiration and the application key and activation ID the key is bound to. A handle
+ * cannot be removed, it is valid until it expires. The master DB encryption key must be configured when the stateless
+ * mode is enabled.
+ *
+ * @author agent, agent@local
+ */
+@Component
+@Slf4j
+@AllArgsConstructor
+public class TemporaryKeyHandleConverter {
+
+    private static final String KEY_DERIVATION_PURPOSE = "powerauth_temporary_key_handle_v1";
+    private static final String CLAIM_APPLICATION_KEY = "applicationKey";
+    private static final String CLAIM_ACTIVATION_ID = "activationId";
+    private static final String CLAIM_PRIVATE_KEY = "privateKey";
+
+    private final EncryptionService encryptionService;
+    private final LocalizationProvider localizationProvider;
+
+    /**
+     * Check whether the given temporary key ID is a key handle. Stored temporary keys are identified by UUID.
+     *
+     * @param keyId Temporary key ID.
+     * @return True if the key ID is a key handle.
+     */
+    public static boolean isHandle(final String keyId) {
+        return keyId != null && keyId.indexOf('.') >= 0;
+    }
+
+    /**
+     * Convert the temporary key to a key handle.
+     *
+     * @param source Temporary key with the private key stored without encryption.
+     * @return Key handle.
+     * @throws GenericServiceException In case the master DB encryption key is not configured or the encryption fails.
+     */
+    public String toHandle(final TemporaryKeyEntity source) throws GenericServiceException {
+        final JWTClaimsSet claimsSet = new JWTClaimsSet.Builder()
+                .expirationTime(source.getTimestampExpires())
+                .claim(CLAIM_APPLICATION_KEY, source.getAppKey())
+                .claim(CLAIM_ACTIVATION_ID, source.getActivationId())
+                .claim(CLAIM_PRIVATE_KEY, source.getPrivateKeyBase64())
+                .build();
+        final EncryptedJWT jwt = new EncryptedJWT(new JWEHeader(JWEAlgorithm.DIR, EncryptionMethod.A128GCM), claimsSet);
+        try {
+            jwt.encrypt(new DirectEncrypter(deriveSecretKey()));
+            return jwt.serialize();
+        } catch (JOSEException ex) {
+            logger.error("Temporary key handle encryption failed", ex);
+            throw localizationProvider.buildExceptionForCode(ServiceError.ENCRYPTION_FAILED);
+        }
+    }
+
+    /**
+     * Convert the key handle to a temporary key. The temporary key is not stored in the database and must not be saved.
+     *
+     * @param handle Key handle.
+     * @return Temporary key with the private key stored without encryption, empty if the handle is not valid.
+     * @throws GenericServiceException In case the master DB encryption key is not configured.
+     */
+    public Optional<TemporaryKeyEntity> fromHandle(final String handle) throws GenericServiceException {
+        final SecretKey secretKey = deriveSecretKey();
+        try {
+            final EncryptedJWT jwt = EncryptedJWT.parse(handle);
+            jwt.decrypt(new DirectDecrypter(secretKey));
+            final JWTClaimsSet claimsSet = jwt.getJWTClaimsSet();
+
+            final TemporaryKeyEntity destination = new TemporaryKeyEntity();
+            destination.setId(handle);
+            destination.setAppKey(claimsSet.getStringClaim(CLAIM_APPLICATION_KEY));
+            destination.setActivationId(claimsSet.getStringClaim(CLAIM_ACTIVATION_ID));
+            destination.setPrivateKeyEncryption(EncryptionMode.NO_ENCRYPTION);
+            destination.setPrivateKeyBase64(claimsSet.getStringClaim(CLAIM_PRIVATE_KEY));
+            destination.setTimestampExpires(claimsSet.getExpirationTime());
+            if (destination.getPrivateKeyBase64() == null || destination.getTimestampExpires() == null) {
+                logger.warn("Temporary key handle is missing required claims");
+                return Optional.empty();
+            }
+            return Optional.of(destination);
+        } catch (ParseException | JOSEException ex) {
+            logger.warn("Invalid temporary key handle: {}", ex.getMessage());
+            logger.debug("Exception detail: ", ex);
+            return Optional.empty();
+        }
+    }
+
+    private SecretKey deriveSecretKey() throws GenericServiceException {
+        return encryptionService.derivePurposeSecretKey(KEY_DERIVATION_PURPOSE);
+    }
+
+}
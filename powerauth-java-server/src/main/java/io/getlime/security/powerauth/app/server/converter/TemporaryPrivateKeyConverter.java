@@ -54,7 +54,7 @@ public class TemporaryPrivateKeyConverter {
      */
     public String fromDBValue(ServerPrivateKey serverPrivateKey, String keyId, String appKey, String activationId) throws GenericServiceException {
         final byte[] data = convert(serverPrivateKey.serverPrivateKeyBase64());
-        final byte[] decrypted = encryptionService.decrypt(data, serverPrivateKey.encryptionMode(), createSecretKeyDerivationInput(keyId, appKey, activationId));
+        final byte[] decrypted = encryptionService.decrypt(data, serverPrivateKey.encryptionMode(), createSecretKeyDerivationInput(keyId, appKey, activationId), EncryptionService.PRIVATE_KEY_VALIDATOR);
         return convert(decrypted);
     }
 
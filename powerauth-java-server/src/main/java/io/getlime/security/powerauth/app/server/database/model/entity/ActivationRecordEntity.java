@@ -24,15 +24,20 @@ import io.getlime.security.powerauth.app.server.database.model.converter.Activat
 import io.getlime.security.powerauth.app.server.database.model.converter.ActivationStatusConverter;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.*;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Database entity for an "activation" objects.
@@ -42,7 +47,7 @@ import java.util.Objects;
 @Entity
 @Table(name = "pa_activation")
 @Getter @Setter
-public class ActivationRecordEntity implements Serializable {
+public class ActivationRecordEntity implements Serializable, Persistable<String> {
 
     @Serial
     private static final long serialVersionUID = 7512286634644851705L;
@@ -131,6 +136,17 @@ public class ActivationRecordEntity implements Serializable {
     @Convert(converter = ActivationFlagConverter.class)
     private final List<String> flags = new ArrayList<>();
 
+    /**
+     * Activation flags stored as separate rows, so that activations can be filtered by flags in the database.
+     * The indexed flags mirror {@link #flags}, the flags must be changed using {@link #setFlags(Collection)}.
+     * Flags changed by nodes of version 1.9 during a rolling upgrade are not mirrored, see the 1.10.0 migration guide.
+     */
+    @ElementCollection
+    @CollectionTable(name = "pa_activation_flag", joinColumns = @JoinColumn(name = "activation_id", referencedColumnName = "activation_id"))
+    @Column(name = "flag", nullable = false)
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private final Set<String> indexedFlags = new HashSet<>();
+
     /**
      * Base64 encoded server private key.
      */
@@ -249,6 +265,42 @@ public class ActivationRecordEntity implements Serializable {
     @OrderBy("timestampCreated")
     private final List<ActivationHistoryEntity> activationHistory = new ArrayList<>();
 
+    /**
+     * Whether the entity has not been stored yet. A new entity is inserted directly instead of being merged,
+     * so that a duplicate identifier is rejected by the primary key.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    /**
+     * Replace activation flags, the indexed flags are updated accordingly.
+     * @param flags Activation flags.
+     */
+    public void setFlags(Collection<String> flags) {
+        final List<String> newFlags = new ArrayList<>(flags);
+        this.flags.clear();
+        this.flags.addAll(newFlags);
+        this.indexedFlags.retainAll(newFlags);
+        this.indexedFlags.addAll(newFlags);
+    }
+
+    @Override
+    public String getId() {
+        return activationId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+
     @Override
     public int hashCode() {
         int hash = 5;
@@ -0,0 +1,78 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.database.model.entity;
+
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CurrentTimestamp;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.generator.EventType;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing an invalidation of a node-local cache entry, published to the other nodes of the cluster
+ * through the outbox table. The creation timestamp is taken from the database clock, so that the timestamps of all
+ * nodes are comparable.
+ *
+ * @author agent, agent@local
+ */
+@Entity
+@Table(name = "pa_cache_invalidation_event")
+@Getter @Setter
+public class CacheInvalidationEventEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -2861432497620374815L;
+
+    @Id
+    @SequenceGenerator(name = "pa_cache_invalidation_event", sequenceName = "pa_cache_invalidation_event_seq", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.AUTO, generator = "pa_cache_invalidation_event")
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "node_id", nullable = false, updatable = false)
+    private String nodeId;
+
+    @Column(name = "event_type", nullable = false, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private CacheInvalidationType eventType;
+
+    @Column(name = "event_key", nullable = false, updatable = false)
+    private String eventKey;
+
+    @Column(name = "timestamp_created", nullable = false, updatable = false)
+    @CurrentTimestamp(event = EventType.INSERT, source = SourceType.DB)
+    private LocalDateTime timestampCreated;
+
+    @Override
+    public String toString() {
+        return "CacheInvalidationEventEntity{" +
+                "id=" + id +
+                ", nodeId=" + nodeId +
+                ", eventType=" + eventType +
+                ", eventKey=" + eventKey +
+                '}';
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.database.model.entity;
+
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionTarget;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Entity representing the checkpoint of the re-encryption job for one kind of encrypted records.
+ * <p>
+ * Records are scanned in passes ordered by their ID. The ID of the last scanned record is stored after each chunk,
+ * so that an interrupted pass resumes from the checkpoint. A pass which encrypted no record and in which no record failed
+ * to be encrypted completes the target for the current master DB encryption key.
+ *
+ * @author agent, agent@local
+ */
+@Entity
+@Table(name = "pa_encryption_progress")
+@Getter @Setter
+public class EncryptionProgressEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 6120784632091652837L;
+
+    @Id
+    @Column(name = "target", nullable = false, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private EncryptionTarget target;
+
+    /**
+     * ID of the last scanned record of the current pass, null if the pass has not started yet.
+     */
+    @Column(name = "last_id")
+    private String lastId;
+
+    /**
+     * Number of records encrypted in the current pass.
+     */
+    @Column(name = "records_encrypted", nullable = false)
+    private long recordsEncrypted;
+
+    /**
+     * Number of records which failed to be encrypted in the current pass.
+     */
+    @Column(name = "records_failed", nullable = false)
+    private long recordsFailed;
+
+    @Column(name = "timestamp_last_change", nullable = false)
+    private Date timestampLastChange;
+
+    /**
+     * Timestamp of the pass which found no record to encrypt and no failure, null if the target has not been completed yet.
+     */
+    @Column(name = "timestamp_completed")
+    private Date timestampCompleted;
+
+    /**
+     * Fingerprint of the master DB encryption key of the current pass, a change of the key restarts the pass.
+     */
+    @Column(name = "key_fingerprint")
+    private String keyFingerprint;
+
+    @Override
+    public String toString() {
+        return "EncryptionProgressEntity{" +
+                "target=" + target +
+                ", lastId=" + lastId +
+                ", recordsEncrypted=" + recordsEncrypted +
+                ", recordsFailed=" + recordsFailed +
+                ", timestampCompleted=" + timestampCompleted +
+                ", keyFingerprint=" + keyFingerprint +
+                '}';
+    }
+
+}
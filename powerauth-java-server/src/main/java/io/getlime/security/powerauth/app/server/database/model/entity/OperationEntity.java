@@ -24,8 +24,10 @@ import io.getlime.security.powerauth.app.server.database.model.converter.Signatu
 import io.getlime.security.powerauth.app.server.database.model.enumeration.OperationStatusDo;
 import io.getlime.security.powerauth.crypto.lib.enums.PowerAuthSignatureTypes;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -39,7 +41,7 @@ import java.util.*;
 @Entity
 @Table(name = "pa_operation")
 @Getter @Setter
-public class OperationEntity implements Serializable {
+public class OperationEntity implements Serializable, Persistable<String> {
 
     @Serial
     private static final long serialVersionUID = -5284589668386509303L;
@@ -181,6 +183,40 @@ public class OperationEntity implements Serializable {
     @Column(name = "activation_id")
     private String activationId;
 
+    /**
+     * Version of the operation, incremented with each change. Used to detect concurrent changes when
+     * the operation is changed without a row lock.
+     */
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    /**
+     * Whether the entity has not been stored yet. A new entity is inserted directly instead of being merged,
+     * so that a duplicate identifier is rejected by the primary key.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+
+    /**
+     * Increment the version of the operation before the change is written to the database.
+     */
+    @PreUpdate
+    void incrementVersion() {
+        version++;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -18,8 +18,10 @@
 package io.getlime.security.powerauth.app.server.database.model.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -34,7 +36,7 @@ import java.util.Objects;
 @Entity
 @Table(name = "pa_token")
 @Getter @Setter
-public class TokenEntity implements Serializable {
+public class TokenEntity implements Serializable, Persistable<String> {
 
     @Serial
     private static final long serialVersionUID = 4283363212931780053L;
@@ -71,6 +73,30 @@ public class TokenEntity implements Serializable {
     @Column(name = "timestamp_created", nullable = false, updatable = false)
     private Date timestampCreated;
 
+    /**
+     * Whether the entity has not been stored yet. A new entity is inserted directly instead of being merged,
+     * so that a duplicate identifier is rejected by the primary key.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public String getId() {
+        return tokenId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,63 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.database.model.enumeration;
+
+/**
+ * Enum representing types of node-local cache entries which may be invalidated across the cluster.
+ *
+ * @author agent, agent@local
+ */
+public enum CacheInvalidationType {
+
+    /**
+     * Activation, keyed by activation ID.
+     */
+    ACTIVATION,
+
+    /**
+     * Application version, keyed by application key.
+     */
+    APPLICATION_VERSION,
+
+    /**
+     * Master key pair, keyed by application ID.
+     */
+    MASTER_KEY_PAIR,
+
+    /**
+     * Callback URL, keyed by callback URL ID.
+     */
+    CALLBACK_URL,
+
+    /**
+     * Operation template, keyed by template name.
+     */
+    OPERATION_TEMPLATE,
+
+    /**
+     * Pending operations of a user, keyed by user ID.
+     */
+    PENDING_OPERATIONS,
+
+    /**
+     * Change of an operation delivered to operation change subscribers, keyed by operation ID.
+     */
+    OPERATION_CHANGE
+
+}
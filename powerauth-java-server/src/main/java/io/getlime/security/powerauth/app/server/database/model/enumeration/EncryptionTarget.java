@@ -0,0 +1,49 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.database.model.enumeration;
+
+/**
+ * Enum representing kinds of records encrypted by the master DB encryption key, which are encrypted in bulk
+ * by the re-encryption job.
+ *
+ * @author agent, agent@local
+ */
+public enum EncryptionTarget {
+
+    /**
+     * Server private keys of activations, keyed by activation ID.
+     */
+    ACTIVATION_SERVER_PRIVATE_KEY,
+
+    /**
+     * Recovery PUKs, keyed by recovery PUK ID.
+     */
+    RECOVERY_PUK,
+
+    /**
+     * Recovery postcard private keys, keyed by recovery configuration ID.
+     */
+    RECOVERY_POSTCARD_PRIVATE_KEY,
+
+    /**
+     * Values of application configurations, keyed by configuration ID.
+     */
+    APPLICATION_CONFIG
+
+}
@@ -19,11 +19,16 @@ package io.getlime.security.powerauth.app.server.database.repository;
 
 import io.getlime.security.powerauth.app.server.database.model.entity.ActivationRecordEntity;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.ActivationStatus;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
@@ -49,6 +54,19 @@ public interface ActivationRepository extends JpaRepository<ActivationRecordEnti
     @Query("SELECT a FROM ActivationRecordEntity a WHERE a.activationId = :activationId")
     Optional<ActivationRecordEntity> findActivationWithLock(String activationId);
 
+    /**
+     * Find activations with given activation IDs.
+     * The activation records are locked in DB in PESSIMISTIC_WRITE mode, see {@link #findActivationWithLock(String)}.
+     * The records are ordered by activation ID, so that concurrent transactions lock them in the same order.
+     * Some databases limit the number of items in the IN list, at most 1000 activation IDs should be passed.
+     *
+     * @param activationIds Activation IDs
+     * @return Activations with given IDs
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM ActivationRecordEntity a WHERE a.activationId IN :activationIds ORDER BY a.activationId")
+    List<ActivationRecordEntity> findActivationsWithLock(Collection<String> activationIds);
+
     /**
      * Find the first activation with given activation ID.
      * The activation record is not locked in DB.
@@ -89,6 +107,47 @@ public interface ActivationRepository extends JpaRepository<ActivationRecordEnti
      */
     List<ActivationRecordEntity> findByApplicationIdAndUserIdAndActivationStatusIn(String applicationId, String userId, Set<ActivationStatus> activationStatuses, Pageable pageable);
 
+    /**
+     * Find activations for given user ID created before the given position, ordered by creation timestamp and activation ID.
+     * The position is defined by the creation timestamp and activation ID of the last activation of the previous page.
+     *
+     * @param userId User ID
+     * @param activationStatuses Statuses according to which activations should be filtered.
+     * @param timestampCreated Creation timestamp of the last activation of the previous page.
+     * @param activationId Activation ID of the last activation of the previous page.
+     * @param pageable pageable context defining the page size, the page number should be 0
+     * @return List of activations for given user
+     */
+    @Query("""
+            SELECT a FROM ActivationRecordEntity a
+            WHERE a.userId = :userId
+            AND a.activationStatus IN :activationStatuses
+            AND (a.timestampCreated < :timestampCreated OR (a.timestampCreated = :timestampCreated AND a.activationId < :activationId))
+            ORDER BY a.timestampCreated DESC, a.activationId DESC
+            """)
+    List<ActivationRecordEntity> findByUserIdAndActivationStatusInAfter(String userId, Set<ActivationStatus> activationStatuses, Date timestampCreated, String activationId, Pageable pageable);
+
+    /**
+     * Find activations for given user ID and application ID created before the given position, ordered by creation timestamp and activation ID.
+     *
+     * @param applicationId Application ID
+     * @param userId        User ID
+     * @param activationStatuses Statuses according to which activations should be filtered.
+     * @param timestampCreated Creation timestamp of the last activation of the previous page.
+     * @param activationId Activation ID of the last activation of the previous page.
+     * @param pageable pageable context defining the page size, the page number should be 0
+     * @return List of activations for given user and application
+     */
+    @Query("""
+            SELECT a FROM ActivationRecordEntity a
+            WHERE a.application.id = :applicationId
+            AND a.userId = :userId
+            AND a.activationStatus IN :activationStatuses
+            AND (a.timestampCreated < :timestampCreated OR (a.timestampCreated = :timestampCreated AND a.activationId < :activationId))
+            ORDER BY a.timestampCreated DESC, a.activationId DESC
+            """)
+    List<ActivationRecordEntity> findByApplicationIdAndUserIdAndActivationStatusInAfter(String applicationId, String userId, Set<ActivationStatus> activationStatuses, Date timestampCreated, String activationId, Pageable pageable);
+
     /**
      * Find the first activation associated with given application by the activation code.
      * Filter the results by activation state and make sure to apply activation time window.
@@ -141,6 +200,22 @@ public interface ActivationRepository extends JpaRepository<ActivationRecordEnti
         return getActivationCountByActivationIdShort(applicationId, activationCode.substring(0, 11));
     }
 
+    /**
+     * Find identifiers of existing activations colliding with newly generated activation IDs or activation codes.
+     * The activation codes are compared in full, so that the index on the activation code is used.
+     *
+     * @param applicationId Application ID.
+     * @param activationIds Generated activation IDs.
+     * @param activationCodes Generated activation codes.
+     * @return Identifiers of the colliding activations.
+     */
+    @Query("""
+            SELECT a.activationId AS activationId, a.activationCode AS activationCode FROM ActivationRecordEntity a
+            WHERE a.activationId IN :activationIds
+            OR (a.application.id = :applicationId AND a.activationCode IN :activationCodes)
+            """)
+    List<ActivationIdentifierView> findCollidingActivationIdentifiers(String applicationId, Collection<String> activationIds, Collection<String> activationCodes);
+
     /**
      * Find all activations which match the query criteria.
      * @param userIds List of user IDs, at least one user ID should be specified.
@@ -153,6 +228,32 @@ public interface ActivationRepository extends JpaRepository<ActivationRecordEnti
     @Query("SELECT a FROM ActivationRecordEntity a WHERE a.userId IN :userIds AND ((:#{#applicationIds == null} = true) OR a.application.id IN (:applicationIds)) AND a.timestampLastUsed < :timestampLastUsedBefore AND a.timestampLastUsed >= :timestampLastUsedAfter AND a.activationStatus IN :states")
     List<ActivationRecordEntity> lookupActivations(Collection<String> userIds, Collection<String> applicationIds, Date timestampLastUsedBefore, Date timestampLastUsedAfter, Collection<ActivationStatus> states);
 
+    /**
+     * Find all activations which match the query criteria and have all the given activation flags,
+     * see {@link #lookupActivations(Collection, Collection, Date, Date, Collection)}. The flags are matched
+     * using the indexed activation flags.
+     * @param userIds List of user IDs, at least one user ID should be specified.
+     * @param applicationIds List of application IDs, use null value for all applications.
+     * @param timestampLastUsedBefore Last used timestamp (timestampLastUsed &lt; timestampLastUsedBefore), use the 1.1.9999 value for any date (null date values in query cause problems in PostgreSQL).
+     * @param timestampLastUsedAfter Last used timestamp (timestampLastUsed &gt;= timestampLastUsedAfter), use the 1.1.1970 value for any date (null date values in query cause problems in PostgreSQL).
+     * @param states List of activation states to consider.
+     * @param activationFlags Distinct activation flags, at least one flag should be specified.
+     * @param activationFlagCount Number of the distinct activation flags.
+     * @return List of activations which match the query criteria.
+     */
+    @Query("""
+            SELECT a FROM ActivationRecordEntity a
+            WHERE a.userId IN :userIds
+            AND ((:#{#applicationIds == null} = true) OR a.application.id IN (:applicationIds))
+            AND a.timestampLastUsed < :timestampLastUsedBefore
+            AND a.timestampLastUsed >= :timestampLastUsedAfter
+            AND a.activationStatus IN :states
+            AND (SELECT COUNT(f) FROM ActivationRecordEntity af JOIN af.indexedFlags f
+                WHERE af.activationId = a.activationId
+                AND f IN :activationFlags) = :activationFlagCount
+            """)
+    List<ActivationRecordEntity> lookupActivationsWithFlags(Collection<String> userIds, Collection<String> applicationIds, Date timestampLastUsedBefore, Date timestampLastUsedAfter, Collection<ActivationStatus> states, Collection<String> activationFlags, long activationFlagCount);
+
     /**
      * Fetch all activations that are in a given state, were expired after a specified timestamp, and are already expired according to a provided current timestamp.
      * @param states Activation states that are used for the lookup.
@@ -163,6 +264,57 @@ public interface ActivationRepository extends JpaRepository<ActivationRecordEnti
     @Query("SELECT a FROM ActivationRecordEntity a WHERE a.activationStatus IN :states AND a.timestampActivationExpire >= :startingTimestamp AND a.timestampActivationExpire < :currentTimestamp")
     Stream<ActivationRecordEntity> findAbandonedActivations(Collection<ActivationStatus> states, Date startingTimestamp, Date currentTimestamp);
 
+    /**
+     * Fetch a chunk of abandoned activations, see {@link #findAbandonedActivations(Collection, Date, Date)}.
+     * The activations are loaded as read-only, their changes are never flushed, so that they can be updated
+     * using {@link #removeAbandonedActivations(Collection, Collection, Date)}.
+     *
+     * @param states Activation states that are used for the lookup.
+     * @param startingTimestamp Timestamp after which the activation was expired.
+     * @param currentTimestamp Current timestamp, to identify already expired operations.
+     * @param pageable Pageable defining the chunk size.
+     * @return List of activations.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT a FROM ActivationRecordEntity a WHERE a.activationStatus IN :states AND a.timestampActivationExpire >= :startingTimestamp AND a.timestampActivationExpire < :currentTimestamp")
+    List<ActivationRecordEntity> findAbandonedActivations(Collection<ActivationStatus> states, Date startingTimestamp, Date currentTimestamp, Pageable pageable);
+
+    /**
+     * Mark the given activations as removed, only if they are still in one of the given states and expired.
+     * The timestamp of the last change is set to the current timestamp, so that the removed activations can be
+     * told apart from activations changed concurrently, see {@link #findActivationIdsRemovedAt(Collection, Date)}.
+     *
+     * @param activationIds Activation IDs.
+     * @param states Activation states of the abandoned activations.
+     * @param currentTimestamp Current timestamp.
+     * @return Number of removed activations.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE ActivationRecordEntity a
+            SET a.activationStatus = io.getlime.security.powerauth.app.server.database.model.enumeration.ActivationStatus.REMOVED,
+                a.timestampLastChange = :currentTimestamp
+            WHERE a.activationId IN :activationIds
+            AND a.activationStatus IN :states
+            AND a.timestampActivationExpire < :currentTimestamp
+            """)
+    int removeAbandonedActivations(Collection<String> activationIds, Collection<ActivationStatus> states, Date currentTimestamp);
+
+    /**
+     * Find IDs of the given activations which were removed at the given timestamp.
+     *
+     * @param activationIds Activation IDs.
+     * @param timestampLastChange Timestamp of the removal.
+     * @return List of activation IDs.
+     */
+    @Query("""
+            SELECT a.activationId FROM ActivationRecordEntity a
+            WHERE a.activationId IN :activationIds
+            AND a.activationStatus = io.getlime.security.powerauth.app.server.database.model.enumeration.ActivationStatus.REMOVED
+            AND a.timestampLastChange = :timestampLastChange
+            """)
+    List<String> findActivationIdsRemovedAt(Collection<String> activationIds, Date timestampLastChange);
+
     /**
      * Find all activations for given user ID
      *
@@ -173,6 +325,17 @@ public interface ActivationRepository extends JpaRepository<ActivationRecordEnti
     @Query("SELECT a FROM ActivationRecordEntity a WHERE a.application.id = :applicationId AND a.externalId = :externalId")
     List<ActivationRecordEntity> findByExternalId(String applicationId, String externalId);
 
+    /**
+     * Find activations of the given application by any of the given external identifiers. The application is fetched
+     * together with the activations.
+     *
+     * @param applicationId Application ID.
+     * @param externalIds External identifiers.
+     * @return List of activations.
+     */
+    @Query("SELECT a FROM ActivationRecordEntity a JOIN FETCH a.application WHERE a.application.id = :applicationId AND a.externalId IN :externalIds")
+    List<ActivationRecordEntity> findByExternalIds(String applicationId, Collection<String> externalIds);
+
     /**
      * Return number of unique users who used given application between specified dates. The comparison includes results that
      * have last used timestamps in exact match with provided timestamps (closed interval).
@@ -184,4 +347,62 @@ public interface ActivationRepository extends JpaRepository<ActivationRecordEnti
     @Query("SELECT COUNT(DISTINCT a.userId) FROM ActivationRecordEntity a WHERE a.application.id = :applicationId AND a.timestampLastUsed >= :fromDate AND a.timestampLastUsed <= :toDate")
     long uniqueUserCountForApplicationBetweenDates(String applicationId, Date fromDate, Date toDate);
 
+    /**
+     * Fetch a chunk of activations with the server private key stored in the given encryption modes, ordered by activation ID.
+     * The activations are loaded as read-only, they are updated using {@link #encryptServerPrivateKey(String, String, EncryptionMode, String, EncryptionMode)}.
+     *
+     * @param encryptionModes Encryption modes of the server private key.
+     * @param lastActivationId Activation ID of the last activation of the previous chunk.
+     * @param pageable Pageable defining the chunk size.
+     * @return List of activations.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT a FROM ActivationRecordEntity a
+            WHERE a.serverPrivateKeyEncryption IN :encryptionModes
+            AND a.activationId > :lastActivationId
+            ORDER BY a.activationId
+            """)
+    List<ActivationRecordEntity> findActivationsByServerPrivateKeyEncryption(Collection<EncryptionMode> encryptionModes, String lastActivationId, Pageable pageable);
+
+    /**
+     * Store the encrypted server private key, only if the activation still holds the given server private key.
+     *
+     * @param activationId Activation ID.
+     * @param serverPrivateKeyBase64 Server private key stored in the database.
+     * @param serverPrivateKeyEncryption Encryption mode of the server private key stored in the database.
+     * @param encryptedServerPrivateKeyBase64 Encrypted server private key.
+     * @param encryptionMode Encryption mode of the encrypted server private key.
+     * @return Number of updated activations.
+     */
+    @Modifying
+    @Query("""
+            UPDATE ActivationRecordEntity a
+            SET a.serverPrivateKeyBase64 = :encryptedServerPrivateKeyBase64,
+                a.serverPrivateKeyEncryption = :encryptionMode
+            WHERE a.activationId = :activationId
+            AND a.serverPrivateKeyEncryption = :serverPrivateKeyEncryption
+            AND a.serverPrivateKeyBase64 = :serverPrivateKeyBase64
+            """)
+    int encryptServerPrivateKey(String activationId, String serverPrivateKeyBase64, EncryptionMode serverPrivateKeyEncryption, String encryptedServerPrivateKeyBase64, EncryptionMode encryptionMode);
+
+    /**
+     * Projection of activation identifiers.
+     */
+    interface ActivationIdentifierView {
+
+        /**
+         * Get activation ID.
+         * @return Activation ID.
+         */
+        String getActivationId();
+
+        /**
+         * Get activation code.
+         * @return Activation code.
+         */
+        String getActivationCode();
+
+    }
+
 }
@@ -18,9 +18,16 @@
 package io.getlime.security.powerauth.app.server.database.repository;
 
 import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationConfigEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,7 +37,7 @@ import java.util.Optional;
  * @author Roman Strobl, roman.strobl@wultra.com
  */
 @Repository
-public interface ApplicationConfigRepository extends CrudRepository<ApplicationConfigEntity, Long> {
+public interface ApplicationConfigRepository extends CrudRepository<ApplicationConfigEntity, Long>, ApplicationConfigRepositoryCustom {
 
     /**
      * Find application configuration by application ID.
@@ -48,4 +55,23 @@ public interface ApplicationConfigRepository extends CrudRepository<ApplicationC
      */
     Optional<ApplicationConfigEntity> findByApplicationIdAndKey(String applicationId, String key);
 
+    /**
+     * Fetch a chunk of application configurations with values stored in the given encryption modes, ordered by ID.
+     * The configurations are loaded as read-only, they are updated using {@link #encryptValues(Long, String, EncryptionMode, String, EncryptionMode)}.
+     *
+     * @param encryptionModes Encryption modes of the values.
+     * @param lastId ID of the last configuration of the previous chunk.
+     * @param pageable Pageable defining the chunk size.
+     * @return List of application configurations.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT c FROM ApplicationConfigEntity c
+            JOIN FETCH c.application
+            WHERE c.encryptionMode IN :encryptionModes
+            AND c.rid > :lastId
+            ORDER BY c.rid
+            """)
+    List<ApplicationConfigEntity> findConfigsByEncryption(Collection<EncryptionMode> encryptionModes, Long lastId, Pageable pageable);
+
 }
@@ -0,0 +1,44 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.database.repository;
+
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
+
+/**
+ * Custom operations of the application configuration repository.
+ *
+ * @author agent, agent@local
+ */
+public interface ApplicationConfigRepositoryCustom {
+
+    /**
+     * Store the encrypted values, only if the configuration values are still stored in the given encryption mode and
+     * equal to the given values. The configuration is locked and the values are compared after reading them, as the values
+     * are stored in a CLOB column, which cannot be compared in a query on all the supported databases.
+     *
+     * @param id Configuration ID.
+     * @param values Configuration values stored in the database.
+     * @param valuesEncryption Encryption mode of the values stored in the database.
+     * @param encryptedValues Encrypted values.
+     * @param encryptionMode Encryption mode of the encrypted values.
+     * @return Number of updated configurations.
+     */
+    int encryptValues(Long id, String values, EncryptionMode valuesEncryption, String encryptedValues, EncryptionMode encryptionMode);
+
+}
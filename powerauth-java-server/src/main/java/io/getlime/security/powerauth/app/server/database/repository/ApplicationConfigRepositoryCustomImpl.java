@@ -0,0 +1,61 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.database.repository;
+
+import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationConfigEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Objects;
+
+/**
+ * Implementation of {@link ApplicationConfigRepositoryCustom}.
+ *
+ * @author agent, agent@local
+ */
+public class ApplicationConfigRepositoryCustomImpl implements ApplicationConfigRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int encryptValues(final Long id, final String values, final EncryptionMode valuesEncryption, final String encryptedValues, final EncryptionMode encryptionMode) {
+        final ApplicationConfigEntity config = entityManager.find(ApplicationConfigEntity.class, id);
+        if (config == null) {
+            return 0;
+        }
+        // Reload the state held by the persistence context, the configuration may have been loaded as read-only
+        entityManager.refresh(config, LockModeType.PESSIMISTIC_WRITE);
+        if (config.getEncryptionMode() != valuesEncryption || !Objects.equals(config.getValues(), values)) {
+            return 0;
+        }
+        entityManager.unwrap(Session.class).setReadOnly(config, false);
+        config.setValues(encryptedValues);
+        config.setEncryptionMode(encryptionMode);
+        entityManager.flush();
+        return 1;
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.database.repository;
+
+import io.getlime.security.powerauth.app.server.database.model.entity.CacheInvalidationEventEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Database repository for the cache invalidation outbox.
+ *
+ * @author agent, agent@local
+ */
+@Repository
+public interface CacheInvalidationEventRepository extends CrudRepository<CacheInvalidationEventEntity, Long> {
+
+    /**
+     * Find invalidation events published by other nodes since the given timestamp.
+     *
+     * @param timestamp Timestamp from which the events are returned.
+     * @param nodeId ID of the current node, its own events are skipped.
+     * @return List of invalidation events.
+     */
+    @Query("""
+            SELECT e FROM CacheInvalidationEventEntity e
+            WHERE e.timestampCreated >= :timestamp
+            AND e.nodeId <> :nodeId
+            ORDER BY e.timestampCreated ASC, e.id ASC
+            """)
+    List<CacheInvalidationEventEntity> findEventsOfOtherNodes(LocalDateTime timestamp, String nodeId);
+
+    /**
+     * Find the creation timestamp of the newest invalidation event.
+     *
+     * @return Creation timestamp of the newest event, empty when there are no events.
+     */
+    @Query("SELECT MAX(e.timestampCreated) FROM CacheInvalidationEventEntity e")
+    Optional<LocalDateTime> findLatestTimestamp();
+
+    /**
+     * Delete invalidation events created before the given timestamp.
+     *
+     * @param timestamp Timestamp.
+     * @return Number of deleted events.
+     */
+    @Modifying
+    @Query("DELETE FROM CacheInvalidationEventEntity e WHERE e.timestampCreated < :timestamp")
+    int deleteEventsCreatedBefore(LocalDateTime timestamp);
+
+}
@@ -0,0 +1,107 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.database.repository;
+
+import io.getlime.security.powerauth.app.server.database.model.entity.OperationArchiveEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Database repository for the archived operations.
+ *
+ * @author agent, agent@local
+ */
+@Repository
+public interface OperationArchiveRepository extends JpaRepository<OperationArchiveEntity, String> {
+
+    /**
+     * Find archived operations by external ID, see {@link OperationRepository#findOperationsByExternalId(String, List, Pageable)}.
+     *
+     * @param externalId External ID.
+     * @param applicationIds Application IDs.
+     * @param pageable Pageable.
+     * @return List of archived operations.
+     */
+    @Query("""
+            SELECT o FROM OperationArchiveEntity o WHERE o.id IN (SELECT o.id FROM OperationArchiveEntity o INNER JOIN o.applications a
+            WHERE o.externalId = :externalId
+            AND a.id IN :applicationIds)
+            ORDER BY o.timestampCreated DESC, o.id DESC
+            """)
+    List<OperationArchiveEntity> findOperationsByExternalId(String externalId, List<String> applicationIds, Pageable pageable);
+
+    /**
+     * Find archived operations by external ID created before the given position,
+     * see {@link OperationRepository#findOperationsByExternalIdAfter(String, List, Date, String, Pageable)}.
+     *
+     * @param externalId External ID.
+     * @param applicationIds Application IDs.
+     * @param timestampCreated Creation timestamp of the last operation of the previous page.
+     * @param operationId ID of the last operation of the previous page.
+     * @param pageable Pageable defining the page size, the page number should be 0.
+     * @return List of archived operations.
+     */
+    @Query("""
+            SELECT o FROM OperationArchiveEntity o WHERE o.id IN (SELECT o.id FROM OperationArchiveEntity o INNER JOIN o.applications a
+            WHERE o.externalId = :externalId
+            AND a.id IN :applicationIds
+            AND (o.timestampCreated < :timestampCreated OR (o.timestampCreated = :timestampCreated AND o.id < :operationId)))
+            ORDER BY o.timestampCreated DESC, o.id DESC
+            """)
+    List<OperationArchiveEntity> findOperationsByExternalIdAfter(String externalId, List<String> applicationIds, Date timestampCreated, String operationId, Pageable pageable);
+
+    /**
+     * Copy the given operations to the archive.
+     *
+     * @param operationIds Operation IDs.
+     * @return Number of archived operations.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO pa_operation_archive (id, user_id, external_id, activation_flag, operation_type, template_name, data, parameters, additional_data,
+            status, status_reason, signature_type, failure_count, max_failure_count, timestamp_created, timestamp_expires, timestamp_finalized,
+            risk_flags, totp_seed, activation_id)
+            SELECT id, user_id, external_id, activation_flag, operation_type, template_name, data, parameters, additional_data,
+            status, status_reason, signature_type, failure_count, max_failure_count, timestamp_created, timestamp_expires, timestamp_finalized,
+            risk_flags, totp_seed, activation_id
+            FROM pa_operation WHERE id IN (:operationIds)
+            """, nativeQuery = true)
+    int copyOperations(Collection<String> operationIds);
+
+    /**
+     * Copy the applications of the given operations to the archive.
+     *
+     * @param operationIds Operation IDs.
+     * @return Number of archived operation applications.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO pa_operation_archive_application (operation_id, application_id)
+            SELECT operation_id, application_id FROM pa_operation_application WHERE operation_id IN (:operationIds)
+            """, nativeQuery = true)
+    int copyOperationApplications(Collection<String> operationIds);
+
+}
@@ -20,13 +20,18 @@ package io.getlime.security.powerauth.app.server.database.repository;
 
 
 import io.getlime.security.powerauth.app.server.database.model.entity.OperationEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.OperationStatusDo;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -39,7 +44,12 @@ import java.util.stream.Stream;
  * @implSpec Oracle does not support {@code DISTINCT} on {@code CLOB} so subselects have to be used.
  */
 @Repository
-public interface OperationRepository extends JpaRepository<OperationEntity, String> {
+public interface OperationRepository extends JpaRepository<OperationEntity, String>, OperationRepositoryCustom {
+
+    /**
+     * Lock timeout value instructing Hibernate to skip already locked rows, see {@code org.hibernate.LockOptions#SKIP_LOCKED}.
+     */
+    String LOCK_TIMEOUT_SKIP_LOCKED = "-2";
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT o FROM OperationEntity o WHERE o.id = :operationId")
@@ -48,13 +58,25 @@ public interface OperationRepository extends JpaRepository<OperationEntity, Stri
     @Query("SELECT o FROM OperationEntity o WHERE o.id = :operationId")
     Optional<OperationEntity> findOperationWithoutLock(String operationId);
 
+    /**
+     * Increment the version of the operation, only if the version has not been changed in the meantime.
+     * The updated row stays locked until the end of the transaction.
+     *
+     * @param operationId Operation ID.
+     * @param version Expected version of the operation.
+     * @return Number of updated rows, {@code 0} when the operation has been changed concurrently.
+     */
+    @Modifying
+    @Query("UPDATE OperationEntity o SET o.version = o.version + 1 WHERE o.id = :operationId AND o.version = :version")
+    int incrementVersion(String operationId, long version);
+
     @Query("""
             SELECT o FROM OperationEntity o WHERE o.id IN (SELECT o.id FROM OperationEntity o INNER JOIN o.applications a
             WHERE o.userId = :userId
             AND a.id in :applicationIds
             AND (:activationId IS NULL OR o.activationId IS NULL OR o.activationId = :activationId)
             AND (:activationFlags IS NULL OR o.activationFlag IS NULL OR o.activationFlag IN :activationFlags))
-            ORDER BY o.timestampCreated DESC
+            ORDER BY o.timestampCreated DESC, o.id DESC
             """)
     Stream<OperationEntity> findAllOperationsForUser(String userId, List<String> applicationIds, String activationId, List<String> activationFlags, final Pageable pageable);
 
@@ -65,7 +87,7 @@ public interface OperationRepository extends JpaRepository<OperationEntity, Stri
             AND o.status = io.getlime.security.powerauth.app.server.database.model.enumeration.OperationStatusDo.PENDING
             AND (:activationId IS NULL OR o.activationId IS NULL OR o.activationId = :activationId)
             AND (:activationFlags IS NULL OR o.activationFlag IS NULL OR o.activationFlag IN :activationFlags))
-            ORDER BY o.timestampCreated DESC
+            ORDER BY o.timestampCreated DESC, o.id DESC
             """)
     Stream<OperationEntity> findPendingOperationsForUser(String userId, List<String> applicationIds, String activationId, List<String> activationFlags, final Pageable pageable);
 
@@ -73,10 +95,77 @@ public interface OperationRepository extends JpaRepository<OperationEntity, Stri
             SELECT o FROM OperationEntity o WHERE o.id IN (SELECT o.id FROM OperationEntity o INNER JOIN o.applications a 
             WHERE o.externalId = :externalId
             AND a.id IN :applicationIds)
-            ORDER BY o.timestampCreated DESC
+            ORDER BY o.timestampCreated DESC, o.id DESC
             """)
     Stream<OperationEntity> findOperationsByExternalId(String externalId, List<String> applicationIds, final Pageable pageable);
 
+    /**
+     * Find operations of the user created before the given position, see {@link #findAllOperationsForUser(String, List, String, List, Pageable)}.
+     * The position is defined by the creation timestamp and ID of the last operation of the previous page.
+     *
+     * @param userId User ID.
+     * @param applicationIds Application IDs.
+     * @param activationId Activation ID.
+     * @param activationFlags Activation flags.
+     * @param timestampCreated Creation timestamp of the last operation of the previous page.
+     * @param operationId ID of the last operation of the previous page.
+     * @param pageable Pageable defining the page size, the page number should be 0.
+     * @return Stream of operations.
+     */
+    @Query("""
+            SELECT o FROM OperationEntity o WHERE o.id IN (SELECT o.id FROM OperationEntity o INNER JOIN o.applications a
+            WHERE o.userId = :userId
+            AND a.id in :applicationIds
+            AND (:activationId IS NULL OR o.activationId IS NULL OR o.activationId = :activationId)
+            AND (:activationFlags IS NULL OR o.activationFlag IS NULL OR o.activationFlag IN :activationFlags)
+            AND (o.timestampCreated < :timestampCreated OR (o.timestampCreated = :timestampCreated AND o.id < :operationId)))
+            ORDER BY o.timestampCreated DESC, o.id DESC
+            """)
+    Stream<OperationEntity> findAllOperationsForUserAfter(String userId, List<String> applicationIds, String activationId, List<String> activationFlags, Date timestampCreated, String operationId, final Pageable pageable);
+
+    /**
+     * Find pending operations of the user created before the given position, see {@link #findPendingOperationsForUser(String, List, String, List, Pageable)}.
+     *
+     * @param userId User ID.
+     * @param applicationIds Application IDs.
+     * @param activationId Activation ID.
+     * @param activationFlags Activation flags.
+     * @param timestampCreated Creation timestamp of the last operation of the previous page.
+     * @param operationId ID of the last operation of the previous page.
+     * @param pageable Pageable defining the page size, the page number should be 0.
+     * @return Stream of operations.
+     */
+    @Query("""
+            SELECT o FROM OperationEntity o WHERE o.id IN (SELECT o.id FROM OperationEntity o INNER JOIN o.applications a
+            WHERE o.userId = :userId
+            AND a.id IN :applicationIds
+            AND o.status = io.getlime.security.powerauth.app.server.database.model.enumeration.OperationStatusDo.PENDING
+            AND (:activationId IS NULL OR o.activationId IS NULL OR o.activationId = :activationId)
+            AND (:activationFlags IS NULL OR o.activationFlag IS NULL OR o.activationFlag IN :activationFlags)
+            AND (o.timestampCreated < :timestampCreated OR (o.timestampCreated = :timestampCreated AND o.id < :operationId)))
+            ORDER BY o.timestampCreated DESC, o.id DESC
+            """)
+    Stream<OperationEntity> findPendingOperationsForUserAfter(String userId, List<String> applicationIds, String activationId, List<String> activationFlags, Date timestampCreated, String operationId, final Pageable pageable);
+
+    /**
+     * Find operations by external ID created before the given position, see {@link #findOperationsByExternalId(String, List, Pageable)}.
+     *
+     * @param externalId External ID.
+     * @param applicationIds Application IDs.
+     * @param timestampCreated Creation timestamp of the last operation of the previous page.
+     * @param operationId ID of the last operation of the previous page.
+     * @param pageable Pageable defining the page size, the page number should be 0.
+     * @return Stream of operations.
+     */
+    @Query("""
+            SELECT o FROM OperationEntity o WHERE o.id IN (SELECT o.id FROM OperationEntity o INNER JOIN o.applications a
+            WHERE o.externalId = :externalId
+            AND a.id IN :applicationIds
+            AND (o.timestampCreated < :timestampCreated OR (o.timestampCreated = :timestampCreated AND o.id < :operationId)))
+            ORDER BY o.timestampCreated DESC, o.id DESC
+            """)
+    Stream<OperationEntity> findOperationsByExternalIdAfter(String externalId, List<String> applicationIds, Date timestampCreated, String operationId, final Pageable pageable);
+
     @Query("""
             SELECT o FROM OperationEntity o 
             WHERE o.timestampExpires < :timestamp
@@ -84,4 +173,91 @@ public interface OperationRepository extends JpaRepository<OperationEntity, Stri
             """)
     Stream<OperationEntity> findExpiredPendingOperations(Date timestamp, Pageable pageable);
 
+    /**
+     * Find expired pending operations and lock them for an update. Rows which are already locked by another
+     * transaction are skipped, so that several nodes may claim disjoint chunks of operations concurrently.
+     *
+     * @param timestamp Timestamp.
+     * @param pageable Pageable defining the chunk size.
+     * @return List of locked operations.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = LOCK_TIMEOUT_SKIP_LOCKED))
+    @Query("""
+            SELECT o FROM OperationEntity o
+            WHERE o.timestampExpires < :timestamp
+            AND o.status = io.getlime.security.powerauth.app.server.database.model.enumeration.OperationStatusDo.PENDING
+            """)
+    List<OperationEntity> findExpiredPendingOperationsSkipLocked(Date timestamp, Pageable pageable);
+
+    /**
+     * Find identifiers of finalized operations created before the given timestamp, to be moved to the archive.
+     * Oldest operations are returned first, the lookup is served by the index on status and timestamp created.
+     *
+     * @param statuses Finalized operation statuses.
+     * @param timestamp Timestamp.
+     * @param pageable Pageable defining the chunk size.
+     * @return List of operation IDs.
+     */
+    @Query("""
+            SELECT o.id FROM OperationEntity o
+            WHERE o.status IN :statuses
+            AND o.timestampCreated < :timestamp
+            ORDER BY o.timestampCreated ASC, o.id ASC
+            """)
+    List<String> findFinalizedOperationIds(Collection<OperationStatusDo> statuses, Date timestamp, Pageable pageable);
+
+    /**
+     * Delete the applications of the given operations.
+     *
+     * @param operationIds Operation IDs.
+     * @return Number of deleted operation applications.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM pa_operation_application WHERE operation_id IN (:operationIds)", nativeQuery = true)
+    int deleteOperationApplications(Collection<String> operationIds);
+
+    /**
+     * Delete the given operations. The applications of the operations must be deleted first,
+     * see {@link #deleteOperationApplications(Collection)}.
+     *
+     * @param operationIds Operation IDs.
+     * @return Number of deleted operations.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM pa_operation WHERE id IN (:operationIds)", nativeQuery = true)
+    int deleteOperations(Collection<String> operationIds);
+
+    /**
+     * Find identifiers and expiration timestamps of all pending operations of the user.
+     *
+     * @param userId User ID.
+     * @return List of pending operation projections.
+     */
+    @Query("""
+            SELECT o.id AS id, o.timestampExpires AS timestampExpires FROM OperationEntity o
+            WHERE o.userId = :userId
+            AND o.status = io.getlime.security.powerauth.app.server.database.model.enumeration.OperationStatusDo.PENDING
+            """)
+    List<PendingOperationView> findPendingOperationViewsForUser(String userId);
+
+    /**
+     * Projection of a pending operation and its expiration.
+     */
+    interface PendingOperationView {
+
+        /**
+         * Get operation ID.
+         * @return Operation ID.
+         */
+        String getId();
+
+        /**
+         * Get timestamp when the operation expires.
+         * @return Expiration timestamp.
+         */
+        Date getTimestampExpires();
+
+    }
+
 }
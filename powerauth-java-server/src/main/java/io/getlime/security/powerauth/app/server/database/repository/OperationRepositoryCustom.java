@@ -0,0 +1,47 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.database.repository;
+
+import io.getlime.security.powerauth.app.server.database.model.entity.OperationEntity;
+
+import java.util.Collection;
+
+/**
+ * Custom operations of the operation repository.
+ *
+ * @author agent, agent@local
+ */
+public interface OperationRepositoryCustom {
+
+    /**
+     * Insert new operations. Unlike {@code saveAll}, the operations are persisted without checking whether
+     * they already exist, so that the inserts can be sent to the database in JDBC batches.
+     *
+     * @param operations New operations with assigned identifiers.
+     */
+    void persistAll(Collection<OperationEntity> operations);
+
+    /**
+     * Reload the state of the operation from the database, discarding the state held by the persistence context.
+     *
+     * @param operation Operation to reload.
+     */
+    void refresh(OperationEntity operation);
+
+}
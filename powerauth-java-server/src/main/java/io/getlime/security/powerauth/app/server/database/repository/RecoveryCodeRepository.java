@@ -18,10 +18,19 @@
 package io.getlime.security.powerauth.app.server.database.repository;
 
 import io.getlime.security.powerauth.app.server.database.model.entity.RecoveryCodeEntity;
+import io.getlime.security.powerauth.app.server.database.model.entity.RecoveryPukEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -94,4 +103,82 @@ public interface RecoveryCodeRepository extends CrudRepository<RecoveryCodeEntit
     @Query("SELECT r FROM RecoveryCodeEntity r WHERE r.application.id = :applicationId AND r.recoveryCode = :recoveryCode ORDER BY r.timestampCreated DESC")
     RecoveryCodeEntity findByApplicationIdAndRecoveryCode(String applicationId, String recoveryCode);
 
+    /**
+     * Invalidate valid recovery PUKs of recovery codes of the given activations which are not revoked yet.
+     * The PUKs must be invalidated before the recovery codes are revoked, see {@link #revokeRecoveryCodes(Collection, Date)}.
+     *
+     * @param activationIds Activation IDs.
+     * @param timestamp Timestamp of the change.
+     * @return Number of invalidated recovery PUKs.
+     */
+    @Modifying
+    @Query("""
+            UPDATE RecoveryPukEntity p
+            SET p.status = io.getlime.security.powerauth.app.server.database.model.enumeration.RecoveryPukStatus.INVALID,
+                p.timestampLastChange = :timestamp
+            WHERE p.status = io.getlime.security.powerauth.app.server.database.model.enumeration.RecoveryPukStatus.VALID
+            AND p.recoveryCode.id IN (SELECT r.id FROM RecoveryCodeEntity r
+                WHERE r.activationId IN :activationIds
+                AND r.status <> io.getlime.security.powerauth.app.server.database.model.enumeration.RecoveryCodeStatus.REVOKED)
+            """)
+    int invalidateRecoveryPuks(Collection<String> activationIds, Date timestamp);
+
+    /**
+     * Revoke recovery codes of the given activations which are not revoked yet.
+     *
+     * @param activationIds Activation IDs.
+     * @param timestamp Timestamp of the change.
+     * @return Number of revoked recovery codes.
+     */
+    @Modifying
+    @Query("""
+            UPDATE RecoveryCodeEntity r
+            SET r.status = io.getlime.security.powerauth.app.server.database.model.enumeration.RecoveryCodeStatus.REVOKED,
+                r.timestampLastChange = :timestamp
+            WHERE r.activationId IN :activationIds
+            AND r.status <> io.getlime.security.powerauth.app.server.database.model.enumeration.RecoveryCodeStatus.REVOKED
+            """)
+    int revokeRecoveryCodes(Collection<String> activationIds, Date timestamp);
+
+    /**
+     * Fetch a chunk of recovery PUKs stored in the given encryption modes together with their recovery codes, ordered by ID.
+     * The recovery PUKs are loaded as read-only, they are updated using {@link #encryptRecoveryPuk(Long, String, EncryptionMode, String, EncryptionMode)}.
+     *
+     * @param encryptionModes Encryption modes of the recovery PUK.
+     * @param lastId ID of the last recovery PUK of the previous chunk.
+     * @param pageable Pageable defining the chunk size.
+     * @return List of recovery PUKs.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT p FROM RecoveryPukEntity p
+            JOIN FETCH p.recoveryCode r
+            JOIN FETCH r.application
+            WHERE p.pukEncryption IN :encryptionModes
+            AND p.id > :lastId
+            ORDER BY p.id
+            """)
+    List<RecoveryPukEntity> findRecoveryPuksByEncryption(Collection<EncryptionMode> encryptionModes, Long lastId, Pageable pageable);
+
+    /**
+     * Store the encrypted recovery PUK, only if the recovery PUK still holds the given value.
+     *
+     * @param id Recovery PUK ID.
+     * @param puk Recovery PUK stored in the database.
+     * @param pukEncryption Encryption mode of the recovery PUK stored in the database.
+     * @param encryptedPuk Encrypted recovery PUK.
+     * @param encryptionMode Encryption mode of the encrypted recovery PUK.
+     * @return Number of updated recovery PUKs.
+     */
+    @Modifying
+    @Query("""
+            UPDATE RecoveryPukEntity p
+            SET p.puk = :encryptedPuk,
+                p.pukEncryption = :encryptionMode
+            WHERE p.id = :id
+            AND p.pukEncryption = :pukEncryption
+            AND p.puk = :puk
+            """)
+    int encryptRecoveryPuk(Long id, String puk, EncryptionMode pukEncryption, String encryptedPuk, EncryptionMode encryptionMode);
+
 }
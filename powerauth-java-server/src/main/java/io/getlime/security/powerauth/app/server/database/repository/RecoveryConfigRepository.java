@@ -18,9 +18,19 @@
 package io.getlime.security.powerauth.app.server.database.repository;
 
 import io.getlime.security.powerauth.app.server.database.model.entity.RecoveryConfigEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Database repository for recovery config entities.
  *
@@ -37,4 +47,46 @@ public interface RecoveryConfigRepository extends CrudRepository<RecoveryConfigE
      */
     RecoveryConfigEntity findByApplicationId(String applicationId);
 
+    /**
+     * Fetch a chunk of recovery configurations with the recovery postcard private key stored in the given encryption
+     * modes, ordered by ID. The configurations are loaded as read-only, they are updated using
+     * {@link #encryptRecoveryPostcardPrivateKey(Long, String, EncryptionMode, String, EncryptionMode)}.
+     *
+     * @param encryptionModes Encryption modes of the recovery postcard private key.
+     * @param lastId ID of the last recovery configuration of the previous chunk.
+     * @param pageable Pageable defining the chunk size.
+     * @return List of recovery configurations.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT c FROM RecoveryConfigEntity c
+            JOIN FETCH c.application
+            WHERE c.privateKeyEncryption IN :encryptionModes
+            AND c.recoveryPostcardPrivateKeyBase64 IS NOT NULL
+            AND c.id > :lastId
+            ORDER BY c.id
+            """)
+    List<RecoveryConfigEntity> findRecoveryConfigsByPrivateKeyEncryption(Collection<EncryptionMode> encryptionModes, Long lastId, Pageable pageable);
+
+    /**
+     * Store the encrypted recovery postcard private key, only if the configuration still holds the given private key.
+     *
+     * @param id Recovery configuration ID.
+     * @param privateKeyBase64 Recovery postcard private key stored in the database.
+     * @param privateKeyEncryption Encryption mode of the private key stored in the database.
+     * @param encryptedPrivateKeyBase64 Encrypted recovery postcard private key.
+     * @param encryptionMode Encryption mode of the encrypted private key.
+     * @return Number of updated recovery configurations.
+     */
+    @Modifying
+    @Query("""
+            UPDATE RecoveryConfigEntity c
+            SET c.recoveryPostcardPrivateKeyBase64 = :encryptedPrivateKeyBase64,
+                c.privateKeyEncryption = :encryptionMode
+            WHERE c.id = :id
+            AND c.privateKeyEncryption = :privateKeyEncryption
+            AND c.recoveryPostcardPrivateKeyBase64 = :privateKeyBase64
+            """)
+    int encryptRecoveryPostcardPrivateKey(Long id, String privateKeyBase64, EncryptionMode privateKeyEncryption, String encryptedPrivateKeyBase64, EncryptionMode encryptionMode);
+
 }
@@ -0,0 +1,170 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.archive;
+
+import io.getlime.security.powerauth.app.server.configuration.PowerAuthServiceConfiguration;
+import io.getlime.security.powerauth.app.server.database.model.entity.OperationArchiveEntity;
+import io.getlime.security.powerauth.app.server.database.model.entity.OperationEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.OperationStatusDo;
+import io.getlime.security.powerauth.app.server.database.repository.OperationArchiveRepository;
+import io.getlime.security.powerauth.app.server.database.repository.OperationRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service moving finalized operations to the archive table and reading them back.
+ * <p>
+ * Finalized operations older than {@code powerauth.service.operations.archive.retention} are moved from
+ * {@code pa_operation} to {@code pa_operation_archive} in chunks, so that the table of operations holds mostly
+ * the recent and pending operations. Archived operations are returned as detached {@link OperationEntity}
+ * instances, which must not be saved.
+ *
+ * @author agent, agent@local
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class OperationArchiveService {
+
+    private static final Set<OperationStatusDo> FINALIZED_STATUSES = EnumSet.complementOf(EnumSet.of(OperationStatusDo.PENDING));
+
+    private final OperationRepository operationRepository;
+    private final OperationArchiveRepository operationArchiveRepository;
+    private final PowerAuthServiceConfiguration powerAuthServiceConfiguration;
+
+    /**
+     * Whether the archive is enabled.
+     *
+     * @return True if finalized operations are archived and read through from the archive.
+     */
+    public boolean isEnabled() {
+        return powerAuthServiceConfiguration.isOperationArchiveEnabled();
+    }
+
+    /**
+     * Move a chunk of finalized operations created before the given timestamp to the archive.
+     *
+     * @param createdBefore Operations created before this timestamp are archived.
+     * @param chunkSize Maximum number of operations to archive.
+     * @return Number of archived operations.
+     */
+    @Transactional
+    public int archiveOperationsChunk(final Date createdBefore, final int chunkSize) {
+        final List<String> operationIds = operationRepository.findFinalizedOperationIds(FINALIZED_STATUSES, createdBefore, PageRequest.of(0, chunkSize));
+        if (operationIds.isEmpty()) {
+            return 0;
+        }
+        operationArchiveRepository.copyOperations(operationIds);
+        operationArchiveRepository.copyOperationApplications(operationIds);
+        operationRepository.deleteOperationApplications(operationIds);
+        final int count = operationRepository.deleteOperations(operationIds);
+        logger.debug("Archived operations: {}", count);
+        return count;
+    }
+
+    /**
+     * Find an archived operation.
+     *
+     * @param operationId Operation ID.
+     * @return Detached archived operation, if present.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OperationEntity> findOperation(final String operationId) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        return operationArchiveRepository.findById(operationId).map(OperationArchiveService::convert);
+    }
+
+    /**
+     * Find archived operations by external ID.
+     *
+     * @param externalId External ID.
+     * @param applicationIds Application IDs.
+     * @param pageable Pageable.
+     * @return Detached archived operations.
+     */
+    @Transactional(readOnly = true)
+    public List<OperationEntity> findOperationsByExternalId(final String externalId, final List<String> applicationIds, final Pageable pageable) {
+        if (!isEnabled()) {
+            return List.of();
+        }
+        return operationArchiveRepository.findOperationsByExternalId(externalId, applicationIds, pageable).stream()
+                .map(OperationArchiveService::convert)
+                .toList();
+    }
+
+    /**
+     * Find archived operations by external ID created before the given position.
+     *
+     * @param externalId External ID.
+     * @param applicationIds Application IDs.
+     * @param timestampCreated Creation timestamp of the last operation of the previous page.
+     * @param operationId ID of the last operation of the previous page.
+     * @param pageable Pageable defining the page size.
+     * @return Detached archived operations.
+     */
+    @Transactional(readOnly = true)
+    public List<OperationEntity> findOperationsByExternalIdAfter(final String externalId, final List<String> applicationIds, final Date timestampCreated, final String operationId, final Pageable pageable) {
+        if (!isEnabled()) {
+            return List.of();
+        }
+        return operationArchiveRepository.findOperationsByExternalIdAfter(externalId, applicationIds, timestampCreated, operationId, pageable).stream()
+                .map(OperationArchiveService::convert)
+                .toList();
+    }
+
+    private static OperationEntity convert(final OperationArchiveEntity source) {
+        final OperationEntity destination = new OperationEntity();
+        destination.setId(source.getId());
+        destination.setUserId(source.getUserId());
+        destination.setApplications(new ArrayList<>(source.getApplications()));
+        destination.setExternalId(source.getExternalId());
+        destination.setActivationFlag(source.getActivationFlag());
+        destination.setOperationType(source.getOperationType());
+        destination.setTemplateName(source.getTemplateName());
+        destination.setData(source.getData());
+        destination.setParameters(source.getParameters());
+        destination.setAdditionalData(source.getAdditionalData());
+        destination.setStatus(source.getStatus());
+        destination.setStatusReason(source.getStatusReason());
+        destination.setSignatureType(source.getSignatureType());
+        destination.setFailureCount(source.getFailureCount());
+        destination.setMaxFailureCount(source.getMaxFailureCount());
+        destination.setTimestampCreated(source.getTimestampCreated());
+        destination.setTimestampExpires(source.getTimestampExpires());
+        destination.setTimestampFinalized(source.getTimestampFinalized());
+        destination.setRiskFlags(source.getRiskFlags());
+        destination.setTotpSeed(source.getTotpSeed());
+        destination.setActivationId(source.getActivationId());
+        return destination;
+    }
+
+}
@@ -133,8 +133,7 @@ public class ActivationFlagsServiceBehavior {
                 final List<String> allFlags = new ArrayList<>(currentFlags);
                 allFlags.addAll(newFlags);
                 Collections.sort(allFlags);
-                activation.getFlags().clear();
-                activation.getFlags().addAll(allFlags);
+                activation.setFlags(allFlags);
                 activationRepository.save(activation);
             }
             final AddActivationFlagsResponse response = new AddActivationFlagsResponse();
@@ -186,8 +185,7 @@ public class ActivationFlagsServiceBehavior {
                     .build();
             audit.log(AuditLevel.INFO, "Setting new activation flags: {} to activation {}", auditDetail, activationFlags, activationId);
             Collections.sort(activationFlags);
-            activation.getFlags().clear();
-            activation.getFlags().addAll(activationFlags);
+            activation.setFlags(activationFlags);
             activationRepository.save(activation);
 
             final UpdateActivationFlagsResponse response = new UpdateActivationFlagsResponse();
@@ -238,7 +236,9 @@ public class ActivationFlagsServiceBehavior {
                     .param("removedFlags", activationFlags)
                     .build();
             audit.log(AuditLevel.INFO, "Removing activation flags: {} from activation {}", auditDetail, activationFlags, activationId);
-            activation.getFlags().removeAll(activationFlags);
+            final List<String> remainingFlags = new ArrayList<>(activation.getFlags());
+            remainingFlags.removeAll(activationFlags);
+            activation.setFlags(remainingFlags);
             activationRepository.save(activation);
 
             final RemoveActivationFlagsResponse response = new RemoveActivationFlagsResponse();
@@ -27,8 +27,10 @@ import io.getlime.security.powerauth.app.server.database.model.AdditionalInforma
 import io.getlime.security.powerauth.app.server.database.model.entity.ActivationHistoryEntity;
 import io.getlime.security.powerauth.app.server.database.model.entity.ActivationRecordEntity;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.ActivationStatus;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
 import io.getlime.security.powerauth.app.server.database.repository.ActivationHistoryRepository;
 import io.getlime.security.powerauth.app.server.database.repository.ActivationRepository;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationBus;
 import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
 import io.getlime.security.powerauth.app.server.service.i18n.LocalizationProvider;
 import io.getlime.security.powerauth.app.server.service.model.ServiceError;
@@ -54,16 +56,18 @@ public class ActivationHistoryServiceBehavior {
     private final ActivationRepository activationRepository;
     private final LocalizationProvider localizationProvider;
     private final AuditingServiceBehavior audit;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     // Prepare converters
     private final ActivationStatusConverter activationStatusConverter = new ActivationStatusConverter();
 
     @Autowired
-    public ActivationHistoryServiceBehavior(ActivationHistoryRepository activationHistoryRepository, ActivationRepository activationRepository, LocalizationProvider localizationProvider, AuditingServiceBehavior audit) {
+    public ActivationHistoryServiceBehavior(ActivationHistoryRepository activationHistoryRepository, ActivationRepository activationRepository, LocalizationProvider localizationProvider, AuditingServiceBehavior audit, CacheInvalidationBus cacheInvalidationBus) {
         this.activationHistoryRepository = activationHistoryRepository;
         this.activationRepository = activationRepository;
         this.localizationProvider = localizationProvider;
         this.audit = audit;
+        this.cacheInvalidationBus = cacheInvalidationBus;
     }
 
     /**
@@ -93,8 +97,54 @@ public class ActivationHistoryServiceBehavior {
      * @param historyEventReason Optional reason, why this activation save event happened.
      */
     public void saveActivationAndLogChange(ActivationRecordEntity activation, String externalUserId, String historyEventReason) {
+        addActivationHistory(activation, externalUserId, historyEventReason);
+        // ActivationHistoryEntity is persisted together with activation using Cascade.ALL on ActivationEntity
+        activationRepository.save(activation);
+        cacheInvalidationBus.publishAfterCommit(CacheInvalidationType.ACTIVATION, activation.getActivationId());
+
+        logAuditItem(activation, externalUserId, historyEventReason);
+
+    }
+
+    /**
+     * Save new activations and log their creation into activation history. The activations are inserted together,
+     * so that the inserts are sent to the database in JDBC batches. No cache invalidation is published, because
+     * new activations cannot be cached yet.
+     *
+     * @param activations New activations.
+     */
+    public void saveNewActivationsAndLogChanges(List<ActivationRecordEntity> activations) {
+        activations.forEach(activation -> addActivationHistory(activation, null, null));
+        // ActivationHistoryEntity is persisted together with activation using Cascade.ALL on ActivationEntity
+        activationRepository.saveAll(activations);
+        activations.forEach(activation -> logAuditItem(activation, null, null));
+    }
+
+    /**
+     * Log status change of several activations into activation history. The activations are not saved, they must be
+     * either managed by the persistence context or already updated in the database using a bulk update. Only the history
+     * entries are inserted together, so that the inserts are sent to the database in JDBC batches.
+     *
+     * @param activations Changed activations with the status and timestamp of the last change already set.
+     */
+    public void logActivationsChange(List<ActivationRecordEntity> activations) {
+        final List<ActivationHistoryEntity> activationHistoryEntities = activations.stream()
+                .map(activation -> createActivationHistory(activation, null, null, activation.getTimestampLastChange()))
+                .toList();
+        activationHistoryRepository.saveAll(activationHistoryEntities);
+        activations.forEach(activation -> {
+            cacheInvalidationBus.publishAfterCommit(CacheInvalidationType.ACTIVATION, activation.getActivationId());
+            logAuditItem(activation, null, null);
+        });
+    }
+
+    private static void addActivationHistory(ActivationRecordEntity activation, String externalUserId, String historyEventReason) {
         final Date changeTimestamp = new Date();
         activation.setTimestampLastChange(changeTimestamp);
+        activation.getActivationHistory().add(createActivationHistory(activation, externalUserId, historyEventReason, changeTimestamp));
+    }
+
+    private static ActivationHistoryEntity createActivationHistory(ActivationRecordEntity activation, String externalUserId, String historyEventReason, Date changeTimestamp) {
         final ActivationHistoryEntity activationHistoryEntity = new ActivationHistoryEntity();
         activationHistoryEntity.setActivation(activation);
         activationHistoryEntity.setActivationStatus(activation.getActivationStatus());
@@ -107,13 +157,7 @@ public class ActivationHistoryServiceBehavior {
         activationHistoryEntity.setTimestampCreated(changeTimestamp);
         activationHistoryEntity.setActivationVersion(activation.getVersion());
         activationHistoryEntity.setActivationName(activation.getActivationName());
-
-        activation.getActivationHistory().add(activationHistoryEntity);
-        // ActivationHistoryEntity is persisted together with activation using Cascade.ALL on ActivationEntity
-        activationRepository.save(activation);
-
-        logAuditItem(activation, externalUserId, historyEventReason);
-
+        return activationHistoryEntity;
     }
 
     /**
@@ -23,6 +23,7 @@ import com.wultra.security.powerauth.client.model.entity.Activation;
 import com.wultra.security.powerauth.client.model.enumeration.ActivationProtocol;
 import com.wultra.security.powerauth.client.model.request.*;
 import com.wultra.security.powerauth.client.model.response.*;
+import com.wultra.security.powerauth.client.model.validator.InitActivationBatchRequestValidator;
 import io.getlime.security.powerauth.app.server.configuration.PowerAuthPageableConfiguration;
 import io.getlime.security.powerauth.app.server.configuration.PowerAuthServiceConfiguration;
 import io.getlime.security.powerauth.app.server.converter.*;
@@ -32,6 +33,11 @@ import io.getlime.security.powerauth.app.server.database.model.ServerPrivateKey;
 import io.getlime.security.powerauth.app.server.database.model.entity.*;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.*;
 import io.getlime.security.powerauth.app.server.database.repository.*;
+import io.getlime.security.powerauth.app.server.service.cache.ActivationKeyCache;
+import io.getlime.security.powerauth.app.server.service.cache.ApplicationKeyRegistry;
+import io.getlime.security.powerauth.app.server.service.cache.ActivationStatusKeys;
+import io.getlime.security.powerauth.app.server.service.cache.CachedMasterKeyPair;
+import io.getlime.security.powerauth.app.server.service.encryption.KeyPairPool;
 import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
 import io.getlime.security.powerauth.app.server.service.exceptions.RollbackingServiceException;
 import io.getlime.security.powerauth.app.server.service.i18n.LocalizationProvider;
@@ -59,13 +65,13 @@ import io.getlime.security.powerauth.crypto.lib.model.exception.GenericCryptoExc
 import io.getlime.security.powerauth.crypto.lib.util.KeyConvertor;
 import io.getlime.security.powerauth.crypto.lib.util.PasswordHash;
 import io.getlime.security.powerauth.crypto.server.activation.PowerAuthServerActivation;
-import io.getlime.security.powerauth.crypto.server.keyfactory.PowerAuthServerKeyFactory;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
@@ -80,6 +86,8 @@ import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -105,6 +113,9 @@ public class ActivationServiceBehavior {
     // Maximum date for SQL timestamps: 01/01/9999 @ 12:00am (UTC)
     private static final Date MAX_TIMESTAMP = new Date(253370764800000L);
 
+    // Maximum number of activations whose identifiers are checked by a single query, Oracle limits IN lists to 1000 items
+    private static final int BATCH_IDENTIFIER_QUERY_CHUNK_SIZE = 1000;
+
     private final CallbackUrlBehavior callbackUrlBehavior;
     private final ActivationHistoryServiceBehavior activationHistoryServiceBehavior;
     private final TemporaryKeyBehavior temporaryKeyBehavior;
@@ -124,8 +135,12 @@ public class ActivationServiceBehavior {
     private final ActivationRepository activationRepository;
     private final RecoveryCodeRepository recoveryCodeRepository;
     private final MasterKeyPairRepository masterKeyPairRepository;
+    private final ApplicationKeyRegistry applicationKeyRegistry;
+    private final ActivationKeyCache activationKeyCache;
     private final ApplicationVersionRepository applicationVersionRepository;
+    private final ThreadPoolTaskExecutor activationBatchThreadPoolExecutor;
     private final RecoveryConfigRepository recoveryConfigRepository;
+    private final KeyPairPool keyPairPool;
 
     // Prepare converters
     private final ActivationStatusConverter activationStatusConverter = new ActivationStatusConverter();
@@ -140,7 +155,6 @@ public class ActivationServiceBehavior {
     private final IdentifierGenerator identifierGenerator = new IdentifierGenerator();
     private final KeyConvertor keyConvertor = new KeyConvertor();
 
-    private final PowerAuthServerKeyFactory powerAuthServerKeyFactory = new PowerAuthServerKeyFactory();
     private final PowerAuthServerActivation powerAuthServerActivation = new PowerAuthServerActivation();
 
     /**
@@ -151,7 +165,7 @@ public class ActivationServiceBehavior {
      * @param activation Activation to check.
      */
     private void deactivatePendingActivation(Date timestamp, ActivationRecordEntity activation, boolean isActivationLocked) throws GenericServiceException {
-        if ((activation.getActivationStatus() == ActivationStatus.CREATED || activation.getActivationStatus() == ActivationStatus.PENDING_COMMIT) && (timestamp.getTime() > activation.getTimestampActivationExpire().getTime())) {
+        if (isPendingActivationExpired(timestamp, activation)) {
             logger.info("Deactivating pending activation, activation ID: {}", activation.getActivationId());
             if (!isActivationLocked) {
                 // Make sure activation is locked until the end of transaction in case it was not locked yet
@@ -165,6 +179,18 @@ public class ActivationServiceBehavior {
         }
     }
 
+    /**
+     * Check whether the activation in CREATED or PENDING_COMMIT state has expired.
+     *
+     * @param timestamp Timestamp to check activation against.
+     * @param activation Activation to check.
+     * @return True if the activation is pending and expired.
+     */
+    private static boolean isPendingActivationExpired(Date timestamp, ActivationRecordEntity activation) {
+        return (activation.getActivationStatus() == ActivationStatus.CREATED || activation.getActivationStatus() == ActivationStatus.PENDING_COMMIT)
+                && timestamp.getTime() > activation.getTimestampActivationExpire().getTime();
+    }
+
     /**
      * Handle case when public key is invalid. Remove provided activation (mark as REMOVED),
      * notify callback listeners, and throw an exception.
@@ -231,9 +257,11 @@ public class ActivationServiceBehavior {
             final String userId = request.getUserId();
             final String applicationId = request.getApplicationId();
             final Set<ActivationProtocol> protocols = request.getProtocols();
+            final Date afterTimestampCreated = request.getAfterTimestampCreated();
+            final String afterActivationId = request.getAfterActivationId();
+            final boolean keysetPagination = afterTimestampCreated != null;
             final int pageNumber = request.getPageNumber() != null ? request.getPageNumber() : powerAuthPageableConfiguration.defaultPageNumber();
             final int pageSize = request.getPageSize() != null ? request.getPageSize() : powerAuthPageableConfiguration.defaultPageSize();
-            final Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by("timestampCreated").descending());
             final Set<ActivationStatus> activationStatuses = convert(request.getActivationStatuses());
 
             if (userId == null) {
@@ -242,14 +270,31 @@ public class ActivationServiceBehavior {
                 throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_REQUEST);
             }
 
+            if ((afterTimestampCreated == null) != (afterActivationId == null)) {
+                logger.warn("Invalid request parameters afterTimestampCreated and afterActivationId in method getActivationListForUser");
+                // Rollback is not required, database is not used for writing
+                throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_REQUEST);
+            }
+
             // Generate timestamp in advance
             final Date timestamp = new Date();
 
             final List<ActivationRecordEntity> activationsList;
-            if (applicationId == null) {
-                activationsList = activationQueryService.findByUserIdAndActivationStatusIn(userId, activationStatuses, pageable);
+            if (keysetPagination) {
+                // Keyset pagination does not depend on the page number, the position is given by the last activation of the previous page
+                final Pageable pageable = PageRequest.of(0, pageSize);
+                if (applicationId == null) {
+                    activationsList = activationQueryService.findByUserIdAndActivationStatusInAfter(userId, activationStatuses, afterTimestampCreated, afterActivationId, pageable);
+                } else {
+                    activationsList = activationQueryService.findByApplicationIdAndUserIdAndActivationStatusInAfter(applicationId, userId, activationStatuses, afterTimestampCreated, afterActivationId, pageable);
+                }
             } else {
-                activationsList = activationQueryService.findByApplicationIdAndUserIdAndActivationStatusIn(applicationId, userId, activationStatuses, pageable);
+                final Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by("timestampCreated", "activationId").descending());
+                if (applicationId == null) {
+                    activationsList = activationQueryService.findByUserIdAndActivationStatusIn(userId, activationStatuses, pageable);
+                } else {
+                    activationsList = activationQueryService.findByApplicationIdAndUserIdAndActivationStatusIn(applicationId, userId, activationStatuses, pageable);
+                }
             }
 
             final GetActivationListForUserResponse response = new GetActivationListForUserResponse();
@@ -362,23 +407,9 @@ public class ActivationServiceBehavior {
             } else {
                 statuses.add(activationStatus);
             }
-            final List<ActivationRecordEntity> activationsList = activationQueryService.lookupActivations(userIds, applicationIds, timestampLastUsedBefore, timestampLastUsedAfter, statuses);
-            if (activationsList.isEmpty()) {
-                return response;
-            }
-
-            final List<ActivationRecordEntity> filteredActivationList = new ArrayList<>();
-            // Filter activation by activation flags in case they are specified
-            if (activationFlags != null && !activationFlags.isEmpty()) {
-                final List<ActivationRecordEntity> activationsWithFlags = activationsList.stream()
-                        .filter(activation -> new HashSet<>(activation.getFlags()).containsAll(activationFlags))
-                        .toList();
-                filteredActivationList.addAll(activationsWithFlags);
-            } else {
-                filteredActivationList.addAll(activationsList);
-            }
-
-            for (ActivationRecordEntity activation : filteredActivationList) {
+            // Activations are filtered by activation flags in the database in case they are specified
+            final List<ActivationRecordEntity> activationsList = activationQueryService.lookupActivations(userIds, applicationIds, timestampLastUsedBefore, timestampLastUsedAfter, statuses, activationFlags);
+            for (ActivationRecordEntity activation : activationsList) {
                 // Map between database object and service objects
                 final Activation activationServiceItem = new Activation();
                 activationServiceItem.setActivationId(activation.getActivationId());
@@ -428,7 +459,7 @@ public class ActivationServiceBehavior {
                 throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_REQUEST);
             }
 
-            final List<String> activationIds = request.getActivationIds();
+            final Set<String> activationIds = new HashSet<>(request.getActivationIds());
             ActivationStatus activationStatus = null;
             if (request.getActivationStatus() != null) {
                 activationStatus = activationStatusConverter.convert(request.getActivationStatus());
@@ -436,24 +467,27 @@ public class ActivationServiceBehavior {
 
             final UpdateStatusForActivationsResponse response = new UpdateStatusForActivationsResponse();
 
+            // All activations are locked at once, non-existent activations are skipped
+            final List<ActivationRecordEntity> activations = activationQueryService.findActivationsForUpdate(activationIds);
+            if (activations.size() < activationIds.size()) {
+                logger.info("Activations not found, count: {}", activationIds.size() - activations.size());
+            }
+            final Date timestamp = new Date();
             final ActivationStatus finalActivationStatus = activationStatus;
-            activationIds.forEach(activationId -> {
-                try {
-                    final ActivationRecordEntity activation = activationQueryService.findActivationForUpdate(activationId).orElseThrow(() -> {
-                        logger.info("Activation not found, activation ID: {}", activationId);
-                        return localizationProvider.buildExceptionForCode(ServiceError.ACTIVATION_NOT_FOUND);
-                    });
-                    if (!activation.getActivationStatus().equals(finalActivationStatus)) {
-                        // Update activation status, persist change and notify callback listeners
-                        activation.setActivationStatus(finalActivationStatus);
-                        activationHistoryServiceBehavior.saveActivationAndLogChange(activation);
-                        callbackUrlBehavior.notifyCallbackListenersOnActivationChange(activation);
-                    }
-                } catch (GenericServiceException e) {
-                    // Avoid double logging for non-existent activations
-                    logger.debug(e.getMessage(), e);
-                }
-            });
+            final List<ActivationRecordEntity> changedActivations = activations.stream()
+                    .filter(activation -> !activation.getActivationStatus().equals(finalActivationStatus))
+                    .toList();
+            if (!changedActivations.isEmpty()) {
+                // Update activation status, the changes are flushed in JDBC batches together with the history
+                changedActivations.forEach(activation -> {
+                    activation.setActivationStatus(finalActivationStatus);
+                    activation.setTimestampLastChange(timestamp);
+                });
+                activationHistoryServiceBehavior.logActivationsChange(changedActivations);
+                changedActivations.stream()
+                        .collect(Collectors.groupingBy(activation -> activation.getApplication().getId()))
+                        .forEach(callbackUrlBehavior::notifyCallbackListenersOnActivationsChange);
+            }
 
             response.setUpdated(true);
 
@@ -476,6 +510,33 @@ public class ActivationServiceBehavior {
      */
     @Transactional
     public GetActivationStatusResponse getActivationStatus(GetActivationStatusRequest request) throws GenericServiceException {
+        return getActivationStatusInternal(request, false);
+    }
+
+    /**
+     * Get activation status for given activation ID without writing to the database. The status is not available
+     * when the activation is pending and expired, in that case {@link #getActivationStatus(GetActivationStatusRequest)}
+     * has to be used to deactivate the activation.
+     *
+     * @param request Activation status request.
+     * @return Activation status response, empty if the activation has to be deactivated first.
+     * @throws GenericServiceException Thrown when cryptography error occurs.
+     */
+    // Not read-only, a new or blocked activation must not be served from a lagging read replica
+    @Transactional
+    public Optional<GetActivationStatusResponse> findActivationStatus(GetActivationStatusRequest request) throws GenericServiceException {
+        return Optional.ofNullable(getActivationStatusInternal(request, true));
+    }
+
+    /**
+     * Get activation status for given activation ID.
+     *
+     * @param request Activation status request.
+     * @param readOnly Whether the database must not be written to.
+     * @return Activation status response or null in case writing is not allowed and the activation has to be deactivated.
+     * @throws GenericServiceException Thrown when cryptography error occurs.
+     */
+    private GetActivationStatusResponse getActivationStatusInternal(GetActivationStatusRequest request, boolean readOnly) throws GenericServiceException {
         try {
             final String activationId = request.getActivationId();
             final String challenge = request.getChallenge();
@@ -498,6 +559,10 @@ public class ActivationServiceBehavior {
             if (activationOptional.isPresent()) {
 
                 final ActivationRecordEntity activation = activationOptional.get();
+                if (readOnly && isPendingActivationExpired(timestamp, activation)) {
+                    logger.debug("Pending activation expired, deactivation requires a write transaction, activation ID: {}", activationId);
+                    return null;
+                }
                 // Deactivate old pending activations first
                 deactivatePendingActivation(timestamp, activation, false);
 
@@ -514,17 +579,14 @@ public class ActivationServiceBehavior {
                     final String randomStatusBlobNonce = challenge == null ? null : Base64.getEncoder().encodeToString(keyGenerator.generateRandomBytes(16));
 
                     // Activation signature
-                    final MasterKeyPairEntity masterKeyPairEntity = masterKeyPairRepository.findFirstByApplicationIdOrderByTimestampCreatedDesc(applicationId);
-                    if (masterKeyPairEntity == null) {
+                    final CachedMasterKeyPair masterKeyPair = applicationKeyRegistry.findMasterKeyPair(applicationId).orElseThrow(() -> {
                         logger.error("Missing key pair for application ID: {}", applicationId);
                         // Rollback is not required, database is not used for writing
-                        throw localizationProvider.buildExceptionForCode(ServiceError.NO_MASTER_SERVER_KEYPAIR);
-                    }
-                    final String masterPrivateKeyBase64 = masterKeyPairEntity.getMasterKeyPrivateBase64();
-                    final byte[] masterPrivateKeyBytes = Base64.getDecoder().decode(masterPrivateKeyBase64);
+                        return localizationProvider.buildExceptionForCode(ServiceError.NO_MASTER_SERVER_KEYPAIR);
+                    });
                     final byte[] activationSignature = powerAuthServerActivation.generateActivationSignature(
                             activation.getActivationCode(),
-                            keyConvertor.convertBytesToPrivateKey(masterPrivateKeyBytes)
+                            masterKeyPair.privateKey()
                     );
 
                     // return the data
@@ -559,18 +621,9 @@ public class ActivationServiceBehavior {
                     return response;
                 } else {
 
-                    // Get the server private and device public keys to compute the transport key
+                    // Get the device public key to compute the transport key
                     final String devicePublicKeyBase64 = activation.getDevicePublicKeyBase64();
 
-                    // Get the server public key for the fingerprint
-                    final String serverPublicKeyBase64 = activation.getServerPublicKeyBase64();
-
-                    // Decrypt server private key (depending on encryption mode)
-                    final String serverPrivateKeyFromEntity = activation.getServerPrivateKeyBase64();
-                    final EncryptionMode serverPrivateKeyEncryptionMode = activation.getServerPrivateKeyEncryption();
-                    final ServerPrivateKey serverPrivateKeyEncrypted = new ServerPrivateKey(serverPrivateKeyEncryptionMode, serverPrivateKeyFromEntity);
-                    final String serverPrivateKeyBase64 = serverPrivateKeyConverter.fromDBValue(serverPrivateKeyEncrypted, activation.getUserId(), activationId);
-
                     // If an activation was turned to REMOVED directly from CREATED state,
                     // there is no device public key in the database - we need to handle
                     // that case by defaulting the encryptedStatusBlob to random value...
@@ -584,12 +637,15 @@ public class ActivationServiceBehavior {
                     // the real encryptedStatusBlob value.
                     if (devicePublicKeyBase64 != null) {
 
-                        final PrivateKey serverPrivateKey = keyConvertor.convertBytesToPrivateKey(Base64.getDecoder().decode(serverPrivateKeyBase64));
-                        final PublicKey devicePublicKey = keyConvertor.convertBytesToPublicKey(Base64.getDecoder().decode(devicePublicKeyBase64));
-                        final PublicKey serverPublicKey = keyConvertor.convertBytesToPublicKey(Base64.getDecoder().decode(serverPublicKeyBase64));
+                        if (activation.getVersion() != 3) {
+                            logger.error("Unsupported activation version: {}", activation.getVersion());
+                            // Rollback is not required, database is not used for writing
+                            throw localizationProvider.buildExceptionForCode(ServiceError.ACTIVATION_INCORRECT_STATE);
+                        }
 
-                        final SecretKey masterSecretKey = powerAuthServerKeyFactory.generateServerMasterSecretKey(serverPrivateKey, devicePublicKey);
-                        final SecretKey transportKey = powerAuthServerKeyFactory.generateServerTransportKey(masterSecretKey);
+                        // Transport key and fingerprint depend only on the activation keys, they may be served from cache
+                        final ActivationStatusKeys activationKeys = activationKeyCache.getActivationKeys(activation);
+                        final SecretKey transportKey = activationKeys.transportKey();
 
                         final String ctrDataBase64 = activation.getCtrDataBase64();
                         byte[] ctrDataHashForStatusBlob;
@@ -632,15 +688,7 @@ public class ActivationServiceBehavior {
                         encryptedStatusBlob = powerAuthServerActivation.encryptedStatusBlob(statusBlobInfo, statusChallenge, statusNonce, transportKey);
 
                         // Assign the activation fingerprint
-                        switch (activation.getVersion()) {
-                            case 3 ->
-                                    activationFingerPrint = powerAuthServerActivation.computeActivationFingerprint(devicePublicKey, serverPublicKey, activation.getActivationId());
-                            default -> {
-                                logger.error("Unsupported activation version: {}", activation.getVersion());
-                                // Rollback is not required, database is not used for writing
-                                throw localizationProvider.buildExceptionForCode(ServiceError.ACTIVATION_INCORRECT_STATE);
-                            }
-                        }
+                        activationFingerPrint = activationKeys.devicePublicKeyFingerprint();
                     }
 
                     // return the data
@@ -818,12 +866,14 @@ public class ActivationServiceBehavior {
             final byte[] masterPrivateKeyBytes = Base64.getDecoder().decode(masterKeyPair.getMasterKeyPrivateBase64());
             final PrivateKey masterPrivateKey = keyConvertor.convertBytesToPrivateKey(masterPrivateKeyBytes);
 
+            final boolean verifyGeneratedIdentifiers = powerAuthServiceConfiguration.isVerifyGeneratedIdentifiers();
+
             // Generate new activation data, generate a unique activation ID
             String activationId = null;
             for (int i = 0; i < powerAuthServiceConfiguration.getActivationGenerateActivationIdIterations(); i++) {
                 final String tmpActivationId = powerAuthServerActivation.generateActivationId();
-                final Long activationCount = activationRepository.getActivationCount(tmpActivationId);
-                if (activationCount == 0) {
+                // Without the verification, a random UUID collision is rejected by the primary key on insert
+                if (!verifyGeneratedIdentifiers || activationRepository.getActivationCount(tmpActivationId) == 0) {
                     activationId = tmpActivationId;
                     break;
                 } // ... else this activation ID has a collision, reset it and try to find another one
@@ -838,9 +888,8 @@ public class ActivationServiceBehavior {
             String activationCode = null;
             for (int i = 0; i < powerAuthServiceConfiguration.getActivationGenerateActivationCodeIterations(); i++) {
                 final String tmpActivationCode = powerAuthServerActivation.generateActivationCode();
-                final Long activationCount = activationRepository.getActivationCountByActivationCode(applicationId, tmpActivationCode);
                 // Check that the temporary short activation ID is unique, otherwise generate a different activation code
-                if (activationCount == 0) {
+                if (!verifyGeneratedIdentifiers || activationRepository.getActivationCountByActivationCode(applicationId, tmpActivationCode) == 0) {
                     activationCode = tmpActivationCode;
                     break;
                 }
@@ -859,7 +908,7 @@ public class ActivationServiceBehavior {
             final String activationSignatureBase64 = Base64.getEncoder().encodeToString(activationSignature);
 
             // Generate server key pair
-            final KeyPair serverKeyPair = powerAuthServerActivation.generateServerKeyPair();
+            final KeyPair serverKeyPair = keyPairPool.takeKeyPair();
             final byte[] serverKeyPrivateBytes = keyConvertor.convertPrivateKeyToBytes(serverKeyPair.getPrivate());
             final byte[] serverKeyPublicBytes = keyConvertor.convertPublicKeyToBytes(serverKeyPair.getPublic());
 
@@ -892,7 +941,7 @@ public class ActivationServiceBehavior {
             activation.setVersion(null); // Activation version is not known yet
             activation.setUserId(userId);
             if (flags != null) {
-                activation.getFlags().addAll(flags);
+                activation.setFlags(flags);
             }
 
             // Convert server private key to DB columns serverPrivateKeyEncryption specifying encryption mode and serverPrivateKey with base64-encoded key.
@@ -936,6 +985,260 @@ public class ActivationServiceBehavior {
         }
     }
 
+    /**
+     * Init activations of several users of an application in a single transaction. The application and its master
+     * key pair are resolved once for the whole batch, the key pairs are generated in parallel and the activations
+     * are inserted together.
+     *
+     * @param request Init activation batch request.
+     * @return Response with initialized activations in the order of the requested user IDs.
+     * @throws GenericServiceException In case any of the activations cannot be initialized, no activation is created then.
+     */
+    @Transactional
+    public InitActivationBatchResponse initActivationBatch(InitActivationBatchRequest request) throws GenericServiceException {
+        try {
+            final String error = InitActivationBatchRequestValidator.validate(request);
+            if (error != null) {
+                throw new GenericServiceException(ServiceError.INVALID_REQUEST, error);
+            }
+            final List<String> userIds = request.getUserIds();
+            final int maxSize = powerAuthServiceConfiguration.getInitActivationBatchMaxSize();
+            if (userIds.size() > maxSize) {
+                logger.warn("Activation batch size: {} exceeds the limit: {}", userIds.size(), maxSize);
+                // Rollback is not required, error occurs before writing to database
+                throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_REQUEST);
+            }
+            final String applicationId = request.getApplicationId();
+
+            // Generate timestamp in advance
+            final Date timestamp = new Date();
+
+            final Optional<ApplicationEntity> applicationEntityOptional = applicationRepository.findById(applicationId);
+            if (applicationEntityOptional.isEmpty()) {
+                logger.warn("Application does not exist: {}", applicationId);
+                // Rollback is not required, error occurs before writing to database
+                throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_APPLICATION);
+            }
+
+            final long maxAttempt = request.getMaxFailureCount() != null
+                    ? request.getMaxFailureCount()
+                    : powerAuthServiceConfiguration.getSignatureMaxFailedAttempts();
+            final Date timestampExpiration = request.getTimestampActivationExpire() != null
+                    ? request.getTimestampActivationExpire()
+                    : new Date(timestamp.getTime() + powerAuthServiceConfiguration.getActivationValidityBeforeActive());
+
+            // Fetch the latest master private key
+            final MasterKeyPairEntity masterKeyPair = masterKeyPairRepository.findFirstByApplicationIdOrderByTimestampCreatedDesc(applicationId);
+            if (masterKeyPair == null) {
+                GenericServiceException ex = localizationProvider.buildExceptionForCode(ServiceError.NO_MASTER_SERVER_KEYPAIR);
+                // Rollback is not required, error occurs before writing to database
+                logger.error("No master key pair found for application ID: {}", applicationId);
+                throw ex;
+            }
+            final byte[] masterPrivateKeyBytes = Base64.getDecoder().decode(masterKeyPair.getMasterKeyPrivateBase64());
+            final PrivateKey masterPrivateKey = keyConvertor.convertBytesToPrivateKey(masterPrivateKeyBytes);
+            final ApplicationEntity application = masterKeyPair.getApplication();
+
+            final BatchActivationFactory batchActivationFactory = userId -> {
+                final ActivationRecordEntity activation = prepareBatchActivation(request, userId, application, masterKeyPair, maxAttempt, timestamp, timestampExpiration);
+                // Compute activation signature
+                final byte[] activationSignature = powerAuthServerActivation.generateActivationSignature(activation.getActivationCode(), masterPrivateKey);
+                final InitActivationResponse activationResponse = new InitActivationResponse();
+                activationResponse.setActivationId(activation.getActivationId());
+                activationResponse.setActivationCode(activation.getActivationCode());
+                activationResponse.setUserId(userId);
+                activationResponse.setActivationSignature(Base64.getEncoder().encodeToString(activationSignature));
+                activationResponse.setApplicationId(applicationId);
+                return new BatchActivation(activation, activationResponse);
+            };
+
+            // Generate the activation data in parallel, the cryptography does not access the database
+            final List<CompletableFuture<BatchActivation>> activationFutures = new ArrayList<>(userIds.size());
+            for (String userId : userIds) {
+                activationFutures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return batchActivationFactory.create(userId);
+                    } catch (Exception ex) {
+                        throw new CompletionException(ex);
+                    }
+                }, activationBatchThreadPoolExecutor));
+            }
+
+            final List<BatchActivation> batchActivations = new ArrayList<>(userIds.size());
+            for (CompletableFuture<BatchActivation> activationFuture : activationFutures) {
+                batchActivations.add(join(activationFuture));
+            }
+
+            if (powerAuthServiceConfiguration.isVerifyGeneratedIdentifiers()) {
+                regenerateCollidingBatchActivations(applicationId, batchActivations, batchActivationFactory);
+            }
+
+            final List<ActivationRecordEntity> activations = new ArrayList<>(userIds.size());
+            final InitActivationBatchResponse response = new InitActivationBatchResponse();
+            for (BatchActivation batchActivation : batchActivations) {
+                activations.add(batchActivation.activation());
+                response.getActivations().add(batchActivation.response());
+            }
+
+            activationHistoryServiceBehavior.saveNewActivationsAndLogChanges(activations);
+            callbackUrlBehavior.notifyCallbackListenersOnActivationsChange(applicationId, activations);
+            logger.info("Activations initialized in batch, application ID: {}, count: {}", applicationId, activations.size());
+
+            return response;
+        } catch (InvalidKeySpecException | InvalidKeyException ex) {
+            logger.error(ex.getMessage(), ex);
+            // Rollback is not required, cryptography errors can only occur before writing to database
+            throw localizationProvider.buildExceptionForCode(ServiceError.INCORRECT_MASTER_SERVER_KEYPAIR_PRIVATE);
+        } catch (GenericCryptoException ex) {
+            logger.error(ex.getMessage(), ex);
+            // Rollback is not required, cryptography errors can only occur before writing to database
+            throw localizationProvider.buildExceptionForCode(ServiceError.GENERIC_CRYPTOGRAPHY_ERROR);
+        } catch (CryptoProviderException ex) {
+            logger.error(ex.getMessage(), ex);
+            // Rollback is not required, cryptography errors can only occur before writing to database
+            throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_CRYPTO_PROVIDER);
+        } catch (GenericServiceException ex) {
+            // already logged
+            throw ex;
+        } catch (RuntimeException ex) {
+            logger.error("Runtime exception or error occurred, transaction will be rolled back", ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unknown error occurred", ex);
+            throw new GenericServiceException(ServiceError.UNKNOWN_ERROR, ex.getMessage());
+        }
+    }
+
+    /**
+     * Regenerate activations of the batch whose activation ID or activation code collides with an existing activation
+     * or with another activation of the batch. Identifiers of the whole batch are checked by a single query per chunk,
+     * only the regenerated activations are checked again.
+     *
+     * @param applicationId Application ID.
+     * @param batchActivations Activations of the batch, colliding items are replaced.
+     * @param batchActivationFactory Factory of new activations.
+     * @throws Exception In case the activations cannot be generated or unique identifiers are not found.
+     */
+    private void regenerateCollidingBatchActivations(final String applicationId, final List<BatchActivation> batchActivations,
+                                                     final BatchActivationFactory batchActivationFactory) throws Exception {
+        List<Integer> indexesToCheck = new ArrayList<>();
+        for (int i = 0; i < batchActivations.size(); i++) {
+            indexesToCheck.add(i);
+        }
+        final int iterations = Math.max(powerAuthServiceConfiguration.getActivationGenerateActivationIdIterations(),
+                powerAuthServiceConfiguration.getActivationGenerateActivationCodeIterations());
+        for (int i = 0; i < iterations; i++) {
+            final List<Integer> collidingIndexes = findCollidingBatchActivations(applicationId, batchActivations, indexesToCheck);
+            if (collidingIndexes.isEmpty()) {
+                return;
+            }
+            logger.info("Regenerating {} colliding activations of the batch, application ID: {}", collidingIndexes.size(), applicationId);
+            for (int index : collidingIndexes) {
+                batchActivations.set(index, batchActivationFactory.create(batchActivations.get(index).response().getUserId()));
+            }
+            indexesToCheck = collidingIndexes;
+        }
+        logger.error("Unable to generate unique activation identifiers of the batch, application ID: {}", applicationId);
+        // Rollback is not required, error occurs before writing to database
+        throw localizationProvider.buildExceptionForCode(ServiceError.UNABLE_TO_GENERATE_ACTIVATION_ID);
+    }
+
+    private List<Integer> findCollidingBatchActivations(final String applicationId, final List<BatchActivation> batchActivations, final List<Integer> indexesToCheck) {
+        final Set<Integer> collidingIndexes = new TreeSet<>();
+
+        // Collisions within the batch, the later activation is regenerated
+        final Set<String> activationIds = new HashSet<>();
+        final Set<String> activationCodes = new HashSet<>();
+        for (int i = 0; i < batchActivations.size(); i++) {
+            final ActivationRecordEntity activation = batchActivations.get(i).activation();
+            final boolean uniqueActivationId = activationIds.add(activation.getActivationId());
+            final boolean uniqueActivationCode = activationCodes.add(activation.getActivationCode());
+            if (!uniqueActivationId || !uniqueActivationCode) {
+                collidingIndexes.add(i);
+            }
+        }
+
+        // Collisions with existing activations, the IN lists are chunked to stay within database limits
+        for (int from = 0; from < indexesToCheck.size(); from += BATCH_IDENTIFIER_QUERY_CHUNK_SIZE) {
+            final List<Integer> chunk = indexesToCheck.subList(from, Math.min(from + BATCH_IDENTIFIER_QUERY_CHUNK_SIZE, indexesToCheck.size()));
+            final List<String> chunkActivationIds = chunk.stream().map(index -> batchActivations.get(index).activation().getActivationId()).toList();
+            final List<String> chunkActivationCodes = chunk.stream().map(index -> batchActivations.get(index).activation().getActivationCode()).toList();
+            final Set<String> existingIdentifiers = new HashSet<>();
+            for (ActivationRepository.ActivationIdentifierView existing : activationRepository.findCollidingActivationIdentifiers(applicationId, chunkActivationIds, chunkActivationCodes)) {
+                existingIdentifiers.add(existing.getActivationId());
+                existingIdentifiers.add(existing.getActivationCode());
+            }
+            for (int index : chunk) {
+                final ActivationRecordEntity activation = batchActivations.get(index).activation();
+                if (existingIdentifiers.contains(activation.getActivationId()) || existingIdentifiers.contains(activation.getActivationCode())) {
+                    collidingIndexes.add(index);
+                }
+            }
+        }
+        return new ArrayList<>(collidingIndexes);
+    }
+
+    /**
+     * Prepare a new activation of the batch. Identifiers are not probed for collisions here, see
+     * {@link #regenerateCollidingBatchActivations(String, List, BatchActivationFactory)}.
+     */
+    private ActivationRecordEntity prepareBatchActivation(final InitActivationBatchRequest request, final String userId, final ApplicationEntity application,
+                                                          final MasterKeyPairEntity masterKeyPair, final long maxAttempt, final Date timestamp,
+                                                          final Date timestampExpiration) throws CryptoProviderException, GenericServiceException {
+        final String activationId = powerAuthServerActivation.generateActivationId();
+        final String activationCode = powerAuthServerActivation.generateActivationCode();
+
+        // Generate server key pair
+        final KeyPair serverKeyPair = powerAuthServerActivation.generateServerKeyPair();
+        final byte[] serverKeyPrivateBytes = keyConvertor.convertPrivateKeyToBytes(serverKeyPair.getPrivate());
+        final byte[] serverKeyPublicBytes = keyConvertor.convertPublicKeyToBytes(serverKeyPair.getPublic());
+
+        final ActivationRecordEntity activation = new ActivationRecordEntity();
+        activation.setActivationId(activationId);
+        activation.setActivationCode(activationCode);
+        activation.setActivationOtpValidation(ActivationOtpValidation.NONE);
+        activation.setCommitPhase(activationCommitPhaseConverter.convertTo(request.getCommitPhase()));
+        activation.setActivationStatus(ActivationStatus.CREATED);
+        activation.setCounter(0L);
+        activation.setProtocol(convert(ActivationProtocol.POWERAUTH));
+        activation.setFailedAttempts(0L);
+        activation.setApplication(application);
+        activation.setMasterKeyPair(masterKeyPair);
+        activation.setMaxFailedAttempts(maxAttempt);
+        activation.setServerPublicKeyBase64(Base64.getEncoder().encodeToString(serverKeyPublicBytes));
+        activation.setTimestampActivationExpire(timestampExpiration);
+        activation.setTimestampCreated(timestamp);
+        activation.setTimestampLastUsed(timestamp);
+        activation.setUserId(userId);
+        if (request.getFlags() != null) {
+            activation.setFlags(request.getFlags());
+        }
+
+        final ServerPrivateKey serverPrivateKey = serverPrivateKeyConverter.toDBValue(serverKeyPrivateBytes, userId, activationId);
+        activation.setServerPrivateKeyEncryption(serverPrivateKey.encryptionMode());
+        activation.setServerPrivateKeyBase64(serverPrivateKey.serverPrivateKeyBase64());
+        return activation;
+    }
+
+    private record BatchActivation(ActivationRecordEntity activation, InitActivationResponse response) {
+    }
+
+    @FunctionalInterface
+    private interface BatchActivationFactory {
+        BatchActivation create(String userId) throws Exception;
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
     private void validateOtpValidationAndCommitPhase(com.wultra.security.powerauth.client.model.enumeration.ActivationOtpValidation activationOtpValidation, com.wultra.security.powerauth.client.model.enumeration.CommitPhase commitPhase, String activationOtp) throws GenericServiceException {
         // Validate combination of activation OTP and OTP validation mode.
         if (activationOtpValidation != com.wultra.security.powerauth.client.model.enumeration.ActivationOtpValidation.NONE && commitPhase != null) {
@@ -1031,15 +1334,11 @@ public class ActivationServiceBehavior {
                 privateKey = temporaryKeyBehavior.temporaryPrivateKey(temporaryKeyId, applicationKey);
             } else {
                 // Get master server private key
-                final MasterKeyPairEntity masterKeyPairEntity = masterKeyPairRepository.findFirstByApplicationIdOrderByTimestampCreatedDesc(applicationId);
-                if (masterKeyPairEntity == null) {
+                privateKey = applicationKeyRegistry.findMasterKeyPair(applicationId).orElseThrow(() -> {
                     logger.error("Missing key pair for application ID: {}", applicationId);
                     // Rollback is not required, error occurs before writing to database
-                    throw localizationProvider.buildExceptionForCode(ServiceError.NO_MASTER_SERVER_KEYPAIR);
-                }
-
-                final String masterPrivateKeyBase64 = masterKeyPairEntity.getMasterKeyPrivateBase64();
-                privateKey = keyConvertor.convertBytesToPrivateKey(Base64.getDecoder().decode(masterPrivateKeyBase64));
+                    return localizationProvider.buildExceptionForCode(ServiceError.NO_MASTER_SERVER_KEYPAIR);
+                }).privateKey();
             }
 
             // Get server encryptor
@@ -1305,14 +1604,11 @@ public class ActivationServiceBehavior {
                 privateKey = temporaryKeyBehavior.temporaryPrivateKey(temporaryKeyId, applicationKey);
             } else {
                 // Get master server private key
-                final MasterKeyPairEntity masterKeyPairEntity = masterKeyPairRepository.findFirstByApplicationIdOrderByTimestampCreatedDesc(applicationId);
-                if (masterKeyPairEntity == null) {
+                privateKey = applicationKeyRegistry.findMasterKeyPair(applicationId).orElseThrow(() -> {
                     logger.error("Missing key pair for application ID: {}", applicationId);
                     // Master key pair is missing, rollback this transaction
-                    throw localizationProvider.buildRollbackingExceptionForCode(ServiceError.NO_MASTER_SERVER_KEYPAIR);
-                }
-                final String masterPrivateKeyBase64 = masterKeyPairEntity.getMasterKeyPrivateBase64();
-                privateKey = keyConvertor.convertBytesToPrivateKey(Base64.getDecoder().decode(masterPrivateKeyBase64));
+                    return localizationProvider.buildRollbackingExceptionForCode(ServiceError.NO_MASTER_SERVER_KEYPAIR);
+                }).privateKey();
             }
 
             // Get server encryptor
@@ -2009,14 +2305,11 @@ public class ActivationServiceBehavior {
                 privateKey = temporaryKeyBehavior.temporaryPrivateKey(temporaryKeyId, applicationKey);
             } else {
                 // Get master server private key
-                final MasterKeyPairEntity masterKeyPairEntity = masterKeyPairRepository.findFirstByApplicationIdOrderByTimestampCreatedDesc(applicationId);
-                if (masterKeyPairEntity == null) {
+                privateKey = applicationKeyRegistry.findMasterKeyPair(applicationId).orElseThrow(() -> {
                     logger.error("Missing key pair for application ID: {}", applicationId);
                     // Rollback is not required, error occurs before writing to database
-                    throw localizationProvider.buildExceptionForCode(ServiceError.NO_MASTER_SERVER_KEYPAIR);
-                }
-                final String masterPrivateKeyBase64 = masterKeyPairEntity.getMasterKeyPrivateBase64();
-                privateKey = keyConvertor.convertBytesToPrivateKey(Base64.getDecoder().decode(masterPrivateKeyBase64));
+                    return localizationProvider.buildExceptionForCode(ServiceError.NO_MASTER_SERVER_KEYPAIR);
+                }).privateKey();
             }
 
             // Get server encryptor
@@ -2471,4 +2764,60 @@ public class ActivationServiceBehavior {
         }
     }
 
+    /**
+     * Remove a chunk of abandoned activations in CREATED or PENDING_COMMIT state. The activations are removed
+     * using a single bulk update, activations changed concurrently since the chunk was fetched are skipped.
+     * Recovery codes of the removed activations are revoked using bulk updates, activation history is inserted
+     * in batches and callback listeners are notified once the chunk is committed.
+     *
+     * @return Number of abandoned activations in the chunk.
+     */
+    @Transactional
+    public int expireActivationsChunk() {
+        final Date currentTimestamp = new Date();
+        final Date lookBackTimestamp = new Date(currentTimestamp.getTime() - powerAuthServiceConfiguration.getActivationsCleanupLookBackInMilliseconds());
+        final Set<ActivationStatus> activationStatuses = Set.of(ActivationStatus.CREATED, ActivationStatus.PENDING_COMMIT);
+        final Pageable pageable = PageRequest.of(0, powerAuthServiceConfiguration.getActivationsCleanupChunkSize());
+        final List<ActivationRecordEntity> abandonedActivations = activationRepository.findAbandonedActivations(activationStatuses, lookBackTimestamp, currentTimestamp, pageable);
+        if (abandonedActivations.isEmpty()) {
+            return 0;
+        }
+
+        final List<String> activationIds = abandonedActivations.stream()
+                .map(ActivationRecordEntity::getActivationId)
+                .toList();
+        final int count = activationRepository.removeAbandonedActivations(activationIds, activationStatuses, currentTimestamp);
+        final List<ActivationRecordEntity> removedActivations;
+        if (count == abandonedActivations.size()) {
+            removedActivations = abandonedActivations;
+        } else {
+            final Set<String> removedActivationIds = new HashSet<>(activationRepository.findActivationIdsRemovedAt(activationIds, currentTimestamp));
+            logger.info("Skipping abandoned activations changed concurrently, count: {}", abandonedActivations.size() - removedActivationIds.size());
+            removedActivations = abandonedActivations.stream()
+                    .filter(activation -> removedActivationIds.contains(activation.getActivationId()))
+                    .toList();
+        }
+        if (removedActivations.isEmpty()) {
+            return abandonedActivations.size();
+        }
+
+        final List<String> removedActivationIds = removedActivations.stream()
+                .map(ActivationRecordEntity::getActivationId)
+                .toList();
+        recoveryCodeRepository.invalidateRecoveryPuks(removedActivationIds, currentTimestamp);
+        recoveryCodeRepository.revokeRecoveryCodes(removedActivationIds, currentTimestamp);
+
+        // The activations are read-only, the changes only reflect the bulk update for the history, audit, and callbacks
+        removedActivations.forEach(activation -> {
+            activation.setActivationStatus(ActivationStatus.REMOVED);
+            activation.setTimestampLastChange(currentTimestamp);
+        });
+        activationHistoryServiceBehavior.logActivationsChange(removedActivations);
+        removedActivations.stream()
+                .collect(Collectors.groupingBy(activation -> activation.getApplication().getId()))
+                .forEach(callbackUrlBehavior::notifyCallbackListenersOnActivationsChange);
+        logger.info("Removed abandoned activations, count: {}", removedActivations.size());
+        return abandonedActivations.size();
+    }
+
 }
@@ -27,6 +27,7 @@ import io.getlime.security.powerauth.app.server.database.model.entity.MasterKeyP
 import io.getlime.security.powerauth.app.server.database.repository.ApplicationRepository;
 import io.getlime.security.powerauth.app.server.database.repository.ApplicationVersionRepository;
 import io.getlime.security.powerauth.app.server.database.repository.MasterKeyPairRepository;
+import io.getlime.security.powerauth.app.server.service.cache.ApplicationKeyRegistry;
 import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
 import io.getlime.security.powerauth.app.server.service.i18n.LocalizationProvider;
 import io.getlime.security.powerauth.app.server.service.model.SdkConfiguration;
@@ -65,6 +66,7 @@ public class ApplicationServiceBehavior {
     private final ApplicationRepository applicationRepository;
     private final MasterKeyPairRepository masterKeyPairRepository;
     private final ApplicationVersionRepository applicationVersionRepository;
+    private final ApplicationKeyRegistry applicationKeyRegistry;
 
     /**
      * Get application details by ID.
@@ -236,6 +238,7 @@ public class ApplicationServiceBehavior {
             keyPair.setTimestampCreated(new Date());
             keyPair.setName(applicationId + " Default Keypair");
             masterKeyPairRepository.save(keyPair);
+            applicationKeyRegistry.invalidateMasterKeyPairAfterCommit(applicationId);
 
             // Create the default application version
             final ApplicationVersionEntity version = new ApplicationVersionEntity();
@@ -357,6 +360,7 @@ public class ApplicationServiceBehavior {
             ApplicationVersionEntity version = findApplicationVersion(applicationId, applicationVersionId);
             version.setSupported(false);
             version = applicationVersionRepository.save(version);
+            applicationKeyRegistry.invalidateApplicationVersionAfterCommit(version.getApplicationKey());
 
             final UnsupportApplicationVersionResponse response = new UnsupportApplicationVersionResponse();
             response.setApplicationVersionId(version.getId());
@@ -393,6 +397,7 @@ public class ApplicationServiceBehavior {
 
             version.setSupported(true);
             version = applicationVersionRepository.save(version);
+            applicationKeyRegistry.invalidateApplicationVersionAfterCommit(version.getApplicationKey());
 
             final SupportApplicationVersionResponse response = new SupportApplicationVersionResponse();
             response.setApplicationVersionId(version.getId());
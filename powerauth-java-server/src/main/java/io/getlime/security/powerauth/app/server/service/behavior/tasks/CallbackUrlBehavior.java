@@ -32,9 +32,11 @@ import com.wultra.security.powerauth.client.model.response.UpdateCallbackUrlResp
 import io.getlime.security.powerauth.app.server.configuration.PowerAuthCallbacksConfiguration;
 import io.getlime.security.powerauth.app.server.converter.CallbackUrlTypeConverter;
 import io.getlime.security.powerauth.app.server.database.model.entity.*;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.CallbackUrlType;
 import io.getlime.security.powerauth.app.server.database.repository.ApplicationRepository;
 import io.getlime.security.powerauth.app.server.database.repository.CallbackUrlRepository;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationBus;
 import io.getlime.security.powerauth.app.server.service.callbacks.CallbackUrlAuthenticationEncryptor;
 import io.getlime.security.powerauth.app.server.service.callbacks.CallbackUrlEventService;
 import io.getlime.security.powerauth.app.server.service.callbacks.model.CachedRestClient;
@@ -76,6 +78,7 @@ public class CallbackUrlBehavior {
     private final CallbackUrlAuthenticationEncryptor callbackUrlAuthenticationEncryptor;
     private final LoadingCache<String, CachedRestClient> restClientCache;
     private final PowerAuthCallbacksConfiguration powerAuthCallbacksConfiguration;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     /**
      * Creates a new callback URL record for application with given ID.
@@ -208,6 +211,7 @@ public class CallbackUrlBehavior {
             entity.setTimestampLastUpdated(LocalDateTime.now());
             callbackUrlRepository.save(entity);
             TransactionUtils.executeAfterTransactionCommits(() -> restClientCache.refresh(entity.getId()));
+            cacheInvalidationBus.publishRemote(CacheInvalidationType.CALLBACK_URL, entity.getId());
 
             final UpdateCallbackUrlResponse response = new UpdateCallbackUrlResponse();
             response.setId(entity.getId());
@@ -289,6 +293,7 @@ public class CallbackUrlBehavior {
                 callbackUrlRepository.save(callbackEntity);
                 TransactionUtils.executeAfterTransactionCommits(
                         () -> restClientCache.invalidate(callbackEntity.getId()));
+                cacheInvalidationBus.publishRemote(CacheInvalidationType.CALLBACK_URL, callbackEntity.getId());
                 response.setRemoved(true);
             } else {
                 response.setRemoved(false);
@@ -322,6 +327,34 @@ public class CallbackUrlBehavior {
         }
     }
 
+    /**
+     * Tries to asynchronously notify all activation callbacks that are registered for given application about
+     * changes of several activations. Callback URLs are fetched only once, the callback events are saved together
+     * and enqueued for dispatching after the transaction commits.
+     * @param applicationId Application ID of the activations.
+     * @param activations Activations that were changed.
+     */
+    public void notifyCallbackListenersOnActivationsChange(String applicationId, Collection<ActivationRecordEntity> activations) {
+        try {
+            final Iterable<CallbackUrlEntity> callbackUrlEntities = callbackUrlRepository.findByApplicationIdAndTypeOrderByName(applicationId, CallbackUrlType.ACTIVATION_STATUS_CHANGE);
+            final List<CallbackUrlEvent> callbackUrlEvents = new ArrayList<>();
+            for (CallbackUrlEntity callbackUrlEntity : callbackUrlEntities) {
+                final List<Map<String, Object>> callbackDataList = activations.stream()
+                        .map(activation -> prepareCallbackDataActivation(callbackUrlEntity, activation))
+                        .toList();
+                callbackUrlEvents.addAll(prepareCallbackUrlEvents(callbackUrlEntity, callbackDataList));
+            }
+            if (!callbackUrlEvents.isEmpty()) {
+                TransactionUtils.executeAfterTransactionCommits(
+                        () -> callbackUrlEvents.forEach(this::enqueue)
+                );
+            }
+        } catch (RestClientException | GenericServiceException ex) {
+            // Log the error in case Rest client initialization failed
+            logger.error(ex.getMessage(), ex);
+        }
+    }
+
     /**
      * Prepare callback data for given callback URL entity and activation entity.
      * @param callbackUrlEntity Callback URL entity.
@@ -388,6 +421,47 @@ public class CallbackUrlBehavior {
         }
     }
 
+    /**
+     * Tries to asynchronously notify all callbacks that are registered for the applications of given operations.
+     * Each callback URL is evaluated only once for all the operations, the callback events are saved together
+     * and enqueued for dispatching after the transaction commits.
+     * @param operations Operations that were changed.
+     */
+    public void notifyCallbackListenersOnOperationsChange(Collection<OperationEntity> operations) {
+        try {
+            final Map<String, CallbackUrlEntity> callbackUrlEntities = new LinkedHashMap<>();
+            final Map<String, List<Map<String, Object>>> callbackDataByCallbackUrl = new HashMap<>();
+            for (OperationEntity operation : operations) {
+                if (operation.getApplications() == null) {
+                    continue;
+                }
+                for (ApplicationEntity application : operation.getApplications()) {
+                    application.getCallbacks()
+                            .stream()
+                            .filter(callbackUrlEntity -> CallbackUrlType.OPERATION_STATUS_CHANGE == callbackUrlEntity.getType())
+                            .forEach(callbackUrlEntity -> {
+                                callbackUrlEntities.putIfAbsent(callbackUrlEntity.getId(), callbackUrlEntity);
+                                callbackDataByCallbackUrl.computeIfAbsent(callbackUrlEntity.getId(), id -> new ArrayList<>())
+                                        .add(prepareCallbackDataOperation(callbackUrlEntity, operation));
+                            });
+                }
+            }
+
+            final List<CallbackUrlEvent> callbackUrlEvents = new ArrayList<>();
+            for (CallbackUrlEntity callbackUrlEntity : callbackUrlEntities.values()) {
+                callbackUrlEvents.addAll(prepareCallbackUrlEvents(callbackUrlEntity, callbackDataByCallbackUrl.get(callbackUrlEntity.getId())));
+            }
+            if (!callbackUrlEvents.isEmpty()) {
+                TransactionUtils.executeAfterTransactionCommits(
+                        () -> callbackUrlEvents.forEach(this::enqueue)
+                );
+            }
+        } catch (RestClientException | GenericServiceException ex) {
+            // Log the error in case Rest client initialization failed
+            logger.error(ex.getMessage(), ex);
+        }
+    }
+
     /**
      * Prepare callback data for given callback URL entity and Operation entity.
      * @param callbackUrlEntity Callback URL entity.
@@ -477,6 +551,33 @@ public class CallbackUrlBehavior {
         );
     }
 
+    /**
+     * Save callback URL events for all given callback data and prepare them for dispatching.
+     * @param callbackUrlEntity Callback URL entity.
+     * @param callbackDataList Callback data, one item per event.
+     * @return Callback URL events to be enqueued, empty list when the events should not be dispatched.
+     * @throws RestClientException Thrown when HTTP request fails.
+     * @throws GenericServiceException Thrown when callback configuration is wrong.
+     */
+    private List<CallbackUrlEvent> prepareCallbackUrlEvents(CallbackUrlEntity callbackUrlEntity, List<Map<String, Object>> callbackDataList) throws RestClientException, GenericServiceException {
+        if (!isMaxAttemptsPositive(callbackUrlEntity)) {
+            logger.info("Callback URL is configured with non-positive max attempts: callbackUrlId={}", callbackUrlEntity.getId());
+            return Collections.emptyList();
+        }
+
+        if (callbackUrlEventService.failureThresholdReached(callbackUrlEntity)) {
+            logger.warn("Callback URL has reached failure threshold, associated events are not dispatched: callbackUrlId={}", callbackUrlEntity.getId());
+            callbackUrlEventService.createAndSaveFailedEvents(callbackUrlEntity, callbackDataList);
+            return Collections.emptyList();
+        }
+
+        final List<CallbackUrlEvent> callbackUrlEvents = new ArrayList<>();
+        for (CallbackUrlEventEntity callbackUrlEventEntity : callbackUrlEventService.createAndSaveEventsForProcessing(callbackUrlEntity, callbackDataList)) {
+            callbackUrlEvents.add(CallbackUrlConvertor.convert(callbackUrlEventEntity, callbackUrlEntity));
+        }
+        return callbackUrlEvents;
+    }
+
     /**
      * Try to submit a Callback URL Event to a task executor.
      * If rejected, enqueue the Callback URL Event to a database.
@@ -22,13 +22,10 @@ import com.wultra.security.powerauth.client.model.response.GetEciesDecryptorResp
 import io.getlime.security.powerauth.app.server.converter.ServerPrivateKeyConverter;
 import io.getlime.security.powerauth.app.server.database.model.ServerPrivateKey;
 import io.getlime.security.powerauth.app.server.database.model.entity.ActivationRecordEntity;
-import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationEntity;
-import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationVersionEntity;
-import io.getlime.security.powerauth.app.server.database.model.entity.MasterKeyPairEntity;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.UniqueValueType;
-import io.getlime.security.powerauth.app.server.database.repository.ApplicationVersionRepository;
-import io.getlime.security.powerauth.app.server.database.repository.MasterKeyPairRepository;
+import io.getlime.security.powerauth.app.server.service.cache.ApplicationKeyRegistry;
+import io.getlime.security.powerauth.app.server.service.cache.CachedApplicationVersion;
 import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
 import io.getlime.security.powerauth.app.server.service.i18n.LocalizationProvider;
 import io.getlime.security.powerauth.app.server.service.model.ServiceError;
@@ -80,8 +77,7 @@ public class EciesEncryptionBehavior {
     private final TemporaryKeyBehavior temporaryKeyBehavior;
     private final ReplayVerificationService replayVerificationService;
     private final ActivationContextValidator activationValidator;
-    private final ApplicationVersionRepository applicationVersionRepository;
-    private final MasterKeyPairRepository masterKeyPairRepository;
+    private final ApplicationKeyRegistry applicationKeyRegistry;
 
     // Helper classes
     private final EncryptorFactory encryptorFactory = new EncryptorFactory();
@@ -142,8 +138,8 @@ public class EciesEncryptionBehavior {
 
         try {
             // Lookup the application version and check that it is supported
-            final ApplicationVersionEntity applicationVersion = applicationVersionRepository.findByApplicationKey(request.getApplicationKey());
-            if (applicationVersion == null || !applicationVersion.getSupported()) {
+            final CachedApplicationVersion applicationVersion = applicationKeyRegistry.findApplicationVersion(request.getApplicationKey()).orElse(null);
+            if (applicationVersion == null || !applicationVersion.supported()) {
                 logger.warn("Application version is incorrect, application key: {}", request.getApplicationKey());
                 // Rollback is not required, database is not used for writing
                 throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_APPLICATION);
@@ -167,24 +163,19 @@ public class EciesEncryptionBehavior {
                 privateKey = temporaryKeyBehavior.temporaryPrivateKey(temporaryKeyId, request.getApplicationKey(), request.getActivationId());
             } else {
                 // Get master private key
-                final ApplicationEntity application = applicationVersion.getApplication();
-                final String applicationId = application.getId();
-                final MasterKeyPairEntity masterKeyPairEntity = masterKeyPairRepository.findFirstByApplicationIdOrderByTimestampCreatedDesc(applicationId);
-                if (masterKeyPairEntity == null) {
+                final String applicationId = applicationVersion.applicationId();
+                privateKey = applicationKeyRegistry.findMasterKeyPair(applicationId).orElseThrow(() -> {
                     logger.error("Missing key pair for application ID: {}", applicationId);
                     // Rollback is not required, database is not used for writing
-                    throw localizationProvider.buildExceptionForCode(ServiceError.NO_MASTER_SERVER_KEYPAIR);
-                }
-
-                final String masterPrivateKeyBase64 = masterKeyPairEntity.getMasterKeyPrivateBase64();
-                privateKey = keyConvertor.convertBytesToPrivateKey(Base64.getDecoder().decode(masterPrivateKeyBase64));
+                    return localizationProvider.buildExceptionForCode(ServiceError.NO_MASTER_SERVER_KEYPAIR);
+                }).privateKey();
             }
 
             // Build encryptor to derive shared info
             final ServerEncryptor encryptor = encryptorFactory.getServerEncryptor(
                     EncryptorId.APPLICATION_SCOPE_GENERIC,
-                    new EncryptorParameters(request.getProtocolVersion(), applicationVersion.getApplicationKey(), null, temporaryKeyId),
-                    new ServerEncryptorSecrets(privateKey, applicationVersion.getApplicationSecret())
+                    new EncryptorParameters(request.getProtocolVersion(), applicationVersion.applicationKey(), null, temporaryKeyId),
+                    new ServerEncryptorSecrets(privateKey, applicationVersion.applicationSecret())
             );
             // Calculate secrets for the external encryptor
             final EncryptorSecrets encryptorSecrets = encryptor.calculateSecretsForExternalEncryptor(
@@ -269,15 +260,15 @@ public class EciesEncryptionBehavior {
             activationValidator.validateActiveStatus(activation.getActivationStatus(), activation.getActivationId(), localizationProvider);
 
             // Lookup the application version and check that it is supported
-            final ApplicationVersionEntity applicationVersion = applicationVersionRepository.findByApplicationKey(applicationKey);
-            if (applicationVersion == null || !applicationVersion.getSupported()) {
+            final CachedApplicationVersion applicationVersion = applicationKeyRegistry.findApplicationVersion(applicationKey).orElse(null);
+            if (applicationVersion == null || !applicationVersion.supported()) {
                 logger.warn("Application version is incorrect, application key: {}", applicationKey);
                 // Rollback is not required, database is not used for writing
                 throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_APPLICATION);
             }
 
             // Check that application key from request belongs to same application as activation ID from request
-            if (!applicationVersion.getApplication().getRid().equals(activation.getApplication().getRid())) {
+            if (!applicationVersion.applicationRid().equals(activation.getApplication().getRid())) {
                 logger.warn("Application version does not match, application key: {}", request.getApplicationKey());
                 // Rollback is not required, database is not used for writing
                 throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_APPLICATION);
@@ -303,8 +294,8 @@ public class EciesEncryptionBehavior {
             // Build encryptor to derive shared info
             final ServerEncryptor encryptor = encryptorFactory.getServerEncryptor(
                     EncryptorId.ACTIVATION_SCOPE_GENERIC,
-                    new EncryptorParameters(protocolVersion, applicationVersion.getApplicationKey(), activation.getActivationId(), temporaryKeyId),
-                    new ServerEncryptorSecrets(encryptorPrivateKey, applicationVersion.getApplicationSecret(), transportKeyBytes)
+                    new EncryptorParameters(protocolVersion, applicationVersion.applicationKey(), activation.getActivationId(), temporaryKeyId),
+                    new ServerEncryptorSecrets(encryptorPrivateKey, applicationVersion.applicationSecret(), transportKeyBytes)
             );
             // Calculate secrets for the external encryptor. The request object may not contain encrypted data and mac.
             final EncryptorSecrets encryptorSecrets = encryptor.calculateSecretsForExternalEncryptor(
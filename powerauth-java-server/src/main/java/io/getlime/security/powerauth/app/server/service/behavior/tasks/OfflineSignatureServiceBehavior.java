@@ -30,12 +30,12 @@ import io.getlime.security.powerauth.app.server.converter.ServerPrivateKeyConver
 import io.getlime.security.powerauth.app.server.database.model.ServerPrivateKey;
 import io.getlime.security.powerauth.app.server.database.model.entity.ActivationRecordEntity;
 import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationEntity;
-import io.getlime.security.powerauth.app.server.database.model.entity.MasterKeyPairEntity;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.ActivationStatus;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
 import io.getlime.security.powerauth.app.server.database.repository.ActivationRepository;
 import io.getlime.security.powerauth.app.server.database.repository.ApplicationRepository;
-import io.getlime.security.powerauth.app.server.database.repository.MasterKeyPairRepository;
+import io.getlime.security.powerauth.app.server.service.cache.ApplicationKeyRegistry;
+import io.getlime.security.powerauth.app.server.service.cache.CachedMasterKeyPair;
 import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
 import io.getlime.security.powerauth.app.server.service.i18n.LocalizationProvider;
 import io.getlime.security.powerauth.app.server.service.model.ServiceError;
@@ -87,7 +87,7 @@ public class OfflineSignatureServiceBehavior {
     private final LocalizationProvider localizationProvider;
     private final PowerAuthServiceConfiguration powerAuthServiceConfiguration;
     private final ActivationContextValidator activationValidator;
-    private final MasterKeyPairRepository masterKeyPairRepository;
+    private final ApplicationKeyRegistry applicationKeyRegistry;
     private final ApplicationRepository applicationRepository;
 
     // Prepare converters
@@ -272,19 +272,17 @@ public class OfflineSignatureServiceBehavior {
                 logger.warn("No application found with ID: {}", applicationId);
                 throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_APPLICATION);
             }
-            final MasterKeyPairEntity masterKeyPair = masterKeyPairRepository.findFirstByApplicationIdOrderByTimestampCreatedDesc(applicationId);
-            if (masterKeyPair == null) {
+            final CachedMasterKeyPair masterKeyPair = applicationKeyRegistry.findMasterKeyPair(applicationId).orElseThrow(() -> {
                 logger.error("No master key pair found for application ID: {}", applicationId);
                 // Rollback is not required, database is not used for writing
-                throw localizationProvider.buildExceptionForCode(ServiceError.NO_MASTER_SERVER_KEYPAIR);
-            }
+                return localizationProvider.buildExceptionForCode(ServiceError.NO_MASTER_SERVER_KEYPAIR);
+            });
             // Generate nonce
             final byte[] nonceBytes = new KeyGenerator().generateRandomBytes(16);
             final String nonce = Base64.getEncoder().encodeToString(nonceBytes);
 
             // Prepare the private key - KEY_MASTER_SERVER_PRIVATE is used for non-personalized offline signatures
-            final String keyPrivateBase64 = masterKeyPair.getMasterKeyPrivateBase64();
-            final PrivateKey privateKey = keyConvertor.convertBytesToPrivateKey(Base64.getDecoder().decode(keyPrivateBase64));
+            final PrivateKey privateKey = masterKeyPair.privateKey();
 
             // Compute ECDSA signature of '{DATA}\n{NONCE}\n{KEY_MASTER_SERVER_PRIVATE_INDICATOR}'
             final SignatureUtils signatureUtils = new SignatureUtils();
@@ -359,25 +357,22 @@ public class OfflineSignatureServiceBehavior {
                 return invalidStateResponse(activationId, activation.getActivationStatus());
             }
 
-            SignatureResponse verificationResponse = new SignatureResponse();
-            OfflineSignatureRequest offlineSignatureRequest = new OfflineSignatureRequest();
-            for (OfflineSignatureRequest item : offlineSignatureRequests) {
-                verificationResponse = signatureSharedServiceBehavior.verifySignature(activation, item, request.getKeyConversionUtilities());
-                offlineSignatureRequest = item;
-                if (verificationResponse.isSignatureValid()) {
-                    break;
-                }
-            }
+            // All requests are verified in a single pass over the counter window
+            final SignatureResponse verificationResponse = signatureSharedServiceBehavior.verifySignature(activation, offlineSignatureRequests, request.getKeyConversionUtilities());
 
             // Check if the signature is valid
             if (verificationResponse.isSignatureValid()) {
 
+                // Audit the data which was actually signed, i.e. with the matching proximity OTP
+                final OfflineSignatureRequest offlineSignatureRequest = offlineSignatureRequests.get(verificationResponse.getUsedSignatureDataIndex());
                 signatureSharedServiceBehavior.handleValidSignature(activation, verificationResponse, offlineSignatureRequest, currentTimestamp);
 
                 return validSignatureResponse(activation, verificationResponse.getUsedSignatureType());
 
             } else {
 
+                // No candidate matches, audit the data with the proximity OTP of the current time step
+                final OfflineSignatureRequest offlineSignatureRequest = offlineSignatureRequests.get(0);
                 signatureSharedServiceBehavior.handleInvalidSignature(activation, verificationResponse, offlineSignatureRequest, currentTimestamp);
 
                 return invalidSignatureResponse(activation, offlineSignatureRequest);
@@ -23,9 +23,9 @@ import com.wultra.security.powerauth.client.model.request.VerifySignatureRequest
 import com.wultra.security.powerauth.client.model.response.VerifySignatureResponse;
 import io.getlime.security.powerauth.app.server.converter.ActivationStatusConverter;
 import io.getlime.security.powerauth.app.server.database.model.entity.ActivationRecordEntity;
-import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationVersionEntity;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.ActivationStatus;
-import io.getlime.security.powerauth.app.server.database.repository.ApplicationVersionRepository;
+import io.getlime.security.powerauth.app.server.service.cache.ApplicationKeyRegistry;
+import io.getlime.security.powerauth.app.server.service.cache.CachedApplicationVersion;
 import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
 import io.getlime.security.powerauth.app.server.service.i18n.LocalizationProvider;
 import io.getlime.security.powerauth.app.server.service.model.ServiceError;
@@ -66,7 +66,7 @@ public class OnlineSignatureServiceBehavior {
     private final SignatureSharedServiceBehavior signatureSharedServiceBehavior;
     private final ActivationQueryService activationQueryService;
     private final LocalizationProvider localizationProvider;
-    private final ApplicationVersionRepository applicationVersionRepository;
+    private final ApplicationKeyRegistry applicationKeyRegistry;
 
     // Prepare converters
     private final ActivationStatusConverter activationStatusConverter = new ActivationStatusConverter();
@@ -165,9 +165,9 @@ public class OnlineSignatureServiceBehavior {
         final SignatureConfiguration signatureConfiguration = SignatureConfiguration.forFormat(signatureFormat);
 
         // Check the activation - application relationship and version support
-        final ApplicationVersionEntity applicationVersion = applicationVersionRepository.findByApplicationKey(applicationKey);
+        final CachedApplicationVersion applicationVersion = applicationKeyRegistry.findApplicationVersion(applicationKey).orElse(null);
 
-        if (applicationVersion == null || !applicationVersion.getSupported() || !Objects.equals(applicationVersion.getApplication().getRid(), applicationId)) {
+        if (applicationVersion == null || !applicationVersion.supported() || !Objects.equals(applicationVersion.applicationRid(), applicationId)) {
             logger.warn("Application version is incorrect, application key: {}", applicationKey);
             // Get the data and append application KEY in this case, just for auditing reasons
             final byte[] data = (dataString + "&" + applicationKey).getBytes(StandardCharsets.UTF_8);
@@ -179,7 +179,7 @@ public class OnlineSignatureServiceBehavior {
             return invalidStateResponse(activationId, activation.getActivationStatus());
         }
 
-        final byte[] data = (dataString + "&" + applicationVersion.getApplicationSecret()).getBytes(StandardCharsets.UTF_8);
+        final byte[] data = (dataString + "&" + applicationVersion.applicationSecret()).getBytes(StandardCharsets.UTF_8);
         final SignatureData signatureData = new SignatureData(data, signature, signatureConfiguration, signatureVersion, additionalInfo, forcedSignatureVersion);
         final OnlineSignatureRequest signatureRequest = new OnlineSignatureRequest(signatureData, signatureType);
 
@@ -25,6 +25,7 @@ import com.wultra.security.powerauth.client.model.enumeration.OperationStatus;
 import com.wultra.security.powerauth.client.model.enumeration.SignatureType;
 import com.wultra.security.powerauth.client.model.enumeration.UserActionResult;
 import com.wultra.security.powerauth.client.model.request.*;
+import com.wultra.security.powerauth.client.model.response.OperationCreateBatchResponse;
 import com.wultra.security.powerauth.client.model.response.OperationDetailResponse;
 import com.wultra.security.powerauth.client.model.response.OperationListResponse;
 import com.wultra.security.powerauth.client.model.response.OperationUserActionResponse;
@@ -34,17 +35,20 @@ import io.getlime.security.powerauth.app.server.configuration.PowerAuthServiceCo
 import io.getlime.security.powerauth.app.server.database.model.entity.ActivationRecordEntity;
 import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationEntity;
 import io.getlime.security.powerauth.app.server.database.model.entity.OperationEntity;
-import io.getlime.security.powerauth.app.server.database.model.entity.OperationTemplateEntity;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.OperationStatusDo;
 import io.getlime.security.powerauth.app.server.database.repository.ActivationRepository;
 import io.getlime.security.powerauth.app.server.database.repository.ApplicationRepository;
 import io.getlime.security.powerauth.app.server.database.repository.OperationRepository;
-import io.getlime.security.powerauth.app.server.database.repository.OperationTemplateRepository;
+import io.getlime.security.powerauth.app.server.service.archive.OperationArchiveService;
+import io.getlime.security.powerauth.app.server.service.cache.CachedOperationTemplate;
+import io.getlime.security.powerauth.app.server.service.cache.OperationTemplateRegistry;
+import io.getlime.security.powerauth.app.server.service.cache.PendingOperationIndex;
 import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
 import io.getlime.security.powerauth.app.server.service.i18n.LocalizationProvider;
 import io.getlime.security.powerauth.app.server.service.model.ServiceError;
 import io.getlime.security.powerauth.app.server.service.persistence.ActivationQueryService;
 import io.getlime.security.powerauth.app.server.service.persistence.OperationQueryService;
+import io.getlime.security.powerauth.app.server.service.subscription.OperationChangeSubscriptionService;
 import io.getlime.security.powerauth.crypto.lib.enums.PowerAuthSignatureTypes;
 import io.getlime.security.powerauth.crypto.lib.generator.KeyGenerator;
 import io.getlime.security.powerauth.crypto.lib.model.exception.CryptoProviderException;
@@ -52,13 +56,13 @@ import io.getlime.security.powerauth.crypto.lib.totp.Totp;
 import jakarta.validation.constraints.NotNull;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.text.StringSubstitutor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.Serial;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
@@ -89,11 +93,14 @@ public class OperationServiceBehavior {
     private final CallbackUrlBehavior callbackUrlBehavior;
 
     private final OperationRepository operationRepository;
-    private final OperationTemplateRepository templateRepository;
+    private final OperationTemplateRegistry templateRegistry;
     private final ApplicationRepository applicationRepository;
     private final ActivationRepository activationRepository;
     private final OperationQueryService operationQueryService;
     private final ActivationQueryService activationQueryService;
+    private final PendingOperationIndex pendingOperationIndex;
+    private final OperationChangeSubscriptionService operationChangeSubscriptionService;
+    private final OperationArchiveService operationArchiveService;
 
     private final AuditingServiceBehavior audit;
 
@@ -119,17 +126,22 @@ public class OperationServiceBehavior {
     @Autowired
     public OperationServiceBehavior(
             CallbackUrlBehavior callbackUrlBehavior, OperationRepository operationRepository,
-            OperationTemplateRepository templateRepository,
+            OperationTemplateRegistry templateRegistry,
             ApplicationRepository applicationRepository,
             ActivationRepository activationRepository, OperationQueryService operationQueryService, ActivationQueryService activationQueryService,
+            PendingOperationIndex pendingOperationIndex, OperationChangeSubscriptionService operationChangeSubscriptionService,
+            OperationArchiveService operationArchiveService,
             AuditingServiceBehavior audit,
             PowerAuthServiceConfiguration powerAuthServiceConfiguration, PowerAuthPageableConfiguration powerAuthPageableConfiguration) {
         this.callbackUrlBehavior = callbackUrlBehavior;
         this.operationRepository = operationRepository;
-        this.templateRepository = templateRepository;
+        this.templateRegistry = templateRegistry;
         this.applicationRepository = applicationRepository;
         this.operationQueryService = operationQueryService;
         this.activationQueryService = activationQueryService;
+        this.pendingOperationIndex = pendingOperationIndex;
+        this.operationChangeSubscriptionService = operationChangeSubscriptionService;
+        this.operationArchiveService = operationArchiveService;
         this.audit = audit;
         this.powerAuthServiceConfiguration = powerAuthServiceConfiguration;
         this.activationRepository = activationRepository;
@@ -151,13 +163,8 @@ public class OperationServiceBehavior {
             validate(request);
 
             final List<String> applications = request.getApplications();
-            final String activationFlag = request.getActivationFlag();
             final String templateName = request.getTemplateName();
             final Date timestampExpiresRequest = request.getTimestampExpires();
-            final Map<String, String> parameters = request.getParameters();
-            final Map<String, Object> additionalData = request.getAdditionalData();
-            final String externalId = request.getExternalId();
-            final String activationId = request.getActivationId();
 
             // Prepare current timestamp in advance
             final Date currentTimestamp = new Date();
@@ -168,21 +175,12 @@ public class OperationServiceBehavior {
             }
 
             // Fetch the operation template
-            final Optional<OperationTemplateEntity> template = templateRepository.findTemplateByName(templateName);
+            final Optional<CachedOperationTemplate> template = templateRegistry.findTemplate(templateName);
             if (template.isEmpty()) {
                 logger.error("Operation template was not found: {}. Check your configuration in pa_operation_template table.", templateName);
                 throw localizationProvider.buildExceptionForCode(ServiceError.OPERATION_TEMPLATE_NOT_FOUND);
             }
-            final OperationTemplateEntity templateEntity = template.get();
-
-            // Resolve the operation expiration date
-            final Date timestampExpires;
-            if (timestampExpiresRequest != null) {
-                timestampExpires = timestampExpiresRequest;
-            } else {
-                final long expiration = templateEntity.getExpiration() * 1000L;
-                timestampExpires = new Date(currentTimestamp.getTime() + expiration);
-            }
+            final CachedOperationTemplate operationTemplate = template.get();
 
             // Check if applications exist
             final List<ApplicationEntity> applicationEntities = applicationRepository.findAllByIdIn(applications);
@@ -195,8 +193,7 @@ public class OperationServiceBehavior {
             String operationId = null;
             for (int i = 0; i < powerAuthServiceConfiguration.getGenerateOperationIterations(); i++) {
                 final String tmpOperationId = UUID.randomUUID().toString();
-                final Optional<OperationEntity> tmpTokenOptional = operationQueryService.findOperationWithoutLock(tmpOperationId);
-                if (tmpTokenOptional.isEmpty()) {
+                if (!powerAuthServiceConfiguration.isVerifyGeneratedIdentifiers() || operationQueryService.findOperationWithoutLock(tmpOperationId).isEmpty()) {
                     operationId = tmpOperationId;
                     break;
                 } // ... else this token ID has a collision, reset it and try to find another one
@@ -207,57 +204,9 @@ public class OperationServiceBehavior {
                 throw localizationProvider.buildExceptionForCode(ServiceError.UNABLE_TO_GENERATE_TOKEN);
             }
 
-            // Build operation data
-            final StringSubstitutor sub = new StringSubstitutor(escapeParameters(parameters));
-            final String operationData = sub.replace(templateEntity.getDataTemplate());
-
-            // Create a new operation
-            final OperationEntity operationEntity = new OperationEntity();
-            operationEntity.setId(operationId);
-            operationEntity.setUserId(fetchUserId(request));
-            operationEntity.setApplications(applicationEntities);
-            operationEntity.setExternalId(externalId);
-            operationEntity.setActivationFlag(activationFlag);
-            operationEntity.setOperationType(templateEntity.getOperationType());
-            operationEntity.setTemplateName(templateEntity.getTemplateName());
-            operationEntity.setData(operationData);
-            operationEntity.setParameters(parameters);
-            operationEntity.setAdditionalData(additionalData);
-            operationEntity.setStatus(OperationStatusDo.PENDING);
-            operationEntity.setSignatureType(templateEntity.getSignatureType());
-            operationEntity.setFailureCount(0L);
-            operationEntity.setMaxFailureCount(templateEntity.getMaxFailureCount());
-            operationEntity.setTimestampCreated(currentTimestamp);
-            operationEntity.setTimestampExpires(timestampExpires);
-            operationEntity.setTimestampFinalized(null); // empty initially
-            operationEntity.setRiskFlags(templateEntity.getRiskFlags());
-            operationEntity.setTotpSeed(generateTotpSeed(request, templateEntity));
-            operationEntity.setActivationId(activationId);
-
-            final AuditDetail auditDetail = AuditDetail.builder()
-                    .type(AuditType.OPERATION.getCode())
-                    .param("id", operationId)
-                    .param("userId", operationEntity.getUserId())
-                    .param("applications", applications)
-                    .param("externalId", externalId)
-                    .param("activationFlag", activationFlag)
-                    .param("operationType", templateEntity.getOperationType())
-                    .param("template", templateEntity.getTemplateName())
-                    .param("data", operationData)
-                    .param("parameters", parameters)
-                    .param("additionalData", additionalData)
-                    .param("status", OperationStatusDo.PENDING.name())
-                    .param("allowedSignatureType", templateEntity.getSignatureType())
-                    .param("maxFailureCount", operationEntity.getMaxFailureCount())
-                    .param("timestampExpires", timestampExpires)
-                    .param("proximityCheckEnabled", operationEntity.getTotpSeed() != null)
-                    .param("activationId", activationId)
-                    .build();
-            audit.log(AuditLevel.INFO, "Operation created with ID: {}", auditDetail, operationId);
-
-            logger.info("Operation created with ID: {}", operationId);
+            final OperationEntity operationEntity = prepareOperation(request, operationId, operationTemplate, applicationEntities, currentTimestamp);
             final OperationEntity savedEntity = operationRepository.save(operationEntity);
-            callbackUrlBehavior.notifyCallbackListenersOnOperationChange(savedEntity);
+            notifyOperationChange(savedEntity);
             return convertFromEntityAndFillOtp(savedEntity);
         } catch (GenericServiceException ex) {
             // already logged
@@ -271,6 +220,189 @@ public class OperationServiceBehavior {
         }
     }
 
+    /**
+     * Create operations in a single transaction. Operation templates and applications are resolved once for
+     * the whole batch, operations are inserted together and callbacks are notified in bulk after commit.
+     *
+     * @param request Request with operations to create.
+     * @return Created operations in the order of the request.
+     * @throws GenericServiceException In case any of the operations cannot be created, no operation is created then.
+     */
+    @Transactional
+    public OperationCreateBatchResponse createOperationBatch(OperationCreateBatchRequest request) throws GenericServiceException {
+        try {
+            final String error = OperationCreateBatchRequestValidator.validate(request);
+            if (error != null) {
+                throw new GenericServiceException(ServiceError.INVALID_REQUEST, error);
+            }
+            final List<OperationCreateRequest> operationRequests = request.getOperations();
+            final int maxSize = powerAuthServiceConfiguration.getCreateOperationBatchMaxSize();
+            if (operationRequests.size() > maxSize) {
+                logger.warn("Operation batch size: {} exceeds the limit: {}", operationRequests.size(), maxSize);
+                throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_REQUEST);
+            }
+
+            // Prepare current timestamp in advance
+            final Date currentTimestamp = new Date();
+
+            for (OperationCreateRequest operationRequest : operationRequests) {
+                validate(operationRequest);
+                final Date timestampExpiresRequest = operationRequest.getTimestampExpires();
+                if (timestampExpiresRequest != null && timestampExpiresRequest.before(currentTimestamp)) {
+                    // Rollback is not required, error occurs before writing to database
+                    throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_REQUEST);
+                }
+            }
+
+            // Fetch the operation templates
+            final Map<String, CachedOperationTemplate> templates = new HashMap<>();
+            for (OperationCreateRequest operationRequest : operationRequests) {
+                final String templateName = operationRequest.getTemplateName();
+                if (!templates.containsKey(templateName)) {
+                    final Optional<CachedOperationTemplate> template = templateRegistry.findTemplate(templateName);
+                    if (template.isEmpty()) {
+                        logger.error("Operation template was not found: {}. Check your configuration in pa_operation_template table.", templateName);
+                        throw localizationProvider.buildExceptionForCode(ServiceError.OPERATION_TEMPLATE_NOT_FOUND);
+                    }
+                    templates.put(templateName, template.get());
+                }
+            }
+
+            // Check if applications exist
+            final Set<String> applicationIds = operationRequests.stream()
+                    .flatMap(r -> r.getApplications().stream())
+                    .collect(Collectors.toSet());
+            final Map<String, ApplicationEntity> applicationEntities = applicationRepository.findAllByIdIn(List.copyOf(applicationIds)).stream()
+                    .collect(Collectors.toMap(ApplicationEntity::getId, a -> a));
+            if (applicationEntities.size() != applicationIds.size()) {
+                logger.error("Not matching expected applications: {} vs. {}", applicationIds, applicationEntities.keySet());
+                throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_APPLICATION);
+            }
+
+            final List<OperationEntity> operationEntities = new ArrayList<>(operationRequests.size());
+            for (OperationCreateRequest operationRequest : operationRequests) {
+                final List<String> applications = operationRequest.getApplications();
+                if (Set.copyOf(applications).size() != applications.size()) {
+                    logger.error("Duplicate applications in operation request: {}", applications);
+                    throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_APPLICATION);
+                }
+                final List<ApplicationEntity> operationApplications = applications.stream()
+                        .map(applicationEntities::get)
+                        .collect(Collectors.toList());
+                // Random UUID collisions are not probed, the primary key constraint rejects the whole batch in such case
+                final String operationId = UUID.randomUUID().toString();
+                final CachedOperationTemplate operationTemplate = templates.get(operationRequest.getTemplateName());
+                operationEntities.add(prepareOperation(operationRequest, operationId, operationTemplate, operationApplications, currentTimestamp));
+            }
+
+            operationRepository.persistAll(operationEntities);
+            logger.info("Operation batch created, size: {}", operationEntities.size());
+
+            callbackUrlBehavior.notifyCallbackListenersOnOperationsChange(operationEntities);
+            final List<OperationDetailResponse> operations = new ArrayList<>(operationEntities.size());
+            for (OperationEntity operationEntity : operationEntities) {
+                pendingOperationIndex.onOperationChange(operationEntity);
+                operationChangeSubscriptionService.publish(operationEntity);
+                operations.add(convertFromEntityAndFillOtp(operationEntity));
+            }
+
+            final OperationCreateBatchResponse response = new OperationCreateBatchResponse();
+            response.setOperations(operations);
+            return response;
+        } catch (GenericServiceException ex) {
+            // already logged
+            throw ex;
+        } catch (RuntimeException ex) {
+            logger.error("Runtime exception or error occurred, transaction will be rolled back", ex);
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unknown error occurred", ex);
+            throw new GenericServiceException(ServiceError.UNKNOWN_ERROR, ex.getMessage());
+        }
+    }
+
+    /**
+     * Prepare a new pending operation from the request and the resolved operation template and applications,
+     * and audit its creation. The operation is not saved.
+     *
+     * @param request Request to create the operation.
+     * @param operationId Operation ID.
+     * @param operationTemplate Operation template.
+     * @param applicationEntities Applications of the operation.
+     * @param currentTimestamp Current timestamp.
+     * @return Operation entity to be saved.
+     * @throws GenericServiceException In case the user ID cannot be resolved.
+     */
+    private OperationEntity prepareOperation(final OperationCreateRequest request, final String operationId, final CachedOperationTemplate operationTemplate,
+                                             final List<ApplicationEntity> applicationEntities, final Date currentTimestamp) throws GenericServiceException {
+        final List<String> applications = request.getApplications();
+        final String activationFlag = request.getActivationFlag();
+        final Date timestampExpiresRequest = request.getTimestampExpires();
+        final Map<String, String> parameters = request.getParameters();
+        final Map<String, Object> additionalData = request.getAdditionalData();
+        final String externalId = request.getExternalId();
+        final String activationId = request.getActivationId();
+
+        // Resolve the operation expiration date
+        final Date timestampExpires;
+        if (timestampExpiresRequest != null) {
+            timestampExpires = timestampExpiresRequest;
+        } else {
+            final long expiration = operationTemplate.expiration() * 1000L;
+            timestampExpires = new Date(currentTimestamp.getTime() + expiration);
+        }
+
+        // Build operation data
+        final String operationData = operationTemplate.dataTemplate().render(escapeParameters(parameters));
+
+        // Create a new operation
+        final OperationEntity operationEntity = new OperationEntity();
+        operationEntity.setId(operationId);
+        operationEntity.setUserId(fetchUserId(request));
+        operationEntity.setApplications(applicationEntities);
+        operationEntity.setExternalId(externalId);
+        operationEntity.setActivationFlag(activationFlag);
+        operationEntity.setOperationType(operationTemplate.operationType());
+        operationEntity.setTemplateName(operationTemplate.templateName());
+        operationEntity.setData(operationData);
+        operationEntity.setParameters(parameters);
+        operationEntity.setAdditionalData(additionalData);
+        operationEntity.setStatus(OperationStatusDo.PENDING);
+        operationEntity.setSignatureType(operationTemplate.signatureType());
+        operationEntity.setFailureCount(0L);
+        operationEntity.setMaxFailureCount(operationTemplate.maxFailureCount());
+        operationEntity.setTimestampCreated(currentTimestamp);
+        operationEntity.setTimestampExpires(timestampExpires);
+        operationEntity.setTimestampFinalized(null); // empty initially
+        operationEntity.setRiskFlags(operationTemplate.riskFlags());
+        operationEntity.setTotpSeed(generateTotpSeed(request, operationTemplate));
+        operationEntity.setActivationId(activationId);
+
+        final AuditDetail auditDetail = AuditDetail.builder()
+                .type(AuditType.OPERATION.getCode())
+                .param("id", operationId)
+                .param("userId", operationEntity.getUserId())
+                .param("applications", applications)
+                .param("externalId", externalId)
+                .param("activationFlag", activationFlag)
+                .param("operationType", operationTemplate.operationType())
+                .param("template", operationTemplate.templateName())
+                .param("data", operationData)
+                .param("parameters", parameters)
+                .param("additionalData", additionalData)
+                .param("status", OperationStatusDo.PENDING.name())
+                .param("allowedSignatureType", operationEntity.getSignatureType())
+                .param("maxFailureCount", operationEntity.getMaxFailureCount())
+                .param("timestampExpires", timestampExpires)
+                .param("proximityCheckEnabled", operationEntity.getTotpSeed() != null)
+                .param("activationId", activationId)
+                .build();
+        audit.log(AuditLevel.INFO, "Operation created with ID: {}", auditDetail, operationId);
+
+        logger.info("Operation created with ID: {}", operationId);
+        return operationEntity;
+    }
+
     private static Map<String, String> escapeParameters(final Map<String, String> source) {
         return source.entrySet().stream()
                 .map(OperationServiceBehavior::escapeParameter)
@@ -331,6 +463,10 @@ public class OperationServiceBehavior {
 
     @Transactional
     public OperationUserActionResponse attemptApproveOperation(OperationApproveRequest request, OperationApprovalCustomizer operationApprovalCustomizer) throws GenericServiceException {
+        return attemptApproveOperation(request, operationApprovalCustomizer, 1);
+    }
+
+    private OperationUserActionResponse attemptApproveOperation(OperationApproveRequest request, OperationApprovalCustomizer operationApprovalCustomizer, int attempt) throws GenericServiceException {
         try {
             final String error = OperationApproveRequestValidator.validate(request);
             if (error != null) {
@@ -348,7 +484,7 @@ public class OperationServiceBehavior {
             final Map<String, Object> additionalData = request.getAdditionalData();
 
             // Check if the operation exists
-            final Optional<OperationEntity> operationOptional = operationQueryService.findOperationForUpdate(operationId);
+            final Optional<OperationEntity> operationOptional = findOperationForChange(operationId, attempt);
             if (operationOptional.isEmpty()) {
                 logger.warn("Operation was not found for ID: {}.", operationId);
                 throw localizationProvider.buildExceptionForCode(ServiceError.OPERATION_APPROVE_FAILURE);
@@ -385,6 +521,7 @@ public class OperationServiceBehavior {
                     && !operationShouldFail) { // operation customizer can change the approval status by an external impulse
 
                 // Approve the operation
+                reserveOperationChange(operationEntity);
                 operationEntity.setUserId(userId);
                 operationEntity.setStatus(OperationStatusDo.APPROVED);
                 operationEntity.setTimestampFinalized(currentTimestamp);
@@ -392,7 +529,7 @@ public class OperationServiceBehavior {
 
                 logger.info("Operation approved with ID: {}", operationId);
                 final OperationEntity savedEntity = operationRepository.save(operationEntity);
-                callbackUrlBehavior.notifyCallbackListenersOnOperationChange(savedEntity);
+                notifyOperationChange(savedEntity);
                 final OperationDetailResponse operationDetailResponse = convertFromEntity(savedEntity);
 
                 final AuditDetail auditDetail = AuditDetail.builder()
@@ -419,13 +556,14 @@ public class OperationServiceBehavior {
                 final Long failureCount = operationEntity.getFailureCount() + 1;
                 final Long maxFailureCount = operationEntity.getMaxFailureCount();
 
+                reserveOperationChange(operationEntity);
                 if (failureCount < maxFailureCount) {
                     operationEntity.setFailureCount(failureCount);
                     operationEntity.setAdditionalData(mapMerge(operationEntity.getAdditionalData(), additionalData));
 
                     logger.info("Operation approval failed for operation ID: {}, user ID: {}, application ID: {}.", operationId, userId, applicationId);
                     final OperationEntity savedEntity = operationRepository.save(operationEntity);
-                    callbackUrlBehavior.notifyCallbackListenersOnOperationChange(savedEntity);
+                    notifyOperationChange(savedEntity);
                     final OperationDetailResponse operationDetailResponse = convertFromEntity(savedEntity);
 
                     final AuditDetail auditDetail = AuditDetail.builder()
@@ -457,7 +595,7 @@ public class OperationServiceBehavior {
 
                     logger.info("Operation failed for operation ID: {}, user ID: {}, application ID: {}.", operationId, userId, applicationId);
                     final OperationEntity savedEntity = operationRepository.save(operationEntity);
-                    callbackUrlBehavior.notifyCallbackListenersOnOperationChange(savedEntity);
+                    notifyOperationChange(savedEntity);
                     final OperationDetailResponse operationDetailResponse = convertFromEntity(savedEntity);
 
                     final AuditDetail auditDetail = AuditDetail.builder()
@@ -484,6 +622,13 @@ public class OperationServiceBehavior {
                     return response;
                 }
             }
+        } catch (OperationConflictException ex) {
+            if (attempt >= powerAuthServiceConfiguration.getOperationOptimisticLockingMaxAttempts()) {
+                logger.warn("Operation was changed concurrently, approval failed after attempts: {}, operation ID: {}", attempt, request.getOperationId());
+                throw localizationProvider.buildExceptionForCode(ServiceError.OPERATION_APPROVE_FAILURE);
+            }
+            logger.debug("Operation was changed concurrently, retrying approval, operation ID: {}", request.getOperationId());
+            return attemptApproveOperation(request, operationApprovalCustomizer, attempt + 1);
         } catch (GenericServiceException ex) {
             // already logged
             throw ex;
@@ -498,6 +643,10 @@ public class OperationServiceBehavior {
 
     @Transactional
     public OperationUserActionResponse rejectOperation(OperationRejectRequest request) throws GenericServiceException {
+        return rejectOperation(request, 1);
+    }
+
+    private OperationUserActionResponse rejectOperation(OperationRejectRequest request, int attempt) throws GenericServiceException {
         try {
             final String error = OperationRejectRequestValidator.validate(request);
             if (error != null) {
@@ -512,7 +661,7 @@ public class OperationServiceBehavior {
             final Map<String, Object> additionalData = request.getAdditionalData();
 
             // Check if the operation exists
-            final Optional<OperationEntity> operationOptional = operationQueryService.findOperationForUpdate(operationId);
+            final Optional<OperationEntity> operationOptional = findOperationForChange(operationId, attempt);
             if (operationOptional.isEmpty()) {
                 logger.warn("Operation was not found for ID: {}.", operationId);
                 throw localizationProvider.buildExceptionForCode(ServiceError.OPERATION_REJECT_FAILURE);
@@ -538,6 +687,7 @@ public class OperationServiceBehavior {
                     && operationEntity.getApplications().contains(application.get())) { // operation is rejected by the expected application
 
                 // Reject the operation
+                reserveOperationChange(operationEntity);
                 operationEntity.setUserId(userId);
                 operationEntity.setStatus(OperationStatusDo.REJECTED);
                 operationEntity.setTimestampFinalized(currentTimestamp);
@@ -545,7 +695,7 @@ public class OperationServiceBehavior {
 
                 logger.info("Operation rejected operation ID: {}, user ID: {}, application ID: {}.", operationId, userId, applicationId);
                 final OperationEntity savedEntity = operationRepository.save(operationEntity);
-                callbackUrlBehavior.notifyCallbackListenersOnOperationChange(savedEntity);
+                notifyOperationChange(savedEntity);
                 final OperationDetailResponse operationDetailResponse = convertFromEntity(savedEntity);
 
                 final AuditDetail auditDetail = AuditDetail.builder()
@@ -583,6 +733,13 @@ public class OperationServiceBehavior {
                 response.setOperation(operationDetailResponse);
                 return response;
             }
+        } catch (OperationConflictException ex) {
+            if (attempt >= powerAuthServiceConfiguration.getOperationOptimisticLockingMaxAttempts()) {
+                logger.warn("Operation was changed concurrently, rejection failed after attempts: {}, operation ID: {}", attempt, request.getOperationId());
+                throw localizationProvider.buildExceptionForCode(ServiceError.OPERATION_REJECT_FAILURE);
+            }
+            logger.debug("Operation was changed concurrently, retrying rejection, operation ID: {}", request.getOperationId());
+            return rejectOperation(request, attempt + 1);
         } catch (GenericServiceException ex) {
             // already logged
             throw ex;
@@ -597,6 +754,10 @@ public class OperationServiceBehavior {
 
     @Transactional
     public OperationUserActionResponse failApprovalOperation(OperationFailApprovalRequest request) throws GenericServiceException {
+        return failApprovalOperation(request, 1);
+    }
+
+    private OperationUserActionResponse failApprovalOperation(OperationFailApprovalRequest request, int attempt) throws GenericServiceException {
         try {
             final String error = OperationFailApprovalRequestValidator.validate(request);
             if (error != null) {
@@ -609,7 +770,7 @@ public class OperationServiceBehavior {
             final Map<String, Object> additionalData = request.getAdditionalData();
 
             // Check if the operation exists
-            final Optional<OperationEntity> operationOptional = operationQueryService.findOperationForUpdate(operationId);
+            final Optional<OperationEntity> operationOptional = findOperationForChange(operationId, attempt);
             if (operationOptional.isEmpty()) {
                 logger.warn("Operation was not found for ID: {}.", operationId);
                 throw localizationProvider.buildExceptionForCode(ServiceError.OPERATION_NOT_FOUND);
@@ -627,13 +788,14 @@ public class OperationServiceBehavior {
             final Long failureCount = operationEntity.getFailureCount() + 1;
             final Long maxFailureCount = operationEntity.getMaxFailureCount();
 
+            reserveOperationChange(operationEntity);
             if (failureCount < maxFailureCount) {
                 operationEntity.setFailureCount(failureCount);
                 operationEntity.setAdditionalData(mapMerge(operationEntity.getAdditionalData(), additionalData));
 
                 logger.info("Operation approval failed via explicit server call for operation ID: {}.", operationId);
                 final OperationEntity savedEntity = operationRepository.save(operationEntity);
-                callbackUrlBehavior.notifyCallbackListenersOnOperationChange(savedEntity);
+                notifyOperationChange(savedEntity);
                 final OperationDetailResponse operationDetailResponse = convertFromEntity(savedEntity);
 
                 final AuditDetail auditDetail = AuditDetail.builder()
@@ -657,7 +819,7 @@ public class OperationServiceBehavior {
 
                 logger.info("Operation approval permanently failed via explicit server call for operation ID: {}.", operationId);
                 final OperationEntity savedEntity = operationRepository.save(operationEntity);
-                callbackUrlBehavior.notifyCallbackListenersOnOperationChange(savedEntity);
+                notifyOperationChange(savedEntity);
                 final OperationDetailResponse operationDetailResponse = convertFromEntity(savedEntity);
 
                 final AuditDetail auditDetail = AuditDetail.builder()
@@ -674,6 +836,13 @@ public class OperationServiceBehavior {
                 response.setOperation(operationDetailResponse);
                 return response;
             }
+        } catch (OperationConflictException ex) {
+            if (attempt >= powerAuthServiceConfiguration.getOperationOptimisticLockingMaxAttempts()) {
+                logger.warn("Operation was changed concurrently, failing approval failed after attempts: {}, operation ID: {}", attempt, request.getOperationId());
+                throw localizationProvider.buildExceptionForCode(ServiceError.OPERATION_INVALID_STATE);
+            }
+            logger.debug("Operation was changed concurrently, retrying failing approval, operation ID: {}", request.getOperationId());
+            return failApprovalOperation(request, attempt + 1);
         } catch (GenericServiceException ex) {
             // already logged
             throw ex;
@@ -720,7 +889,7 @@ public class OperationServiceBehavior {
 
             logger.info("Operation canceled via explicit server call for operation ID: {}.", operationId);
             final OperationEntity savedEntity = operationRepository.save(operationEntity);
-            callbackUrlBehavior.notifyCallbackListenersOnOperationChange(savedEntity);
+            notifyOperationChange(savedEntity);
             final OperationDetailResponse operationDetailResponse = convertFromEntity(savedEntity);
             extendAndSetOperationDetailData(operationDetailResponse);
 
@@ -758,10 +927,19 @@ public class OperationServiceBehavior {
             final Date currentTimestamp = new Date();
             final String operationId = request.getOperationId();
 
-            final OperationEntity operation = operationQueryService.findOperationForUpdate(operationId).orElseThrow(() -> {
-                logger.warn("Operation was not found for ID: {}", operationId);
-                return localizationProvider.buildExceptionForCode(ServiceError.OPERATION_NOT_FOUND);
-            });
+            final Optional<OperationEntity> operationOptional = operationQueryService.findOperationForUpdate(operationId);
+            if (operationOptional.isEmpty()) {
+                // Finalized operations may have been moved to the archive, they are returned as they are
+                final OperationEntity archivedOperation = operationArchiveService.findOperation(operationId).orElseThrow(() -> {
+                    logger.warn("Operation was not found for ID: {}", operationId);
+                    return localizationProvider.buildExceptionForCode(ServiceError.OPERATION_NOT_FOUND);
+                });
+                logger.debug("Operation found in the archive, operation ID: {}", operationId);
+                final OperationDetailResponse operationDetailResponse = convertFromEntity(archivedOperation);
+                extendAndSetOperationDetailData(operationDetailResponse);
+                return operationDetailResponse;
+            }
+            final OperationEntity operation = operationOptional.get();
 
             final String userId = request.getUserId();
             final OperationEntity operationEntity = expireOperation(
@@ -808,7 +986,10 @@ public class OperationServiceBehavior {
             final List<String> activationFlags = fetchActivationFlags(activationId);
 
             final OperationListResponse result = new OperationListResponse();
-            try (final Stream<OperationEntity> operationsForUser = operationQueryService.findAllOperationsForUser(userId, applicationIds, activationId, activationFlags.isEmpty() ? null : activationFlags, operationListRequest.pageable())) {
+            final List<String> activationFlagsFilter = activationFlags.isEmpty() ? null : activationFlags;
+            try (final Stream<OperationEntity> operationsForUser = operationListRequest.keysetPagination()
+                    ? operationQueryService.findAllOperationsForUserAfter(userId, applicationIds, activationId, activationFlagsFilter, operationListRequest.afterTimestampCreated(), operationListRequest.afterId(), operationListRequest.pageable())
+                    : operationQueryService.findAllOperationsForUser(userId, applicationIds, activationId, activationFlagsFilter, operationListRequest.pageable())) {
                 operationsForUser.forEach(op -> {
                     final OperationEntity operationEntity;
                     try {
@@ -854,11 +1035,19 @@ public class OperationServiceBehavior {
                 throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_APPLICATION);
             }
 
+            if (!pendingOperationIndex.mayHavePendingOperations(userId, currentTimestamp)) {
+                logger.debug("No pending operations found in the index for user ID: {}", userId);
+                return new OperationListResponse();
+            }
+
             final String activationId = operationListRequest.activationId;
             final List<String> activationFlags = fetchActivationFlags(activationId);
 
             final OperationListResponse result = new OperationListResponse();
-            try (final Stream<OperationEntity> operationsForUser = operationQueryService.findPendingOperationsForUser(userId, applicationIds, activationId, activationFlags.isEmpty() ? null : activationFlags, operationListRequest.pageable())) {
+            final List<String> activationFlagsFilter = activationFlags.isEmpty() ? null : activationFlags;
+            try (final Stream<OperationEntity> operationsForUser = operationListRequest.keysetPagination()
+                    ? operationQueryService.findPendingOperationsForUserAfter(userId, applicationIds, activationId, activationFlagsFilter, operationListRequest.afterTimestampCreated(), operationListRequest.afterId(), operationListRequest.pageable())
+                    : operationQueryService.findPendingOperationsForUser(userId, applicationIds, activationId, activationFlagsFilter, operationListRequest.pageable())) {
                 operationsForUser.forEach(op -> {
                     final OperationEntity operationEntity;
                     try {
@@ -913,8 +1102,14 @@ public class OperationServiceBehavior {
                 throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_APPLICATION);
             }
 
+            if (operationArchiveService.isEnabled()) {
+                return findOperationsByExternalIdWithArchive(requestWithExternalId, currentTimestamp);
+            }
+
             final OperationListResponse result = new OperationListResponse();
-            try (final Stream<OperationEntity> operationsByExternalId = operationQueryService.findOperationsByExternalId(externalId, applicationIds, requestWithExternalId.pageable())) {
+            try (final Stream<OperationEntity> operationsByExternalId = requestWithExternalId.keysetPagination()
+                    ? operationQueryService.findOperationsByExternalIdAfter(externalId, applicationIds, requestWithExternalId.afterTimestampCreated(), requestWithExternalId.afterId(), requestWithExternalId.pageable())
+                    : operationQueryService.findOperationsByExternalId(externalId, applicationIds, requestWithExternalId.pageable())) {
                 operationsByExternalId.forEach(op -> {
                     final OperationEntity operationEntity;
                     try {
@@ -936,6 +1131,49 @@ public class OperationServiceBehavior {
         }
     }
 
+    /**
+     * Find operations by external ID in both the operation table and the archive. Both sources are ordered
+     * the same way, so the requested page is taken from the merge of the leading rows of each source.
+     *
+     * @param request Request with the external ID.
+     * @param currentTimestamp Current timestamp.
+     * @return List of operations that match.
+     */
+    private OperationListResponse findOperationsByExternalIdWithArchive(final OperationListRequestWithExternalId request, final Date currentTimestamp) {
+        final String externalId = request.externalId();
+        final List<String> applicationIds = request.applications();
+        final Pageable pageable = request.pageable();
+        // Keyset pagination reads the first page after the position, offset pagination has to read all the preceding pages
+        final int skip = request.keysetPagination() ? 0 : (int) pageable.getOffset();
+        final Pageable leadingRows = PageRequest.of(0, skip + pageable.getPageSize());
+
+        final List<OperationEntity> operations = new ArrayList<>();
+        try (final Stream<OperationEntity> operationsByExternalId = request.keysetPagination()
+                ? operationQueryService.findOperationsByExternalIdAfter(externalId, applicationIds, request.afterTimestampCreated(), request.afterId(), leadingRows)
+                : operationQueryService.findOperationsByExternalId(externalId, applicationIds, leadingRows)) {
+            operationsByExternalId.forEach(operations::add);
+        }
+        operations.addAll(request.keysetPagination()
+                ? operationArchiveService.findOperationsByExternalIdAfter(externalId, applicationIds, request.afterTimestampCreated(), request.afterId(), leadingRows)
+                : operationArchiveService.findOperationsByExternalId(externalId, applicationIds, leadingRows));
+
+        final OperationListResponse result = new OperationListResponse();
+        operations.stream()
+                .sorted(Comparator.comparing(OperationEntity::getTimestampCreated).thenComparing(OperationEntity::getId).reversed())
+                .skip(skip)
+                .limit(pageable.getPageSize())
+                .forEach(op -> {
+                    try {
+                        // Archived operations are finalized, so the expiration does not touch them
+                        result.add(convertFromEntity(expireOperation(op, currentTimestamp)));
+                    } catch (GenericServiceException e) {
+                        logger.debug(e.getMessage(), e);
+                        logger.error("Operation expiration failed, operation ID: {}", op.getId());
+                    }
+                });
+        return result;
+    }
+
     /**
      * Convert the given entity to the response class.
      * Mind that it does not fill the proximity OTP. If you need so, use {@link #convertFromEntityAndFillOtp(OperationEntity)} instead.
@@ -992,7 +1230,10 @@ public class OperationServiceBehavior {
                 if (expectedUserId == null) {
                     source.setUserId(userId);
                     logger.info("Operation ID: {} will be assigned to the user {}.", operationId, userId);
-                    return operationRepository.save(source);
+                    final OperationEntity savedEntity = operationRepository.save(source);
+                    pendingOperationIndex.onOperationChange(savedEntity);
+                    operationChangeSubscriptionService.publish(savedEntity);
+                    return savedEntity;
                 } else if (!expectedUserId.equals(userId)) {
                     logger.warn("Operation ID: {}, was accessed by user: {}, while previously assigned to user: {}.", operationId, userId, expectedUserId);
                     throw localizationProvider.buildExceptionForCode(ServiceError.OPERATION_NOT_FOUND);
@@ -1099,12 +1340,12 @@ public class OperationServiceBehavior {
         }
     }
 
-    private static String generateTotpSeed(final OperationCreateRequest request, final OperationTemplateEntity template) throws GenericServiceException {
+    private static String generateTotpSeed(final OperationCreateRequest request, final CachedOperationTemplate template) throws GenericServiceException {
         if (Boolean.FALSE.equals(request.getProximityCheckEnabled())) {
             logger.debug("Proximity check is disabled in request from user ID: {}", request.getUserId());
             return null;
-        } else if (Boolean.TRUE.equals(request.getProximityCheckEnabled()) || template.isProximityCheckEnabled()) {
-            logger.debug("Proximity check is enabled, generating TOTP seed for user ID: {}, templateName: {}", request.getUserId(), template.getTemplateName());
+        } else if (Boolean.TRUE.equals(request.getProximityCheckEnabled()) || template.proximityCheckEnabled()) {
+            logger.debug("Proximity check is enabled, generating TOTP seed for user ID: {}, templateName: {}", request.getUserId(), template.templateName());
             final KeyGenerator keyGenerator = new KeyGenerator();
             try {
                 final byte[] seed = keyGenerator.generateRandomBytes(PROXIMITY_OTP_SEED_LENGTH);
@@ -1114,7 +1355,7 @@ public class OperationServiceBehavior {
                 throw new GenericServiceException(ServiceError.OPERATION_ERROR, e.getMessage());
             }
         }
-        logger.debug("Proximity check not enabled neither in request user ID: {} nor in templateName: {}", request.getUserId(), template.getTemplateName());
+        logger.debug("Proximity check not enabled neither in request user ID: {} nor in templateName: {}", request.getUserId(), template.templateName());
         return null;
     }
 
@@ -1188,20 +1429,24 @@ public class OperationServiceBehavior {
     }
 
     private OperationServiceBehavior.OperationListRequest convert(final OperationListForUserRequest source) {
-        final int pageNumber = fetchPageNumberOrDefault(source.getPageNumber());
+        final int pageNumber = fetchPageNumberOrDefault(source.getPageNumber(), source.getAfterTimestampCreated());
         final int pageSize = fetchPageSizeOrDefault(source.getPageSize());
         final Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return new OperationServiceBehavior.OperationListRequest(source.getUserId(), source.getApplications(), source.getActivationId(), pageable);
+        return new OperationServiceBehavior.OperationListRequest(source.getUserId(), source.getApplications(), source.getActivationId(), source.getAfterTimestampCreated(), source.getAfterId(), pageable);
     }
 
     private OperationServiceBehavior.OperationListRequestWithExternalId convert(final OperationExtIdRequest source) {
-        final int pageNumber = fetchPageNumberOrDefault(source.getPageNumber());
+        final int pageNumber = fetchPageNumberOrDefault(source.getPageNumber(), source.getAfterTimestampCreated());
         final int pageSize = fetchPageSizeOrDefault(source.getPageSize());
         final Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return new OperationServiceBehavior.OperationListRequestWithExternalId(source.getExternalId(), source.getApplications(), pageable);
+        return new OperationServiceBehavior.OperationListRequestWithExternalId(source.getExternalId(), source.getApplications(), source.getAfterTimestampCreated(), source.getAfterId(), pageable);
     }
 
-    private int fetchPageNumberOrDefault(final Integer pageNumber) {
+    private int fetchPageNumberOrDefault(final Integer pageNumber, final Date afterTimestampCreated) {
+        if (afterTimestampCreated != null) {
+            // Keyset pagination does not depend on the page number, the position is given by the last operation of the previous page
+            return 0;
+        }
         return pageNumber != null ? pageNumber : powerAuthPageableConfiguration.defaultPageNumber();
     }
 
@@ -1219,7 +1464,7 @@ public class OperationServiceBehavior {
             final List<OperationEntity> updatedEntities = pendingOperations.map(operationEntity -> {
                 operationEntity.setStatus(OperationStatusDo.EXPIRED);
                 logger.info("Operation expired, ID: {}", operationEntity.getId());
-                callbackUrlBehavior.notifyCallbackListenersOnOperationChange(operationEntity);
+                notifyOperationChange(operationEntity);
                 return operationEntity;
             }).toList();
             operationRepository.saveAll(updatedEntities);
@@ -1227,6 +1472,99 @@ public class OperationServiceBehavior {
         }
     }
 
+    /**
+     * Expire a single chunk of expired pending operations. Operations are claimed using row-level locks
+     * skipping rows already locked by another transaction, so the method can be invoked by several nodes
+     * in parallel. Callback listeners are not notified within this transaction, call
+     * {@link #notifyCallbackListenersOnOperationsExpired(List)} after the transaction commits.
+     *
+     * @param currentTimestamp Timestamp used for the expiration check.
+     * @return Identifiers of operations expired in this chunk.
+     */
+    @Transactional
+    public List<String> expireOperationsChunk(final Date currentTimestamp) {
+        final PageRequest pageRequest = PageRequest.of(0, powerAuthServiceConfiguration.getExpireOperationsLimit());
+        final List<OperationEntity> expiredOperations = operationQueryService.findExpiredPendingOperationsSkipLocked(currentTimestamp, pageRequest);
+        expiredOperations.forEach(operationEntity -> {
+            operationEntity.setStatus(OperationStatusDo.EXPIRED);
+            logger.info("Operation expired, ID: {}", operationEntity.getId());
+            pendingOperationIndex.onOperationChange(operationEntity);
+            operationChangeSubscriptionService.publish(operationEntity);
+        });
+        operationRepository.saveAll(expiredOperations);
+        operationRepository.flush();
+        return expiredOperations.stream().map(OperationEntity::getId).toList();
+    }
+
+    /**
+     * Notify callback listeners about operations which have been already expired and committed.
+     *
+     * @param operationIds Identifiers of expired operations.
+     */
+    @Transactional
+    public void notifyCallbackListenersOnOperationsExpired(final List<String> operationIds) {
+        operationRepository.findAllById(operationIds)
+                .forEach(callbackUrlBehavior::notifyCallbackListenersOnOperationChange);
+    }
+
+    /**
+     * Find the operation to be changed. In the pessimistic mode, the operation row is locked until the end of
+     * the transaction. In the optimistic mode, the operation is read without a lock and the change must be
+     * reserved by {@link #reserveOperationChange(OperationEntity)} before the operation is modified.
+     *
+     * @param operationId Operation ID.
+     * @param attempt Attempt number, starting with 1.
+     * @return Operation entity.
+     */
+    private Optional<OperationEntity> findOperationForChange(final String operationId, final int attempt) {
+        if (!powerAuthServiceConfiguration.isOperationOptimisticLockingEnabled()) {
+            return operationQueryService.findOperationForUpdate(operationId);
+        }
+        final Optional<OperationEntity> operation = operationQueryService.findOperationWithoutLock(operationId);
+        if (attempt > 1) {
+            // The operation is already in the persistence context, reload the state changed by the concurrent transaction
+            operation.ifPresent(operationRepository::refresh);
+        }
+        return operation;
+    }
+
+    /**
+     * Reserve the change of the operation in the optimistic mode. The version of the operation is incremented in
+     * the database only if it has not changed since the operation was read. The updated row stays locked until
+     * the end of the transaction, so that only one of concurrent changes succeeds. The operation row is already
+     * locked in the pessimistic mode.
+     *
+     * @param operationEntity Operation entity to be changed.
+     * @throws OperationConflictException In case the operation has been changed concurrently.
+     */
+    private void reserveOperationChange(final OperationEntity operationEntity) throws OperationConflictException {
+        if (powerAuthServiceConfiguration.isOperationOptimisticLockingEnabled()
+                && operationRepository.incrementVersion(operationEntity.getId(), operationEntity.getVersion()) == 0) {
+            throw new OperationConflictException();
+        }
+    }
+
+    /**
+     * Propagate a change of the operation to callback listeners, pending operation index and change subscribers.
+     *
+     * @param operationEntity Changed operation.
+     */
+    private void notifyOperationChange(final OperationEntity operationEntity) {
+        callbackUrlBehavior.notifyCallbackListenersOnOperationChange(operationEntity);
+        pendingOperationIndex.onOperationChange(operationEntity);
+        operationChangeSubscriptionService.publish(operationEntity);
+    }
+
+    /**
+     * Exception thrown when the operation has been changed by a concurrent transaction.
+     */
+    private static class OperationConflictException extends Exception {
+
+        @Serial
+        private static final long serialVersionUID = 4925476349112457521L;
+
+    }
+
     private enum ProximityCheckResult {
         SUCCESS,
         FAILED,
@@ -1234,9 +1572,15 @@ public class OperationServiceBehavior {
         ERROR
     }
 
-    public record OperationListRequest(String userId, List<String> applications, String activationId, Pageable pageable) {
+    public record OperationListRequest(String userId, List<String> applications, String activationId, Date afterTimestampCreated, String afterId, Pageable pageable) {
+        boolean keysetPagination() {
+            return afterTimestampCreated != null;
+        }
     }
 
-    public record OperationListRequestWithExternalId(String externalId, List<String> applications, Pageable pageable) {
+    public record OperationListRequestWithExternalId(String externalId, List<String> applications, Date afterTimestampCreated, String afterId, Pageable pageable) {
+        boolean keysetPagination() {
+            return afterTimestampCreated != null;
+        }
     }
 }
@@ -31,6 +31,7 @@ import com.wultra.security.powerauth.client.model.validator.OperationTemplateUpd
 import io.getlime.security.powerauth.app.server.converter.OperationTemplateConverter;
 import io.getlime.security.powerauth.app.server.database.model.entity.OperationTemplateEntity;
 import io.getlime.security.powerauth.app.server.database.repository.OperationTemplateRepository;
+import io.getlime.security.powerauth.app.server.service.cache.OperationTemplateRegistry;
 import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
 import io.getlime.security.powerauth.app.server.service.i18n.LocalizationProvider;
 import io.getlime.security.powerauth.app.server.service.model.ServiceError;
@@ -52,12 +53,14 @@ public class OperationTemplateServiceBehavior {
 
     private final OperationTemplateRepository templateRepository;
     private final OperationTemplateConverter operationTemplateConverter;
+    private final OperationTemplateRegistry templateRegistry;
     private LocalizationProvider localizationProvider;
 
     @Autowired
-    public OperationTemplateServiceBehavior(OperationTemplateRepository templateRepository, OperationTemplateConverter operationTemplateConverter) {
+    public OperationTemplateServiceBehavior(OperationTemplateRepository templateRepository, OperationTemplateConverter operationTemplateConverter, OperationTemplateRegistry templateRegistry) {
         this.templateRepository = templateRepository;
         this.operationTemplateConverter = operationTemplateConverter;
+        this.templateRegistry = templateRegistry;
     }
 
     @Autowired
@@ -138,6 +141,7 @@ public class OperationTemplateServiceBehavior {
             }
             OperationTemplateEntity operationTemplateEntity = operationTemplateConverter.convertToDB(request);
             operationTemplateEntity = templateRepository.save(operationTemplateEntity);
+            templateRegistry.invalidateAfterCommit(templateName);
             return operationTemplateConverter.convertFromDB(operationTemplateEntity);
         } catch (GenericServiceException ex) {
             // already logged
@@ -175,6 +179,7 @@ public class OperationTemplateServiceBehavior {
             // Convert and store the new template
             final OperationTemplateEntity modifiedEntity = operationTemplateConverter.convertToDB(template.get(), request);
             final OperationTemplateEntity savedEntity = templateRepository.save(modifiedEntity);
+            templateRegistry.invalidateAfterCommit(savedEntity.getTemplateName());
             return operationTemplateConverter.convertFromDB(savedEntity);
         } catch (GenericServiceException ex) {
             // already logged
@@ -205,6 +210,7 @@ public class OperationTemplateServiceBehavior {
             final Optional<OperationTemplateEntity> templateEntity = templateRepository.findById(id);
             if (templateEntity.isPresent()) {
                 templateRepository.deleteById(id);
+                templateRegistry.invalidateAfterCommit(templateEntity.get().getTemplateName());
             } else {
                 throw localizationProvider.buildExceptionForCode(ServiceError.OPERATION_TEMPLATE_NOT_FOUND);
             }
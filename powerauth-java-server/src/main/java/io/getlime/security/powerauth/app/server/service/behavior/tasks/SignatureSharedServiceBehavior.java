@@ -55,7 +55,9 @@ import java.security.spec.InvalidKeySpecException;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service behaviour with shared methods for both online and offline signatures.
@@ -95,7 +97,7 @@ public class SignatureSharedServiceBehavior {
      */
     public SignatureResponse verifySignature(ActivationRecordEntity activation, OnlineSignatureRequest signatureRequest, KeyConvertor keyConversionUtilities) throws InvalidKeyException, InvalidKeySpecException, GenericServiceException, CryptoProviderException, GenericCryptoException {
         final List<SignatureType> signatureTypes = Collections.singletonList(signatureRequest.getSignatureType());
-        return verifySignatureImpl(activation, signatureRequest.getSignatureData(), signatureTypes, keyConversionUtilities);
+        return verifySignatureImpl(activation, List.of(signatureRequest.getSignatureData()), signatureTypes, keyConversionUtilities);
     }
 
     /**
@@ -111,7 +113,28 @@ public class SignatureSharedServiceBehavior {
      * @throws GenericCryptoException In case of any other cryptography error.
      */
     public SignatureResponse verifySignature(ActivationRecordEntity activation, OfflineSignatureRequest signatureRequest, KeyConvertor keyConversionUtilities) throws InvalidKeyException, InvalidKeySpecException, GenericServiceException, CryptoProviderException, GenericCryptoException {
-        return verifySignatureImpl(activation, signatureRequest.getSignatureData(), signatureRequest.getSignatureTypes(), keyConversionUtilities);
+        return verifySignatureImpl(activation, List.of(signatureRequest.getSignatureData()), signatureRequest.getSignatureTypes(), keyConversionUtilities);
+    }
+
+    /**
+     * Verify offline signature against several candidates of signed data in a single pass, e.g. data with appended proximity OTPs.
+     * The keys and counter window are derived once, the index of the matching candidate is available in
+     * {@link SignatureResponse#getUsedSignatureDataIndex()}.
+     * @param activation Activation used for signature verification.
+     * @param signatureRequests Offline signature verification requests differing only in signed data.
+     * @param keyConversionUtilities Key convertor.
+     * @return Signature verification response.
+     * @throws InvalidKeyException In case a key is invalid.
+     * @throws InvalidKeySpecException In case a key specification is invalid.
+     * @throws GenericServiceException In case of a business logic error.
+     * @throws CryptoProviderException In case cryptography provider initialization fails.
+     * @throws GenericCryptoException In case of any other cryptography error.
+     */
+    public SignatureResponse verifySignature(ActivationRecordEntity activation, List<OfflineSignatureRequest> signatureRequests, KeyConvertor keyConversionUtilities) throws InvalidKeyException, InvalidKeySpecException, GenericServiceException, CryptoProviderException, GenericCryptoException {
+        final List<SignatureData> signatureDataCandidates = signatureRequests.stream()
+                .map(OfflineSignatureRequest::getSignatureData)
+                .toList();
+        return verifySignatureImpl(activation, signatureDataCandidates, signatureRequests.get(0).getSignatureTypes(), keyConversionUtilities);
     }
 
     /**
@@ -226,7 +249,7 @@ public class SignatureSharedServiceBehavior {
     /**
      * Implementation of signature verification for both online and offline signatures.
      * @param activation Activation used for signature verification.
-     * @param signatureData Data related to the signature.
+     * @param signatureDataCandidates Candidates of data related to the signature, differing only in signed data. The first candidate defines the signature, version and configuration.
      * @param signatureTypes Signature types to try to use for signature verification. List with one signature type is used for online signatures. List with multiple signature types is used for offline signatures.
      * @param keyConversionUtilities Key convertor.
      * @return Signature verification response.
@@ -236,7 +259,7 @@ public class SignatureSharedServiceBehavior {
      * @throws CryptoProviderException In case cryptography provider is incorrectly initialized.
      * @throws GenericCryptoException In case of any other cryptography error.
      */
-    private SignatureResponse verifySignatureImpl(ActivationRecordEntity activation, SignatureData signatureData, List<SignatureType> signatureTypes, KeyConvertor keyConversionUtilities) throws InvalidKeyException, InvalidKeySpecException, GenericServiceException, CryptoProviderException, GenericCryptoException {
+    private SignatureResponse verifySignatureImpl(ActivationRecordEntity activation, List<SignatureData> signatureDataCandidates, List<SignatureType> signatureTypes, KeyConvertor keyConversionUtilities) throws InvalidKeyException, InvalidKeySpecException, GenericServiceException, CryptoProviderException, GenericCryptoException {
         activationValidator.validatePowerAuthProtocol(activation.getProtocol(), localizationProvider);
 
         // Get the server private and device public keys
@@ -256,6 +279,15 @@ public class SignatureSharedServiceBehavior {
         // Compute the master secret key
         final SecretKey masterSecretKey = powerAuthServerKeyFactory.generateServerMasterSecretKey(serverPrivateKey, devicePublicKey);
 
+        // Get the signature keys for all signature types, they do not depend on the counter
+        final Map<SignatureType, List<SecretKey>> signatureKeysByType = new LinkedHashMap<>();
+        for (SignatureType signatureType : signatureTypes) {
+            final PowerAuthSignatureTypes powerAuthSignatureTypes = signatureTypeConverter.convertFrom(signatureType);
+            signatureKeysByType.put(signatureType, powerAuthServerKeyFactory.keysForSignatureType(powerAuthSignatureTypes, masterSecretKey));
+        }
+
+        final SignatureData signatureData = signatureDataCandidates.get(0);
+
         // Resolve signature version based on activation version and request
         final Integer signatureVersion = resolveSignatureVersion(activation, signatureData.getForcedSignatureVersion());
 
@@ -278,6 +310,8 @@ public class SignatureSharedServiceBehavior {
         }
         // Signature type which was used to verify signature succesfully
         SignatureType usedSignatureType = null;
+        // Index of signature data candidate which was verified successfully
+        int usedSignatureDataIndex = 0;
 
         counterLoop:
         for (long iteratedCounter = ctr; iteratedCounter < ctr + powerAuthServiceConfiguration.getSignatureValidationLookahead(); iteratedCounter++) {
@@ -293,20 +327,21 @@ public class SignatureSharedServiceBehavior {
                 }
             }
             // Check all signature types for each counter value in case there are multiple signature types
-            for (SignatureType signatureType : signatureTypes) {
-                // Get the signature keys according to the signature type
-                final PowerAuthSignatureTypes powerAuthSignatureTypes = signatureTypeConverter.convertFrom(signatureType);
-                final List<SecretKey> signatureKeys = powerAuthServerKeyFactory.keysForSignatureType(powerAuthSignatureTypes, masterSecretKey);
-
-                signatureValid = powerAuthServerSignature.verifySignatureForData(signatureData.getData(), signatureData.getSignature(), signatureKeys, ctrData, signatureData.getSignatureConfiguration());
-                if (signatureValid) {
-                    // Set the next valid value of numeric counter based on current iteration counter +1
-                    ctrNext = iteratedCounter + 1;
-                    // Set the next valid value of hash based counter (ctrHash is already incremented by +1)
-                    ctrDataNext = ctrHash;
-                    // Store signature type which was used to verify signature successfully
-                    usedSignatureType = signatureType;
-                    break counterLoop;
+            for (Map.Entry<SignatureType, List<SecretKey>> signatureKeysEntry : signatureKeysByType.entrySet()) {
+                // Check all candidates of signed data for each signature type
+                for (int i = 0; i < signatureDataCandidates.size(); i++) {
+                    final byte[] data = signatureDataCandidates.get(i).getData();
+                    signatureValid = powerAuthServerSignature.verifySignatureForData(data, signatureData.getSignature(), signatureKeysEntry.getValue(), ctrData, signatureData.getSignatureConfiguration());
+                    if (signatureValid) {
+                        // Set the next valid value of numeric counter based on current iteration counter +1
+                        ctrNext = iteratedCounter + 1;
+                        // Set the next valid value of hash based counter (ctrHash is already incremented by +1)
+                        ctrDataNext = ctrHash;
+                        // Store signature type and data which were used to verify signature successfully
+                        usedSignatureType = signatureKeysEntry.getKey();
+                        usedSignatureDataIndex = i;
+                        break counterLoop;
+                    }
                 }
             }
         }
@@ -314,7 +349,7 @@ public class SignatureSharedServiceBehavior {
             // In case multiple signature types are used, use the first one as signature type
             usedSignatureType = signatureTypes.iterator().next();
         }
-        return new SignatureResponse(signatureValid, ctrNext, ctrDataNext, signatureVersion, usedSignatureType);
+        return new SignatureResponse(signatureValid, ctrNext, ctrDataNext, signatureVersion, usedSignatureType, usedSignatureDataIndex);
     }
 
     /**
@@ -31,19 +31,20 @@ import com.wultra.security.powerauth.client.model.response.RemoveTemporaryPublic
 import com.wultra.security.powerauth.client.model.response.TemporaryPublicKeyResponse;
 import io.getlime.security.powerauth.app.server.configuration.PowerAuthServiceConfiguration;
 import io.getlime.security.powerauth.app.server.converter.ServerPrivateKeyConverter;
+import io.getlime.security.powerauth.app.server.converter.TemporaryKeyHandleConverter;
 import io.getlime.security.powerauth.app.server.converter.TemporaryPrivateKeyConverter;
 import io.getlime.security.powerauth.app.server.database.model.ServerPrivateKey;
 import io.getlime.security.powerauth.app.server.database.model.entity.ActivationRecordEntity;
-import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationVersionEntity;
-import io.getlime.security.powerauth.app.server.database.model.entity.MasterKeyPairEntity;
 import io.getlime.security.powerauth.app.server.database.model.entity.TemporaryKeyEntity;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.ActivationProtocol;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.ActivationStatus;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
 import io.getlime.security.powerauth.app.server.database.repository.ActivationRepository;
-import io.getlime.security.powerauth.app.server.database.repository.ApplicationVersionRepository;
-import io.getlime.security.powerauth.app.server.database.repository.MasterKeyPairRepository;
 import io.getlime.security.powerauth.app.server.database.repository.TemporaryKeyRepository;
+import io.getlime.security.powerauth.app.server.service.cache.ApplicationKeyRegistry;
+import io.getlime.security.powerauth.app.server.service.cache.CachedApplicationVersion;
+import io.getlime.security.powerauth.app.server.service.cache.CachedMasterKeyPair;
+import io.getlime.security.powerauth.app.server.service.encryption.KeyPairPool;
 import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
 import io.getlime.security.powerauth.app.server.service.i18n.LocalizationProvider;
 import io.getlime.security.powerauth.app.server.service.model.ServiceError;
@@ -87,27 +88,29 @@ public class TemporaryKeyBehavior {
     private final PowerAuthServiceConfiguration powerAuthServiceConfiguration;
 
     private final LocalizationProvider localizationProvider;
-    private final ApplicationVersionRepository applicationVersionRepository;
+    private final ApplicationKeyRegistry applicationKeyRegistry;
     private final ActivationRepository activationRepository;
-    private final MasterKeyPairRepository masterKeyPairRepository;
     private final TemporaryKeyRepository temporaryKeyRepository;
     private final TemporaryPrivateKeyConverter temporaryPrivateKeyConverter;
     private final ServerPrivateKeyConverter serverPrivateKeyConverter;
+    private final TemporaryKeyHandleConverter temporaryKeyHandleConverter;
+    private final KeyPairPool keyPairPool;
 
     private final KeyConvertor keyConvertor = new KeyConvertor();
     private final KeyGenerator keyGenerator = new KeyGenerator();
     private final PowerAuthServerKeyFactory keyFactory = new PowerAuthServerKeyFactory();
 
     @Autowired
-    public TemporaryKeyBehavior(PowerAuthServiceConfiguration powerAuthServiceConfiguration, LocalizationProvider localizationProvider, ApplicationVersionRepository applicationVersionRepository, ActivationRepository activationRepository, MasterKeyPairRepository masterKeyPairRepository, TemporaryKeyRepository temporaryKeyRepository, TemporaryPrivateKeyConverter temporaryPrivateKeyConverter, ServerPrivateKeyConverter serverPrivateKeyConverter) {
+    public TemporaryKeyBehavior(PowerAuthServiceConfiguration powerAuthServiceConfiguration, LocalizationProvider localizationProvider, ApplicationKeyRegistry applicationKeyRegistry, ActivationRepository activationRepository, TemporaryKeyRepository temporaryKeyRepository, TemporaryPrivateKeyConverter temporaryPrivateKeyConverter, ServerPrivateKeyConverter serverPrivateKeyConverter, TemporaryKeyHandleConverter temporaryKeyHandleConverter, KeyPairPool keyPairPool) {
         this.powerAuthServiceConfiguration = powerAuthServiceConfiguration;
         this.localizationProvider = localizationProvider;
-        this.applicationVersionRepository = applicationVersionRepository;
+        this.applicationKeyRegistry = applicationKeyRegistry;
         this.activationRepository = activationRepository;
-        this.masterKeyPairRepository = masterKeyPairRepository;
         this.temporaryKeyRepository = temporaryKeyRepository;
         this.temporaryPrivateKeyConverter = temporaryPrivateKeyConverter;
         this.serverPrivateKeyConverter = serverPrivateKeyConverter;
+        this.temporaryKeyHandleConverter = temporaryKeyHandleConverter;
+        this.keyPairPool = keyPairPool;
     }
 
     @Transactional
@@ -168,9 +171,13 @@ public class TemporaryKeyBehavior {
 
     @Transactional
     public RemoveTemporaryPublicKeyResponse removeTemporaryKey(RemoveTemporaryPublicKeyRequest requestObject) {
-        temporaryKeyRepository.deleteById(requestObject.getId());
+        // Key handles are not stored, they cannot be removed and are valid until they expire
+        final boolean removable = !TemporaryKeyHandleConverter.isHandle(requestObject.getId());
+        if (removable) {
+            temporaryKeyRepository.deleteById(requestObject.getId());
+        }
         final RemoveTemporaryPublicKeyResponse response = new RemoveTemporaryPublicKeyResponse();
-        response.setRemoved(true);
+        response.setRemoved(removable);
         response.setId(requestObject.getId());
         return response;
     }
@@ -187,7 +194,9 @@ public class TemporaryKeyBehavior {
      */
     public PrivateKey temporaryPrivateKey(String id, String appKey, String activationId) throws GenericServiceException, InvalidKeySpecException, CryptoProviderException {
         final Date currentTimestamp = new Date();
-        final Optional<TemporaryKeyEntity> temporaryKeyEntity = temporaryKeyRepository.findById(id);
+        final Optional<TemporaryKeyEntity> temporaryKeyEntity = TemporaryKeyHandleConverter.isHandle(id)
+                ? temporaryKeyHandleConverter.fromHandle(id)
+                : temporaryKeyRepository.findById(id);
         if (temporaryKeyEntity.isEmpty()) {
             logger.error("Missing temporary key pair with ID: {}", id);
             // Rollback is not required, database is not used for writing
@@ -258,28 +267,29 @@ public class TemporaryKeyBehavior {
     private TemporaryKeyResult obtainTemporaryKeyResult(TemporaryPublicKeyRequestClaims requestClaims) throws InvalidKeySpecException, CryptoProviderException, GenericCryptoException, GenericServiceException, InvalidKeyException {
         final String applicationKey = requestClaims.getApplicationKey();
         if (applicationKey != null) {
-            final ApplicationVersionEntity applicationVersionEntity = applicationVersionRepository.findByApplicationKey(applicationKey);
-            if (applicationVersionEntity == null || !applicationVersionEntity.getSupported()) {
+            final CachedApplicationVersion applicationVersion = applicationKeyRegistry.findApplicationVersion(applicationKey).orElse(null);
+            if (applicationVersion == null || !applicationVersion.supported()) {
                 throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_APPLICATION);
             }
-            final String applicationSecret = applicationVersionEntity.getApplicationSecret();
+            final String applicationSecret = applicationVersion.applicationSecret();
             if (requestClaims.getActivationId() == null) {
 
-                final MasterKeyPairEntity masterKeyPairEntity = masterKeyPairRepository.findFirstByApplicationIdOrderByTimestampCreatedDesc(applicationVersionEntity.getApplication().getId());
-
-                final PrivateKey privateKey = keyConvertor.convertBytesToPrivateKey(Base64.getDecoder().decode(masterKeyPairEntity.getMasterKeyPrivateBase64()));
-                final PublicKey publicKey = keyConvertor.convertBytesToPublicKey(Base64.getDecoder().decode(masterKeyPairEntity.getMasterKeyPublicBase64()));
+                final String applicationId = applicationVersion.applicationId();
+                final CachedMasterKeyPair masterKeyPair = applicationKeyRegistry.findMasterKeyPair(applicationId).orElseThrow(() -> {
+                    logger.error("Missing key pair for application ID: {}", applicationId);
+                    return localizationProvider.buildExceptionForCode(ServiceError.NO_MASTER_SERVER_KEYPAIR);
+                });
 
                 final byte[] secretKeyBytes = Base64.getDecoder().decode(applicationSecret);
 
                 final TemporaryKeyResult result = new TemporaryKeyResult();
                 result.setSecretKeyBytes(secretKeyBytes);
-                result.setPrivateKey(privateKey);
-                result.setPublicKey(publicKey);
+                result.setPrivateKey(masterKeyPair.privateKey());
+                result.setPublicKey(masterKeyPair.publicKey());
                 return result;
             } else {
 
-                final Long appId = applicationVersionEntity.getApplication().getRid();
+                final Long appId = applicationVersion.applicationRid();
 
                 final Optional<ActivationRecordEntity> activationWithoutLock = activationRepository.findActivationWithoutLock(requestClaims.getActivationId());
                 if (activationWithoutLock.isEmpty()) {
@@ -324,7 +334,7 @@ public class TemporaryKeyBehavior {
     private TemporaryPublicKeyResponseClaims generateAndStoreNewKey(TemporaryPublicKeyRequestClaims requestClaims, Date currentTimestamp) throws CryptoProviderException, GenericServiceException {
 
         // Generate a temporary key pair
-        final KeyPair temporaryKeyPair = keyGenerator.generateKeyPair();
+        final KeyPair temporaryKeyPair = keyPairPool.takeKeyPair();
 
         // Prepare the parameters key pair
         final String keyId = UUID.randomUUID().toString();
@@ -335,24 +345,38 @@ public class TemporaryKeyBehavior {
         final String temporaryPublicKeyBase64 = Base64.getEncoder().encodeToString(keyConvertor.convertPublicKeyToBytes(temporaryKeyPair.getPublic()));
         final Date expirationDate = Date.from(currentTimestamp.toInstant().plusMillis(powerAuthServiceConfiguration.getTemporaryKeyValidity().toMillis()));
 
-        // Prepare encrypted temporary private key, if encryption is enabled
-        final ServerPrivateKey temporaryPrivateKey = temporaryPrivateKeyConverter.toDBValue(
-                privateKeyBytes,
-                keyId,
-                applicationKey,
-                activationId
-        );
-
-        // Prepare and store the entity
-        final TemporaryKeyEntity temporaryKeyEntity = new TemporaryKeyEntity();
-        temporaryKeyEntity.setId(keyId);
-        temporaryKeyEntity.setAppKey(applicationKey);
-        temporaryKeyEntity.setActivationId(activationId);
-        temporaryKeyEntity.setPrivateKeyEncryption(temporaryPrivateKey.encryptionMode());
-        temporaryKeyEntity.setPrivateKeyBase64(temporaryPrivateKey.serverPrivateKeyBase64());
-        temporaryKeyEntity.setPublicKeyBase64(temporaryPublicKeyBase64);
-        temporaryKeyEntity.setTimestampExpires(expirationDate);
-        final TemporaryKeyEntity savedEntity = temporaryKeyRepository.save(temporaryKeyEntity);
+        final TemporaryKeyEntity savedEntity;
+        if (powerAuthServiceConfiguration.isTemporaryKeyStateless()) {
+            // Seal the private key into the key handle used as the key ID instead of storing the entity
+            final TemporaryKeyEntity temporaryKeyEntity = new TemporaryKeyEntity();
+            temporaryKeyEntity.setAppKey(applicationKey);
+            temporaryKeyEntity.setActivationId(activationId);
+            temporaryKeyEntity.setPrivateKeyEncryption(EncryptionMode.NO_ENCRYPTION);
+            temporaryKeyEntity.setPrivateKeyBase64(Base64.getEncoder().encodeToString(privateKeyBytes));
+            temporaryKeyEntity.setPublicKeyBase64(temporaryPublicKeyBase64);
+            temporaryKeyEntity.setTimestampExpires(expirationDate);
+            temporaryKeyEntity.setId(temporaryKeyHandleConverter.toHandle(temporaryKeyEntity));
+            savedEntity = temporaryKeyEntity;
+        } else {
+            // Prepare encrypted temporary private key, if encryption is enabled
+            final ServerPrivateKey temporaryPrivateKey = temporaryPrivateKeyConverter.toDBValue(
+                    privateKeyBytes,
+                    keyId,
+                    applicationKey,
+                    activationId
+            );
+
+            // Prepare and store the entity
+            final TemporaryKeyEntity temporaryKeyEntity = new TemporaryKeyEntity();
+            temporaryKeyEntity.setId(keyId);
+            temporaryKeyEntity.setAppKey(applicationKey);
+            temporaryKeyEntity.setActivationId(activationId);
+            temporaryKeyEntity.setPrivateKeyEncryption(temporaryPrivateKey.encryptionMode());
+            temporaryKeyEntity.setPrivateKeyBase64(temporaryPrivateKey.serverPrivateKeyBase64());
+            temporaryKeyEntity.setPublicKeyBase64(temporaryPublicKeyBase64);
+            temporaryKeyEntity.setTimestampExpires(expirationDate);
+            savedEntity = temporaryKeyRepository.save(temporaryKeyEntity);
+        }
 
         // Prepare and return the result
         final TemporaryPublicKeyResponseClaims result = new TemporaryPublicKeyResponseClaims();
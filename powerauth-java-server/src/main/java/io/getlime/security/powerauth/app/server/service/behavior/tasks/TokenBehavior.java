@@ -32,13 +32,13 @@ import io.getlime.security.powerauth.app.server.converter.ServerPrivateKeyConver
 import io.getlime.security.powerauth.app.server.converter.SignatureTypeConverter;
 import io.getlime.security.powerauth.app.server.database.model.ServerPrivateKey;
 import io.getlime.security.powerauth.app.server.database.model.entity.ActivationRecordEntity;
-import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationVersionEntity;
 import io.getlime.security.powerauth.app.server.database.model.entity.TokenEntity;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.ActivationStatus;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.UniqueValueType;
-import io.getlime.security.powerauth.app.server.database.repository.ApplicationVersionRepository;
 import io.getlime.security.powerauth.app.server.database.repository.TokenRepository;
+import io.getlime.security.powerauth.app.server.service.cache.ApplicationKeyRegistry;
+import io.getlime.security.powerauth.app.server.service.cache.CachedApplicationVersion;
 import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
 import io.getlime.security.powerauth.app.server.service.i18n.LocalizationProvider;
 import io.getlime.security.powerauth.app.server.service.model.ServiceError;
@@ -105,7 +105,7 @@ public class TokenBehavior {
     private final KeyConvertor keyConvertor = new KeyConvertor();
 
     private final ObjectMapper objectMapper;
-    private final ApplicationVersionRepository applicationVersionRepository;
+    private final ApplicationKeyRegistry applicationKeyRegistry;
 
     /**
      * Method that creates a new token provided activation.
@@ -347,7 +347,11 @@ public class TokenBehavior {
             final PrivateKey serverPrivateKey = keyConversion.convertBytesToPrivateKey(serverPrivateKeyBytes);
 
             // Get application secret and transport key used in sharedInfo2 parameter of ECIES
-            final ApplicationVersionEntity applicationVersion = applicationVersionRepository.findByApplicationKey(applicationKey);
+            final CachedApplicationVersion applicationVersion = applicationKeyRegistry.findApplicationVersion(applicationKey).orElseThrow(() -> {
+                logger.warn("Application version is incorrect, application key: {}", applicationKey);
+                // Rollback is not required, error occurs before writing to database
+                return localizationProvider.buildExceptionForCode(ServiceError.INVALID_APPLICATION);
+            });
             final byte[] devicePublicKeyBytes = Base64.getDecoder().decode(activation.getDevicePublicKeyBase64());
             final PublicKey devicePublicKey = keyConversion.convertBytesToPublicKey(devicePublicKeyBytes);
             final SecretKey transportKey = powerAuthServerKeyFactory.deriveTransportKey(serverPrivateKey, devicePublicKey);
@@ -360,7 +364,7 @@ public class TokenBehavior {
             final ServerEncryptor serverEncryptor = encryptorFactory.getServerEncryptor(
                     EncryptorId.CREATE_TOKEN,
                     new EncryptorParameters(version, applicationKey, activationId, temporaryKeyId),
-                    new ServerEncryptorSecrets(encryptorPrivateKey, applicationVersion.getApplicationSecret(), transportKeyBytes)
+                    new ServerEncryptorSecrets(encryptorPrivateKey, applicationVersion.applicationSecret(), transportKeyBytes)
             );
             // Try to decrypt request data, the data must not be empty. Currently only '{}' is sent in request data. Ignore result of decryption.
             serverEncryptor.decryptRequest(encryptedRequest);
@@ -369,8 +373,7 @@ public class TokenBehavior {
             String tokenId = null;
             for (int i = 0; i < powerAuthServiceConfiguration.getGenerateTokenIdIterations(); i++) {
                 String tmpTokenId = tokenGenerator.generateTokenId();
-                final Optional<TokenEntity> tmpTokenOptional = tokenRepository.findById(tmpTokenId);
-                if (tmpTokenOptional.isEmpty()) {
+                if (!powerAuthServiceConfiguration.isVerifyGeneratedIdentifiers() || !tokenRepository.existsById(tmpTokenId)) {
                     tokenId = tmpTokenId;
                     break;
                 } // ... else this token ID has a collision, reset it and try to find another one
@@ -30,11 +30,11 @@ import io.getlime.security.powerauth.app.server.converter.ServerPrivateKeyConver
 import io.getlime.security.powerauth.app.server.database.model.AdditionalInformation;
 import io.getlime.security.powerauth.app.server.database.model.ServerPrivateKey;
 import io.getlime.security.powerauth.app.server.database.model.entity.ActivationRecordEntity;
-import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationVersionEntity;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.ActivationStatus;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.UniqueValueType;
-import io.getlime.security.powerauth.app.server.database.repository.ApplicationVersionRepository;
+import io.getlime.security.powerauth.app.server.service.cache.ApplicationKeyRegistry;
+import io.getlime.security.powerauth.app.server.service.cache.CachedApplicationVersion;
 import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
 import io.getlime.security.powerauth.app.server.service.i18n.LocalizationProvider;
 import io.getlime.security.powerauth.app.server.service.model.ServiceError;
@@ -90,7 +90,7 @@ public class VaultUnlockServiceBehavior {
     private final ReplayVerificationService replayVerificationService;
     private final ActivationContextValidator activationValidator;
     private final PowerAuthServiceConfiguration powerAuthServiceConfiguration;
-    private final ApplicationVersionRepository applicationVersionRepository;
+    private final ApplicationKeyRegistry applicationKeyRegistry;
 
     // Helper classes
     private final EncryptorFactory encryptorFactory = new EncryptorFactory();
@@ -172,9 +172,9 @@ public class VaultUnlockServiceBehavior {
             activationValidator.validatePowerAuthProtocol(activation.getProtocol(), localizationProvider);
 
             // Get application version
-            final ApplicationVersionEntity applicationVersion = applicationVersionRepository.findByApplicationKey(applicationKey);
+            final CachedApplicationVersion applicationVersion = applicationKeyRegistry.findApplicationVersion(applicationKey).orElse(null);
             // Check if application version is valid
-            if (applicationVersion == null || !applicationVersion.getSupported()) {
+            if (applicationVersion == null || !applicationVersion.supported()) {
                 logger.warn("Application version is incorrect, application key: {}", applicationKey);
                 // Return response with invalid signature flag when application version is not valid
                 VaultUnlockResponse response = new VaultUnlockResponse();
@@ -214,7 +214,7 @@ public class VaultUnlockServiceBehavior {
             final ServerEncryptor serverEncryptor = encryptorFactory.getServerEncryptor(
                     EncryptorId.VAULT_UNLOCK,
                     new EncryptorParameters(signatureVersion, applicationKey, activationId, temporaryKeyId),
-                    new ServerEncryptorSecrets(encryptorPrivateKey, applicationVersion.getApplicationSecret(), transportKeyBytes)
+                    new ServerEncryptorSecrets(encryptorPrivateKey, applicationVersion.applicationSecret(), transportKeyBytes)
             );
             // Decrypt request to obtain vault unlock reason
             final byte[] decryptedData = serverEncryptor.decryptRequest(encryptedRequest);
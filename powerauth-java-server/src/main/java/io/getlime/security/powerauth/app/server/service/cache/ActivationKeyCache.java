@@ -0,0 +1,189 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.getlime.security.powerauth.app.server.converter.ServerPrivateKeyConverter;
+import io.getlime.security.powerauth.app.server.database.model.ServerPrivateKey;
+import io.getlime.security.powerauth.app.server.database.model.entity.ActivationRecordEntity;
+import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
+import io.getlime.security.powerauth.crypto.lib.model.exception.CryptoProviderException;
+import io.getlime.security.powerauth.crypto.lib.model.exception.GenericCryptoException;
+import io.getlime.security.powerauth.crypto.lib.util.KeyConvertor;
+import io.getlime.security.powerauth.crypto.server.activation.PowerAuthServerActivation;
+import io.getlime.security.powerauth.crypto.server.keyfactory.PowerAuthServerKeyFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.security.InvalidKeyException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Node-local cache of the activation key material derived for the activation status, see {@link CachedActivationKeys}.
+ * <p>
+ * Deriving the transport key requires decrypting the server private key and an ECDH key agreement, which dominates
+ * the cost of the status endpoint polled by the mobile applications. The derived keys are cached per activation ID.
+ * Concurrent requests for the same activation share a single derivation. The activation itself is still read on each
+ * request, so status, counter and other fields are always current. An entry is used only when it was derived from the
+ * current public keys of the activation, so there is no invalidation needed when the activation changes.
+ * <p>
+ * The transport key is a secret: whoever reads it from the memory of the node can decrypt the status blob and compute
+ * the counter hash of the activation. The cache is therefore disabled by default, transport key bytes of the entries
+ * removed from the cache are zeroed.
+ *
+ * @author agent, agent@local
+ */
+@Service
+@Slf4j
+public class ActivationKeyCache {
+
+    private final Cache<String, CachedActivationKeys> activationKeyCache;
+    private final ServerPrivateKeyConverter serverPrivateKeyConverter;
+    private final boolean enabled;
+
+    private final KeyConvertor keyConvertor = new KeyConvertor();
+    private final PowerAuthServerKeyFactory powerAuthServerKeyFactory = new PowerAuthServerKeyFactory();
+    private final PowerAuthServerActivation powerAuthServerActivation = new PowerAuthServerActivation();
+
+    @Autowired
+    public ActivationKeyCache(
+            final Cache<String, CachedActivationKeys> activationKeyCache,
+            final ServerPrivateKeyConverter serverPrivateKeyConverter,
+            @Value("${powerauth.service.activations.statusCache.enabled:false}") final boolean enabled) {
+        this.activationKeyCache = activationKeyCache;
+        this.serverPrivateKeyConverter = serverPrivateKeyConverter;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the key material of the activation, deriving it when it is not cached. The activation must have
+     * the device public key set.
+     *
+     * @param activation Activation.
+     * @return Key material of the activation.
+     * @throws GenericServiceException In case the server private key cannot be decrypted.
+     * @throws InvalidKeySpecException In case a key specification is invalid.
+     * @throws InvalidKeyException In case a key is invalid.
+     * @throws GenericCryptoException In case of a cryptography error.
+     * @throws CryptoProviderException In case cryptography provider is incorrectly initialized.
+     */
+    public ActivationStatusKeys getActivationKeys(final ActivationRecordEntity activation)
+            throws GenericServiceException, InvalidKeySpecException, InvalidKeyException, GenericCryptoException, CryptoProviderException {
+        if (!enabled) {
+            return derive(activation);
+        }
+        final String activationId = activation.getActivationId();
+        final CachedActivationKeys cached = activationKeyCache.getIfPresent(activationId);
+        if (cached != null && cached.matches(activation.getDevicePublicKeyBase64(), activation.getServerPublicKeyBase64())) {
+            final ActivationStatusKeys activationKeys = convert(cached);
+            if (activationKeys != null) {
+                return activationKeys;
+            }
+        }
+        final AtomicReference<ActivationStatusKeys> derived = new AtomicReference<>();
+        final CachedActivationKeys entry;
+        try {
+            entry = activationKeyCache.asMap().compute(activationId, (key, value) -> {
+                if (value != null && value.matches(activation.getDevicePublicKeyBase64(), activation.getServerPublicKeyBase64())
+                        && !value.isDestroyed()) {
+                    // Derived by a concurrent request in the meantime
+                    return value;
+                }
+                try {
+                    final ActivationStatusKeys activationKeys = derive(activation);
+                    derived.set(activationKeys);
+                    return new CachedActivationKeys(activation.getDevicePublicKeyBase64(), activation.getServerPublicKeyBase64(),
+                            keyConvertor.convertSharedSecretKeyToBytes(activationKeys.transportKey()), activationKeys.devicePublicKeyFingerprint());
+                } catch (GenericServiceException | InvalidKeySpecException | InvalidKeyException | GenericCryptoException | CryptoProviderException ex) {
+                    throw new DerivationException(ex);
+                }
+            });
+        } catch (DerivationException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof GenericServiceException serviceException) {
+                throw serviceException;
+            } else if (cause instanceof InvalidKeySpecException invalidKeySpecException) {
+                throw invalidKeySpecException;
+            } else if (cause instanceof InvalidKeyException invalidKeyException) {
+                throw invalidKeyException;
+            } else if (cause instanceof GenericCryptoException cryptoException) {
+                throw cryptoException;
+            } else if (cause instanceof CryptoProviderException cryptoProviderException) {
+                throw cryptoProviderException;
+            }
+            throw ex;
+        }
+        if (derived.get() != null) {
+            return derived.get();
+        }
+        final ActivationStatusKeys activationKeys = convert(entry);
+        if (activationKeys != null) {
+            return activationKeys;
+        }
+        // Entry removed from the cache and destroyed in the meantime
+        return derive(activation);
+    }
+
+    private ActivationStatusKeys convert(final CachedActivationKeys cached) {
+        final byte[] transportKeyBytes = cached.getTransportKeyBytes();
+        if (transportKeyBytes == null) {
+            return null;
+        }
+        final SecretKey transportKey = keyConvertor.convertBytesToSharedSecretKey(transportKeyBytes);
+        Arrays.fill(transportKeyBytes, (byte) 0);
+        return new ActivationStatusKeys(transportKey, cached.getDevicePublicKeyFingerprint());
+    }
+
+    private ActivationStatusKeys derive(final ActivationRecordEntity activation)
+            throws GenericServiceException, InvalidKeySpecException, InvalidKeyException, GenericCryptoException, CryptoProviderException {
+        logger.debug("Deriving activation status keys, activation ID: {}", activation.getActivationId());
+        final ServerPrivateKey serverPrivateKeyEncrypted = new ServerPrivateKey(activation.getServerPrivateKeyEncryption(), activation.getServerPrivateKeyBase64());
+        final String serverPrivateKeyBase64 = serverPrivateKeyConverter.fromDBValue(serverPrivateKeyEncrypted, activation.getUserId(), activation.getActivationId());
+
+        final PrivateKey serverPrivateKey = keyConvertor.convertBytesToPrivateKey(Base64.getDecoder().decode(serverPrivateKeyBase64));
+        final PublicKey devicePublicKey = keyConvertor.convertBytesToPublicKey(Base64.getDecoder().decode(activation.getDevicePublicKeyBase64()));
+        final PublicKey serverPublicKey = keyConvertor.convertBytesToPublicKey(Base64.getDecoder().decode(activation.getServerPublicKeyBase64()));
+
+        final SecretKey masterSecretKey = powerAuthServerKeyFactory.generateServerMasterSecretKey(serverPrivateKey, devicePublicKey);
+        final SecretKey transportKey = powerAuthServerKeyFactory.generateServerTransportKey(masterSecretKey);
+        final String fingerprint = powerAuthServerActivation.computeActivationFingerprint(devicePublicKey, serverPublicKey, activation.getActivationId());
+
+        return new ActivationStatusKeys(transportKey, fingerprint);
+    }
+
+    /**
+     * Unchecked wrapper of the derivation failure thrown out of the cache computation.
+     */
+    private static class DerivationException extends RuntimeException {
+
+        DerivationException(final Exception cause) {
+            super(cause);
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import javax.crypto.SecretKey;
+
+/**
+ * Key material of an activation used to build the activation status.
+ *
+ * @param transportKey Transport key used for the status blob encryption.
+ * @param devicePublicKeyFingerprint Activation fingerprint.
+ * @author agent, agent@local
+ */
+public record ActivationStatusKeys(SecretKey transportKey, String devicePublicKeyFingerprint) {
+
+    /**
+     * Get a string representation without the transport key.
+     *
+     * @return String representation.
+     */
+    @Override
+    public String toString() {
+        return "ActivationStatusKeys[devicePublicKeyFingerprint=" + devicePublicKeyFingerprint + "]";
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.getlime.security.powerauth.app.server.database.model.entity.MasterKeyPairEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
+import io.getlime.security.powerauth.app.server.database.repository.ApplicationVersionRepository;
+import io.getlime.security.powerauth.app.server.database.repository.MasterKeyPairRepository;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationBus;
+import io.getlime.security.powerauth.crypto.lib.model.exception.CryptoProviderException;
+import io.getlime.security.powerauth.crypto.lib.util.KeyConvertor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.security.spec.InvalidKeySpecException;
+import java.util.Optional;
+
+/**
+ * Node-local registry of application key material.
+ * <p>
+ * Application versions are held by application key and the current master key pair by application ID, with the keys
+ * already parsed, see {@link CachedApplicationVersion} and {@link CachedMasterKeyPair}. Entries are loaded from
+ * the database on first use, missing entries are not cached. Changes made through {@code ApplicationServiceBehavior}
+ * invalidate the entries once the transaction commits, on other nodes through the {@link CacheInvalidationBus}.
+ * Invalidations which are not delivered are reflected once the entry expires,
+ * see {@code powerauth.service.applications.keyCache.expireAfterWrite}.
+ *
+ * @author agent, agent@local
+ */
+@Service
+@Slf4j
+public class ApplicationKeyRegistry {
+
+    private final Cache<String, CachedApplicationVersion> applicationVersionCache;
+    private final Cache<String, CachedMasterKeyPair> masterKeyPairCache;
+    private final ApplicationVersionRepository applicationVersionRepository;
+    private final MasterKeyPairRepository masterKeyPairRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final KeyConvertor keyConvertor = new KeyConvertor();
+
+    @Autowired
+    public ApplicationKeyRegistry(
+            final Cache<String, CachedApplicationVersion> applicationVersionCache,
+            final Cache<String, CachedMasterKeyPair> masterKeyPairCache,
+            final ApplicationVersionRepository applicationVersionRepository,
+            final MasterKeyPairRepository masterKeyPairRepository,
+            final CacheInvalidationBus cacheInvalidationBus) {
+        this.applicationVersionCache = applicationVersionCache;
+        this.masterKeyPairCache = masterKeyPairCache;
+        this.applicationVersionRepository = applicationVersionRepository;
+        this.masterKeyPairRepository = masterKeyPairRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        cacheInvalidationBus.subscribe(CacheInvalidationType.APPLICATION_VERSION, this::invalidateApplicationVersion);
+        cacheInvalidationBus.subscribe(CacheInvalidationType.MASTER_KEY_PAIR, this::invalidateMasterKeyPair);
+    }
+
+    /**
+     * Find the application version by application key.
+     *
+     * @param applicationKey Application key.
+     * @return Application version, if present.
+     */
+    public Optional<CachedApplicationVersion> findApplicationVersion(final String applicationKey) {
+        if (applicationKey == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(applicationVersionCache.get(applicationKey, this::loadApplicationVersion));
+    }
+
+    /**
+     * Find the current master key pair of the application.
+     *
+     * @param applicationId Application ID.
+     * @return Master key pair, if present.
+     * @throws InvalidKeySpecException In case a key specification is invalid.
+     * @throws CryptoProviderException In case cryptography provider is incorrectly initialized.
+     */
+    public Optional<CachedMasterKeyPair> findMasterKeyPair(final String applicationId) throws InvalidKeySpecException, CryptoProviderException {
+        final CachedMasterKeyPair cached = masterKeyPairCache.getIfPresent(applicationId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        logger.debug("Loading master key pair, application ID: {}", applicationId);
+        final MasterKeyPairEntity entity = masterKeyPairRepository.findFirstByApplicationIdOrderByTimestampCreatedDesc(applicationId);
+        if (entity == null) {
+            return Optional.empty();
+        }
+        final CachedMasterKeyPair masterKeyPair = CachedMasterKeyPair.of(entity, keyConvertor);
+        masterKeyPairCache.put(applicationId, masterKeyPair);
+        return Optional.of(masterKeyPair);
+    }
+
+    /**
+     * Invalidate the application version on all nodes once the current transaction commits.
+     *
+     * @param applicationKey Application key.
+     */
+    public void invalidateApplicationVersionAfterCommit(final String applicationKey) {
+        cacheInvalidationBus.publishAfterCommit(CacheInvalidationType.APPLICATION_VERSION, applicationKey);
+    }
+
+    /**
+     * Invalidate the application version immediately.
+     *
+     * @param applicationKey Application key.
+     */
+    public void invalidateApplicationVersion(final String applicationKey) {
+        logger.debug("Invalidating application version, application key: {}", applicationKey);
+        applicationVersionCache.invalidate(applicationKey);
+    }
+
+    /**
+     * Invalidate the master key pair of the application on all nodes once the current transaction commits.
+     *
+     * @param applicationId Application ID.
+     */
+    public void invalidateMasterKeyPairAfterCommit(final String applicationId) {
+        cacheInvalidationBus.publishAfterCommit(CacheInvalidationType.MASTER_KEY_PAIR, applicationId);
+    }
+
+    /**
+     * Invalidate the master key pair of the application immediately.
+     *
+     * @param applicationId Application ID.
+     */
+    public void invalidateMasterKeyPair(final String applicationId) {
+        logger.debug("Invalidating master key pair, application ID: {}", applicationId);
+        masterKeyPairCache.invalidate(applicationId);
+    }
+
+    private CachedApplicationVersion loadApplicationVersion(final String applicationKey) {
+        logger.debug("Loading application version, application key: {}", applicationKey);
+        return Optional.ofNullable(applicationVersionRepository.findByApplicationKey(applicationKey))
+                .map(CachedApplicationVersion::of)
+                .orElse(null);
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Key material of an activation derived for the activation status, kept in the activation key cache.
+ * The values depend only on the activation key pairs, which never change for a committed activation.
+ * <p>
+ * The transport key bytes are zeroed by {@link #destroy()} when the entry is removed from the cache. A destroyed entry
+ * does not provide the transport key anymore, the caller has to derive the key again.
+ *
+ * @author agent, agent@local
+ */
+public class CachedActivationKeys {
+
+    private final String devicePublicKeyBase64;
+    private final String serverPublicKeyBase64;
+    private final byte[] transportKeyBytes;
+    private final String devicePublicKeyFingerprint;
+    private boolean destroyed;
+
+    /**
+     * Constructor.
+     *
+     * @param devicePublicKeyBase64 Device public key encoded as Base64 the values were derived from.
+     * @param serverPublicKeyBase64 Server public key encoded as Base64 the values were derived from.
+     * @param transportKeyBytes Transport key bytes, the instance takes ownership of the array.
+     * @param devicePublicKeyFingerprint Activation fingerprint.
+     */
+    CachedActivationKeys(final String devicePublicKeyBase64, final String serverPublicKeyBase64, final byte[] transportKeyBytes, final String devicePublicKeyFingerprint) {
+        this.devicePublicKeyBase64 = devicePublicKeyBase64;
+        this.serverPublicKeyBase64 = serverPublicKeyBase64;
+        this.transportKeyBytes = transportKeyBytes;
+        this.devicePublicKeyFingerprint = devicePublicKeyFingerprint;
+    }
+
+    /**
+     * Check whether the entry was derived from the given keys.
+     *
+     * @param devicePublicKeyBase64 Device public key encoded as Base64.
+     * @param serverPublicKeyBase64 Server public key encoded as Base64.
+     * @return True if the entry matches the keys.
+     */
+    public boolean matches(final String devicePublicKeyBase64, final String serverPublicKeyBase64) {
+        return Objects.equals(this.devicePublicKeyBase64, devicePublicKeyBase64)
+                && Objects.equals(this.serverPublicKeyBase64, serverPublicKeyBase64);
+    }
+
+    /**
+     * Get the activation fingerprint.
+     *
+     * @return Activation fingerprint.
+     */
+    public String getDevicePublicKeyFingerprint() {
+        return devicePublicKeyFingerprint;
+    }
+
+    /**
+     * Check whether the entry has been destroyed.
+     *
+     * @return True if the transport key bytes have been zeroed.
+     */
+    synchronized boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Get a copy of the transport key bytes.
+     *
+     * @return Copy of the transport key bytes or null if the entry has been already destroyed.
+     */
+    synchronized byte[] getTransportKeyBytes() {
+        if (destroyed) {
+            return null;
+        }
+        return transportKeyBytes.clone();
+    }
+
+    /**
+     * Zero the transport key bytes.
+     */
+    public synchronized void destroy() {
+        Arrays.fill(transportKeyBytes, (byte) 0);
+        destroyed = true;
+    }
+
+    /**
+     * Get a string representation without the transport key.
+     *
+     * @return String representation.
+     */
+    @Override
+    public String toString() {
+        return "CachedActivationKeys{devicePublicKeyFingerprint=" + devicePublicKeyFingerprint + "}";
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationVersionEntity;
+
+/**
+ * Immutable snapshot of an application version, detached from the persistence context.
+ *
+ * @param name Application version name.
+ * @param applicationKey Application key.
+ * @param applicationSecret Application secret.
+ * @param supported Whether the application version is supported.
+ * @param applicationRid Internal identifier of the application.
+ * @param applicationId Application ID.
+ * @author agent, agent@local
+ */
+public record CachedApplicationVersion(
+        String name,
+        String applicationKey,
+        String applicationSecret,
+        boolean supported,
+        Long applicationRid,
+        String applicationId) {
+
+    /**
+     * Create a snapshot of the given application version entity.
+     *
+     * @param source Application version entity.
+     * @return Application version snapshot.
+     */
+    public static CachedApplicationVersion of(final ApplicationVersionEntity source) {
+        return new CachedApplicationVersion(
+                source.getId(),
+                source.getApplicationKey(),
+                source.getApplicationSecret(),
+                Boolean.TRUE.equals(source.getSupported()),
+                source.getApplication().getRid(),
+                source.getApplication().getId());
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import io.getlime.security.powerauth.app.server.database.model.entity.MasterKeyPairEntity;
+import io.getlime.security.powerauth.crypto.lib.model.exception.CryptoProviderException;
+import io.getlime.security.powerauth.crypto.lib.util.KeyConvertor;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Base64;
+
+/**
+ * Immutable snapshot of the current master key pair of an application with pre-parsed keys.
+ *
+ * @param id Master key pair ID.
+ * @param applicationId Application ID.
+ * @param privateKey Master server private key.
+ * @param publicKey Master server public key.
+ * @param publicKeyBase64 Master server public key encoded as Base64.
+ * @author agent, agent@local
+ */
+public record CachedMasterKeyPair(
+        Long id,
+        String applicationId,
+        PrivateKey privateKey,
+        PublicKey publicKey,
+        String publicKeyBase64) {
+
+    /**
+     * Create a snapshot of the given master key pair entity.
+     *
+     * @param source Master key pair entity.
+     * @param keyConvertor Key convertor.
+     * @return Master key pair snapshot.
+     * @throws InvalidKeySpecException In case a key specification is invalid.
+     * @throws CryptoProviderException In case cryptography provider is incorrectly initialized.
+     */
+    public static CachedMasterKeyPair of(final MasterKeyPairEntity source, final KeyConvertor keyConvertor) throws InvalidKeySpecException, CryptoProviderException {
+        return new CachedMasterKeyPair(
+                source.getId(),
+                source.getApplication().getId(),
+                keyConvertor.convertBytesToPrivateKey(Base64.getDecoder().decode(source.getMasterKeyPrivateBase64())),
+                keyConvertor.convertBytesToPublicKey(Base64.getDecoder().decode(source.getMasterKeyPublicBase64())),
+                source.getMasterKeyPublicBase64());
+    }
+
+    /**
+     * Get a string representation without the private key.
+     *
+     * @return String representation.
+     */
+    @Override
+    public String toString() {
+        return "CachedMasterKeyPair[id=" + id + ", applicationId=" + applicationId + "]";
+    }
+
+}
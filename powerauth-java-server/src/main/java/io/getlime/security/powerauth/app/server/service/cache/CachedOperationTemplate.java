@@ -0,0 +1,75 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import io.getlime.security.powerauth.app.server.database.model.entity.OperationTemplateEntity;
+import io.getlime.security.powerauth.crypto.lib.enums.PowerAuthSignatureTypes;
+
+/**
+ * Immutable snapshot of an operation template with a pre-parsed data template.
+ *
+ * @param templateName Template name.
+ * @param operationType Operation type.
+ * @param dataTemplate Pre-parsed data template.
+ * @param signatureType Allowed signature types.
+ * @param maxFailureCount Maximum failure count.
+ * @param expiration Expiration in seconds.
+ * @param riskFlags Risk flags.
+ * @param proximityCheckEnabled Whether proximity check is enabled.
+ * @author agent, agent@local
+ */
+public record CachedOperationTemplate(
+        String templateName,
+        String operationType,
+        DataTemplate dataTemplate,
+        PowerAuthSignatureTypes[] signatureType,
+        Long maxFailureCount,
+        Long expiration,
+        String riskFlags,
+        boolean proximityCheckEnabled) {
+
+    /**
+     * Create a snapshot of the given template entity.
+     *
+     * @param source Template entity.
+     * @return Template snapshot.
+     */
+    public static CachedOperationTemplate of(final OperationTemplateEntity source) {
+        return new CachedOperationTemplate(
+                source.getTemplateName(),
+                source.getOperationType(),
+                DataTemplate.parse(source.getDataTemplate()),
+                source.getSignatureType() == null ? null : source.getSignatureType().clone(),
+                source.getMaxFailureCount(),
+                source.getExpiration(),
+                source.getRiskFlags(),
+                source.isProximityCheckEnabled());
+    }
+
+    /**
+     * Get allowed signature types. A copy is returned so that the cached snapshot cannot be modified.
+     *
+     * @return Allowed signature types.
+     */
+    @Override
+    public PowerAuthSignatureTypes[] signatureType() {
+        return signatureType == null ? null : signatureType.clone();
+    }
+
+}
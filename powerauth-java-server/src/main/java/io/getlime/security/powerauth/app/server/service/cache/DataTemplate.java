@@ -0,0 +1,169 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import org.apache.commons.text.StringSubstitutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-parsed operation data template.
+ * <p>
+ * The template is split into literal and placeholder segments once, so that rendering is a single pass over
+ * the segments. The rendering produces the same result as {@link StringSubstitutor} with default settings.
+ * Templates using features of the substitutor beyond plain {@code ${name}} placeholders (escaping, default values,
+ * nested placeholders), and parameter values which could be substituted recursively, are rendered by the substitutor.
+ *
+ * @author agent, agent@local
+ */
+public final class DataTemplate {
+
+    private static final String PREFIX = "${";
+    private static final char SUFFIX = '}';
+    private static final char ESCAPE = '$';
+    private static final String VALUE_DELIMITER = ":-";
+
+    private final String source;
+    private final List<Segment> segments;
+    private final int literalLength;
+
+    private DataTemplate(final String source, final List<Segment> segments) {
+        this.source = source;
+        this.segments = segments;
+        this.literalLength = segments == null ? 0 : segments.stream()
+                .filter(Literal.class::isInstance)
+                .mapToInt(segment -> ((Literal) segment).value().length())
+                .sum();
+    }
+
+    /**
+     * Parse the given template.
+     *
+     * @param source Template source.
+     * @return Parsed template.
+     */
+    public static DataTemplate parse(final String source) {
+        return new DataTemplate(source, parseSegments(source));
+    }
+
+    /**
+     * Render the template with the given parameters.
+     *
+     * @param parameters Parameters to substitute.
+     * @return Rendered template.
+     */
+    public String render(final Map<String, String> parameters) {
+        if (segments == null || requiresSubstitutor(parameters)) {
+            return new StringSubstitutor(parameters).replace(source);
+        }
+        final StringBuilder result = new StringBuilder(literalLength + 16 * segments.size());
+        for (Segment segment : segments) {
+            segment.appendTo(result, parameters);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Get the template source.
+     *
+     * @return Template source.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Parse the template into segments.
+     *
+     * @param source Template source.
+     * @return Segments or null if the template uses a feature which is rendered by {@link StringSubstitutor}.
+     */
+    private static List<Segment> parseSegments(final String source) {
+        if (source == null) {
+            return null;
+        }
+        final List<Segment> result = new ArrayList<>();
+        int position = 0;
+        while (position < source.length()) {
+            final int start = source.indexOf(PREFIX, position);
+            if (start < 0) {
+                break;
+            }
+            if (start > 0 && source.charAt(start - 1) == ESCAPE) {
+                return null;
+            }
+            final int end = source.indexOf(SUFFIX, start + PREFIX.length());
+            if (end < 0) {
+                break;
+            }
+            final String name = source.substring(start + PREFIX.length(), end);
+            if (name.isEmpty() || name.indexOf(ESCAPE) >= 0 || name.indexOf('{') >= 0 || name.contains(VALUE_DELIMITER)) {
+                return null;
+            }
+            if (start > position) {
+                result.add(new Literal(source.substring(position, start)));
+            }
+            result.add(new Placeholder(name));
+            position = end + 1;
+        }
+        if (position < source.length()) {
+            result.add(new Literal(source.substring(position)));
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Values containing the escape character could form a new placeholder, which the substitutor resolves recursively.
+     */
+    private static boolean requiresSubstitutor(final Map<String, String> parameters) {
+        for (String value : parameters.values()) {
+            if (value != null && value.indexOf(ESCAPE) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private interface Segment {
+        void appendTo(StringBuilder result, Map<String, String> parameters);
+    }
+
+    private record Literal(String value) implements Segment {
+        @Override
+        public void appendTo(final StringBuilder result, final Map<String, String> parameters) {
+            result.append(value);
+        }
+    }
+
+    private record Placeholder(String name) implements Segment {
+        @Override
+        public void appendTo(final StringBuilder result, final Map<String, String> parameters) {
+            final String value = parameters.get(name);
+            if (value != null) {
+                result.append(value);
+            } else {
+                // Undefined variables are kept as they are
+                result.append(PREFIX).append(name).append(SUFFIX);
+            }
+        }
+    }
+
+}
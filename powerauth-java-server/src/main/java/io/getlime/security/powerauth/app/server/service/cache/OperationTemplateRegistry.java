@@ -0,0 +1,96 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
+import io.getlime.security.powerauth.app.server.database.repository.OperationTemplateRepository;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Node-local registry of operation templates.
+ * <p>
+ * Templates are loaded from the database on first use and kept in the pre-parsed form, see {@link CachedOperationTemplate}.
+ * Changes made through {@code OperationTemplateServiceBehavior} invalidate the entry once the transaction commits,
+ * on other nodes through the {@link CacheInvalidationBus}. Invalidations which are not delivered are reflected once
+ * the entry expires, see {@code powerauth.service.operations.templateCache.expireAfterWrite}.
+ *
+ * @author agent, agent@local
+ */
+@Service
+@Slf4j
+public class OperationTemplateRegistry {
+
+    private final Cache<String, CachedOperationTemplate> operationTemplateCache;
+    private final OperationTemplateRepository templateRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    public OperationTemplateRegistry(
+            final Cache<String, CachedOperationTemplate> operationTemplateCache,
+            final OperationTemplateRepository templateRepository,
+            final CacheInvalidationBus cacheInvalidationBus) {
+        this.operationTemplateCache = operationTemplateCache;
+        this.templateRepository = templateRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        cacheInvalidationBus.subscribe(CacheInvalidationType.OPERATION_TEMPLATE, this::invalidate);
+    }
+
+    /**
+     * Find the template by name. Missing templates are not cached.
+     *
+     * @param templateName Template name.
+     * @return Template, if present.
+     */
+    public Optional<CachedOperationTemplate> findTemplate(final String templateName) {
+        return Optional.ofNullable(operationTemplateCache.get(templateName, this::load));
+    }
+
+    /**
+     * Invalidate the template on all nodes once the current transaction commits.
+     *
+     * @param templateName Template name.
+     */
+    public void invalidateAfterCommit(final String templateName) {
+        cacheInvalidationBus.publishAfterCommit(CacheInvalidationType.OPERATION_TEMPLATE, templateName);
+    }
+
+    /**
+     * Invalidate the template immediately.
+     *
+     * @param templateName Template name.
+     */
+    public void invalidate(final String templateName) {
+        logger.debug("Invalidating operation template: {}", templateName);
+        operationTemplateCache.invalidate(templateName);
+    }
+
+    private CachedOperationTemplate load(final String templateName) {
+        logger.debug("Loading operation template: {}", templateName);
+        return templateRepository.findTemplateByName(templateName)
+                .map(CachedOperationTemplate::of)
+                .orElse(null);
+    }
+
+}
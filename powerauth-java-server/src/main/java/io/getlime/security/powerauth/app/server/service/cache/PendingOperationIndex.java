@@ -0,0 +1,133 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.getlime.security.powerauth.app.server.database.model.entity.OperationEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.OperationStatusDo;
+import io.getlime.security.powerauth.app.server.database.repository.OperationRepository;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationBus;
+import io.getlime.security.powerauth.app.server.service.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Node-local index of pending operations per user.
+ * <p>
+ * The index allows answering the common "no pending operations" question without querying the database.
+ * An entry of a user is loaded from the database on first access and then kept up to date by the operation
+ * lifecycle hooks. Changes are applied only after the transaction commits, so a rolled back transaction
+ * never removes a pending operation from the index. A new pending operation invalidates the entry of the user on other
+ * nodes through the {@link CacheInvalidationBus}. Invalidations which are not delivered are reflected once the entry
+ * expires, see {@code powerauth.service.operations.pendingCache.expireAfterWrite}.
+ *
+ * @author agent, agent@local
+ */
+@Service
+@Slf4j
+public class PendingOperationIndex {
+
+    private final Cache<String, PendingOperations> pendingOperationCache;
+    private final OperationRepository operationRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final boolean enabled;
+
+    @Autowired
+    public PendingOperationIndex(
+            final Cache<String, PendingOperations> pendingOperationCache,
+            final OperationRepository operationRepository,
+            final CacheInvalidationBus cacheInvalidationBus,
+            @Value("${powerauth.service.operations.pendingCache.enabled:false}") final boolean enabled) {
+        this.pendingOperationCache = pendingOperationCache;
+        this.operationRepository = operationRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.enabled = enabled;
+        if (enabled) {
+            cacheInvalidationBus.subscribe(CacheInvalidationType.PENDING_OPERATIONS, this::invalidate);
+        }
+    }
+
+    /**
+     * Check whether the user may have a pending operation. The answer is authoritative only when negative.
+     *
+     * @param userId User ID.
+     * @param currentTimestamp Current timestamp used for the expiration check.
+     * @return False if the user certainly has no pending operation, true otherwise.
+     */
+    public boolean mayHavePendingOperations(final String userId, final Date currentTimestamp) {
+        if (!enabled || userId == null) {
+            return true;
+        }
+        final PendingOperations pendingOperations = pendingOperationCache.get(userId, this::load);
+        return pendingOperations.anyPendingAt(currentTimestamp);
+    }
+
+    /**
+     * Reflect a change of the operation in the index once the current transaction commits.
+     *
+     * @param operation Changed operation.
+     */
+    public void onOperationChange(final OperationEntity operation) {
+        if (!enabled || operation.getUserId() == null) {
+            return;
+        }
+        // Capture the values now, the entity may be changed before the transaction commits
+        final String userId = operation.getUserId();
+        final String operationId = operation.getId();
+        final boolean pending = operation.getStatus() == OperationStatusDo.PENDING;
+        final Date timestampExpires = operation.getTimestampExpires();
+        if (pending) {
+            // Other nodes might answer there is no pending operation, a finalized operation only leads to a false positive
+            cacheInvalidationBus.publishRemote(CacheInvalidationType.PENDING_OPERATIONS, userId);
+        }
+        TransactionUtils.executeAfterTransactionCommits(() -> {
+            if (pending) {
+                pendingOperationCache.asMap().computeIfPresent(userId, (key, value) -> value.with(operationId, timestampExpires));
+            } else {
+                pendingOperationCache.asMap().computeIfPresent(userId, (key, value) -> value.without(operationId));
+            }
+        });
+    }
+
+    /**
+     * Drop the entry of the user, forcing the next access to load it from the database.
+     *
+     * @param userId User ID.
+     */
+    public void invalidate(final String userId) {
+        if (enabled && userId != null) {
+            pendingOperationCache.invalidate(userId);
+        }
+    }
+
+    private PendingOperations load(final String userId) {
+        logger.debug("Loading pending operations index for user ID: {}", userId);
+        final Map<String, Date> expirations = operationRepository.findPendingOperationViewsForUser(userId).stream()
+                .collect(Collectors.toUnmodifiableMap(OperationRepository.PendingOperationView::getId, OperationRepository.PendingOperationView::getTimestampExpires));
+        return new PendingOperations(expirations);
+    }
+
+}
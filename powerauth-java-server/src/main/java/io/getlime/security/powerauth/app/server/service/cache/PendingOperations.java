@@ -0,0 +1,84 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of pending operations of a single user, mapping operation IDs to their expiration timestamps.
+ *
+ * @param expirations Map of operation ID to the expiration timestamp.
+ * @author agent, agent@local
+ */
+public record PendingOperations(Map<String, Date> expirations) {
+
+    private static final PendingOperations EMPTY = new PendingOperations(Collections.emptyMap());
+
+    /**
+     * Create a snapshot without any pending operation.
+     *
+     * @return Empty snapshot.
+     */
+    public static PendingOperations empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Create a new snapshot with the given pending operation added.
+     *
+     * @param operationId Operation ID.
+     * @param timestampExpires Operation expiration.
+     * @return New snapshot.
+     */
+    public PendingOperations with(final String operationId, final Date timestampExpires) {
+        final Map<String, Date> result = new HashMap<>(expirations);
+        result.put(operationId, timestampExpires);
+        return new PendingOperations(Collections.unmodifiableMap(result));
+    }
+
+    /**
+     * Create a new snapshot with the given operation removed.
+     *
+     * @param operationId Operation ID.
+     * @return New snapshot.
+     */
+    public PendingOperations without(final String operationId) {
+        if (!expirations.containsKey(operationId)) {
+            return this;
+        }
+        final Map<String, Date> result = new HashMap<>(expirations);
+        result.remove(operationId);
+        return new PendingOperations(Collections.unmodifiableMap(result));
+    }
+
+    /**
+     * Check whether there is an operation which is not expired at the given timestamp.
+     *
+     * @param timestamp Timestamp to check the expiration against.
+     * @return True if at least one operation is still pending.
+     */
+    public boolean anyPendingAt(final Date timestamp) {
+        return expirations.values().stream()
+                .anyMatch(timestampExpires -> !timestampExpires.before(timestamp));
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache.invalidation;
+
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
+import io.getlime.security.powerauth.app.server.service.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bus propagating invalidations of node-local cache entries across the cluster.
+ * <p>
+ * Cache owners subscribe to a type of entries, services changing the underlying data publish the key of the changed entry.
+ * The invalidation is applied on the current node once the transaction commits and delivered to the other nodes
+ * by the configured {@link CacheInvalidationTransport}. Without a transport, or when an invalidation is lost, the other
+ * nodes rely on the expiration of their cache entries. Invalidations of types without any subscriber are not published.
+ *
+ * @author agent, agent@local
+ */
+@Service
+@Slf4j
+public class CacheInvalidationBus {
+
+    private final Map<CacheInvalidationType, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+    private final Optional<CacheInvalidationTransport> transport;
+    private final String nodeId;
+
+    @Autowired
+    public CacheInvalidationBus(
+            final Optional<CacheInvalidationTransport> transport,
+            @Value("${powerauth.service.cache.invalidation.nodeId:}") final String nodeId) {
+        this.transport = transport;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        logger.info("Initializing cache invalidation bus, node ID: {}, transport: {}", this.nodeId,
+                transport.map(it -> it.getClass().getSimpleName()).orElse("none"));
+        transport.ifPresent(it -> it.start(this.nodeId, this::receive));
+    }
+
+    /**
+     * Get ID of the current node.
+     *
+     * @return Node ID.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Subscribe the listener to invalidations of the given type, published by any node.
+     *
+     * @param type Type of the cache entries.
+     * @param listener Listener accepting the key of the invalidated entry.
+     */
+    public void subscribe(final CacheInvalidationType type, final Consumer<String> listener) {
+        listeners.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Publish the invalidation to all nodes including the current one. The invalidation takes effect once
+     * the current transaction commits.
+     *
+     * @param type Type of the cache entry.
+     * @param key Key of the cache entry.
+     */
+    public void publishAfterCommit(final CacheInvalidationType type, final String key) {
+        if (!hasListeners(type) || key == null) {
+            return;
+        }
+        publishRemote(type, key);
+        TransactionUtils.executeAfterTransactionCommits(() -> dispatch(type, key));
+    }
+
+    /**
+     * Publish the invalidation to the other nodes only, for caches which update the entry of the current node themselves.
+     * The invalidation is delivered once the current transaction commits.
+     *
+     * @param type Type of the cache entry.
+     * @param key Key of the cache entry.
+     */
+    public void publishRemote(final CacheInvalidationType type, final String key) {
+        if (!hasListeners(type) || key == null) {
+            return;
+        }
+        transport.ifPresent(it -> it.publish(new CacheInvalidationEvent(nodeId, type, key)));
+    }
+
+    private void receive(final CacheInvalidationEvent event) {
+        if (nodeId.equals(event.nodeId())) {
+            // Already applied after commit on the current node
+            return;
+        }
+        logger.debug("Received cache invalidation: {}", event);
+        dispatch(event.type(), event.key());
+    }
+
+    private void dispatch(final CacheInvalidationType type, final String key) {
+        for (Consumer<String> listener : listeners.getOrDefault(type, List.of())) {
+            try {
+                listener.accept(key);
+            } catch (RuntimeException ex) {
+                logger.warn("Cache invalidation failed, type: {}, key: {}", type, key, ex);
+            }
+        }
+    }
+
+    private boolean hasListeners(final CacheInvalidationType type) {
+        final List<Consumer<String>> typeListeners = listeners.get(type);
+        return typeListeners != null && !typeListeners.isEmpty();
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport delivering cache invalidations to the other nodes of the cluster.
+ * The transport is selected by {@code powerauth.service.cache.invalidation.transport}.
+ *
+ * @author agent, agent@local
+ */
+public interface CacheInvalidationTransport {
+
+    /**
+     * Publish the invalidation within the current transaction. The other nodes must not receive the invalidation
+     * unless the transaction commits.
+     *
+     * @param event Invalidation event.
+     */
+    void publish(CacheInvalidationEvent event);
+
+    /**
+     * Start delivering invalidations published by other nodes to the given receiver.
+     *
+     * @param nodeId ID of the current node.
+     * @param receiver Receiver of the invalidations.
+     */
+    void start(String nodeId, Consumer<CacheInvalidationEvent> receiver);
+
+}
@@ -0,0 +1,142 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache.invalidation;
+
+import io.getlime.security.powerauth.app.server.database.model.entity.CacheInvalidationEventEntity;
+import io.getlime.security.powerauth.app.server.database.repository.CacheInvalidationEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.core.LockAssert;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Cache invalidation transport using an outbox table polled by every node.
+ * <p>
+ * Invalidations are inserted within the publishing transaction, their creation timestamp is taken from the database
+ * clock. Each node periodically reads the invalidations of other nodes created since the newest invalidation it has
+ * received, reduced by a lookback period covering transactions committed later than the invalidation was inserted.
+ * The window is driven by the database timestamps only, so the clocks of the nodes do not need to be synchronized.
+ * An invalidation is lost when its transaction commits later than the lookback period after a newer invalidation has
+ * been received, the node then relies on the expiration of the cache entry. Invalidations seen within the lookback
+ * period are delivered only once.
+ *
+ * @author agent, agent@local
+ */
+@Component
+@ConditionalOnProperty(prefix = "powerauth.service.cache.invalidation", name = "transport", havingValue = "outbox", matchIfMissing = true)
+@Slf4j
+class OutboxCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final LocalDateTime NO_EVENTS = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final CacheInvalidationEventRepository eventRepository;
+    private final Duration lookback;
+    private final Duration retention;
+
+    /**
+     * IDs of delivered events with their creation timestamp, accessed only by the polling thread.
+     */
+    private final Map<Long, LocalDateTime> deliveredEvents = new HashMap<>();
+
+    private volatile Consumer<CacheInvalidationEvent> receiver;
+    private volatile String nodeId;
+
+    /**
+     * Creation timestamp of the newest received event, accessed only by the polling thread.
+     */
+    private LocalDateTime latestTimestamp;
+
+    @Autowired
+    public OutboxCacheInvalidationTransport(
+            final CacheInvalidationEventRepository eventRepository,
+            @Value("${powerauth.service.cache.invalidation.outbox.lookback:10s}") final Duration lookback,
+            @Value("${powerauth.service.cache.invalidation.outbox.retention:1h}") final Duration retention) {
+        this.eventRepository = eventRepository;
+        this.lookback = lookback;
+        this.retention = retention;
+    }
+
+    @Override
+    public void publish(final CacheInvalidationEvent event) {
+        final CacheInvalidationEventEntity entity = new CacheInvalidationEventEntity();
+        entity.setNodeId(event.nodeId());
+        entity.setEventType(event.type());
+        entity.setEventKey(event.key());
+        eventRepository.save(entity);
+    }
+
+    @Override
+    public void start(final String nodeId, final Consumer<CacheInvalidationEvent> receiver) {
+        this.nodeId = nodeId;
+        this.receiver = receiver;
+    }
+
+    /**
+     * Deliver invalidations published by other nodes since the newest received invalidation.
+     * The first poll starts from the newest invalidation in the outbox table, older invalidations are not relevant
+     * for caches filled after the node has started.
+     */
+    @Scheduled(fixedDelayString = "${powerauth.service.cache.invalidation.outbox.pollInterval:1000}")
+    public void poll() {
+        if (receiver == null) {
+            return;
+        }
+        if (latestTimestamp == null) {
+            latestTimestamp = eventRepository.findLatestTimestamp().orElse(NO_EVENTS);
+        }
+        final List<CacheInvalidationEventEntity> events = eventRepository.findEventsOfOtherNodes(latestTimestamp.minus(lookback), nodeId);
+        for (CacheInvalidationEventEntity event : events) {
+            if (deliveredEvents.putIfAbsent(event.getId(), event.getTimestampCreated()) == null) {
+                receiver.accept(new CacheInvalidationEvent(event.getNodeId(), event.getEventType(), event.getEventKey()));
+            }
+            if (event.getTimestampCreated().isAfter(latestTimestamp)) {
+                latestTimestamp = event.getTimestampCreated();
+            }
+        }
+        final LocalDateTime from = latestTimestamp.minus(lookback);
+        deliveredEvents.values().removeIf(timestampCreated -> timestampCreated.isBefore(from));
+    }
+
+    /**
+     * Delete invalidations older than the retention period.
+     */
+    @Scheduled(fixedRateString = "${powerauth.service.scheduled.job.cacheInvalidationCleanup:60000}")
+    @SchedulerLock(
+            name = "cleanCacheInvalidationEventsTask",
+            lockAtLeastFor = "#{T(java.lang.Math).round(${powerauth.service.scheduled.job.cacheInvalidationCleanup:60000} * 0.8)}")
+    @Transactional
+    public void deleteExpiredEvents() {
+        LockAssert.assertLocked();
+        final int count = eventRepository.deleteEventsCreatedBefore(LocalDateTime.now().minus(retention));
+        logger.debug("Deleted {} cache invalidation events", count);
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache.invalidation;
+
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Cache invalidation transport using PostgreSQL {@code LISTEN} / {@code NOTIFY}.
+ * <p>
+ * Invalidations are sent by {@code pg_notify} within the publishing transaction, PostgreSQL delivers them to the listeners
+ * once the transaction commits. Each node keeps one connection of the pool listening on the channel. Invalidations
+ * published while the connection is being re-established are lost, the nodes rely on the expiration of the cache entries.
+ *
+ * @author agent, agent@local
+ */
+@Component
+@ConditionalOnProperty(prefix = "powerauth.service.cache.invalidation", name = "transport", havingValue = "postgresql")
+@Slf4j
+class PostgresqlCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final String CHANNEL = "powerauth_cache_invalidation";
+    private static final String SEPARATOR = "|";
+    private static final int NOTIFICATION_TIMEOUT_MILLIS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @Autowired
+    public PostgresqlCacheInvalidationTransport(
+            final JdbcTemplate jdbcTemplate,
+            final DataSource dataSource,
+            @Value("${powerauth.service.cache.invalidation.postgresql.reconnectDelay:5s}") final Duration reconnectDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void publish(final CacheInvalidationEvent event) {
+        final String payload = event.nodeId() + SEPARATOR + event.type() + SEPARATOR + event.key();
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {}, CHANNEL, payload);
+    }
+
+    @Override
+    public synchronized void start(final String nodeId, final Consumer<CacheInvalidationEvent> receiver) {
+        running = true;
+        listenerThread = new Thread(() -> listen(receiver), "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    /**
+     * Stop listening on graceful shutdown.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listen(final Consumer<CacheInvalidationEvent> receiver) {
+        while (running) {
+            try (final Connection connection = dataSource.getConnection()) {
+                try (final Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                logger.info("Listening for cache invalidations on channel: {}", CHANNEL);
+                final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    final PGNotification[] notifications = pgConnection.getNotifications(NOTIFICATION_TIMEOUT_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        receive(notification.getParameter(), receiver);
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Listening for cache invalidations failed, reconnecting in {}", reconnectDelay, ex);
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void receive(final String payload, final Consumer<CacheInvalidationEvent> receiver) {
+        final String[] parts = payload.split("\\" + SEPARATOR, 3);
+        if (parts.length != 3) {
+            logger.warn("Invalid cache invalidation payload: {}", payload);
+            return;
+        }
+        try {
+            receiver.accept(new CacheInvalidationEvent(parts[0], CacheInvalidationType.valueOf(parts[1]), parts[2]));
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Unknown cache invalidation type: {}", parts[1]);
+        }
+    }
+
+}
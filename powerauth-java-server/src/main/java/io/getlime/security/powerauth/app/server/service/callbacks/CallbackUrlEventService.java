@@ -45,6 +45,7 @@ import org.springframework.util.MultiValueMap;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -123,18 +124,22 @@ public class CallbackUrlEventService {
      */
     public CallbackUrlEventEntity createAndSaveEventForProcessing(final CallbackUrlEntity callbackUrlEntity, final Map<String, Object> callbackData) {
         final LocalDateTime timestampNow = LocalDateTime.now();
-        final Duration forceRerunPeriod = Objects.requireNonNullElse(powerAuthCallbacksConfiguration.getForceRerunPeriod(), defaultForceRerunPeriod());
+        return callbackUrlEventRepository.save(createEventForProcessing(callbackUrlEntity, callbackData, timestampNow));
+    }
 
-        final CallbackUrlEventEntity callbackUrlEventEntity = new CallbackUrlEventEntity();
-        callbackUrlEventEntity.setCallbackUrlEntityId(callbackUrlEntity.getId());
-        callbackUrlEventEntity.setCallbackData(callbackData);
-        callbackUrlEventEntity.setIdempotencyKey(UUID.randomUUID().toString());
-        callbackUrlEventEntity.setTimestampCreated(timestampNow);
-        callbackUrlEventEntity.setTimestampLastCall(timestampNow);
-        callbackUrlEventEntity.setTimestampRerunAfter(shouldBeSentAtMostOnce(callbackUrlEntity) ? null : timestampNow.plus(forceRerunPeriod));
-        callbackUrlEventEntity.setAttempts(0);
-        callbackUrlEventEntity.setStatus(CallbackUrlEventStatus.PROCESSING);
-        return callbackUrlEventRepository.save(callbackUrlEventEntity);
+    /**
+     * Create and save new {@link CallbackUrlEventEntity} instances to be processed, one for each callback data.
+     * The entities are saved together so that the inserts may be batched.
+     * @param callbackUrlEntity Existing CallbackUrlEntity with the Callback URL configuration.
+     * @param callbackDataList Data to be sent with the Callback URL, one item per event.
+     * @return Saved {@link CallbackUrlEventEntity} instances.
+     */
+    public Iterable<CallbackUrlEventEntity> createAndSaveEventsForProcessing(final CallbackUrlEntity callbackUrlEntity, final List<Map<String, Object>> callbackDataList) {
+        final LocalDateTime timestampNow = LocalDateTime.now();
+        final List<CallbackUrlEventEntity> callbackUrlEventEntities = callbackDataList.stream()
+                .map(callbackData -> createEventForProcessing(callbackUrlEntity, callbackData, timestampNow))
+                .toList();
+        return callbackUrlEventRepository.saveAll(callbackUrlEventEntities);
     }
 
     /**
@@ -144,13 +149,20 @@ public class CallbackUrlEventService {
      * @return Saved {@link CallbackUrlEventEntity}.
      */
     public CallbackUrlEventEntity createAndSaveFailedEvent(final CallbackUrlEntity callbackUrlEntity, final Map<String, Object> callbackData) {
-        final CallbackUrlEventEntity callbackUrlEventEntity = new CallbackUrlEventEntity();
-        callbackUrlEventEntity.setCallbackUrlEntityId(callbackUrlEntity.getId());
-        callbackUrlEventEntity.setCallbackData(callbackData);
-        callbackUrlEventEntity.setIdempotencyKey(UUID.randomUUID().toString());
-        callbackUrlEventEntity.setTimestampCreated(LocalDateTime.now());
-        callbackUrlEventEntity.setAttempts(0);
-        return callbackUrlEventRepository.save(failWithoutDispatching(callbackUrlEventEntity, callbackUrlEntity));
+        return callbackUrlEventRepository.save(createFailedEvent(callbackUrlEntity, callbackData));
+    }
+
+    /**
+     * Create and save new {@link CallbackUrlEventEntity} instances in failed state, one for each callback data.
+     * @param callbackUrlEntity Existing CallbackUrlEntity with the Callback URL configuration.
+     * @param callbackDataList Data to be sent with the Callback URL, one item per event.
+     * @return Saved {@link CallbackUrlEventEntity} instances.
+     */
+    public Iterable<CallbackUrlEventEntity> createAndSaveFailedEvents(final CallbackUrlEntity callbackUrlEntity, final List<Map<String, Object>> callbackDataList) {
+        final List<CallbackUrlEventEntity> callbackUrlEventEntities = callbackDataList.stream()
+                .map(callbackData -> createFailedEvent(callbackUrlEntity, callbackData))
+                .toList();
+        return callbackUrlEventRepository.saveAll(callbackUrlEventEntities);
     }
 
     /**
@@ -261,6 +273,38 @@ public class CallbackUrlEventService {
         }
     }
 
+    /**
+     * Create a Callback URL Event in PROCESSING state, ready to be dispatched.
+     * @param callbackUrlEntity Callback URL configuration.
+     * @param callbackData Data to be sent.
+     * @param timestampNow Current timestamp used as the creation and last call time.
+     * @return Callback URL Event entity.
+     */
+    private CallbackUrlEventEntity createEventForProcessing(final CallbackUrlEntity callbackUrlEntity, final Map<String, Object> callbackData, final LocalDateTime timestampNow) {
+        final Duration forceRerunPeriod = Objects.requireNonNullElse(powerAuthCallbacksConfiguration.getForceRerunPeriod(), defaultForceRerunPeriod());
+
+        final CallbackUrlEventEntity callbackUrlEventEntity = new CallbackUrlEventEntity();
+        callbackUrlEventEntity.setCallbackUrlEntityId(callbackUrlEntity.getId());
+        callbackUrlEventEntity.setCallbackData(callbackData);
+        callbackUrlEventEntity.setIdempotencyKey(UUID.randomUUID().toString());
+        callbackUrlEventEntity.setTimestampCreated(timestampNow);
+        callbackUrlEventEntity.setTimestampLastCall(timestampNow);
+        callbackUrlEventEntity.setTimestampRerunAfter(shouldBeSentAtMostOnce(callbackUrlEntity) ? null : timestampNow.plus(forceRerunPeriod));
+        callbackUrlEventEntity.setAttempts(0);
+        callbackUrlEventEntity.setStatus(CallbackUrlEventStatus.PROCESSING);
+        return callbackUrlEventEntity;
+    }
+
+    private CallbackUrlEventEntity createFailedEvent(final CallbackUrlEntity callbackUrlEntity, final Map<String, Object> callbackData) {
+        final CallbackUrlEventEntity callbackUrlEventEntity = new CallbackUrlEventEntity();
+        callbackUrlEventEntity.setCallbackUrlEntityId(callbackUrlEntity.getId());
+        callbackUrlEventEntity.setCallbackData(callbackData);
+        callbackUrlEventEntity.setIdempotencyKey(UUID.randomUUID().toString());
+        callbackUrlEventEntity.setTimestampCreated(LocalDateTime.now());
+        callbackUrlEventEntity.setAttempts(0);
+        return failWithoutDispatching(callbackUrlEventEntity, callbackUrlEntity);
+    }
+
     /**
      * Get default force rerun period, after which is a Callback URL Event in PROCESSING state considered stale.
      * @return Default force rerun period.
@@ -0,0 +1,88 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.encryption;
+
+import java.util.Arrays;
+
+/**
+ * Secret key derived from the master DB encryption key for a record, kept in the derived key cache.
+ * <p>
+ * The key bytes are zeroed by {@link #destroy()} when the entry is removed from the cache. A destroyed entry does not
+ * provide the key anymore, the caller has to derive the key again.
+ *
+ * @author agent, agent@local
+ */
+public class CachedDerivedKey {
+
+    private final long masterKeyVersion;
+    private final byte[] keyBytes;
+    private boolean destroyed;
+
+    /**
+     * Constructor.
+     *
+     * @param masterKeyVersion Version of the master DB encryption key the key was derived from.
+     * @param keyBytes Derived key bytes, the instance takes ownership of the array.
+     */
+    CachedDerivedKey(final long masterKeyVersion, final byte[] keyBytes) {
+        this.masterKeyVersion = masterKeyVersion;
+        this.keyBytes = keyBytes;
+    }
+
+    /**
+     * Check whether the key was derived from the given version of the master DB encryption key.
+     *
+     * @param masterKeyVersion Version of the master DB encryption key.
+     * @return True if the key was derived from the given version.
+     */
+    boolean isDerivedFrom(final long masterKeyVersion) {
+        return this.masterKeyVersion == masterKeyVersion;
+    }
+
+    /**
+     * Get a copy of the key bytes.
+     *
+     * @return Copy of the key bytes or null if the key has been already destroyed.
+     */
+    synchronized byte[] getKeyBytes() {
+        if (destroyed) {
+            return null;
+        }
+        return keyBytes.clone();
+    }
+
+    /**
+     * Zero the key bytes.
+     */
+    public synchronized void destroy() {
+        Arrays.fill(keyBytes, (byte) 0);
+        destroyed = true;
+    }
+
+    /**
+     * Get a string representation without the key bytes.
+     *
+     * @return String representation.
+     */
+    @Override
+    public String toString() {
+        return "CachedDerivedKey{masterKeyVersion=" + masterKeyVersion + "}";
+    }
+
+}
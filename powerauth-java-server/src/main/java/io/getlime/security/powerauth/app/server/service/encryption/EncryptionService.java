@@ -17,6 +17,7 @@
  */
 package io.getlime.security.powerauth.app.server.service.encryption;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import io.getlime.security.powerauth.app.server.configuration.PowerAuthServiceConfiguration;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
 import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
@@ -27,38 +28,80 @@ import io.getlime.security.powerauth.crypto.lib.model.exception.CryptoProviderEx
 import io.getlime.security.powerauth.crypto.lib.model.exception.GenericCryptoException;
 import io.getlime.security.powerauth.crypto.lib.util.AESEncryptionUtils;
 import io.getlime.security.powerauth.crypto.lib.util.KeyConvertor;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
  * Service for encryption and decryption database data.
+ * <p>
+ * The master DB encryption key is parsed once and parsed again only when the configured value changes. Secret keys
+ * derived for the records may be kept in a node-local cache, see {@link CachedDerivedKey}. The cache is disabled
+ * by default, as it keeps the derived keys in memory.
+ * <p>
+ * During the rotation of the master DB encryption key, the previous key is configured as well. Records are always
+ * encrypted by the current key, records encrypted by the previous key are decrypted by trial until they are
+ * re-encrypted by {@link ReEncryptionService}. Secret keys derived from the previous key are not cached.
  *
  * @author Lubos Racansky, lubos.racansky@wultra.com
  * @author Roman Strobl, roman.strobl@wultra.com
  */
 @Service
 @Slf4j
-@AllArgsConstructor
 public class EncryptionService {
 
+    /**
+     * Validator of decrypted private keys. A private key of the P-256 curve is encoded in at most 33 bytes, while data
+     * decrypted by a wrong key with a valid padding is longer with a high probability.
+     */
+    public static final Predicate<byte[]> PRIVATE_KEY_VALIDATOR = data -> data.length <= 33;
+
+    // First byte of the derivation index of purpose keys, not valid in UTF-8
+    private static final byte PURPOSE_INDEX_PREFIX = (byte) 0xFF;
+
     private final PowerAuthServiceConfiguration powerAuthServiceConfiguration;
     private final LocalizationProvider localizationProvider;
+    private final Cache<String, CachedDerivedKey> derivedKeyCache;
+    private final boolean derivedKeyCacheEnabled;
 
     private final KeyGenerator keyGenerator = new KeyGenerator();
     private final AESEncryptionUtils aesEncryptionUtils = new AESEncryptionUtils();
     private final KeyConvertor keyConvertor = new KeyConvertor();
 
+    private final AtomicLong masterDbEncryptionKeyVersion = new AtomicLong();
+    private volatile MasterDbEncryptionKey masterDbEncryptionKey;
+    private volatile MasterDbEncryptionKey masterDbEncryptionPreviousKey;
+
+    @Autowired
+    public EncryptionService(
+            final PowerAuthServiceConfiguration powerAuthServiceConfiguration,
+            final LocalizationProvider localizationProvider,
+            final Cache<String, CachedDerivedKey> derivedKeyCache,
+            @Value("${powerauth.service.crypto.derivedKeyCache.enabled:false}") final boolean derivedKeyCacheEnabled) {
+        this.powerAuthServiceConfiguration = powerAuthServiceConfiguration;
+        this.localizationProvider = localizationProvider;
+        this.derivedKeyCache = derivedKeyCache;
+        this.derivedKeyCacheEnabled = derivedKeyCacheEnabled;
+    }
+
     /**
      * Decrypt the given string.
      *
@@ -71,7 +114,7 @@ public class EncryptionService {
      */
     public String decrypt(final String dataString, final EncryptionMode encryptionMode, final Supplier<List<String>> encryptionKeyProvider) throws GenericServiceException {
         final byte[] dataBytes = convert(dataString, encryptionMode);
-        final byte[] decrypted = decrypt(dataBytes, encryptionMode, encryptionKeyProvider);
+        final byte[] decrypted = decrypt(dataBytes, encryptionMode, encryptionKeyProvider, EncryptionService::isUtf8);
         return new String(decrypted, StandardCharsets.UTF_8);
     }
 
@@ -86,6 +129,24 @@ public class EncryptionService {
      * @throws GenericServiceException In case decryption fails.
      */
     public byte[] decrypt(final byte[] data, final EncryptionMode encryptionMode, final Supplier<List<String>> encryptionKeyProvider) throws GenericServiceException {
+        return decrypt(data, encryptionMode, encryptionKeyProvider, decrypted -> true);
+    }
+
+    /**
+     * Decrypt the given data, validating the decrypted value during the rotation of the master DB encryption key.
+     * <p>
+     * Data which cannot be decrypted by the current master DB encryption key, or which is decrypted to a value rejected
+     * by the validator, is decrypted by the previous key. The encryption is not authenticated, a wrong key is detected
+     * by an invalid padding only, so the validator should reject any value the caller cannot have encrypted.
+     *
+     * @param data Data to decrypt.
+     * @param encryptionMode Encryption mode.
+     * @param encryptionKeyProvider Provider for values used for derivation of secret key.
+     * @param validator Validator of the decrypted value.
+     * @return Decrypted value.
+     * @throws GenericServiceException In case decryption fails.
+     */
+    public byte[] decrypt(final byte[] data, final EncryptionMode encryptionMode, final Supplier<List<String>> encryptionKeyProvider, final Predicate<byte[]> validator) throws GenericServiceException {
         if (encryptionMode == null) {
             logger.error("Missing key encryption mode");
             throw localizationProvider.buildExceptionForCode(ServiceError.UNSUPPORTED_ENCRYPTION_MODE);
@@ -103,26 +164,34 @@ public class EncryptionService {
                     logger.error("Missing master DB encryption key");
                     throw localizationProvider.buildExceptionForCode(ServiceError.MISSING_MASTER_DB_ENCRYPTION_KEY);
                 }
+                // Check that the length of the byte array is sufficient to avoid AIOOBE on the next calls
+                if (data.length < 16) {
+                    logger.error("Invalid encrypted data hash format - the byte array is too short");
+                    throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_KEY_FORMAT);
+                }
                 try {
                     // Convert master DB encryption key
-                    final SecretKey masterDbEncryptionKey = keyConvertor.convertBytesToSharedSecretKey(Base64.getDecoder().decode(masterDbEncryptionKeyBase64));
+                    final MasterDbEncryptionKey masterDbEncryptionKey = getMasterDbEncryptionKey(masterDbEncryptionKeyBase64);
 
                     // Derive secret key from master DB encryption key, userId and activationId
                     final SecretKey secretKey = deriveSecretKey(masterDbEncryptionKey, encryptionKeyProvider);
 
-                    // Check that the length of the byte array is sufficient to avoid AIOOBE on the next calls
-                    if (data.length < 16) {
-                        logger.error("Invalid encrypted data hash format - the byte array is too short");
-                        throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_KEY_FORMAT);
+                    final MasterDbEncryptionKey previousKey = getMasterDbEncryptionPreviousKey();
+                    if (previousKey == null) {
+                        return decrypt(data, secretKey);
                     }
 
-                    // IV is present in first 16 bytes
-                    final byte[] iv = Arrays.copyOfRange(data, 0, 16);
-
-                    // Encrypted data hash is present after IV
-                    final byte[] encryptedData = Arrays.copyOfRange(data, 16, data.length);
-
-                    return aesEncryptionUtils.decrypt(encryptedData, iv, secretKey);
+                    // Decrypt by trial during the rotation of the master DB encryption key
+                    final byte[] decrypted = decryptOrNull(data, secretKey, validator);
+                    if (decrypted != null) {
+                        return decrypted;
+                    }
+                    final byte[] decryptedByPreviousKey = decryptOrNull(data, deriveSecretKey(previousKey, String.join("&", encryptionKeyProvider.get())), validator);
+                    if (decryptedByPreviousKey != null) {
+                        return decryptedByPreviousKey;
+                    }
+                    logger.error("Data cannot be decrypted by either the current or the previous master DB encryption key");
+                    throw localizationProvider.buildExceptionForCode(ServiceError.GENERIC_CRYPTOGRAPHY_ERROR);
                 } catch (InvalidKeyException ex) {
                     logger.error(ex.getMessage(), ex);
                     throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_KEY_FORMAT);
@@ -141,6 +210,61 @@ public class EncryptionService {
         }
     }
 
+    /**
+     * Whether the given data is encrypted by the previous master DB encryption key and needs to be re-encrypted.
+     *
+     * @param data Data to check.
+     * @param encryptionMode Encryption mode.
+     * @param encryptionKeyProvider Provider for values used for derivation of secret key.
+     * @param validator Validator of the decrypted value, see {@link #decrypt(byte[], EncryptionMode, Supplier, Predicate)}.
+     * @return True if the previous key is configured and the data cannot be decrypted by the current key.
+     * @throws GenericServiceException In case the master DB encryption key is not configured or the derivation fails.
+     */
+    public boolean isEncryptedByPreviousKey(final byte[] data, final EncryptionMode encryptionMode, final Supplier<List<String>> encryptionKeyProvider, final Predicate<byte[]> validator) throws GenericServiceException {
+        if (encryptionMode != EncryptionMode.AES_HMAC || getMasterDbEncryptionPreviousKey() == null) {
+            return false;
+        }
+        if (data.length < 16) {
+            // Not decryptable by any key, the decryption reports the error
+            return true;
+        }
+        try {
+            return decryptOrNull(data, deriveSecretKey(encryptionKeyProvider), validator) == null;
+        } catch (InvalidKeyException ex) {
+            logger.error(ex.getMessage(), ex);
+            throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_KEY_FORMAT);
+        } catch (CryptoProviderException ex) {
+            logger.error(ex.getMessage(), ex);
+            throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_CRYPTO_PROVIDER);
+        }
+    }
+
+    /**
+     * Whether the given string is encrypted by the previous master DB encryption key and needs to be re-encrypted.
+     *
+     * @param dataString String to check.
+     * @param encryptionMode Encryption mode.
+     * @param encryptionKeyProvider Provider for values used for derivation of secret key.
+     * @return True if the previous key is configured and the string cannot be decrypted by the current key.
+     * @throws GenericServiceException In case the master DB encryption key is not configured or the derivation fails.
+     */
+    public boolean isEncryptedByPreviousKey(final String dataString, final EncryptionMode encryptionMode, final Supplier<List<String>> encryptionKeyProvider) throws GenericServiceException {
+        return isEncryptedByPreviousKey(convert(dataString, encryptionMode), encryptionMode, encryptionKeyProvider, EncryptionService::isUtf8);
+    }
+
+    /**
+     * Get the fingerprint of the current master DB encryption key, which identifies the key without revealing it.
+     *
+     * @return Fingerprint of the master DB encryption key, null if the key is not configured.
+     */
+    public String getMasterDbEncryptionKeyFingerprint() {
+        final String masterDbEncryptionKeyBase64 = powerAuthServiceConfiguration.getMasterDbEncryptionKey();
+        if (masterDbEncryptionKeyBase64 == null || masterDbEncryptionKeyBase64.isEmpty()) {
+            return null;
+        }
+        return getMasterDbEncryptionKey(masterDbEncryptionKeyBase64).fingerprint();
+    }
+
     /**
      * Encrypt the given string.
      *
@@ -183,7 +307,7 @@ public class EncryptionService {
 
         try {
             // Convert master DB encryption key
-            final SecretKey masterDbEncryptionKey = keyConvertor.convertBytesToSharedSecretKey(Base64.getDecoder().decode(masterDbEncryptionKeyBase64));
+            final MasterDbEncryptionKey masterDbEncryptionKey = getMasterDbEncryptionKey(masterDbEncryptionKeyBase64);
 
             // Derive secret key from master DB encryption key, userId and activationId
             final SecretKey secretKey = deriveSecretKey(masterDbEncryptionKey, encryptionKeyProvider);
@@ -216,8 +340,153 @@ public class EncryptionService {
         }
     }
 
+    /**
+     * Derive a secret key from the master DB encryption key and the given derivations.
+     *
+     * @param encryptionKeyProvider Provider for values used for derivation of secret key.
+     * @return Derived secret key.
+     * @throws GenericServiceException In case the master DB encryption key is not configured or the derivation fails.
+     */
+    public SecretKey deriveSecretKey(final Supplier<List<String>> encryptionKeyProvider) throws GenericServiceException {
+        final String masterDbEncryptionKeyBase64 = powerAuthServiceConfiguration.getMasterDbEncryptionKey();
+        if (masterDbEncryptionKeyBase64 == null || masterDbEncryptionKeyBase64.isEmpty()) {
+            logger.error("Missing master DB encryption key");
+            throw localizationProvider.buildExceptionForCode(ServiceError.MISSING_MASTER_DB_ENCRYPTION_KEY);
+        }
+        try {
+            return deriveSecretKey(getMasterDbEncryptionKey(masterDbEncryptionKeyBase64), encryptionKeyProvider);
+        } catch (GenericCryptoException ex) {
+            logger.error(ex.getMessage(), ex);
+            throw localizationProvider.buildExceptionForCode(ServiceError.GENERIC_CRYPTOGRAPHY_ERROR);
+        } catch (CryptoProviderException ex) {
+            logger.error(ex.getMessage(), ex);
+            throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_CRYPTO_PROVIDER);
+        }
+    }
+
+    /**
+     * Derive a secret key for the given purpose from the master DB encryption key. The derivation index starts with
+     * the byte {@code 0xFF} which never occurs in UTF-8 encoded values, the key cannot be equal to any key derived
+     * from record identifiers by {@link #deriveSecretKey(Supplier)}.
+     *
+     * @param purpose Purpose of the derived key.
+     * @return Derived secret key.
+     * @throws GenericServiceException In case the master DB encryption key is not configured or the derivation fails.
+     */
+    public SecretKey derivePurposeSecretKey(final String purpose) throws GenericServiceException {
+        final String masterDbEncryptionKeyBase64 = powerAuthServiceConfiguration.getMasterDbEncryptionKey();
+        if (masterDbEncryptionKeyBase64 == null || masterDbEncryptionKeyBase64.isEmpty()) {
+            logger.error("Missing master DB encryption key");
+            throw localizationProvider.buildExceptionForCode(ServiceError.MISSING_MASTER_DB_ENCRYPTION_KEY);
+        }
+        final byte[] purposeBytes = purpose.getBytes(StandardCharsets.UTF_8);
+        final byte[] index = new byte[purposeBytes.length + 1];
+        index[0] = PURPOSE_INDEX_PREFIX;
+        System.arraycopy(purposeBytes, 0, index, 1, purposeBytes.length);
+        try {
+            return keyGenerator.deriveSecretKeyHmac(getMasterDbEncryptionKey(masterDbEncryptionKeyBase64).secretKey(), index);
+        } catch (GenericCryptoException ex) {
+            logger.error(ex.getMessage(), ex);
+            throw localizationProvider.buildExceptionForCode(ServiceError.GENERIC_CRYPTOGRAPHY_ERROR);
+        } catch (CryptoProviderException ex) {
+            logger.error(ex.getMessage(), ex);
+            throw localizationProvider.buildExceptionForCode(ServiceError.INVALID_CRYPTO_PROVIDER);
+        }
+    }
+
+    /**
+     * Get the parsed master DB encryption key, parse it only when the configured value has changed.
+     *
+     * @param masterDbEncryptionKeyBase64 Master DB encryption key encoded as Base64.
+     * @return Parsed master DB encryption key.
+     */
+    private MasterDbEncryptionKey getMasterDbEncryptionKey(final String masterDbEncryptionKeyBase64) {
+        final MasterDbEncryptionKey current = masterDbEncryptionKey;
+        if (current != null && current.keyBase64().equals(masterDbEncryptionKeyBase64)) {
+            return current;
+        }
+        final MasterDbEncryptionKey parsed = parseMasterDbEncryptionKey(masterDbEncryptionKeyBase64);
+        masterDbEncryptionKey = parsed;
+        if (current != null) {
+            logger.info("Master DB encryption key has changed, discarding derived keys");
+            derivedKeyCache.invalidateAll();
+        }
+        return parsed;
+    }
+
+    /**
+     * Get the parsed previous master DB encryption key, parse it only when the configured value has changed.
+     *
+     * @return Parsed previous master DB encryption key, null if the key is not configured.
+     */
+    private MasterDbEncryptionKey getMasterDbEncryptionPreviousKey() {
+        final String previousKeyBase64 = powerAuthServiceConfiguration.getMasterDbEncryptionPreviousKey();
+        if (previousKeyBase64 == null || previousKeyBase64.isEmpty()) {
+            return null;
+        }
+        final MasterDbEncryptionKey current = masterDbEncryptionPreviousKey;
+        if (current != null && current.keyBase64().equals(previousKeyBase64)) {
+            return current;
+        }
+        final MasterDbEncryptionKey parsed = parseMasterDbEncryptionKey(previousKeyBase64);
+        masterDbEncryptionPreviousKey = parsed;
+        return parsed;
+    }
+
+    private MasterDbEncryptionKey parseMasterDbEncryptionKey(final String keyBase64) {
+        final byte[] keyBytes = Base64.getDecoder().decode(keyBase64);
+        try {
+            // Truncated hash of the random key, the key cannot be recovered from it
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(keyBytes);
+            final String fingerprint = HexFormat.of().formatHex(hash, 0, 8);
+            return new MasterDbEncryptionKey(keyBase64, masterDbEncryptionKeyVersion.incrementAndGet(), fingerprint, keyConvertor.convertBytesToSharedSecretKey(keyBytes));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        } finally {
+            Arrays.fill(keyBytes, (byte) 0);
+        }
+    }
+
+    /**
+     * Decrypt the data consisting of the IV and the encrypted data.
+     */
+    private byte[] decrypt(final byte[] data, final SecretKey secretKey) throws InvalidKeyException, GenericCryptoException, CryptoProviderException {
+        // IV is present in first 16 bytes
+        final byte[] iv = Arrays.copyOfRange(data, 0, 16);
+
+        // Encrypted data hash is present after IV
+        final byte[] encryptedData = Arrays.copyOfRange(data, 16, data.length);
+
+        return aesEncryptionUtils.decrypt(encryptedData, iv, secretKey);
+    }
+
+    /**
+     * Decrypt the data by trial.
+     *
+     * @return Decrypted data, null if the data cannot be decrypted by the key or the decrypted value is rejected.
+     */
+    private byte[] decryptOrNull(final byte[] data, final SecretKey secretKey, final Predicate<byte[]> validator) throws InvalidKeyException, CryptoProviderException {
+        try {
+            final byte[] decrypted = decrypt(data, secretKey);
+            return validator.test(decrypted) ? decrypted : null;
+        } catch (GenericCryptoException ex) {
+            logger.debug("Data cannot be decrypted by the key: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isUtf8(final byte[] data) {
+        try {
+            StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(data));
+            return true;
+        } catch (CharacterCodingException ex) {
+            return false;
+        }
+    }
+
     /**
      * Derive secret key from master DB encryption key and the given derivations.
+     * The derived key is taken from the cache if enabled.
      *
      * @param masterDbEncryptionKey Master DB encryption key.
      * @param encryptionKeyProvider Provider for values used for derivation of secret key.
@@ -225,12 +494,33 @@ public class EncryptionService {
      * @throws GenericCryptoException In case key derivation fails.
      * @see <a href="https://github.com/wultra/powerauth-server/blob/develop/docs/Encrypting-Records-in-Database.md">Encrypting Records in Database</a>
      */
-    private SecretKey deriveSecretKey(SecretKey masterDbEncryptionKey, final Supplier<List<String>> encryptionKeyProvider) throws GenericCryptoException, CryptoProviderException {
-        // Use concatenated value bytes as index for KDF_INTERNAL
-        final byte[] index = String.join("&", encryptionKeyProvider.get()).getBytes(StandardCharsets.UTF_8);
+    private SecretKey deriveSecretKey(final MasterDbEncryptionKey masterDbEncryptionKey, final Supplier<List<String>> encryptionKeyProvider) throws GenericCryptoException, CryptoProviderException {
+        // Use concatenated values as index for KDF_INTERNAL
+        final String index = String.join("&", encryptionKeyProvider.get());
+
+        if (!derivedKeyCacheEnabled) {
+            return deriveSecretKey(masterDbEncryptionKey, index);
+        }
+
+        final CachedDerivedKey cached = derivedKeyCache.getIfPresent(index);
+        if (cached != null && cached.isDerivedFrom(masterDbEncryptionKey.version())) {
+            final byte[] keyBytes = cached.getKeyBytes();
+            // The key bytes are not available when the entry has been removed concurrently
+            if (keyBytes != null) {
+                final SecretKey secretKey = keyConvertor.convertBytesToSharedSecretKey(keyBytes);
+                Arrays.fill(keyBytes, (byte) 0);
+                return secretKey;
+            }
+        }
+
+        final SecretKey secretKey = deriveSecretKey(masterDbEncryptionKey, index);
+        derivedKeyCache.put(index, new CachedDerivedKey(masterDbEncryptionKey.version(), keyConvertor.convertSharedSecretKeyToBytes(secretKey)));
+        return secretKey;
+    }
 
+    private SecretKey deriveSecretKey(final MasterDbEncryptionKey masterDbEncryptionKey, final String index) throws GenericCryptoException, CryptoProviderException {
         // Derive secretKey from master DB encryption key using KDF_INTERNAL with constructed index
-        return keyGenerator.deriveSecretKeyHmac(masterDbEncryptionKey, index);
+        return keyGenerator.deriveSecretKeyHmac(masterDbEncryptionKey.secretKey(), index.getBytes(StandardCharsets.UTF_8));
     }
 
     private static byte[] convert(final String source, final EncryptionMode encryptionMode) {
@@ -249,4 +539,21 @@ public class EncryptionService {
         }
     }
 
+    /**
+     * Parsed master DB encryption key.
+     *
+     * @param keyBase64 Master DB encryption key encoded as Base64 the key was parsed from.
+     * @param version Version of the key, incremented on each change of the configured value.
+     * @param fingerprint Truncated SHA-256 hash of the key, hex encoded.
+     * @param secretKey Parsed master DB encryption key.
+     */
+    private record MasterDbEncryptionKey(String keyBase64, long version, String fingerprint, SecretKey secretKey) {
+
+        @Override
+        public String toString() {
+            return "MasterDbEncryptionKey[version=" + version + ", fingerprint=" + fingerprint + "]";
+        }
+
+    }
+
 }
@@ -0,0 +1,177 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.encryption;
+
+import io.getlime.security.powerauth.crypto.lib.generator.KeyGenerator;
+import io.getlime.security.powerauth.crypto.lib.model.exception.CryptoProviderException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local pool of pre-generated EC key pairs.
+ * <p>
+ * Generating an EC key pair is a visible share of the latency of the temporary key and activation endpoints. When
+ * the pool is enabled, background threads with the lowest priority keep the pool filled and the callers take a key pair
+ * from the pool. Each key pair is handed out only once. When the pool is empty, the key pair is generated on the calling
+ * thread. Note that the private keys of the pooled key pairs are kept in memory.
+ *
+ * @author agent, agent@local
+ */
+@Service
+@Slf4j
+public class KeyPairPool {
+
+    private final KeyGenerator keyGenerator = new KeyGenerator();
+
+    private final boolean enabled;
+    private final int capacity;
+    private final int refillThreads;
+    private final BlockingQueue<KeyPair> keyPairs;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Timer refillTimer;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    // Time in nanoseconds since when the pool is below its capacity, zero when the pool is full
+    private final AtomicLong belowCapacitySince = new AtomicLong();
+
+    @Autowired
+    public KeyPairPool(
+            @Value("${powerauth.service.crypto.keyPairPool.enabled:false}") final boolean enabled,
+            @Value("${powerauth.service.crypto.keyPairPool.capacity:1000}") final int capacity,
+            @Value("${powerauth.service.crypto.keyPairPool.refillThreads:1}") final int refillThreads,
+            final MeterRegistry meterRegistry) {
+        Assert.state(!enabled || capacity > 0, "Key pair pool capacity must be positive when the pool is enabled, capacity: " + capacity);
+        Assert.state(!enabled || refillThreads > 0, "Key pair pool refill threads must be positive when the pool is enabled, refillThreads: " + refillThreads);
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.refillThreads = refillThreads;
+        this.keyPairs = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+        this.hitCounter = meterRegistry.counter("powerauth.keypair.pool.requests", "result", "hit");
+        this.missCounter = meterRegistry.counter("powerauth.keypair.pool.requests", "result", "miss");
+        this.refillTimer = meterRegistry.timer("powerauth.keypair.pool.refill");
+        meterRegistry.gauge("powerauth.keypair.pool.size", keyPairs, BlockingQueue::size);
+        TimeGauge.builder("powerauth.keypair.pool.refill.lag", this, TimeUnit.NANOSECONDS, KeyPairPool::refillLagNanos)
+                .description("Time since the key pair pool is below its capacity")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start the refill threads.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled) {
+            return;
+        }
+        logger.info("Starting key pair pool with capacity={}, refillThreads={}", capacity, refillThreads);
+        running = true;
+        markBelowCapacity();
+        for (int i = 0; i < refillThreads; i++) {
+            final Thread thread = new Thread(this::refill, "key-pair-pool-" + i);
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    /**
+     * Stop the refill threads on graceful shutdown.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+        keyPairs.clear();
+    }
+
+    /**
+     * Take a key pair from the pool, generate a new one when the pool is disabled or empty.
+     *
+     * @return EC key pair.
+     * @throws CryptoProviderException In case cryptography provider is incorrectly initialized.
+     */
+    public KeyPair takeKeyPair() throws CryptoProviderException {
+        if (enabled) {
+            final KeyPair keyPair = keyPairs.poll();
+            markBelowCapacity();
+            if (keyPair != null) {
+                hitCounter.increment();
+                return keyPair;
+            }
+            missCounter.increment();
+        }
+        return keyGenerator.generateKeyPair();
+    }
+
+    private void refill() {
+        while (running) {
+            try {
+                final Timer.Sample sample = Timer.start();
+                final KeyPair keyPair = keyGenerator.generateKeyPair();
+                sample.stop(refillTimer);
+                // Blocks while the pool is full
+                keyPairs.put(keyPair);
+                if (keyPairs.remainingCapacity() == 0) {
+                    belowCapacitySince.set(0);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (CryptoProviderException ex) {
+                logger.error("Key pair generation failed, stopping the refill of the key pair pool", ex);
+                return;
+            }
+        }
+    }
+
+    private void markBelowCapacity() {
+        belowCapacitySince.compareAndSet(0, System.nanoTime());
+    }
+
+    private double refillLagNanos() {
+        final long since = belowCapacitySince.get();
+        if (since == 0 || keyPairs.remainingCapacity() == 0) {
+            return 0;
+        }
+        return System.nanoTime() - since;
+    }
+
+}
@@ -0,0 +1,336 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.encryption;
+
+import io.getlime.security.powerauth.app.server.configuration.PowerAuthServiceConfiguration;
+import io.getlime.security.powerauth.app.server.converter.RecoveryPrivateKeyConverter;
+import io.getlime.security.powerauth.app.server.converter.RecoveryPukConverter;
+import io.getlime.security.powerauth.app.server.converter.ServerPrivateKeyConverter;
+import io.getlime.security.powerauth.app.server.database.model.RecoveryPrivateKey;
+import io.getlime.security.powerauth.app.server.database.model.RecoveryPuk;
+import io.getlime.security.powerauth.app.server.database.model.ServerPrivateKey;
+import io.getlime.security.powerauth.app.server.database.model.entity.*;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionTarget;
+import io.getlime.security.powerauth.app.server.database.repository.*;
+import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Service encrypting records stored without encryption by the master DB encryption key in bulk.
+ * <p>
+ * Records are otherwise encrypted only when they are written, so records which are not changed, such as server private
+ * keys of idle activations, stay stored without encryption after the master DB encryption key is configured. Records
+ * are scanned in chunks ordered by their ID, see {@link EncryptionProgressEntity} for the checkpoints. Records of a chunk
+ * are encrypted in parallel and stored by conditional updates, a record changed concurrently is skipped and picked up
+ * by the next pass. The job must be enabled only when all the nodes of the cluster have the master DB encryption key
+ * configured.
+ * <p>
+ * When the previous master DB encryption key is configured, the encrypted records are scanned as well and the records
+ * which cannot be decrypted by the current key are re-encrypted by it. The checkpoints are bound to the fingerprint
+ * of the current key, a change of the key restarts the pass, so a target completed for the previous key is scanned again.
+ *
+ * @author agent, agent@local
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class ReEncryptionService {
+
+    private static final String METRIC_RECORDS = "powerauth.reencryption.records";
+    private static final String METRIC_CHUNK = "powerauth.reencryption.chunk";
+
+    private final EncryptionProgressRepository encryptionProgressRepository;
+    private final ActivationRepository activationRepository;
+    private final RecoveryCodeRepository recoveryCodeRepository;
+    private final RecoveryConfigRepository recoveryConfigRepository;
+    private final ApplicationConfigRepository applicationConfigRepository;
+    private final ServerPrivateKeyConverter serverPrivateKeyConverter;
+    private final RecoveryPukConverter recoveryPukConverter;
+    private final RecoveryPrivateKeyConverter recoveryPrivateKeyConverter;
+    private final EncryptionService encryptionService;
+    private final PowerAuthServiceConfiguration powerAuthServiceConfiguration;
+    private final ThreadPoolTaskExecutor reEncryptionThreadPoolExecutor;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Whether the re-encryption is enabled.
+     *
+     * @return True if the re-encryption is enabled and the master DB encryption key is configured.
+     */
+    public boolean isEnabled() {
+        if (!powerAuthServiceConfiguration.isReEncryptionEnabled()) {
+            return false;
+        }
+        final String masterDbEncryptionKey = powerAuthServiceConfiguration.getMasterDbEncryptionKey();
+        if (masterDbEncryptionKey == null || masterDbEncryptionKey.isEmpty()) {
+            logger.warn("Re-encryption is enabled, but the master DB encryption key is not configured");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether all the records of the given target are encrypted by the current master DB encryption key.
+     *
+     * @param target Encryption target.
+     * @return True if the last pass over the target with the current master DB encryption key found no record
+     * to encrypt and no record failed to be encrypted.
+     */
+    @Transactional(readOnly = true)
+    public boolean isCompleted(final EncryptionTarget target) {
+        final String keyFingerprint = encryptionService.getMasterDbEncryptionKeyFingerprint();
+        return encryptionProgressRepository.findById(target)
+                .map(progress -> progress.getTimestampCompleted() != null && Objects.equals(progress.getKeyFingerprint(), keyFingerprint))
+                .orElse(false);
+    }
+
+    /**
+     * Encrypt a chunk of records of the given target stored without encryption or by the previous master DB encryption
+     * key, continuing from the checkpoint.
+     *
+     * @param target Encryption target.
+     * @return Number of scanned records. A number lower than the chunk size means that the pass has finished.
+     */
+    @Transactional
+    public int encryptChunk(final EncryptionTarget target) {
+        final EncryptionProgressEntity progress = encryptionProgressRepository.findById(target).orElseGet(() -> {
+            final EncryptionProgressEntity entity = new EncryptionProgressEntity();
+            entity.setTarget(target);
+            return entity;
+        });
+        final String keyFingerprint = encryptionService.getMasterDbEncryptionKeyFingerprint();
+        if (!Objects.equals(progress.getKeyFingerprint(), keyFingerprint)) {
+            // The records scanned before the change of the master DB encryption key have to be scanned again
+            logger.info("Re-encryption pass started for the current master DB encryption key, target: {}", target);
+            progress.setKeyFingerprint(keyFingerprint);
+            progress.setLastId(null);
+            progress.setRecordsEncrypted(0);
+            progress.setRecordsFailed(0);
+            progress.setTimestampCompleted(null);
+        }
+
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        final Pageable pageable = PageRequest.of(0, powerAuthServiceConfiguration.getReEncryptionChunkSize());
+        final Collection<EncryptionMode> encryptionModes = getScannedEncryptionModes();
+        final ChunkResult result = switch (target) {
+            case ACTIVATION_SERVER_PRIVATE_KEY -> encryptChunk(
+                    target,
+                    activationRepository.findActivationsByServerPrivateKeyEncryption(encryptionModes, lastId(progress, ""), pageable),
+                    ActivationRecordEntity::getActivationId,
+                    this::encryptServerPrivateKey);
+            case RECOVERY_PUK -> encryptChunk(
+                    target,
+                    recoveryCodeRepository.findRecoveryPuksByEncryption(encryptionModes, Long.valueOf(lastId(progress, "0")), pageable),
+                    puk -> String.valueOf(puk.getId()),
+                    this::encryptRecoveryPuk);
+            case RECOVERY_POSTCARD_PRIVATE_KEY -> encryptChunk(
+                    target,
+                    recoveryConfigRepository.findRecoveryConfigsByPrivateKeyEncryption(encryptionModes, Long.valueOf(lastId(progress, "0")), pageable),
+                    config -> String.valueOf(config.getId()),
+                    this::encryptRecoveryPostcardPrivateKey);
+            case APPLICATION_CONFIG -> encryptChunk(
+                    target,
+                    applicationConfigRepository.findConfigsByEncryption(encryptionModes, Long.valueOf(lastId(progress, "0")), pageable),
+                    config -> String.valueOf(config.getRid()),
+                    this::encryptApplicationConfig);
+        };
+        sample.stop(meterRegistry.timer(METRIC_CHUNK, "target", target.name()));
+
+        progress.setRecordsEncrypted(progress.getRecordsEncrypted() + result.encrypted());
+        progress.setRecordsFailed(progress.getRecordsFailed() + result.failed());
+        progress.setTimestampLastChange(new Date());
+        if (result.scanned() < pageable.getPageSize()) {
+            logger.info("Re-encryption pass finished, target: {}, records encrypted: {}, records failed: {}",
+                    target, progress.getRecordsEncrypted(), progress.getRecordsFailed());
+            if (progress.getRecordsEncrypted() == 0 && progress.getRecordsFailed() == 0) {
+                progress.setTimestampCompleted(progress.getTimestampLastChange());
+            } else if (progress.getRecordsFailed() > 0) {
+                logger.warn("Re-encryption pass finished with failures, target: {}, records failed: {}", target, progress.getRecordsFailed());
+            }
+            // Records skipped due to a concurrent change or a failure are picked up by the next pass
+            progress.setLastId(null);
+            progress.setRecordsEncrypted(0);
+            progress.setRecordsFailed(0);
+        } else {
+            progress.setLastId(result.lastId());
+        }
+        encryptionProgressRepository.save(progress);
+        return result.scanned();
+    }
+
+    private <T> ChunkResult encryptChunk(final EncryptionTarget target, final List<T> records, final Function<T, String> idExtractor, final RecordEncryptor<T> encryptor) {
+        if (records.isEmpty()) {
+            return new ChunkResult(0, 0, 0, null);
+        }
+
+        // Encrypt the records in parallel, the cryptography does not access the database
+        final List<CompletableFuture<ToIntFunction<T>>> futures = new ArrayList<>(records.size());
+        for (T item : records) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return encryptor.encrypt(item);
+                } catch (GenericServiceException ex) {
+                    throw new CompletionException(ex);
+                }
+            }, reEncryptionThreadPoolExecutor));
+        }
+
+        int encrypted = 0;
+        int skipped = 0;
+        int failed = 0;
+        for (int i = 0; i < records.size(); i++) {
+            final T item = records.get(i);
+            try {
+                final ToIntFunction<T> update = futures.get(i).join();
+                if (update == null) {
+                    // Already encrypted by the current master DB encryption key
+                    continue;
+                }
+                if (update.applyAsInt(item) > 0) {
+                    encrypted++;
+                } else {
+                    skipped++;
+                }
+            } catch (CompletionException ex) {
+                logger.warn("Record encryption failed, target: {}, ID: {}", target, idExtractor.apply(item), ex.getCause());
+                failed++;
+            }
+        }
+        logger.debug("Re-encryption chunk processed, target: {}, encrypted: {}, skipped: {}, failed: {}", target, encrypted, skipped, failed);
+        meterRegistry.counter(METRIC_RECORDS, "target", target.name(), "result", "encrypted").increment(encrypted);
+        meterRegistry.counter(METRIC_RECORDS, "target", target.name(), "result", "skipped").increment(skipped);
+        meterRegistry.counter(METRIC_RECORDS, "target", target.name(), "result", "failed").increment(failed);
+        return new ChunkResult(records.size(), encrypted, failed, idExtractor.apply(records.get(records.size() - 1)));
+    }
+
+    private ToIntFunction<ActivationRecordEntity> encryptServerPrivateKey(final ActivationRecordEntity activation) throws GenericServiceException {
+        final ServerPrivateKey serverPrivateKey = new ServerPrivateKey(activation.getServerPrivateKeyEncryption(), activation.getServerPrivateKeyBase64());
+        if (isEncrypted(serverPrivateKey.encryptionMode())
+                && !serverPrivateKeyConverter.isEncryptedByPreviousKey(serverPrivateKey, activation.getUserId(), activation.getActivationId())) {
+            return null;
+        }
+        final String decrypted = serverPrivateKeyConverter.fromDBValue(serverPrivateKey, activation.getUserId(), activation.getActivationId());
+        final ServerPrivateKey encrypted = serverPrivateKeyConverter.toDBValue(Base64.getDecoder().decode(decrypted), activation.getUserId(), activation.getActivationId());
+        return ifEncrypted(encrypted.encryptionMode(), a -> activationRepository.encryptServerPrivateKey(
+                a.getActivationId(), a.getServerPrivateKeyBase64(), a.getServerPrivateKeyEncryption(), encrypted.serverPrivateKeyBase64(), encrypted.encryptionMode()));
+    }
+
+    private ToIntFunction<RecoveryPukEntity> encryptRecoveryPuk(final RecoveryPukEntity puk) throws GenericServiceException {
+        final RecoveryCodeEntity recoveryCode = puk.getRecoveryCode();
+        final long applicationRid = recoveryCode.getApplication().getRid();
+        final RecoveryPuk recoveryPuk = new RecoveryPuk(puk.getPukEncryption(), puk.getPuk());
+        if (isEncrypted(recoveryPuk.encryptionMode())
+                && !recoveryPukConverter.isEncryptedByPreviousKey(recoveryPuk, applicationRid, recoveryCode.getUserId(), recoveryCode.getRecoveryCode(), puk.getPukIndex())) {
+            return null;
+        }
+        final String pukHash = recoveryPukConverter.fromDBValue(recoveryPuk, applicationRid, recoveryCode.getUserId(), recoveryCode.getRecoveryCode(), puk.getPukIndex());
+        final RecoveryPuk encrypted = recoveryPukConverter.toDBValue(pukHash, applicationRid, recoveryCode.getUserId(), recoveryCode.getRecoveryCode(), puk.getPukIndex());
+        return ifEncrypted(encrypted.encryptionMode(), p -> recoveryCodeRepository.encryptRecoveryPuk(
+                p.getId(), p.getPuk(), p.getPukEncryption(), encrypted.pukHash(), encrypted.encryptionMode()));
+    }
+
+    private ToIntFunction<RecoveryConfigEntity> encryptRecoveryPostcardPrivateKey(final RecoveryConfigEntity config) throws GenericServiceException {
+        final long applicationRid = config.getApplication().getRid();
+        final RecoveryPrivateKey recoveryPrivateKey = new RecoveryPrivateKey(config.getPrivateKeyEncryption(), config.getRecoveryPostcardPrivateKeyBase64());
+        if (isEncrypted(recoveryPrivateKey.encryptionMode())
+                && !recoveryPrivateKeyConverter.isEncryptedByPreviousKey(recoveryPrivateKey, applicationRid)) {
+            return null;
+        }
+        final String decrypted = recoveryPrivateKeyConverter.fromDBValue(recoveryPrivateKey, applicationRid);
+        final RecoveryPrivateKey encrypted = recoveryPrivateKeyConverter.toDBValue(Base64.getDecoder().decode(decrypted), applicationRid);
+        return ifEncrypted(encrypted.encryptionMode(), c -> recoveryConfigRepository.encryptRecoveryPostcardPrivateKey(
+                c.getId(), c.getRecoveryPostcardPrivateKeyBase64(), c.getPrivateKeyEncryption(), encrypted.recoveryPrivateKeyBase64(), encrypted.encryptionMode()));
+    }
+
+    private ToIntFunction<ApplicationConfigEntity> encryptApplicationConfig(final ApplicationConfigEntity config) throws GenericServiceException {
+        final String values = config.getValues();
+        final EncryptionMode valuesEncryption = config.getEncryptionMode();
+        final Supplier<List<String>> encryptionKeyProvider = () -> List.of(config.getApplication().getId());
+        if (isEncrypted(valuesEncryption) && !encryptionService.isEncryptedByPreviousKey(values, valuesEncryption, encryptionKeyProvider)) {
+            return null;
+        }
+        final String decrypted = encryptionService.decrypt(values, valuesEncryption, encryptionKeyProvider);
+        final EncryptableString encrypted = encryptionService.encrypt(decrypted, encryptionKeyProvider);
+        return ifEncrypted(encrypted.encryptionMode(), c -> applicationConfigRepository.encryptValues(
+                c.getRid(), values, valuesEncryption, encrypted.encryptedData(), encrypted.encryptionMode()));
+    }
+
+    /**
+     * Get the encryption modes of the records to scan, the encrypted records are scanned only during the rotation
+     * of the master DB encryption key.
+     */
+    private Collection<EncryptionMode> getScannedEncryptionModes() {
+        final String previousKey = powerAuthServiceConfiguration.getMasterDbEncryptionPreviousKey();
+        if (previousKey == null || previousKey.isEmpty()) {
+            return EnumSet.of(EncryptionMode.NO_ENCRYPTION);
+        }
+        return EnumSet.of(EncryptionMode.NO_ENCRYPTION, EncryptionMode.AES_HMAC);
+    }
+
+    private static boolean isEncrypted(final EncryptionMode encryptionMode) {
+        return encryptionMode != EncryptionMode.NO_ENCRYPTION;
+    }
+
+    private static <T> ToIntFunction<T> ifEncrypted(final EncryptionMode encryptionMode, final ToIntFunction<T> update) {
+        if (encryptionMode == EncryptionMode.NO_ENCRYPTION) {
+            // The master DB encryption key has been removed in the meantime
+            return item -> 0;
+        }
+        return update;
+    }
+
+    private static String lastId(final EncryptionProgressEntity progress, final String initialValue) {
+        return progress.getLastId() != null ? progress.getLastId() : initialValue;
+    }
+
+    /**
+     * Encryption of a record, returning the update storing the encrypted value, or null if the record is already
+     * encrypted by the current master DB encryption key.
+     */
+    @FunctionalInterface
+    private interface RecordEncryptor<T> {
+        ToIntFunction<T> encrypt(T item) throws GenericServiceException;
+    }
+
+    private record ChunkResult(int scanned, int encrypted, int failed, String lastId) {
+    }
+
+}
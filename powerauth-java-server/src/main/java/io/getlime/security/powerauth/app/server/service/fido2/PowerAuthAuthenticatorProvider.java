@@ -121,29 +121,29 @@ public class PowerAuthAuthenticatorProvider implements AuthenticatorProvider {
         }
     }
 
+    // Not read-only, authentication must not see a removed credential on a lagging read replica
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public Optional<AuthenticatorDetail> findByCredentialId(String credentialId, String applicationId) throws Fido2AuthenticationFailedException {
-
-        // Find application
-        final Optional<ApplicationEntity> application = applicationRepository.findById(applicationId);
-        if (application.isEmpty()) {
-            logger.warn("Application with given ID is not present: {}", applicationId);
-            throw new Fido2AuthenticationFailedException("Application with given ID is not present: " + applicationId);
-        }
-
-        final List<Activation> activationRecordEntities;
-        try {
-            activationRecordEntities = activations.findByExternalId(applicationId, credentialId);
-        } catch (GenericServiceException e) {
-            throw new Fido2AuthenticationFailedException("Activation was removed during authentication.");
-        }
-        if (activationRecordEntities == null || activationRecordEntities.size() != 1) {
+        final List<AuthenticatorDetail> authenticators = findByCredentialIds(List.of(credentialId), applicationId);
+        if (authenticators.size() != 1) {
             throw new Fido2AuthenticationFailedException("Two authenticators with the same ID exist - ambiguous result.");
         }
-        final Activation activation = activationRecordEntities.get(0);
+        return Optional.of(authenticators.get(0));
+    }
 
-        return convert(activation, application.get());
+    // Not read-only, authentication must not see a removed credential on a lagging read replica
+    @Override
+    @Transactional
+    public List<AuthenticatorDetail> findByCredentialIds(List<String> credentialIds, String applicationId) throws Fido2AuthenticationFailedException {
+        // Activations are fetched together with the application using the index on application ID and external ID
+        final List<ActivationRecordEntity> activationRecordEntities = activationQueryService.findByExternalIds(applicationId, credentialIds);
+        final List<AuthenticatorDetail> authenticatorDetailList = new ArrayList<>();
+        for (ActivationRecordEntity activation : activationRecordEntities) {
+            final Optional<AuthenticatorDetail> authenticatorOptional = convert(toActivation(activation), activation.getApplication());
+            authenticatorOptional.ifPresent(authenticatorDetailList::add);
+        }
+        return authenticatorDetailList;
     }
 
     @Override
@@ -226,26 +226,7 @@ public class PowerAuthAuthenticatorProvider implements AuthenticatorProvider {
             activationHistory.saveActivationAndLogChange(activation);
             callbacks.notifyCallbackListenersOnActivationChange(activation);
 
-            final Activation activationResponse = new Activation();
-            activationResponse.setActivationId(activation.getActivationId());
-            activationResponse.setActivationStatus(activationStatusConverter.convert(activation.getActivationStatus()));
-            activationResponse.setBlockedReason(activation.getBlockedReason());
-            activationResponse.setExternalId(activation.getExternalId());
-            activationResponse.setActivationName(activation.getActivationName());
-            activationResponse.setExtras(activation.getExtras());
-            activationResponse.setPlatform(activation.getPlatform());
-            activationResponse.setDeviceInfo(activation.getDeviceInfo());
-            activationResponse.getActivationFlags().addAll(activation.getFlags());
-            activationResponse.setTimestampCreated(activation.getTimestampCreated());
-            activationResponse.setTimestampLastUsed(activation.getTimestampLastUsed());
-            activationResponse.setTimestampLastChange(activation.getTimestampLastChange());
-            activationResponse.setUserId(activation.getUserId());
-            activationResponse.setApplicationId(activation.getApplication().getId());
-            // Unknown version is converted to 0 in service
-            activationResponse.setVersion(activation.getVersion() == null ? 0L : activation.getVersion());
-            activationResponse.setFailedAttempts(activation.getFailedAttempts());
-            activationResponse.setMaxFailedAttempts(activation.getMaxFailedAttempts());
-            activationResponse.setDevicePublicKeyBase64(activation.getDevicePublicKeyBase64());
+            final Activation activationResponse = toActivation(activation);
 
             auditStoredAuthenticator(activationResponse);
 
@@ -286,6 +267,30 @@ public class PowerAuthAuthenticatorProvider implements AuthenticatorProvider {
         audit.log(AuditLevel.INFO, "Stored authenticator for activation with ID: {}", auditDetail, activation.getActivationId());
     }
 
+    private Activation toActivation(final ActivationRecordEntity activation) {
+        final Activation activationResponse = new Activation();
+        activationResponse.setActivationId(activation.getActivationId());
+        activationResponse.setActivationStatus(activationStatusConverter.convert(activation.getActivationStatus()));
+        activationResponse.setBlockedReason(activation.getBlockedReason());
+        activationResponse.setExternalId(activation.getExternalId());
+        activationResponse.setActivationName(activation.getActivationName());
+        activationResponse.setExtras(activation.getExtras());
+        activationResponse.setPlatform(activation.getPlatform());
+        activationResponse.setDeviceInfo(activation.getDeviceInfo());
+        activationResponse.getActivationFlags().addAll(activation.getFlags());
+        activationResponse.setTimestampCreated(activation.getTimestampCreated());
+        activationResponse.setTimestampLastUsed(activation.getTimestampLastUsed());
+        activationResponse.setTimestampLastChange(activation.getTimestampLastChange());
+        activationResponse.setUserId(activation.getUserId());
+        activationResponse.setApplicationId(activation.getApplication().getId());
+        // Unknown version is converted to 0 in service
+        activationResponse.setVersion(activation.getVersion() == null ? 0L : activation.getVersion());
+        activationResponse.setFailedAttempts(activation.getFailedAttempts());
+        activationResponse.setMaxFailedAttempts(activation.getMaxFailedAttempts());
+        activationResponse.setDevicePublicKeyBase64(activation.getDevicePublicKeyBase64());
+        return activationResponse;
+    }
+
     private Optional<AuthenticatorDetail> convert(Activation activation, ApplicationEntity application) {
         final AuthenticatorDetail authenticatorDetail = new AuthenticatorDetail();
 
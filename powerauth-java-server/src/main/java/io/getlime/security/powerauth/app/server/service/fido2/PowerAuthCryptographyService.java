@@ -69,7 +69,7 @@ public class PowerAuthCryptographyService implements CryptographyService {
     private final Fido2CertificateValidator certificateValidator;
 
     public boolean verifySignatureForAssertion(String applicationId, String credentialId, CollectedClientData clientDataJSON, AuthenticatorData authData, byte[] signature, AuthenticatorDetail authenticatorDetail) throws GenericCryptoException, InvalidKeySpecException, CryptoProviderException, InvalidKeyException {
-        if (!checkAndPersistCounter(applicationId, credentialId, authData.getSignCount())) {
+        if (!checkAndPersistCounter(authenticatorDetail.getActivationId(), authData.getSignCount())) {
             return false;
         }
         byte[] dataSuffix = null;
@@ -117,17 +117,14 @@ public class PowerAuthCryptographyService implements CryptographyService {
         return signatureUtils.validateECDSASignature(signableData, signature, publicKey);
     }
 
-    private boolean checkAndPersistCounter(String applicationId, String credentialId, int signCount) {
-        final List<ActivationRecordEntity> activations = activationQueryService.findByExternalId(applicationId, credentialId);
-        if (activations.isEmpty()) {
-            logger.warn("Activation not found, external ID: {}", credentialId);
+    private boolean checkAndPersistCounter(String activationId, int signCount) {
+        // The authenticator is already resolved by the credential ID, the activation is fetched by its primary key
+        final Optional<ActivationRecordEntity> activationOptional = activationQueryService.findActivationWithoutLock(activationId);
+        if (activationOptional.isEmpty()) {
+            logger.warn("Activation not found, activation ID: {}", activationId);
             return false;
         }
-        if (activations.size() > 1) {
-            logger.warn("Multiple activations with same external ID found, external ID: {}", credentialId);
-            return false;
-        }
-        final ActivationRecordEntity activation = activations.get(0);
+        final ActivationRecordEntity activation = activationOptional.get();
         if (signCount == 0 && activation.getCounter() == 0) {
             return true;
         }
@@ -95,8 +95,9 @@ public class PowerAuthRegistrationProvider implements RegistrationProvider {
         return registrationChallenge;
     }
 
+    // Not read-only, registration must not miss a challenge just created on a lagging read replica
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public RegistrationChallenge findRegistrationChallengeByValue(String applicationId, String challengeValue) throws Fido2AuthenticationFailedException {
 
         // Find application
@@ -31,6 +31,7 @@ public class SignatureResponse {
     private byte[] ctrDataNext;
     private Integer forcedSignatureVersion;
     private SignatureType usedSignatureType;
+    private int usedSignatureDataIndex;
 
     /**
      * No-arg constructor.
@@ -54,6 +55,20 @@ public class SignatureResponse {
         this.usedSignatureType = usedSignatureType;
     }
 
+    /**
+     * Verify signature response constructor.
+     * @param signatureValid Whether signature is valid.
+     * @param ctrNext Next numeric counter value in case signature is valid.
+     * @param ctrDataNext Next hash based counter data in case signature is valid.
+     * @param forcedSignatureVersion Signature version which may differ from activation version during upgrade.
+     * @param usedSignatureType Signature type which was used during verification of the signature.
+     * @param usedSignatureDataIndex Index of the signature data candidate which was verified successfully.
+     */
+    public SignatureResponse(boolean signatureValid, long ctrNext, byte[] ctrDataNext, Integer forcedSignatureVersion, SignatureType usedSignatureType, int usedSignatureDataIndex) {
+        this(signatureValid, ctrNext, ctrDataNext, forcedSignatureVersion, usedSignatureType);
+        this.usedSignatureDataIndex = usedSignatureDataIndex;
+    }
+
     /**
      * Get whether signature is valid.
      * @return Whether signature is valid.
@@ -93,4 +108,12 @@ public class SignatureResponse {
     public SignatureType getUsedSignatureType() {
         return usedSignatureType;
     }
+
+    /**
+     * Get index of the signature data candidate which was verified successfully, {@code 0} for an invalid signature.
+     * @return Index of the signature data candidate.
+     */
+    public int getUsedSignatureDataIndex() {
+        return usedSignatureDataIndex;
+    }
 }
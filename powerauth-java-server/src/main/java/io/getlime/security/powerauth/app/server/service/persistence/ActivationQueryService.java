@@ -38,6 +38,14 @@ public interface ActivationQueryService {
      */
     Optional<ActivationRecordEntity> findActivationForUpdate(String activationId);
 
+    /**
+     * Find activations with given IDs and lock them for an update. Activations which do not exist are skipped.
+     * Unlike the other queries, a failure is propagated, so that the caller does not report an update which has not happened.
+     * @param activationIds Activation IDs.
+     * @return List of locked activations ordered by activation ID.
+     */
+    List<ActivationRecordEntity> findActivationsForUpdate(Collection<String> activationIds);
+
     /**
      * Find the first activation with given activation ID.
      * The activation record is not locked in DB.
@@ -68,6 +76,31 @@ public interface ActivationQueryService {
      */
     List<ActivationRecordEntity> findByApplicationIdAndUserIdAndActivationStatusIn(String applicationId, String userId, Set<ActivationStatus> activationStatuses, Pageable pageable);
 
+    /**
+     * Find activations for given user ID created before the given position, ordered by creation timestamp and activation ID.
+     *
+     * @param userId User ID
+     * @param activationStatuses Statuses according to which activations should be filtered.
+     * @param timestampCreated Creation timestamp of the last activation of the previous page.
+     * @param activationId Activation ID of the last activation of the previous page.
+     * @param pageable pageable context
+     * @return List of activations for given user
+     */
+    List<ActivationRecordEntity> findByUserIdAndActivationStatusInAfter(String userId, Set<ActivationStatus> activationStatuses, Date timestampCreated, String activationId, Pageable pageable);
+
+    /**
+     * Find activations for given user ID and application ID created before the given position, ordered by creation timestamp and activation ID.
+     *
+     * @param applicationId Application ID
+     * @param userId        User ID
+     * @param activationStatuses Statuses according to which activations should be filtered.
+     * @param timestampCreated Creation timestamp of the last activation of the previous page.
+     * @param activationId Activation ID of the last activation of the previous page.
+     * @param pageable pageable context
+     * @return List of activations for given user and application
+     */
+    List<ActivationRecordEntity> findByApplicationIdAndUserIdAndActivationStatusInAfter(String applicationId, String userId, Set<ActivationStatus> activationStatuses, Date timestampCreated, String activationId, Pageable pageable);
+
     /**
      * Find an activation by code without a lock. The record may be updated by another transaction.
      * @param applicationId Application ID.
@@ -85,9 +118,10 @@ public interface ActivationQueryService {
      * @param timestampLastUsedBefore Last used timestamp (timestampLastUsed &lt; timestampLastUsedBefore), use the 1.1.9999 value for any date (null date values in query cause problems in PostgreSQL).
      * @param timestampLastUsedAfter Last used timestamp (timestampLastUsed &gt;= timestampLastUsedAfter), use the 1.1.1970 value for any date (null date values in query cause problems in PostgreSQL).
      * @param states List of activation states to consider.
+     * @param activationFlags Activation flags which the activations must have, use null or an empty collection for any flags.
      * @return List of activations which match the query criteria.
      */
-    List<ActivationRecordEntity> lookupActivations(Collection<String> userIds, Collection<String> applicationIds, Date timestampLastUsedBefore, Date timestampLastUsedAfter, Collection<ActivationStatus> states);
+    List<ActivationRecordEntity> lookupActivations(Collection<String> userIds, Collection<String> applicationIds, Date timestampLastUsedBefore, Date timestampLastUsedAfter, Collection<ActivationStatus> states, Collection<String> activationFlags);
 
     /**
      * Fetch all activations that are in a given state, were expired after a specified timestamp, and are already expired according to a provided current timestamp.
@@ -107,4 +141,13 @@ public interface ActivationQueryService {
      */
     List<ActivationRecordEntity> findByExternalId(String applicationId, String externalId);
 
+    /**
+     * Find activations of the given application by any of the given external identifiers, together with the application.
+     *
+     * @param applicationId Application ID.
+     * @param externalIds External identifiers.
+     * @return List of activations.
+     */
+    List<ActivationRecordEntity> findByExternalIds(String applicationId, Collection<String> externalIds);
+
 }
\ No newline at end of file
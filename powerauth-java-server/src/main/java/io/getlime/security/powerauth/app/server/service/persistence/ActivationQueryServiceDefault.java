@@ -42,6 +42,9 @@ public class ActivationQueryServiceDefault implements ActivationQueryService {
 
     private static final Logger logger = LoggerFactory.getLogger(ActivationQueryServiceDefault.class);
 
+    // Maximum number of activation IDs in a single query, Oracle limits IN lists to 1000 items
+    private static final int ACTIVATION_IDS_CHUNK_SIZE = 1000;
+
     private final ActivationRepository activationRepository;
 
     @Autowired
@@ -59,6 +62,21 @@ public class ActivationQueryServiceDefault implements ActivationQueryService {
         }
     }
 
+    @Override
+    public List<ActivationRecordEntity> findActivationsForUpdate(Collection<String> activationIds) {
+        // Chunks are locked in ascending order of activation IDs, so that the overall lock order is kept
+        final List<String> sortedActivationIds = activationIds.stream()
+                .distinct()
+                .sorted()
+                .toList();
+        final List<ActivationRecordEntity> result = new ArrayList<>(sortedActivationIds.size());
+        for (int from = 0; from < sortedActivationIds.size(); from += ACTIVATION_IDS_CHUNK_SIZE) {
+            final List<String> chunk = sortedActivationIds.subList(from, Math.min(from + ACTIVATION_IDS_CHUNK_SIZE, sortedActivationIds.size()));
+            result.addAll(activationRepository.findActivationsWithLock(chunk));
+        }
+        return result;
+    }
+
     @Override
     public Optional<ActivationRecordEntity> findActivationWithoutLock(String activationId) {
         try {
@@ -89,6 +107,26 @@ public class ActivationQueryServiceDefault implements ActivationQueryService {
         }
     }
 
+    @Override
+    public List<ActivationRecordEntity> findByUserIdAndActivationStatusInAfter(String userId, Set<ActivationStatus> activationStatuses, Date timestampCreated, String activationId, Pageable pageable) {
+        try {
+            return activationRepository.findByUserIdAndActivationStatusInAfter(userId, activationStatuses, timestampCreated, activationId, pageable);
+        } catch (Exception ex) {
+            logger.error("Activation query failed", ex);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<ActivationRecordEntity> findByApplicationIdAndUserIdAndActivationStatusInAfter(String applicationId, String userId, Set<ActivationStatus> activationStatuses, Date timestampCreated, String activationId, Pageable pageable) {
+        try {
+            return activationRepository.findByApplicationIdAndUserIdAndActivationStatusInAfter(applicationId, userId, activationStatuses, timestampCreated, activationId, pageable);
+        } catch (Exception ex) {
+            logger.error("Activation query failed", ex);
+            return Collections.emptyList();
+        }
+    }
+
     @Override
     public Optional<ActivationRecordEntity> findActivationByCodeWithoutLock(String applicationId, String activationCode, Collection<ActivationStatus> states, Date currentTimestamp) {
         try {
@@ -100,9 +138,13 @@ public class ActivationQueryServiceDefault implements ActivationQueryService {
     }
 
     @Override
-    public List<ActivationRecordEntity> lookupActivations(Collection<String> userIds, Collection<String> applicationIds, Date timestampLastUsedBefore, Date timestampLastUsedAfter, Collection<ActivationStatus> states) {
+    public List<ActivationRecordEntity> lookupActivations(Collection<String> userIds, Collection<String> applicationIds, Date timestampLastUsedBefore, Date timestampLastUsedAfter, Collection<ActivationStatus> states, Collection<String> activationFlags) {
         try {
-            return activationRepository.lookupActivations(userIds, applicationIds, timestampLastUsedBefore, timestampLastUsedAfter, states);
+            if (activationFlags == null || activationFlags.isEmpty()) {
+                return activationRepository.lookupActivations(userIds, applicationIds, timestampLastUsedBefore, timestampLastUsedAfter, states);
+            }
+            final Set<String> distinctFlags = new HashSet<>(activationFlags);
+            return activationRepository.lookupActivationsWithFlags(userIds, applicationIds, timestampLastUsedBefore, timestampLastUsedAfter, states, distinctFlags, distinctFlags.size());
         } catch (Exception ex) {
             logger.error("Activation query failed", ex);
             return Collections.emptyList();
@@ -129,4 +171,14 @@ public class ActivationQueryServiceDefault implements ActivationQueryService {
         }
     }
 
+    @Override
+    public List<ActivationRecordEntity> findByExternalIds(String applicationId, Collection<String> externalIds) {
+        try {
+            return activationRepository.findByExternalIds(applicationId, externalIds);
+        } catch (Exception ex) {
+            logger.error("Activation query failed", ex);
+            return Collections.emptyList();
+        }
+    }
+
 }
\ No newline at end of file
@@ -57,6 +57,17 @@ public class ActivationQueryServiceMssql implements ActivationQueryService {
         }
     }
 
+    @Override
+    public List<ActivationRecordEntity> findActivationsForUpdate(Collection<String> activationIds) {
+        // Application locks are acquired one by one, ordered by activation ID to avoid deadlocks
+        return activationIds.stream()
+                .distinct()
+                .sorted()
+                .map(activationRepository::findActivationWithLockMssql)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
     @Override
     public Optional<ActivationRecordEntity> findActivationWithoutLock(String activationId) {
         try {
@@ -87,6 +98,26 @@ public class ActivationQueryServiceMssql implements ActivationQueryService {
         }
     }
 
+    @Override
+    public List<ActivationRecordEntity> findByUserIdAndActivationStatusInAfter(String userId, Set<ActivationStatus> activationStatuses, Date timestampCreated, String activationId, Pageable pageable) {
+        try {
+            return activationRepository.findByUserIdAndActivationStatusInAfter(userId, activationStatuses, timestampCreated, activationId, pageable);
+        } catch (Exception ex) {
+            logger.error("Activation query failed", ex);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<ActivationRecordEntity> findByApplicationIdAndUserIdAndActivationStatusInAfter(String applicationId, String userId, Set<ActivationStatus> activationStatuses, Date timestampCreated, String activationId, Pageable pageable) {
+        try {
+            return activationRepository.findByApplicationIdAndUserIdAndActivationStatusInAfter(applicationId, userId, activationStatuses, timestampCreated, activationId, pageable);
+        } catch (Exception ex) {
+            logger.error("Activation query failed", ex);
+            return Collections.emptyList();
+        }
+    }
+
     @Override
     public Optional<ActivationRecordEntity> findActivationByCodeWithoutLock(String applicationId, String activationCode, Collection<ActivationStatus> states, Date currentTimestamp) {
         try {
@@ -98,9 +129,13 @@ public class ActivationQueryServiceMssql implements ActivationQueryService {
     }
 
     @Override
-    public List<ActivationRecordEntity> lookupActivations(Collection<String> userIds, Collection<String> applicationIds, Date timestampLastUsedBefore, Date timestampLastUsedAfter, Collection<ActivationStatus> states) {
+    public List<ActivationRecordEntity> lookupActivations(Collection<String> userIds, Collection<String> applicationIds, Date timestampLastUsedBefore, Date timestampLastUsedAfter, Collection<ActivationStatus> states, Collection<String> activationFlags) {
         try {
-            return activationRepository.lookupActivations(userIds, applicationIds, timestampLastUsedBefore, timestampLastUsedAfter, states);
+            if (activationFlags == null || activationFlags.isEmpty()) {
+                return activationRepository.lookupActivations(userIds, applicationIds, timestampLastUsedBefore, timestampLastUsedAfter, states);
+            }
+            final Set<String> distinctFlags = new HashSet<>(activationFlags);
+            return activationRepository.lookupActivationsWithFlags(userIds, applicationIds, timestampLastUsedBefore, timestampLastUsedAfter, states, distinctFlags, distinctFlags.size());
         } catch (Exception ex) {
             logger.error("Activation query failed", ex);
             return Collections.emptyList();
@@ -127,4 +162,14 @@ public class ActivationQueryServiceMssql implements ActivationQueryService {
         }
     }
 
+    @Override
+    public List<ActivationRecordEntity> findByExternalIds(String applicationId, Collection<String> externalIds) {
+        try {
+            return activationRepository.findByExternalIds(applicationId, externalIds);
+        } catch (Exception ex) {
+            logger.error("Activation query failed", ex);
+            return Collections.emptyList();
+        }
+    }
+
 }
\ No newline at end of file
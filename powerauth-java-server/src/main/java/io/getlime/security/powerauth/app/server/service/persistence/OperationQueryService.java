@@ -77,6 +77,43 @@ public interface OperationQueryService {
      */
     Stream<OperationEntity> findOperationsByExternalId(String externalId, List<String> applicationIds, final Pageable pageable);
 
+    /**
+     * Find all operations with search criteria created before the given position, ordered by creation timestamp and ID.
+     * @param userId User identifier.
+     * @param applicationIds Application identifiers.
+     * @param activationId Activation identifier.
+     * @param activationFlags Activation flags.
+     * @param timestampCreated Creation timestamp of the last operation of the previous page.
+     * @param operationId Identifier of the last operation of the previous page.
+     * @param pageable Pageable.
+     * @return Stream of operations.
+     */
+    Stream<OperationEntity> findAllOperationsForUserAfter(String userId, List<String> applicationIds, String activationId, List<String> activationFlags, Date timestampCreated, String operationId, final Pageable pageable);
+
+    /**
+     * Find pending operations with search criteria created before the given position, ordered by creation timestamp and ID.
+     * @param userId User identifier.
+     * @param applicationIds Application identifiers.
+     * @param activationId Activation identifier.
+     * @param activationFlags Activation flags.
+     * @param timestampCreated Creation timestamp of the last operation of the previous page.
+     * @param operationId Identifier of the last operation of the previous page.
+     * @param pageable Pageable.
+     * @return Stream of operations.
+     */
+    Stream<OperationEntity> findPendingOperationsForUserAfter(String userId, List<String> applicationIds, String activationId, List<String> activationFlags, Date timestampCreated, String operationId, final Pageable pageable);
+
+    /**
+     * Find operations by an external identifier created before the given position, ordered by creation timestamp and ID.
+     * @param externalId External identifier.
+     * @param applicationIds Application identifiers.
+     * @param timestampCreated Creation timestamp of the last operation of the previous page.
+     * @param operationId Identifier of the last operation of the previous page.
+     * @param pageable Pageable.
+     * @return Stream of operations.
+     */
+    Stream<OperationEntity> findOperationsByExternalIdAfter(String externalId, List<String> applicationIds, Date timestampCreated, String operationId, final Pageable pageable);
+
     /**
      * Find expired pending operations.
      * @param timestamp Timestamp.
@@ -85,4 +122,12 @@ public interface OperationQueryService {
      */
     Stream<OperationEntity> findExpiredPendingOperations(Date timestamp, Pageable pageable);
 
+    /**
+     * Find expired pending operations and lock them, skipping operations already locked by another transaction.
+     * @param timestamp Timestamp.
+     * @param pageable Pageable.
+     * @return List of locked operations.
+     */
+    List<OperationEntity> findExpiredPendingOperationsSkipLocked(Date timestamp, Pageable pageable);
+
 }
\ No newline at end of file
@@ -27,6 +27,7 @@ import org.springframework.context.annotation.Conditional;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -104,6 +105,36 @@ public class OperationQueryServiceMssql implements OperationQueryService {
         }
     }
 
+    @Override
+    public Stream<OperationEntity> findAllOperationsForUserAfter(String userId, List<String> applicationIds, String activationId, List<String> activationFlags, Date timestampCreated, String operationId, Pageable pageable) {
+        try {
+            return operationRepository.findAllOperationsForUserAfter(userId, applicationIds, activationId, activationFlags, timestampCreated, operationId, pageable);
+        } catch (Exception ex) {
+            logger.error("Operation query failed", ex);
+            return Stream.empty();
+        }
+    }
+
+    @Override
+    public Stream<OperationEntity> findPendingOperationsForUserAfter(String userId, List<String> applicationIds, String activationId, List<String> activationFlags, Date timestampCreated, String operationId, Pageable pageable) {
+        try {
+            return operationRepository.findPendingOperationsForUserAfter(userId, applicationIds, activationId, activationFlags, timestampCreated, operationId, pageable);
+        } catch (Exception ex) {
+            logger.error("Operation query failed", ex);
+            return Stream.empty();
+        }
+    }
+
+    @Override
+    public Stream<OperationEntity> findOperationsByExternalIdAfter(String externalId, List<String> applicationIds, Date timestampCreated, String operationId, Pageable pageable) {
+        try {
+            return operationRepository.findOperationsByExternalIdAfter(externalId, applicationIds, timestampCreated, operationId, pageable);
+        } catch (Exception ex) {
+            logger.error("Operation query failed", ex);
+            return Stream.empty();
+        }
+    }
+
     @Override
     public Stream<OperationEntity> findExpiredPendingOperations(Date timestamp, Pageable pageable) {
         try {
@@ -114,4 +145,14 @@ public class OperationQueryServiceMssql implements OperationQueryService {
         }
     }
 
-}
\ No newline at end of file
+    @Override
+    public List<OperationEntity> findExpiredPendingOperationsSkipLocked(Date timestamp, Pageable pageable) {
+        try {
+            return operationRepository.findExpiredPendingOperationsSkipLocked(timestamp, pageable);
+        } catch (Exception ex) {
+            logger.error("Operation query failed", ex);
+            return Collections.emptyList();
+        }
+    }
+
+}
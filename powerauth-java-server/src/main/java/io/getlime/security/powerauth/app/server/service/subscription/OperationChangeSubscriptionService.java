@@ -0,0 +1,377 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.subscription;
+
+import com.wultra.security.powerauth.client.model.entity.OperationChangeEvent;
+import com.wultra.security.powerauth.client.model.enumeration.OperationStatus;
+import com.wultra.security.powerauth.client.model.request.OperationChangeSubscribeRequest;
+import com.wultra.security.powerauth.client.model.validator.OperationChangeSubscribeRequestValidator;
+import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationEntity;
+import io.getlime.security.powerauth.app.server.database.model.entity.OperationEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
+import io.getlime.security.powerauth.app.server.database.repository.OperationRepository;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationBus;
+import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
+import io.getlime.security.powerauth.app.server.service.model.ServiceError;
+import io.getlime.security.powerauth.app.server.service.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service pushing operation changes to subscribers using server-sent events.
+ * <p>
+ * Subscribers register either for a user ID, an application ID, or both. Events are published only after
+ * the transaction changing the operation commits and they are dispatched by a single thread so that the
+ * subscribers observe changes of an operation in order. The dispatching thread only puts the event into a bounded
+ * queue of each subscriber, the events are sent by a separate pool of threads, each subscriber being served by
+ * at most one thread at a time. A subscriber whose queue is full or whose send is stuck longer than the send timeout
+ * is closed, so that a slow client does not delay events of the others.
+ * <p>
+ * Subscriptions are node-local. The node which processed the change delivers the event to its own subscribers and
+ * announces the change to the other nodes through the {@link CacheInvalidationBus}. The other nodes load the operation
+ * from the database and deliver the event to their subscribers, so each of them sees the state of the operation at
+ * the time of loading.
+ *
+ * @author agent, agent@local
+ */
+@Service
+@Slf4j
+public class OperationChangeSubscriptionService {
+
+    private static final String EVENT_NAME = "operation-change";
+
+    private final Map<String, Set<Subscription>> userSubscriptions = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscription>> applicationSubscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriptionCount = new AtomicInteger();
+
+    private final TaskExecutor operationChangeEventsThreadPoolExecutor;
+    private final TaskExecutor operationChangeSendThreadPoolExecutor;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final OperationRepository operationRepository;
+    private final TransactionOperations transactionOperations;
+    private final boolean enabled;
+    private final Duration timeout;
+    private final int maxSubscriptions;
+    private final int subscriberQueueCapacity;
+    private final Duration sendTimeout;
+
+    @Autowired
+    public OperationChangeSubscriptionService(
+            final TaskExecutor operationChangeEventsThreadPoolExecutor,
+            final TaskExecutor operationChangeSendThreadPoolExecutor,
+            final CacheInvalidationBus cacheInvalidationBus,
+            final OperationRepository operationRepository,
+            final TransactionOperations transactionOperations,
+            @Value("${powerauth.service.operations.subscriptions.enabled:false}") final boolean enabled,
+            @Value("${powerauth.service.operations.subscriptions.timeout:5m}") final Duration timeout,
+            @Value("${powerauth.service.operations.subscriptions.maxSubscriptions:1000}") final int maxSubscriptions,
+            @Value("${powerauth.service.operations.subscriptions.subscriberQueueCapacity:100}") final int subscriberQueueCapacity,
+            @Value("${powerauth.service.operations.subscriptions.sendTimeout:10s}") final Duration sendTimeout) {
+        this.operationChangeEventsThreadPoolExecutor = operationChangeEventsThreadPoolExecutor;
+        this.operationChangeSendThreadPoolExecutor = operationChangeSendThreadPoolExecutor;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.operationRepository = operationRepository;
+        this.transactionOperations = transactionOperations;
+        this.enabled = enabled;
+        this.timeout = timeout;
+        this.maxSubscriptions = maxSubscriptions;
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+        this.sendTimeout = sendTimeout;
+        if (enabled) {
+            cacheInvalidationBus.subscribe(CacheInvalidationType.OPERATION_CHANGE, this::receive);
+        }
+    }
+
+    /**
+     * Subscribe to changes of operations of the given user and/or application.
+     *
+     * @param request Subscribe request.
+     * @return Emitter of operation change events.
+     * @throws GenericServiceException In case the request is invalid or the subscription cannot be created.
+     */
+    public SseEmitter subscribe(final OperationChangeSubscribeRequest request) throws GenericServiceException {
+        final String error = OperationChangeSubscribeRequestValidator.validate(request);
+        if (error != null) {
+            throw new GenericServiceException(ServiceError.INVALID_REQUEST, error);
+        }
+        if (!enabled) {
+            logger.warn("Operation change subscriptions are disabled");
+            throw new GenericServiceException(ServiceError.OPERATION_ERROR, "Operation change subscriptions are disabled");
+        }
+        if (subscriptionCount.incrementAndGet() > maxSubscriptions) {
+            subscriptionCount.decrementAndGet();
+            logger.warn("Maximum number of operation change subscriptions reached: {}", maxSubscriptions);
+            throw new GenericServiceException(ServiceError.OPERATION_ERROR, "Maximum number of operation change subscriptions reached");
+        }
+
+        final SseEmitter emitter = createEmitter(timeout.toMillis());
+        final Subscription subscription = new Subscription(emitter, emptyToNull(request.getUserId()), emptyToNull(request.getApplicationId()), subscriberQueueCapacity);
+        register(subscription);
+        emitter.onCompletion(() -> unregister(subscription));
+        emitter.onTimeout(() -> unregister(subscription));
+        emitter.onError(e -> unregister(subscription));
+        logger.debug("Operation change subscription created, user ID: {}, application ID: {}", subscription.userId, subscription.applicationId);
+        return emitter;
+    }
+
+    /**
+     * Publish a change of the operation to its subscribers on all nodes once the current transaction commits.
+     *
+     * @param operation Changed operation.
+     */
+    public void publish(final OperationEntity operation) {
+        if (!enabled) {
+            return;
+        }
+        // Subscribers of the other nodes are not known here, announce the change to every node
+        cacheInvalidationBus.publishRemote(CacheInvalidationType.OPERATION_CHANGE, operation.getId());
+        if (subscriptionCount.get() == 0) {
+            return;
+        }
+        final OperationChangeEvent event = convert(operation);
+        TransactionUtils.executeAfterTransactionCommits(() -> execute(event.getOperationId(), () -> dispatch(event)));
+    }
+
+    /**
+     * Deliver a change of the operation announced by another node to the subscribers of the current node.
+     *
+     * @param operationId Operation ID.
+     */
+    private void receive(final String operationId) {
+        if (subscriptionCount.get() == 0) {
+            return;
+        }
+        execute(operationId, () -> loadEvent(operationId).ifPresent(this::dispatch));
+    }
+
+    private Optional<OperationChangeEvent> loadEvent(final String operationId) {
+        try {
+            // Not read-only, the change must not be missed on a lagging read replica
+            final Optional<OperationChangeEvent> event = transactionOperations.execute(status ->
+                    operationRepository.findOperationWithoutLock(operationId).map(OperationChangeSubscriptionService::convert));
+            if (event == null || event.isEmpty()) {
+                logger.debug("Changed operation not found, operation ID: {}", operationId);
+                return Optional.empty();
+            }
+            return event;
+        } catch (RuntimeException ex) {
+            logger.warn("Loading of changed operation failed, operation ID: {}", operationId, ex);
+            return Optional.empty();
+        }
+    }
+
+    private void execute(final String operationId, final Runnable task) {
+        try {
+            operationChangeEventsThreadPoolExecutor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            logger.warn("Operation change event was rejected, operation ID: {}", operationId);
+            logger.debug("Exception detail: ", ex);
+        }
+    }
+
+    /**
+     * Create the emitter of a new subscription.
+     *
+     * @param timeoutMillis Timeout of the emitter in milliseconds.
+     * @return Emitter.
+     */
+    SseEmitter createEmitter(final long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void dispatch(final OperationChangeEvent event) {
+        final Set<Subscription> subscriptions = new LinkedHashSet<>();
+        if (event.getUserId() != null) {
+            subscriptions.addAll(userSubscriptions.getOrDefault(event.getUserId(), Collections.emptySet()));
+        }
+        event.getApplications().forEach(applicationId ->
+                subscriptions.addAll(applicationSubscriptions.getOrDefault(applicationId, Collections.emptySet())));
+
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.matches(event)) {
+                continue;
+            }
+            if (subscription.isSendStuck(sendTimeout)) {
+                logger.info("Closing stuck operation change subscription, user ID: {}, application ID: {}", subscription.userId, subscription.applicationId);
+                close(subscription);
+            } else if (!subscription.pending.offer(event)) {
+                logger.info("Closing operation change subscription which fell behind, user ID: {}, application ID: {}", subscription.userId, subscription.applicationId);
+                close(subscription);
+            } else {
+                scheduleSend(subscription);
+            }
+        }
+    }
+
+    private void scheduleSend(final Subscription subscription) {
+        if (!subscription.sending.compareAndSet(false, true)) {
+            // The event is sent by the thread currently serving the subscription
+            return;
+        }
+        try {
+            operationChangeSendThreadPoolExecutor.execute(() -> send(subscription));
+        } catch (RejectedExecutionException ex) {
+            logger.warn("Sending of operation change events was rejected, user ID: {}, application ID: {}", subscription.userId, subscription.applicationId);
+            logger.debug("Exception detail: ", ex);
+            subscription.sending.set(false);
+            close(subscription);
+        }
+    }
+
+    /**
+     * Send the queued events of the subscription. Only the thread which acquired the sending flag of the subscription
+     * sends its events and completes its emitter, so that the dispatching thread never waits for the emitter.
+     */
+    private void send(final Subscription subscription) {
+        do {
+            OperationChangeEvent event;
+            while (!subscription.closed.get() && (event = subscription.pending.poll()) != null) {
+                if (!send(subscription, event)) {
+                    return;
+                }
+            }
+            if (subscription.closed.get()) {
+                subscription.emitter.complete();
+                return;
+            }
+            subscription.sending.set(false);
+        } while ((subscription.closed.get() || !subscription.pending.isEmpty()) && subscription.sending.compareAndSet(false, true));
+    }
+
+    private boolean send(final Subscription subscription, final OperationChangeEvent event) {
+        subscription.sendStarted.set(System.nanoTime());
+        try {
+            subscription.emitter.send(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .id(event.getOperationId())
+                    .data(event, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            logger.debug("Unable to send operation change event, operation ID: {}", event.getOperationId(), ex);
+            unregister(subscription);
+            subscription.closed.set(true);
+            subscription.emitter.completeWithError(ex);
+            return false;
+        } finally {
+            subscription.sendStarted.set(0);
+        }
+    }
+
+    private void close(final Subscription subscription) {
+        unregister(subscription);
+        subscription.closed.set(true);
+        if (subscription.sending.compareAndSet(false, true)) {
+            // No event is being sent, otherwise the emitter is completed by the sending thread
+            subscription.emitter.complete();
+        }
+    }
+
+    private void register(final Subscription subscription) {
+        final String key = subscription.userId != null ? subscription.userId : subscription.applicationId;
+        final Map<String, Set<Subscription>> registry = subscription.userId != null ? userSubscriptions : applicationSubscriptions;
+        // Add within compute, so that the set cannot be removed by a concurrent unregister in between
+        registry.compute(key, (k, subscriptions) -> {
+            final Set<Subscription> result = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet();
+            result.add(subscription);
+            return result;
+        });
+    }
+
+    private void unregister(final Subscription subscription) {
+        final String key = subscription.userId != null ? subscription.userId : subscription.applicationId;
+        final Map<String, Set<Subscription>> registry = subscription.userId != null ? userSubscriptions : applicationSubscriptions;
+        final boolean[] removed = new boolean[1];
+        registry.computeIfPresent(key, (k, subscriptions) -> {
+            removed[0] = subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+        if (removed[0]) {
+            subscriptionCount.decrementAndGet();
+        }
+    }
+
+    private static OperationChangeEvent convert(final OperationEntity source) {
+        final OperationChangeEvent destination = new OperationChangeEvent();
+        destination.setOperationId(source.getId());
+        destination.setUserId(source.getUserId());
+        destination.setApplications(source.getApplications().stream().map(ApplicationEntity::getId).toList());
+        destination.setExternalId(source.getExternalId());
+        destination.setOperationType(source.getOperationType());
+        destination.setStatus(OperationStatus.valueOf(source.getStatus().name()));
+        destination.setTimestampCreated(source.getTimestampCreated());
+        destination.setTimestampExpires(source.getTimestampExpires());
+        destination.setTimestampFinalized(source.getTimestampFinalized());
+        return destination;
+    }
+
+    private static String emptyToNull(final String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Subscription registered by user ID if present, otherwise by application ID.
+     * When both are present, the application ID further narrows the delivered events.
+     */
+    private static final class Subscription {
+
+        private final SseEmitter emitter;
+        private final String userId;
+        private final String applicationId;
+        private final BlockingQueue<OperationChangeEvent> pending;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicLong sendStarted = new AtomicLong();
+
+        Subscription(final SseEmitter emitter, final String userId, final String applicationId, final int queueCapacity) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.applicationId = applicationId;
+            this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        boolean matches(final OperationChangeEvent event) {
+            return (userId == null || userId.equals(event.getUserId()))
+                    && (applicationId == null || event.getApplications().contains(applicationId));
+        }
+
+        boolean isSendStuck(final Duration sendTimeout) {
+            final long started = sendStarted.get();
+            return started != 0 && System.nanoTime() - started > sendTimeout.toNanos();
+        }
+
+    }
+
+}
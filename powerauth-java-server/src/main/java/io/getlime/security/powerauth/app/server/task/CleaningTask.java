@@ -19,6 +19,8 @@
 
 package io.getlime.security.powerauth.app.server.task;
 
+import io.getlime.security.powerauth.app.server.configuration.PowerAuthServiceConfiguration;
+import io.getlime.security.powerauth.app.server.service.archive.OperationArchiveService;
 import io.getlime.security.powerauth.app.server.service.callbacks.CallbackUrlEventService;
 import io.getlime.security.powerauth.app.server.service.behavior.tasks.ActivationServiceBehavior;
 import io.getlime.security.powerauth.app.server.service.behavior.tasks.OperationServiceBehavior;
@@ -31,6 +33,9 @@ import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.Date;
+import java.util.List;
+
 /**
  * Task to clean expired operation, activation, and unique values.
  *
@@ -51,6 +56,10 @@ public class CleaningTask {
 
     private final CallbackUrlEventService callbackUrlEventService;
 
+    private final OperationArchiveService operationArchiveService;
+
+    private final PowerAuthServiceConfiguration powerAuthServiceConfiguration;
+
     @Scheduled(fixedRateString = "${powerauth.service.scheduled.job.uniqueValueCleanup:60000}")
     @SchedulerLock(
             name = "expireUniqueValuesTask",
@@ -67,10 +76,72 @@ public class CleaningTask {
             lockAtLeastFor = "#{T(java.lang.Math).round(${powerauth.service.scheduled.job.operationCleanup:5000} * 0.8)}")
     public void expireOperations() {
         LockAssert.assertLocked();
+        if (powerAuthServiceConfiguration.isExpireOperationsParallel()) {
+            // Operations are expired by all nodes, see expireOperationsInParallel
+            return;
+        }
         logger.debug("Calling scheduled expiration of operations");
         operationServiceBehavior.expireOperations();
     }
 
+    /**
+     * Expire operations on every node without the scheduler lock. Each chunk is claimed using row-level locks
+     * skipping rows locked by other nodes and expired in a short transaction. Callback listeners are notified
+     * once the chunk is committed.
+     */
+    @Scheduled(fixedRateString = "${powerauth.service.scheduled.job.operationCleanup:5000}")
+    public void expireOperationsInParallel() {
+        if (!powerAuthServiceConfiguration.isExpireOperationsParallel()) {
+            return;
+        }
+        logger.debug("Calling scheduled parallel expiration of operations");
+        final Date currentTimestamp = new Date();
+        final int chunkSize = powerAuthServiceConfiguration.getExpireOperationsLimit();
+        for (int i = 0; i < powerAuthServiceConfiguration.getExpireOperationsMaxChunks(); i++) {
+            final List<String> expiredOperationIds = operationServiceBehavior.expireOperationsChunk(currentTimestamp);
+            if (!expiredOperationIds.isEmpty()) {
+                operationServiceBehavior.notifyCallbackListenersOnOperationsExpired(expiredOperationIds);
+            }
+            if (expiredOperationIds.size() < chunkSize) {
+                logger.debug("No more expired operations to claim, chunks processed: {}", i + 1);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Move finalized operations older than the retention period to the archive. Operations are moved in chunks,
+     * each in a short transaction, with a delay between the chunks to limit the load of the database.
+     */
+    @Scheduled(fixedRateString = "${powerauth.service.scheduled.job.operationArchive:600000}")
+    @SchedulerLock(
+            name = "archiveOperationsTask",
+            lockAtLeastFor = "#{T(java.lang.Math).round(${powerauth.service.scheduled.job.operationArchive:600000} * 0.8)}")
+    public void archiveOperations() {
+        LockAssert.assertLocked();
+        if (!operationArchiveService.isEnabled()) {
+            return;
+        }
+        logger.debug("Calling scheduled archiving of operations");
+        final Date createdBefore = new Date(System.currentTimeMillis() - powerAuthServiceConfiguration.getOperationArchiveRetention().toMillis());
+        final int chunkSize = powerAuthServiceConfiguration.getOperationArchiveChunkSize();
+        final long chunkDelay = powerAuthServiceConfiguration.getOperationArchiveChunkDelay().toMillis();
+        for (int i = 0; i < powerAuthServiceConfiguration.getOperationArchiveMaxChunks(); i++) {
+            final int count = operationArchiveService.archiveOperationsChunk(createdBefore, chunkSize);
+            if (count < chunkSize) {
+                logger.debug("No more operations to archive, chunks processed: {}", i + 1);
+                return;
+            }
+            try {
+                Thread.sleep(chunkDelay);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                logger.warn("Archiving of operations interrupted");
+                return;
+            }
+        }
+    }
+
     @Scheduled(fixedRateString = "${powerauth.service.scheduled.job.activationsCleanup:5000}")
     @SchedulerLock(
             name = "expireActivationsTask",
@@ -78,7 +149,19 @@ public class CleaningTask {
     public void expireActivations() {
         LockAssert.assertLocked();
         logger.debug("Calling scheduled expiration of activations");
-        activationServiceBehavior.expireActivations();
+        if (!powerAuthServiceConfiguration.isActivationsCleanupBulk()) {
+            activationServiceBehavior.expireActivations();
+            return;
+        }
+        // Each chunk is removed in a short transaction, removed activations are not fetched by the next chunk
+        final int chunkSize = powerAuthServiceConfiguration.getActivationsCleanupChunkSize();
+        int chunks = 0;
+        int count;
+        do {
+            count = activationServiceBehavior.expireActivationsChunk();
+            chunks++;
+        } while (count == chunkSize);
+        logger.debug("No more abandoned activations to remove, chunks processed: {}", chunks);
     }
 
     @Scheduled(fixedRateString = "${powerauth.service.scheduled.job.temporaryKeyCleanup:5000}")
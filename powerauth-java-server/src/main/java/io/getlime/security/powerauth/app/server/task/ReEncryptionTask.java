@@ -0,0 +1,88 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.task;
+
+import io.getlime.security.powerauth.app.server.configuration.PowerAuthServiceConfiguration;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionTarget;
+import io.getlime.security.powerauth.app.server.service.encryption.ReEncryptionService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.core.LockAssert;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Task encrypting records stored without encryption by the master DB encryption key.
+ *
+ * @author agent, agent@local
+ */
+@Component
+@AllArgsConstructor
+@Slf4j
+public class ReEncryptionTask {
+
+    private final ReEncryptionService reEncryptionService;
+
+    private final PowerAuthServiceConfiguration powerAuthServiceConfiguration;
+
+    /**
+     * Encrypt records stored without encryption. Records are encrypted in chunks, each in a short transaction,
+     * with a delay between the chunks to limit the load of the database. The run continues from the checkpoint
+     * of the previous run.
+     */
+    @Scheduled(fixedRateString = "${powerauth.service.scheduled.job.reEncryption:60000}")
+    @SchedulerLock(
+            name = "reEncryptionTask",
+            lockAtLeastFor = "#{T(java.lang.Math).round(${powerauth.service.scheduled.job.reEncryption:60000} * 0.8)}")
+    public void encryptRecords() {
+        LockAssert.assertLocked();
+        if (!reEncryptionService.isEnabled()) {
+            return;
+        }
+        logger.debug("Calling scheduled re-encryption of records");
+        final int chunkSize = powerAuthServiceConfiguration.getReEncryptionChunkSize();
+        final long chunkDelay = powerAuthServiceConfiguration.getReEncryptionChunkDelay().toMillis();
+        int chunks = 0;
+        for (EncryptionTarget target : EncryptionTarget.values()) {
+            if (reEncryptionService.isCompleted(target)) {
+                continue;
+            }
+            while (true) {
+                if (chunks >= powerAuthServiceConfiguration.getReEncryptionMaxChunks()) {
+                    logger.debug("Maximum number of re-encryption chunks reached, target: {}", target);
+                    return;
+                }
+                final int count = reEncryptionService.encryptChunk(target);
+                chunks++;
+                if (count < chunkSize) {
+                    break;
+                }
+                try {
+                    Thread.sleep(chunkDelay);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("Re-encryption of records interrupted");
+                    return;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.configuration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link PowerAuthServiceConfiguration}.
+ *
+ * @author agent, agent@local
+ */
+class PowerAuthServiceConfigurationTest {
+
+    @Test
+    void testValidateStatelessTemporaryKeysWithoutMasterDbEncryptionKey() {
+        final PowerAuthServiceConfiguration tested = createConfiguration();
+        tested.setTemporaryKeyStateless(true);
+
+        final IllegalStateException exception = assertThrows(IllegalStateException.class, tested::validate);
+        assertEquals("Master DB encryption key is required when the stateless temporary keys are enabled", exception.getMessage());
+    }
+
+    @Test
+    void testValidateStatelessTemporaryKeysWithMasterDbEncryptionKey() {
+        final PowerAuthServiceConfiguration tested = createConfiguration();
+        tested.setTemporaryKeyStateless(true);
+        tested.setMasterDbEncryptionKey("MTIzNDU2Nzg5MDEyMzQ1Ng==");
+
+        assertDoesNotThrow(tested::validate);
+    }
+
+    @Test
+    void testValidateStoredTemporaryKeysWithoutMasterDbEncryptionKey() {
+        final PowerAuthServiceConfiguration tested = createConfiguration();
+
+        assertDoesNotThrow(tested::validate);
+    }
+
+    private static PowerAuthServiceConfiguration createConfiguration() {
+        final PowerAuthServiceConfiguration configuration = new PowerAuthServiceConfiguration();
+        configuration.setProximityCheckOtpLength(8);
+        return configuration;
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.configuration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for {@link ReplicaDataSource} and the routing of read-only connections.
+ *
+ * @author agent, agent@local
+ */
+class ReplicaDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT lag";
+
+    private final DataSource primaryPool = mock(DataSource.class);
+    private final DataSource replicaPool = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final Connection lagConnection = mock(Connection.class);
+    private final Statement lagStatement = mock(Statement.class);
+    private final ResultSet lagResult = mock(ResultSet.class);
+
+    private ReplicaDataSource tested;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(primaryPool.getConnection()).thenReturn(primaryConnection);
+        when(replicaPool.getConnection()).thenReturn(lagConnection, replicaConnection);
+        when(lagConnection.createStatement()).thenReturn(lagStatement);
+        when(lagStatement.executeQuery(LAG_QUERY)).thenReturn(lagResult);
+        tested = new ReplicaDataSource(replicaPool, primaryPool, LAG_QUERY, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testLagQueryRequired() {
+        assertThrows(IllegalStateException.class, () -> new ReplicaDataSource(replicaPool, primaryPool, "", Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void testPrimaryUsedBeforeFirstLagCheck() throws Exception {
+        assertSame(primaryConnection, tested.getConnection());
+    }
+
+    @Test
+    void testReplicaUsedWhenLagAcceptable() throws Exception {
+        mockLag(1000L);
+
+        tested.checkReplicationLag();
+
+        assertSame(replicaConnection, tested.getConnection());
+    }
+
+    @Test
+    void testPrimaryUsedWhenLagTooHigh() throws Exception {
+        mockLag(6000L);
+
+        tested.checkReplicationLag();
+
+        assertSame(primaryConnection, tested.getConnection());
+    }
+
+    @Test
+    void testPrimaryUsedWhenLagCheckFails() throws Exception {
+        when(lagStatement.executeQuery(LAG_QUERY)).thenThrow(new SQLException("Replica unavailable"));
+
+        tested.checkReplicationLag();
+
+        assertSame(primaryConnection, tested.getConnection());
+    }
+
+    @Test
+    void testReadOnlyConnectionRoutedToReplica() throws Exception {
+        mockLag(0L);
+        tested.checkReplicationLag();
+        final DataSource dataSource = ReplicaDataSourceConfiguration.routingDataSource(primaryPool, tested);
+
+        try (final Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.createStatement();
+        }
+
+        verify(replicaConnection).createStatement();
+        verify(primaryConnection, never()).createStatement();
+    }
+
+    @Test
+    void testReadWriteConnectionRoutedToPrimary() throws Exception {
+        mockLag(0L);
+        tested.checkReplicationLag();
+        final DataSource dataSource = ReplicaDataSourceConfiguration.routingDataSource(primaryPool, tested);
+
+        try (final Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+
+        verify(primaryConnection).createStatement();
+        verify(replicaConnection, never()).createStatement();
+    }
+
+    private void mockLag(final long lagMillis) throws SQLException {
+        when(lagResult.next()).thenReturn(true);
+        when(lagResult.getLong(1)).thenReturn(lagMillis);
+        when(lagResult.wasNull()).thenReturn(false);
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.converter;
+
+import io.getlime.security.powerauth.app.server.database.model.entity.TemporaryKeyEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link TemporaryKeyHandleConverter}.
+ *
+ * @author agent, agent@local
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TemporaryKeyHandleConverterTest {
+
+    private static final String PRIVATE_KEY = "AKeaSrVcgIKdJf2Khy6HVCKNo/7Bo4wVpc3MLdHgUXMH";
+
+    @Autowired
+    private TemporaryKeyHandleConverter tested;
+
+    @Test
+    void testToHandleAndFromHandle() throws Exception {
+        final Date expiration = new Date((System.currentTimeMillis() / 1000 + 300) * 1000);
+        final TemporaryKeyEntity source = new TemporaryKeyEntity();
+        source.setAppKey("appKey");
+        source.setActivationId("e43a5dec-afea-4a10-a80b-b2183399f16b");
+        source.setPrivateKeyEncryption(EncryptionMode.NO_ENCRYPTION);
+        source.setPrivateKeyBase64(PRIVATE_KEY);
+        source.setTimestampExpires(expiration);
+
+        final String handle = tested.toHandle(source);
+        assertTrue(TemporaryKeyHandleConverter.isHandle(handle));
+        assertFalse(handle.contains(PRIVATE_KEY));
+
+        final Optional<TemporaryKeyEntity> result = tested.fromHandle(handle);
+        assertTrue(result.isPresent());
+        assertEquals(handle, result.get().getId());
+        assertEquals("appKey", result.get().getAppKey());
+        assertEquals("e43a5dec-afea-4a10-a80b-b2183399f16b", result.get().getActivationId());
+        assertEquals(EncryptionMode.NO_ENCRYPTION, result.get().getPrivateKeyEncryption());
+        assertEquals(PRIVATE_KEY, result.get().getPrivateKeyBase64());
+        assertEquals(expiration, result.get().getTimestampExpires());
+    }
+
+    @Test
+    void testFromHandleInvalid() throws Exception {
+        assertTrue(tested.fromHandle("invalid.handle").isEmpty());
+    }
+
+    @Test
+    void testIsHandle() {
+        assertFalse(TemporaryKeyHandleConverter.isHandle("e43a5dec-afea-4a10-a80b-b2183399f16b"));
+        assertFalse(TemporaryKeyHandleConverter.isHandle(null));
+    }
+
+}
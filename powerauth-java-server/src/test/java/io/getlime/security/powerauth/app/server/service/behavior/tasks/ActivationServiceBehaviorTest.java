@@ -18,9 +18,14 @@
 package io.getlime.security.powerauth.app.server.service.behavior.tasks;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wultra.security.powerauth.client.model.entity.Activation;
 import com.wultra.security.powerauth.client.model.enumeration.*;
 import com.wultra.security.powerauth.client.model.request.*;
 import com.wultra.security.powerauth.client.model.response.*;
+import io.getlime.security.powerauth.app.server.database.model.entity.ActivationHistoryEntity;
+import io.getlime.security.powerauth.app.server.database.model.entity.ActivationRecordEntity;
+import io.getlime.security.powerauth.app.server.database.repository.ActivationHistoryRepository;
+import io.getlime.security.powerauth.app.server.database.repository.ActivationRepository;
 import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
 import io.getlime.security.powerauth.app.server.service.model.ServiceError;
 import io.getlime.security.powerauth.app.server.service.model.request.ActivationLayer2Request;
@@ -34,15 +39,21 @@ import io.getlime.security.powerauth.crypto.lib.encryptor.model.EncryptorParamet
 import io.getlime.security.powerauth.crypto.lib.encryptor.model.v3.ClientEncryptorSecrets;
 import io.getlime.security.powerauth.crypto.lib.generator.KeyGenerator;
 import io.getlime.security.powerauth.crypto.lib.util.KeyConvertor;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.KeyPair;
 import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -62,6 +73,12 @@ class ActivationServiceBehaviorTest {
     @Autowired
     private ActivationServiceBehavior tested;
 
+    @Autowired
+    private ActivationRepository activationRepository;
+
+    @Autowired
+    private ActivationHistoryRepository activationHistoryRepository;
+
     private final ApplicationServiceBehavior applicationServiceBehavior;
     private final RecoveryServiceBehavior recoveryServiceBehavior;
     private final ActivationServiceBehavior activationServiceBehavior;
@@ -390,6 +407,248 @@ class ActivationServiceBehaviorTest {
                 prepareActivation(detailResponse, CommitPhase.ON_KEY_EXCHANGE, ActivationOtpValidation.ON_COMMIT, "1234", null));
     }
 
+    @Test
+    void testFindActivationStatus() throws Exception {
+        final GetApplicationDetailResponse detailResponse = createApplication();
+        final String activationId = initActivation(detailResponse.getApplicationId()).getActivationId();
+
+        final GetActivationStatusRequest statusRequest = new GetActivationStatusRequest();
+        statusRequest.setActivationId(activationId);
+        final GetActivationStatusResponse statusResponse = tested.findActivationStatus(statusRequest).orElseThrow();
+        assertEquals(ActivationStatus.CREATED, statusResponse.getActivationStatus());
+        assertEquals(activationId, statusResponse.getActivationId());
+    }
+
+    @Test
+    void testFindActivationStatusExpiredPendingActivation() throws Exception {
+        final GetApplicationDetailResponse detailResponse = createApplication();
+        final String activationId = initActivation(detailResponse.getApplicationId()).getActivationId();
+        final ActivationRecordEntity activation = activationRepository.findActivationWithoutLock(activationId).orElseThrow();
+        activation.setTimestampActivationExpire(new Date(System.currentTimeMillis() - 1000));
+
+        final GetActivationStatusRequest statusRequest = new GetActivationStatusRequest();
+        statusRequest.setActivationId(activationId);
+        assertTrue(tested.findActivationStatus(statusRequest).isEmpty());
+        assertEquals(ActivationStatus.REMOVED, getActivationStatus(activationId));
+    }
+
+    @Test
+    void testLookupActivationsWithFlags() throws Exception {
+        final GetApplicationDetailResponse detailResponse = createApplication();
+        final String activationId = initActivation(detailResponse.getApplicationId()).getActivationId();
+        initActivation(detailResponse.getApplicationId());
+        final ActivationRecordEntity activation = activationRepository.findActivationWithoutLock(activationId).orElseThrow();
+        activation.setFlags(List.of("FLAG1", "FLAG2"));
+
+        final LookupActivationsRequest request = new LookupActivationsRequest();
+        request.setUserIds(List.of(userId));
+        request.setActivationFlags(List.of("FLAG2", "FLAG1", "FLAG2"));
+        final LookupActivationsResponse response = tested.lookupActivations(request);
+        assertEquals(1, response.getActivations().size());
+        assertEquals(activationId, response.getActivations().get(0).getActivationId());
+        assertEquals(List.of("FLAG1", "FLAG2"), response.getActivations().get(0).getActivationFlags());
+
+        request.setActivationFlags(List.of("FLAG1", "FLAG3"));
+        assertTrue(tested.lookupActivations(request).getActivations().isEmpty());
+
+        request.setActivationFlags(null);
+        assertEquals(2, tested.lookupActivations(request).getActivations().size());
+    }
+
+    /**
+     * Tests the keyset pagination of the activation list crossing a page boundary within activations created at the same time.
+     */
+    @Test
+    void testGetActivationListKeysetPagination() throws Exception {
+        final GetApplicationDetailResponse detailResponse = createApplication();
+        final Date tiedTimestamp = new Date(System.currentTimeMillis() - 60_000);
+        final List<ActivationRecordEntity> activations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final String activationId = initActivation(detailResponse.getApplicationId()).getActivationId();
+            activations.add(activationRepository.findActivationWithoutLock(activationId).orElseThrow());
+        }
+        // Three activations share the creation timestamp, the page boundary falls between them
+        activations.get(0).setTimestampCreated(new Date(tiedTimestamp.getTime() + 1000));
+        activations.get(1).setTimestampCreated(tiedTimestamp);
+        activations.get(2).setTimestampCreated(tiedTimestamp);
+        activations.get(3).setTimestampCreated(tiedTimestamp);
+        activations.get(4).setTimestampCreated(new Date(tiedTimestamp.getTime() - 1000));
+
+        final List<String> tiedIds = activations.subList(1, 4).stream()
+                .map(ActivationRecordEntity::getActivationId)
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        final List<String> expectedIds = new ArrayList<>();
+        expectedIds.add(activations.get(0).getActivationId());
+        expectedIds.addAll(tiedIds);
+        expectedIds.add(activations.get(4).getActivationId());
+
+        assertEquals(expectedIds, getActivationListByKeyset(null));
+        assertEquals(expectedIds, getActivationListByKeyset(detailResponse.getApplicationId()));
+
+        final GetActivationListForUserRequest request = new GetActivationListForUserRequest();
+        request.setUserId(userId);
+        request.setPageNumber(0);
+        request.setPageSize(10);
+        assertEquals(expectedIds, tested.getActivationList(request).getActivations().stream().map(Activation::getActivationId).toList());
+    }
+
+    @Test
+    void testGetActivationListKeysetPaginationInvalid() {
+        final GetActivationListForUserRequest request = new GetActivationListForUserRequest();
+        request.setUserId(userId);
+        request.setAfterTimestampCreated(new Date());
+
+        final GenericServiceException exception = assertThrows(GenericServiceException.class, () -> tested.getActivationList(request));
+        assertEquals(ServiceError.INVALID_REQUEST, exception.getCode());
+    }
+
+    @Test
+    void testUpdateStatusForActivations() throws Exception {
+        final GetApplicationDetailResponse detailResponse = createApplication();
+        final String activationId1 = initActivation(detailResponse.getApplicationId()).getActivationId();
+        final String activationId2 = initActivation(detailResponse.getApplicationId()).getActivationId();
+
+        final UpdateStatusForActivationsRequest request = new UpdateStatusForActivationsRequest();
+        request.setActivationIds(List.of(activationId1, activationId2, activationId1, UUID.randomUUID().toString()));
+        request.setActivationStatus(ActivationStatus.BLOCKED);
+        assertTrue(tested.updateStatusForActivation(request).isUpdated());
+
+        for (String activationId : List.of(activationId1, activationId2)) {
+            assertEquals(ActivationStatus.BLOCKED, getActivationStatus(activationId));
+            final List<ActivationHistoryEntity> history = activationHistoryRepository.findActivationHistory(activationId, new Date(0), new Date(System.currentTimeMillis() + 1000));
+            assertEquals(2, history.size());
+            assertEquals(ActivationStatus.BLOCKED.name(), history.get(0).getActivationStatus().name());
+        }
+    }
+
+    @Test
+    void testUpdateStatusForActivationsMoreThanOneChunk() throws Exception {
+        final GetApplicationDetailResponse detailResponse = createApplication();
+        final String activationId1 = initActivation(detailResponse.getApplicationId()).getActivationId();
+        final String activationId2 = initActivation(detailResponse.getApplicationId()).getActivationId();
+
+        final List<String> activationIds = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            activationIds.add(UUID.randomUUID().toString());
+        }
+        activationIds.add(activationId1);
+        activationIds.add(activationId2);
+
+        final UpdateStatusForActivationsRequest request = new UpdateStatusForActivationsRequest();
+        request.setActivationIds(activationIds);
+        request.setActivationStatus(ActivationStatus.BLOCKED);
+        assertTrue(tested.updateStatusForActivation(request).isUpdated());
+
+        assertEquals(ActivationStatus.BLOCKED, getActivationStatus(activationId1));
+        assertEquals(ActivationStatus.BLOCKED, getActivationStatus(activationId2));
+    }
+
+    @Test
+    void testExpireActivationsChunk() throws Exception {
+        final GetApplicationDetailResponse detailResponse = createApplication();
+        final String expiredActivationId = initActivation(detailResponse.getApplicationId()).getActivationId();
+        final String activationId = initActivation(detailResponse.getApplicationId()).getActivationId();
+        final ActivationRecordEntity activation = activationRepository.findActivationWithoutLock(expiredActivationId).orElseThrow();
+        activation.setTimestampActivationExpire(new Date(System.currentTimeMillis() - 1000));
+
+        assertEquals(1, tested.expireActivationsChunk());
+
+        assertEquals(ActivationStatus.REMOVED, getActivationStatus(expiredActivationId));
+        assertEquals(ActivationStatus.CREATED, getActivationStatus(activationId));
+        final List<ActivationHistoryEntity> history = activationHistoryRepository.findActivationHistory(expiredActivationId, new Date(0), new Date(System.currentTimeMillis() + 1000));
+        assertEquals(ActivationStatus.REMOVED.name(), history.get(0).getActivationStatus().name());
+        assertEquals(0, tested.expireActivationsChunk());
+    }
+
+    @Test
+    void testInitActivationBatch() throws Exception {
+        final GetApplicationDetailResponse detailResponse = createApplication();
+        final InitActivationBatchRequest request = new InitActivationBatchRequest();
+        request.setApplicationId(detailResponse.getApplicationId());
+        request.setUserIds(List.of("user-1", "user-2", "user-3"));
+        request.setMaxFailureCount(3L);
+
+        final InitActivationBatchResponse response = tested.initActivationBatch(request);
+
+        assertEquals(3, response.getActivations().size());
+        assertEquals(List.of("user-1", "user-2", "user-3"), response.getActivations().stream().map(InitActivationResponse::getUserId).toList());
+        assertEquals(3, response.getActivations().stream().map(InitActivationResponse::getActivationCode).distinct().count());
+        for (InitActivationResponse activationResponse : response.getActivations()) {
+            final ActivationRecordEntity activation = activationRepository.findActivationWithoutLock(activationResponse.getActivationId()).orElseThrow();
+            assertEquals(activationResponse.getUserId(), activation.getUserId());
+            assertEquals(activationResponse.getActivationCode(), activation.getActivationCode());
+            assertEquals(3L, activation.getMaxFailedAttempts());
+            assertEquals(ActivationStatus.CREATED, getActivationStatus(activationResponse.getActivationId()));
+        }
+    }
+
+    @Test
+    void testInitActivationBatchInvalidUserId() throws Exception {
+        final GetApplicationDetailResponse detailResponse = createApplication();
+        final InitActivationBatchRequest request = new InitActivationBatchRequest();
+        request.setApplicationId(detailResponse.getApplicationId());
+        request.setUserIds(List.of("user-1", ""));
+
+        final GenericServiceException exception = assertThrows(GenericServiceException.class, () -> tested.initActivationBatch(request));
+        assertEquals(ServiceError.INVALID_REQUEST, exception.getCode());
+    }
+
+    @SpringBootTest
+    @ActiveProfiles("test")
+    @Nested
+    @TestPropertySource(properties = "powerauth.service.crypto.verifyGeneratedIdentifiers=false")
+    @Transactional
+    class WithoutIdentifierVerification {
+
+        @Autowired
+        private ActivationServiceBehavior tested;
+
+        @Autowired
+        private ApplicationServiceBehavior applicationServiceBehavior;
+
+        @Autowired
+        private ActivationRepository activationRepository;
+
+        @Test
+        void testInitActivation() throws Exception {
+            final CreateApplicationRequest createApplicationRequest = new CreateApplicationRequest();
+            createApplicationRequest.setApplicationId(UUID.randomUUID().toString());
+            final CreateApplicationResponse application = applicationServiceBehavior.createApplication(createApplicationRequest);
+
+            final InitActivationRequest request = new InitActivationRequest();
+            request.setProtocol(ActivationProtocol.POWERAUTH);
+            request.setApplicationId(application.getApplicationId());
+            request.setUserId(userId);
+            final InitActivationResponse initActivationResponse = tested.initActivation(request);
+
+            final ActivationRecordEntity activation = activationRepository.findActivationWithoutLock(initActivationResponse.getActivationId()).orElseThrow();
+            assertEquals(initActivationResponse.getActivationCode(), activation.getActivationCode());
+            assertEquals(ActivationStatus.CREATED.name(), activation.getActivationStatus().name());
+        }
+    }
+
+    private List<String> getActivationListByKeyset(final String applicationId) throws Exception {
+        final List<String> result = new ArrayList<>();
+        Activation last = null;
+        do {
+            final GetActivationListForUserRequest request = new GetActivationListForUserRequest();
+            request.setUserId(userId);
+            request.setApplicationId(applicationId);
+            request.setPageSize(2);
+            if (last != null) {
+                // page number must be ignored
+                request.setPageNumber(5);
+                request.setAfterTimestampCreated(last.getTimestampCreated());
+                request.setAfterActivationId(last.getActivationId());
+            }
+            final List<Activation> page = tested.getActivationList(request).getActivations();
+            page.forEach(activation -> result.add(activation.getActivationId()));
+            last = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (last != null);
+        return result;
+    }
+
     private ActivationLayer2Response createActivationAndGetResponsePayload(GetApplicationDetailResponse applicationDetail) throws Exception {
         final String applicationId = applicationDetail.getApplicationId();
 
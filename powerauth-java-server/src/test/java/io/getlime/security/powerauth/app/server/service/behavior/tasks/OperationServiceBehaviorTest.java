@@ -18,22 +18,28 @@
 package io.getlime.security.powerauth.app.server.service.behavior.tasks;
 
 import com.wultra.core.http.common.headers.UserAgent;
+import com.wultra.security.powerauth.client.model.enumeration.OperationStatus;
 import com.wultra.security.powerauth.client.model.enumeration.SignatureType;
 import com.wultra.security.powerauth.client.model.enumeration.UserActionResult;
 import com.wultra.security.powerauth.client.model.request.*;
+import com.wultra.security.powerauth.client.model.response.OperationCreateBatchResponse;
 import com.wultra.security.powerauth.client.model.response.OperationDetailResponse;
 import com.wultra.security.powerauth.client.model.response.OperationListResponse;
 import com.wultra.security.powerauth.client.model.response.OperationUserActionResponse;
 import io.getlime.security.powerauth.app.server.database.model.entity.OperationEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.OperationStatusDo;
 import io.getlime.security.powerauth.app.server.database.repository.OperationRepository;
+import io.getlime.security.powerauth.app.server.service.archive.OperationArchiveService;
 import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
 import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.time.Instant;
@@ -64,13 +70,15 @@ class OperationServiceBehaviorTest {
     private final OperationTemplateServiceBehavior templateService;
     private final ApplicationServiceBehavior applicationService;
     private final OperationRepository operationRepository;
+    private final OperationArchiveService operationArchiveService;
 
     @Autowired
-    public OperationServiceBehaviorTest(OperationServiceBehavior operationService, OperationTemplateServiceBehavior templateService, ApplicationServiceBehavior applicationService, OperationRepository operationRepository) throws GenericServiceException {
+    public OperationServiceBehaviorTest(OperationServiceBehavior operationService, OperationTemplateServiceBehavior templateService, ApplicationServiceBehavior applicationService, OperationRepository operationRepository, OperationArchiveService operationArchiveService) throws GenericServiceException {
         this.operationService = operationService;
         this.templateService = templateService;
         this.applicationService = applicationService;
         this.operationRepository = operationRepository;
+        this.operationArchiveService = operationArchiveService;
         createApplication();
         createOperationTemplateForLogin();
     }
@@ -137,6 +145,54 @@ class OperationServiceBehaviorTest {
         assertEquals("test-user", operationDetail.getUserId());
     }
 
+    @Test
+    void testCreateOperationBatch() throws Exception {
+        final OperationCreateRequest request1 = new OperationCreateRequest();
+        request1.setApplications(List.of(APP_ID));
+        request1.setTemplateName("test-template");
+        request1.setUserId(USER_ID);
+        request1.setExternalId("batch-1");
+
+        final OperationCreateRequest request2 = new OperationCreateRequest();
+        request2.setApplications(List.of(APP_ID));
+        request2.setTemplateName("test-template");
+        request2.setUserId("test-user");
+        request2.setExternalId("batch-2");
+
+        final OperationCreateBatchRequest request = new OperationCreateBatchRequest();
+        request.setOperations(List.of(request1, request2));
+
+        final OperationCreateBatchResponse response = operationService.createOperationBatch(request);
+        assertEquals(2, response.getOperations().size());
+        assertEquals("batch-1", response.getOperations().get(0).getExternalId());
+        assertEquals("batch-2", response.getOperations().get(1).getExternalId());
+
+        final Optional<OperationEntity> savedEntity = operationRepository.findOperationWithoutLock(response.getOperations().get(1).getId());
+        assertTrue(savedEntity.isPresent());
+        assertEquals("test-user", savedEntity.get().getUserId());
+        assertEquals(OperationStatusDo.PENDING, savedEntity.get().getStatus());
+    }
+
+    @Test
+    void testCreateOperationBatchInvalidApplication() {
+        final OperationCreateRequest request1 = new OperationCreateRequest();
+        request1.setApplications(List.of(APP_ID));
+        request1.setTemplateName("test-template");
+        request1.setUserId(USER_ID);
+
+        final OperationCreateRequest request2 = new OperationCreateRequest();
+        request2.setApplications(List.of("not-existing-application"));
+        request2.setTemplateName("test-template");
+        request2.setUserId(USER_ID);
+
+        final OperationCreateBatchRequest request = new OperationCreateBatchRequest();
+        request.setOperations(List.of(request1, request2));
+
+        final GenericServiceException thrown = assertThrows(GenericServiceException.class, () ->
+                operationService.createOperationBatch(request));
+        assertEquals("ERR0015", thrown.getCode());
+    }
+
     @Test
     void testCreateOperationWithActivationIdButInvalidUser() {
         final OperationCreateRequest request = new OperationCreateRequest();
@@ -426,6 +482,118 @@ class OperationServiceBehaviorTest {
         assertEquals(2025, year);
     }
 
+    /**
+     * Tests the keyset pagination for finding all operations for a user returns the same operations as a single page.
+     */
+    @Test
+    void testFindAllOperationsForUserKeysetPagination() throws Exception {
+        final List<String> applicationIds = List.of("PA_Tests");
+
+        final OperationListForUserRequest requestAll = new OperationListForUserRequest();
+        requestAll.setUserId(USER_ID);
+        requestAll.setApplications(applicationIds);
+        requestAll.setPageNumber(0);
+        requestAll.setPageSize(10);
+        final List<String> expectedIds = operationService.findAllOperationsForUser(requestAll).stream()
+                .map(OperationDetailResponse::getId)
+                .toList();
+        assertEquals(7, expectedIds.size());
+
+        final List<String> actualIds = new ArrayList<>();
+        OperationDetailResponse last = null;
+        do {
+            final OperationListForUserRequest request = new OperationListForUserRequest();
+            request.setUserId(USER_ID);
+            request.setApplications(applicationIds);
+            request.setPageSize(2);
+            if (last != null) {
+                // page number must be ignored
+                request.setPageNumber(5);
+                request.setAfterTimestampCreated(last.getTimestampCreated());
+                request.setAfterId(last.getId());
+            }
+            final OperationListResponse page = operationService.findAllOperationsForUser(request);
+            page.forEach(operation -> actualIds.add(operation.getId()));
+            last = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (last != null);
+
+        assertEquals(expectedIds, actualIds);
+    }
+
+    /**
+     * Tests that keyset pagination requires both the timestamp and the operation ID.
+     */
+    @Test
+    void testFindAllOperationsForUserKeysetPaginationInvalid() {
+        final OperationListForUserRequest request = new OperationListForUserRequest();
+        request.setUserId(USER_ID);
+        request.setApplications(List.of("PA_Tests"));
+        request.setAfterTimestampCreated(new Date());
+
+        assertThrows(GenericServiceException.class, () -> operationService.findAllOperationsForUser(request));
+    }
+
+    /**
+     * Tests the keyset pagination of operations by external ID crossing a page boundary within operations created at the same time.
+     */
+    @Test
+    void testFindOperationsByExternalIdKeysetPagination() throws Exception {
+        final String externalId = UUID.randomUUID().toString();
+        final OperationCreateRequest operationCreateRequest = new OperationCreateRequest();
+        operationCreateRequest.setApplications(List.of("PA_Tests"));
+        operationCreateRequest.setTemplateName("test-template");
+        operationCreateRequest.setUserId("test_user");
+        operationCreateRequest.setExternalId(externalId);
+        final List<OperationEntity> operations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final String operationId = operationService.createOperation(operationCreateRequest).getId();
+            operations.add(operationRepository.findOperationWithoutLock(operationId).orElseThrow());
+        }
+        // Three operations share the creation timestamp, the page boundary falls between them
+        final Date tiedTimestamp = new Date(System.currentTimeMillis() - 60_000);
+        operations.get(0).setTimestampCreated(new Date(tiedTimestamp.getTime() + 1000));
+        operations.get(1).setTimestampCreated(tiedTimestamp);
+        operations.get(2).setTimestampCreated(tiedTimestamp);
+        operations.get(3).setTimestampCreated(tiedTimestamp);
+        operations.get(4).setTimestampCreated(new Date(tiedTimestamp.getTime() - 1000));
+        operationRepository.flush();
+
+        final List<String> expectedIds = new ArrayList<>();
+        expectedIds.add(operations.get(0).getId());
+        operations.subList(1, 4).stream()
+                .map(OperationEntity::getId)
+                .sorted(Comparator.reverseOrder())
+                .forEach(expectedIds::add);
+        expectedIds.add(operations.get(4).getId());
+
+        final OperationExtIdRequest requestAll = new OperationExtIdRequest();
+        requestAll.setExternalId(externalId);
+        requestAll.setApplications(List.of("PA_Tests"));
+        requestAll.setPageNumber(0);
+        requestAll.setPageSize(10);
+        assertEquals(expectedIds, operationService.findOperationsByExternalId(requestAll).stream().map(OperationDetailResponse::getId).toList());
+
+        final List<String> actualIds = new ArrayList<>();
+        OperationDetailResponse last = null;
+        do {
+            final OperationExtIdRequest request = new OperationExtIdRequest();
+            request.setExternalId(externalId);
+            request.setApplications(List.of("PA_Tests"));
+            request.setPageSize(2);
+            if (last != null) {
+                // page number must be ignored
+                request.setPageNumber(5);
+                request.setAfterTimestampCreated(last.getTimestampCreated());
+                request.setAfterId(last.getId());
+            }
+            final OperationListResponse page = operationService.findOperationsByExternalId(request);
+            page.forEach(operation -> actualIds.add(operation.getId()));
+            last = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (last != null);
+
+        assertEquals(expectedIds, actualIds);
+    }
+
     /**
      * Tests sorting functionality for finding all operations for a user.
      */
@@ -605,6 +773,24 @@ class OperationServiceBehaviorTest {
         assertEquals(1, operationListResponse2.size());
     }
 
+    /**
+     * Tests that a chunk of expired operations is claimed and expired, and that it is not claimed again.
+     */
+    @Test
+    void testExpireOperationsChunk() {
+        // value defined in OperationServiceBehaviorTest.sql
+        final String operationId = "2067b5d1-1c50-43eb-99df-847830eaaaa";
+
+        final List<String> expiredOperationIds = operationService.expireOperationsChunk(new Date());
+        assertTrue(expiredOperationIds.contains(operationId));
+
+        final Optional<OperationEntity> operation = operationRepository.findOperationWithoutLock(operationId);
+        assertTrue(operation.isPresent());
+        assertEquals(OperationStatusDo.EXPIRED, operation.get().getStatus());
+
+        assertFalse(operationService.expireOperationsChunk(new Date()).contains(operationId));
+    }
+
     @Test
     void testOperationClaim() throws Exception {
         final String operationId = createLoginOperation();
@@ -719,6 +905,40 @@ class OperationServiceBehaviorTest {
         assertEquals("test_user", operationDetail.getUserId());
     }
 
+    @Test
+    void testArchivedOperationNotReadThroughWhenArchiveDisabled() throws GenericServiceException {
+        final String externalId = UUID.randomUUID().toString();
+        final OperationCreateRequest operationCreateRequest = new OperationCreateRequest();
+        operationCreateRequest.setApplications(List.of("PA_Tests"));
+        operationCreateRequest.setTemplateName("test-template");
+        operationCreateRequest.setUserId("test_user");
+        operationCreateRequest.setExternalId(externalId);
+        final OperationDetailResponse pendingOperation = operationService.createOperation(operationCreateRequest);
+        final OperationDetailResponse finalizedOperation = operationService.createOperation(operationCreateRequest);
+
+        final OperationRejectRequest rejectRequest = new OperationRejectRequest();
+        rejectRequest.setOperationId(finalizedOperation.getId());
+        rejectRequest.setUserId("test_user");
+        rejectRequest.setApplicationId("PA_Tests");
+        assertEquals(UserActionResult.REJECTED, operationService.rejectOperation(rejectRequest).getResult());
+        operationRepository.flush();
+
+        final Date createdBefore = new Date(System.currentTimeMillis() + 1000);
+        assertEquals(1, operationArchiveService.archiveOperationsChunk(createdBefore, 500));
+        assertTrue(operationRepository.findOperationWithoutLock(finalizedOperation.getId()).isEmpty());
+        assertTrue(operationRepository.findOperationWithoutLock(pendingOperation.getId()).isPresent());
+
+        final OperationDetailRequest detailRequest = new OperationDetailRequest();
+        detailRequest.setOperationId(finalizedOperation.getId());
+        final OperationExtIdRequest extIdRequest = new OperationExtIdRequest();
+        extIdRequest.setExternalId(externalId);
+        extIdRequest.setApplications(List.of("PA_Tests"));
+
+        final GenericServiceException exception = assertThrows(GenericServiceException.class, () -> operationService.operationDetail(detailRequest));
+        assertEquals("ERR0034", exception.getCode());
+        assertEquals(1, operationService.findOperationsByExternalId(extIdRequest).size());
+    }
+
     @Test
     void testAnonymousOperationFailedApproveUserNotChanged() throws GenericServiceException {
         final OperationCreateRequest operationCreateRequest = new OperationCreateRequest();
@@ -801,6 +1021,104 @@ class OperationServiceBehaviorTest {
         assertNull(operationDetail.getUserId());
     }
 
+    @SpringBootTest
+    @ActiveProfiles("test")
+    @Nested
+    @TestPropertySource(properties = "powerauth.service.operations.optimisticLocking.enabled=true")
+    @Sql("OperationServiceBehaviorTest.sql")
+    @Transactional
+    class OptimisticLocking {
+
+        @Autowired
+        private OperationServiceBehavior operationService;
+
+        @Autowired
+        private OperationRepository operationRepository;
+
+        @Test
+        void testApproveOperationConcurrentChange() throws GenericServiceException {
+            final OperationCreateRequest operationCreateRequest = new OperationCreateRequest();
+            operationCreateRequest.setApplications(List.of("PA_Tests"));
+            operationCreateRequest.setTemplateName("test-template");
+            operationCreateRequest.setUserId("test_user");
+            final OperationDetailResponse operation = operationService.createOperation(operationCreateRequest);
+
+            final OperationApproveRequest approveRequest = new OperationApproveRequest();
+            approveRequest.setOperationId(operation.getId());
+            approveRequest.setUserId("test_user");
+            approveRequest.setData("A2");
+            approveRequest.setApplicationId("PA_Tests");
+            approveRequest.setSignatureType(SignatureType.POSSESSION_KNOWLEDGE);
+
+            // Simulate a concurrent change, the version held by the persistence context is outdated
+            final OperationEntity operationEntity = operationRepository.findOperationWithoutLock(operation.getId()).get();
+            assertEquals(1, operationRepository.incrementVersion(operation.getId(), operationEntity.getVersion()));
+
+            final OperationUserActionResponse response = operationService.attemptApproveOperation(approveRequest);
+            assertEquals(UserActionResult.APPROVED, response.getResult());
+
+            final OperationEntity updatedEntity = operationRepository.findOperationWithoutLock(operation.getId()).get();
+            assertEquals(OperationStatusDo.APPROVED, updatedEntity.getStatus());
+            assertEquals(2, updatedEntity.getVersion());
+        }
+    }
+
+    @SpringBootTest
+    @ActiveProfiles("test")
+    @Nested
+    @TestPropertySource(properties = "powerauth.service.operations.archive.enabled=true")
+    @Sql("OperationServiceBehaviorTest.sql")
+    @Transactional
+    class Archive {
+
+        @Autowired
+        private OperationServiceBehavior operationService;
+
+        @Autowired
+        private OperationRepository operationRepository;
+
+        @Autowired
+        private OperationArchiveService operationArchiveService;
+
+        @Test
+        void testArchivedOperationReadThrough() throws GenericServiceException {
+            final String externalId = UUID.randomUUID().toString();
+            final OperationCreateRequest operationCreateRequest = new OperationCreateRequest();
+            operationCreateRequest.setApplications(List.of("PA_Tests"));
+            operationCreateRequest.setTemplateName("test-template");
+            operationCreateRequest.setUserId("test_user");
+            operationCreateRequest.setExternalId(externalId);
+            final OperationDetailResponse pendingOperation = operationService.createOperation(operationCreateRequest);
+            final OperationDetailResponse finalizedOperation = operationService.createOperation(operationCreateRequest);
+
+            final OperationRejectRequest rejectRequest = new OperationRejectRequest();
+            rejectRequest.setOperationId(finalizedOperation.getId());
+            rejectRequest.setUserId("test_user");
+            rejectRequest.setApplicationId("PA_Tests");
+            assertEquals(UserActionResult.REJECTED, operationService.rejectOperation(rejectRequest).getResult());
+            operationRepository.flush();
+
+            final Date createdBefore = new Date(System.currentTimeMillis() + 1000);
+            assertEquals(1, operationArchiveService.archiveOperationsChunk(createdBefore, 500));
+            assertTrue(operationRepository.findOperationWithoutLock(finalizedOperation.getId()).isEmpty());
+
+            final OperationDetailRequest detailRequest = new OperationDetailRequest();
+            detailRequest.setOperationId(finalizedOperation.getId());
+            final OperationDetailResponse operationDetail = operationService.operationDetail(detailRequest);
+            assertEquals(OperationStatus.REJECTED, operationDetail.getStatus());
+            assertEquals("test_user", operationDetail.getUserId());
+            assertEquals(List.of("PA_Tests"), operationDetail.getApplications());
+
+            final OperationExtIdRequest extIdRequest = new OperationExtIdRequest();
+            extIdRequest.setExternalId(externalId);
+            extIdRequest.setApplications(List.of("PA_Tests"));
+            final OperationListResponse operations = operationService.findOperationsByExternalId(extIdRequest);
+            assertEquals(2, operations.size());
+            assertEquals(Set.of(pendingOperation.getId(), finalizedOperation.getId()),
+                    Set.of(operations.get(0).getId(), operations.get(1).getId()));
+        }
+    }
+
     private void createApplication() throws GenericServiceException {
         boolean appExists = applicationService.getApplicationList().getApplications().stream()
                 .anyMatch(app -> app.getApplicationId().equals(APP_ID));
@@ -854,4 +1172,40 @@ class OperationServiceBehaviorTest {
         return approveRequest;
     }
 
+    @SpringBootTest
+    @ActiveProfiles("test")
+    @Nested
+    @TestPropertySource(properties = "powerauth.service.operations.pendingCache.enabled=true")
+    @Sql("OperationServiceBehaviorTest.sql")
+    @Transactional
+    class PendingCache {
+
+        @Autowired
+        private OperationServiceBehavior operationService;
+
+        @Test
+        void testFindPendingOperationsForUserWithoutPendingOperations() throws Exception {
+            final OperationListForUserRequest request = new OperationListForUserRequest();
+            request.setUserId("user_without_operations");
+            request.setApplications(List.of("PA_Tests"));
+            request.setPageNumber(0);
+            request.setPageSize(10);
+
+            assertEquals(0, operationService.findPendingOperationsForUser(request).size());
+        }
+
+        @Test
+        void testFindPendingOperationsForUserWithoutPendingOperationsApplicationNotExisting() {
+            final OperationListForUserRequest request = new OperationListForUserRequest();
+            request.setUserId("user_without_operations");
+            request.setApplications(List.of("NOT_EXISTING"));
+            request.setPageNumber(0);
+            request.setPageSize(10);
+
+            final GenericServiceException thrown = assertThrows(GenericServiceException.class, () ->
+                    operationService.findPendingOperationsForUser(request));
+            assertEquals("ERR0015", thrown.getCode());
+        }
+    }
+
 }
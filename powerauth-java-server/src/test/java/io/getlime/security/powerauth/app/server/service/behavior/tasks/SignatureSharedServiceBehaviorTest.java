@@ -22,10 +22,17 @@ import com.wultra.security.powerauth.client.model.enumeration.SignatureType;
 import io.getlime.security.powerauth.app.server.database.model.entity.ActivationRecordEntity;
 import io.getlime.security.powerauth.app.server.database.model.entity.SignatureEntity;
 import io.getlime.security.powerauth.app.server.database.model.enumeration.ActivationStatus;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
+import io.getlime.security.powerauth.app.server.service.model.signature.OfflineSignatureRequest;
 import io.getlime.security.powerauth.app.server.service.model.signature.OnlineSignatureRequest;
 import io.getlime.security.powerauth.app.server.service.model.signature.SignatureData;
 import io.getlime.security.powerauth.app.server.service.model.signature.SignatureResponse;
 import io.getlime.security.powerauth.crypto.lib.config.SignatureConfiguration;
+import io.getlime.security.powerauth.crypto.lib.enums.PowerAuthSignatureTypes;
+import io.getlime.security.powerauth.crypto.lib.generator.KeyGenerator;
+import io.getlime.security.powerauth.crypto.lib.util.KeyConvertor;
+import io.getlime.security.powerauth.crypto.lib.util.SignatureUtils;
+import io.getlime.security.powerauth.crypto.server.keyfactory.PowerAuthServerKeyFactory;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.opentest4j.AssertionFailedError;
@@ -35,12 +42,15 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Test for {@link SignatureSharedServiceBehavior}.
@@ -53,6 +63,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 @ActiveProfiles("test")
 class SignatureSharedServiceBehaviorTest {
 
+    private static final KeyConvertor KEY_CONVERTOR = new KeyConvertor();
+
     @Autowired
     private SignatureSharedServiceBehavior tested;
 
@@ -121,6 +133,62 @@ class SignatureSharedServiceBehaviorTest {
         assertEquals(ActivationStatus.ACTIVE, signatureEntity.getActivationStatus(), "Activation status has changed but audit should contain previous status");
     }
 
+    @Test
+    void testVerifySignatureSecondCandidate() throws Exception {
+        final ActivationRecordEntity activation = entityManager.find(ActivationRecordEntity.class, "e43a5dec-afea-4a10-a80b-b2183399f16b");
+        final List<SecretKey> signatureKeys = replaceActivationKeys(activation);
+        final String signature = computeSignature(activation, signatureKeys, "data&22222222");
+
+        final List<OfflineSignatureRequest> requests = createOfflineSignatureRequests(signature, "data&11111111", "data&22222222", "data&33333333");
+        final SignatureResponse response = tested.verifySignature(activation, requests, KEY_CONVERTOR);
+
+        assertTrue(response.isSignatureValid());
+        assertEquals(1, response.getUsedSignatureDataIndex());
+        assertEquals(SignatureType.POSSESSION_KNOWLEDGE, response.getUsedSignatureType());
+        assertEquals(1, response.getCtrNext());
+    }
+
+    @Test
+    void testVerifySignatureNoCandidate() throws Exception {
+        final ActivationRecordEntity activation = entityManager.find(ActivationRecordEntity.class, "e43a5dec-afea-4a10-a80b-b2183399f16b");
+        final List<SecretKey> signatureKeys = replaceActivationKeys(activation);
+        final String signature = computeSignature(activation, signatureKeys, "data&44444444");
+
+        final List<OfflineSignatureRequest> requests = createOfflineSignatureRequests(signature, "data&11111111", "data&22222222", "data&33333333");
+        final SignatureResponse response = tested.verifySignature(activation, requests, KEY_CONVERTOR);
+
+        assertFalse(response.isSignatureValid());
+        assertEquals(0, response.getUsedSignatureDataIndex());
+    }
+
+    // The device private key of the test activation is unknown, replace the keys to be able to compute a valid signature
+    private static List<SecretKey> replaceActivationKeys(final ActivationRecordEntity activation) throws Exception {
+        final KeyGenerator keyGenerator = new KeyGenerator();
+        final KeyPair serverKeyPair = keyGenerator.generateKeyPair();
+        final KeyPair deviceKeyPair = keyGenerator.generateKeyPair();
+        activation.setServerPrivateKeyBase64(Base64.getEncoder().encodeToString(KEY_CONVERTOR.convertPrivateKeyToBytes(serverKeyPair.getPrivate())));
+        activation.setServerPrivateKeyEncryption(EncryptionMode.NO_ENCRYPTION);
+        activation.setDevicePublicKeyBase64(Base64.getEncoder().encodeToString(KEY_CONVERTOR.convertPublicKeyToBytes(deviceKeyPair.getPublic())));
+
+        final PowerAuthServerKeyFactory keyFactory = new PowerAuthServerKeyFactory();
+        final SecretKey masterSecretKey = keyFactory.generateServerMasterSecretKey(serverKeyPair.getPrivate(), deviceKeyPair.getPublic());
+        return keyFactory.keysForSignatureType(PowerAuthSignatureTypes.POSSESSION_KNOWLEDGE, masterSecretKey);
+    }
+
+    private static String computeSignature(final ActivationRecordEntity activation, final List<SecretKey> signatureKeys, final String data) throws Exception {
+        final byte[] ctrData = Base64.getDecoder().decode(activation.getCtrDataBase64());
+        return new SignatureUtils().computePowerAuthSignature(data.getBytes(StandardCharsets.UTF_8), signatureKeys, ctrData, SignatureConfiguration.decimal());
+    }
+
+    private static List<OfflineSignatureRequest> createOfflineSignatureRequests(final String signature, final String... candidates) {
+        final List<OfflineSignatureRequest> result = new ArrayList<>();
+        for (String candidate : candidates) {
+            final SignatureData signatureData = new SignatureData(candidate.getBytes(StandardCharsets.UTF_8), signature, SignatureConfiguration.decimal(), "3.0", new ArrayList<>(), null);
+            result.add(new OfflineSignatureRequest(signatureData, List.of(SignatureType.POSSESSION_KNOWLEDGE, SignatureType.POSSESSION_BIOMETRY)));
+        }
+        return result;
+    }
+
     private static OnlineSignatureRequest createOnlineSignatureRequest() {
         final byte[] data = Base64.getDecoder().decode("UE9TVCZMM0JoTDNOcFoyNWhkSFZ5WlM5MllXeHBaR0YwWlE9PSYyaVR6Ry9CMzVRSmY3SHhaZmNseUZnPT0mUVd4c0lIbHZkWElnWW1GelpTQmhjbVVnWW1Wc2IyNW5JSFJ2SUhWeklRPT0mbzk3MGdVQkx2d0NUZGJJT1BrWjBsdz09");
         final List<KeyValue> additionalInfo = new ArrayList<>();
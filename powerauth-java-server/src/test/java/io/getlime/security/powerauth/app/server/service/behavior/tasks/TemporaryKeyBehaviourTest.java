@@ -157,6 +157,17 @@ class TemporaryKeyBehaviourTest {
         assertTrue(removeResponse.isRemoved());
     }
 
+    @Test
+    void testRemoveKeyHandle() {
+        // Key handles are not stored and cannot be removed
+        final String keyHandle = "eyJlbmMiOiJBMTI4R0NNIiwiYWxnIjoiZGlyIn0..iv.ciphertext.tag";
+        final RemoveTemporaryPublicKeyRequest removeRequest = new RemoveTemporaryPublicKeyRequest();
+        removeRequest.setId(keyHandle);
+        final RemoveTemporaryPublicKeyResponse removeResponse = temporaryKeyBehavior.removeTemporaryKey(removeRequest);
+        assertEquals(keyHandle, removeResponse.getId());
+        assertFalse(removeResponse.isRemoved());
+    }
+
     @Test
     void testJwtRequestValidActivationScope() throws Exception {
         final ApplicationVersion defaultVersion = createApplication();
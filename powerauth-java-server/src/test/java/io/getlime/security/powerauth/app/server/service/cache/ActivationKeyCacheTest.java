@@ -0,0 +1,197 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.getlime.security.powerauth.app.server.converter.ServerPrivateKeyConverter;
+import io.getlime.security.powerauth.app.server.database.model.entity.ActivationRecordEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
+import io.getlime.security.powerauth.crypto.lib.generator.KeyGenerator;
+import io.getlime.security.powerauth.crypto.lib.util.KeyConvertor;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for {@link ActivationKeyCache}.
+ *
+ * @author agent, agent@local
+ */
+class ActivationKeyCacheTest {
+
+    private static final String ACTIVATION_ID = "e43a5dec-afea-4a10-a80b-b2183399f16b";
+
+    private final KeyConvertor keyConvertor = new KeyConvertor();
+    private final KeyGenerator keyGenerator = new KeyGenerator();
+    private final ServerPrivateKeyConverter serverPrivateKeyConverter = mock(ServerPrivateKeyConverter.class);
+    private final Cache<String, CachedActivationKeys> cache = Caffeine.newBuilder()
+            .executor(Runnable::run)
+            .<String, CachedActivationKeys>removalListener((key, value, cause) -> {
+                if (value != null) {
+                    value.destroy();
+                }
+            })
+            .build();
+
+    private ActivationRecordEntity activation;
+
+    @BeforeAll
+    static void setUpProvider() {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        activation = new ActivationRecordEntity();
+        activation.setActivationId(ACTIVATION_ID);
+        activation.setUserId("user1");
+        setKeys(activation, keyGenerator.generateKeyPair(), keyGenerator.generateKeyPair().getPublic());
+        when(serverPrivateKeyConverter.fromDBValue(any(), anyString(), anyString()))
+                .thenAnswer(invocation -> activation.getServerPrivateKeyBase64());
+    }
+
+    @Test
+    void testCacheHit() throws Exception {
+        final ActivationKeyCache tested = new ActivationKeyCache(cache, serverPrivateKeyConverter, true);
+
+        final ActivationStatusKeys first = tested.getActivationKeys(activation);
+        final ActivationStatusKeys second = tested.getActivationKeys(activation);
+
+        assertEquals(first.devicePublicKeyFingerprint(), second.devicePublicKeyFingerprint());
+        assertArrayEquals(first.transportKey().getEncoded(), second.transportKey().getEncoded());
+        assertTrue(cache.getIfPresent(ACTIVATION_ID).matches(activation.getDevicePublicKeyBase64(), activation.getServerPublicKeyBase64()));
+        verify(serverPrivateKeyConverter, times(1)).fromDBValue(any(), anyString(), anyString());
+    }
+
+    @Test
+    void testEvictionZeroesTransportKey() throws Exception {
+        final ActivationKeyCache tested = new ActivationKeyCache(cache, serverPrivateKeyConverter, true);
+        final ActivationStatusKeys first = tested.getActivationKeys(activation);
+        final CachedActivationKeys cached = cache.getIfPresent(ACTIVATION_ID);
+        assertNotNull(cached);
+        assertArrayEquals(first.transportKey().getEncoded(), cached.getTransportKeyBytes());
+
+        cache.invalidate(ACTIVATION_ID);
+
+        assertNull(cached.getTransportKeyBytes());
+        final ActivationStatusKeys second = tested.getActivationKeys(activation);
+        assertArrayEquals(first.transportKey().getEncoded(), second.transportKey().getEncoded());
+        verify(serverPrivateKeyConverter, times(2)).fromDBValue(any(), anyString(), anyString());
+    }
+
+    @Test
+    void testDestroyedEntryDerivedAgain() throws Exception {
+        final ActivationKeyCache tested = new ActivationKeyCache(cache, serverPrivateKeyConverter, true);
+        final ActivationStatusKeys first = tested.getActivationKeys(activation);
+        final CachedActivationKeys cached = cache.getIfPresent(ACTIVATION_ID);
+        assertNotNull(cached);
+
+        cached.destroy();
+        final ActivationStatusKeys second = tested.getActivationKeys(activation);
+
+        assertArrayEquals(first.transportKey().getEncoded(), second.transportKey().getEncoded());
+        assertNotSame(cached, cache.getIfPresent(ACTIVATION_ID));
+        assertNotNull(cache.getIfPresent(ACTIVATION_ID).getTransportKeyBytes());
+        verify(serverPrivateKeyConverter, times(2)).fromDBValue(any(), anyString(), anyString());
+    }
+
+    @Test
+    void testDerivedAgainWhenKeysChange() throws Exception {
+        final ActivationKeyCache tested = new ActivationKeyCache(cache, serverPrivateKeyConverter, true);
+        final ActivationStatusKeys first = tested.getActivationKeys(activation);
+        final CachedActivationKeys firstCached = cache.getIfPresent(ACTIVATION_ID);
+
+        setKeys(activation, keyGenerator.generateKeyPair(), keyGenerator.generateKeyPair().getPublic());
+        final ActivationStatusKeys second = tested.getActivationKeys(activation);
+
+        assertNotEquals(first.devicePublicKeyFingerprint(), second.devicePublicKeyFingerprint());
+        assertTrue(cache.getIfPresent(ACTIVATION_ID).matches(activation.getDevicePublicKeyBase64(), activation.getServerPublicKeyBase64()));
+        assertNull(firstCached.getTransportKeyBytes(), "Replaced entry is destroyed");
+        verify(serverPrivateKeyConverter, times(2)).fromDBValue(any(), anyString(), anyString());
+    }
+
+    @Test
+    void testDisabled() throws Exception {
+        final ActivationKeyCache tested = new ActivationKeyCache(cache, serverPrivateKeyConverter, false);
+
+        final ActivationStatusKeys first = tested.getActivationKeys(activation);
+        final ActivationStatusKeys second = tested.getActivationKeys(activation);
+
+        assertEquals(first.devicePublicKeyFingerprint(), second.devicePublicKeyFingerprint());
+        assertNull(cache.getIfPresent(ACTIVATION_ID));
+        verify(serverPrivateKeyConverter, times(2)).fromDBValue(any(), anyString(), anyString());
+    }
+
+    @Test
+    void testConcurrentRequestsShareDerivation() throws Exception {
+        final ActivationKeyCache tested = new ActivationKeyCache(cache, serverPrivateKeyConverter, true);
+        final AtomicInteger derivations = new AtomicInteger();
+        final CountDownLatch derivationStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(serverPrivateKeyConverter.fromDBValue(any(), anyString(), anyString())).thenAnswer(invocation -> {
+            derivations.incrementAndGet();
+            derivationStarted.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return activation.getServerPrivateKeyBase64();
+        });
+
+        final int threads = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<ActivationStatusKeys>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> tested.getActivationKeys(activation)));
+            }
+            assertTrue(derivationStarted.await(10, TimeUnit.SECONDS));
+            release.countDown();
+
+            final ActivationStatusKeys expected = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<ActivationStatusKeys> result : results) {
+                assertArrayEquals(expected.transportKey().getEncoded(), result.get(10, TimeUnit.SECONDS).transportKey().getEncoded());
+            }
+            assertEquals(1, derivations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void setKeys(final ActivationRecordEntity activation, final KeyPair serverKeyPair, final PublicKey devicePublicKey) throws Exception {
+        activation.setServerPrivateKeyBase64(Base64.getEncoder().encodeToString(keyConvertor.convertPrivateKeyToBytes(serverKeyPair.getPrivate())));
+        activation.setServerPrivateKeyEncryption(EncryptionMode.NO_ENCRYPTION);
+        activation.setServerPublicKeyBase64(Base64.getEncoder().encodeToString(keyConvertor.convertPublicKeyToBytes(serverKeyPair.getPublic())));
+        activation.setDevicePublicKeyBase64(Base64.getEncoder().encodeToString(keyConvertor.convertPublicKeyToBytes(devicePublicKey)));
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationEntity;
+import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationVersionEntity;
+import io.getlime.security.powerauth.app.server.database.model.entity.MasterKeyPairEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
+import io.getlime.security.powerauth.app.server.database.repository.ApplicationVersionRepository;
+import io.getlime.security.powerauth.app.server.database.repository.MasterKeyPairRepository;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationBus;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationEvent;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationTransport;
+import io.getlime.security.powerauth.crypto.lib.generator.KeyGenerator;
+import io.getlime.security.powerauth.crypto.lib.util.KeyConvertor;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.Security;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for {@link ApplicationKeyRegistry}.
+ *
+ * @author agent, agent@local
+ */
+class ApplicationKeyRegistryTest {
+
+    private static final String APPLICATION_ID = "application1";
+    private static final String APPLICATION_KEY = "nkRWJ7h1mMDSXfW5yTYcGQ==";
+
+    private final KeyConvertor keyConvertor = new KeyConvertor();
+    private final Cache<String, CachedApplicationVersion> applicationVersionCache = Caffeine.newBuilder().build();
+    private final Cache<String, CachedMasterKeyPair> masterKeyPairCache = Caffeine.newBuilder().build();
+    private final ApplicationVersionRepository applicationVersionRepository = mock(ApplicationVersionRepository.class);
+    private final MasterKeyPairRepository masterKeyPairRepository = mock(MasterKeyPairRepository.class);
+    private final RemoteTransport transport = new RemoteTransport();
+
+    private ApplicationEntity application;
+    private ApplicationKeyRegistry tested;
+
+    @BeforeAll
+    static void setUpProvider() {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @BeforeEach
+    void setUp() {
+        application = new ApplicationEntity();
+        application.setRid(1L);
+        application.setId(APPLICATION_ID);
+        final CacheInvalidationBus cacheInvalidationBus = new CacheInvalidationBus(Optional.of(transport), "node1");
+        tested = new ApplicationKeyRegistry(applicationVersionCache, masterKeyPairCache,
+                applicationVersionRepository, masterKeyPairRepository, cacheInvalidationBus);
+    }
+
+    @Test
+    void testFindApplicationVersion() {
+        when(applicationVersionRepository.findByApplicationKey(APPLICATION_KEY)).thenReturn(createApplicationVersion(true));
+
+        final CachedApplicationVersion first = tested.findApplicationVersion(APPLICATION_KEY).orElseThrow();
+        final CachedApplicationVersion second = tested.findApplicationVersion(APPLICATION_KEY).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals("1.0", first.name());
+        assertEquals("secret", first.applicationSecret());
+        assertEquals(1L, first.applicationRid());
+        assertEquals(APPLICATION_ID, first.applicationId());
+        assertTrue(first.supported());
+        verify(applicationVersionRepository, times(1)).findByApplicationKey(APPLICATION_KEY);
+    }
+
+    @Test
+    void testFindApplicationVersionMissNotCached() {
+        assertTrue(tested.findApplicationVersion(APPLICATION_KEY).isEmpty());
+        assertTrue(tested.findApplicationVersion(null).isEmpty());
+
+        when(applicationVersionRepository.findByApplicationKey(APPLICATION_KEY)).thenReturn(createApplicationVersion(true));
+
+        assertTrue(tested.findApplicationVersion(APPLICATION_KEY).isPresent());
+        verify(applicationVersionRepository, times(2)).findByApplicationKey(APPLICATION_KEY);
+    }
+
+    @Test
+    void testFindApplicationVersionSupported() {
+        when(applicationVersionRepository.findByApplicationKey(APPLICATION_KEY)).thenReturn(createApplicationVersion(false));
+
+        assertFalse(tested.findApplicationVersion(APPLICATION_KEY).orElseThrow().supported());
+
+        when(applicationVersionRepository.findByApplicationKey(APPLICATION_KEY)).thenReturn(createApplicationVersion(true));
+        assertFalse(tested.findApplicationVersion(APPLICATION_KEY).orElseThrow().supported(), "Cached until invalidated");
+
+        tested.invalidateApplicationVersion(APPLICATION_KEY);
+        assertTrue(tested.findApplicationVersion(APPLICATION_KEY).orElseThrow().supported());
+    }
+
+    @Test
+    void testApplicationVersionInvalidatedByOtherNode() {
+        when(applicationVersionRepository.findByApplicationKey(APPLICATION_KEY)).thenReturn(createApplicationVersion(true));
+        final CachedApplicationVersion first = tested.findApplicationVersion(APPLICATION_KEY).orElseThrow();
+
+        when(applicationVersionRepository.findByApplicationKey(APPLICATION_KEY)).thenReturn(createApplicationVersion(false));
+        transport.receiver.accept(new CacheInvalidationEvent("node2", CacheInvalidationType.APPLICATION_VERSION, APPLICATION_KEY));
+
+        assertNull(applicationVersionCache.getIfPresent(APPLICATION_KEY));
+        final CachedApplicationVersion second = tested.findApplicationVersion(APPLICATION_KEY).orElseThrow();
+        assertTrue(first.supported());
+        assertFalse(second.supported());
+    }
+
+    @Test
+    void testFindMasterKeyPair() throws Exception {
+        final KeyPair keyPair = new KeyGenerator().generateKeyPair();
+        when(masterKeyPairRepository.findFirstByApplicationIdOrderByTimestampCreatedDesc(APPLICATION_ID)).thenReturn(createMasterKeyPair(1L, keyPair));
+
+        final CachedMasterKeyPair first = tested.findMasterKeyPair(APPLICATION_ID).orElseThrow();
+        final CachedMasterKeyPair second = tested.findMasterKeyPair(APPLICATION_ID).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(1L, first.id());
+        assertEquals(APPLICATION_ID, first.applicationId());
+        assertArrayEquals(keyConvertor.convertPrivateKeyToBytes(keyPair.getPrivate()), keyConvertor.convertPrivateKeyToBytes(first.privateKey()));
+        assertArrayEquals(keyConvertor.convertPublicKeyToBytes(keyPair.getPublic()), keyConvertor.convertPublicKeyToBytes(first.publicKey()));
+        verify(masterKeyPairRepository, times(1)).findFirstByApplicationIdOrderByTimestampCreatedDesc(APPLICATION_ID);
+    }
+
+    @Test
+    void testFindMasterKeyPairMissNotCached() throws Exception {
+        assertTrue(tested.findMasterKeyPair(APPLICATION_ID).isEmpty());
+
+        when(masterKeyPairRepository.findFirstByApplicationIdOrderByTimestampCreatedDesc(APPLICATION_ID)).thenReturn(createMasterKeyPair(1L, new KeyGenerator().generateKeyPair()));
+
+        assertTrue(tested.findMasterKeyPair(APPLICATION_ID).isPresent());
+        verify(masterKeyPairRepository, times(2)).findFirstByApplicationIdOrderByTimestampCreatedDesc(APPLICATION_ID);
+    }
+
+    @Test
+    void testMasterKeyPairInvalidatedByOtherNode() throws Exception {
+        final KeyGenerator keyGenerator = new KeyGenerator();
+        when(masterKeyPairRepository.findFirstByApplicationIdOrderByTimestampCreatedDesc(APPLICATION_ID)).thenReturn(createMasterKeyPair(1L, keyGenerator.generateKeyPair()));
+        assertEquals(1L, tested.findMasterKeyPair(APPLICATION_ID).orElseThrow().id());
+
+        when(masterKeyPairRepository.findFirstByApplicationIdOrderByTimestampCreatedDesc(APPLICATION_ID)).thenReturn(createMasterKeyPair(2L, keyGenerator.generateKeyPair()));
+        assertEquals(1L, tested.findMasterKeyPair(APPLICATION_ID).orElseThrow().id(), "Cached until invalidated");
+
+        transport.receiver.accept(new CacheInvalidationEvent("node2", CacheInvalidationType.MASTER_KEY_PAIR, APPLICATION_ID));
+
+        assertNull(masterKeyPairCache.getIfPresent(APPLICATION_ID));
+        assertEquals(2L, tested.findMasterKeyPair(APPLICATION_ID).orElseThrow().id());
+    }
+
+    private ApplicationVersionEntity createApplicationVersion(final boolean supported) {
+        final ApplicationVersionEntity applicationVersion = new ApplicationVersionEntity();
+        applicationVersion.setApplication(application);
+        applicationVersion.setId("1.0");
+        applicationVersion.setApplicationKey(APPLICATION_KEY);
+        applicationVersion.setApplicationSecret("secret");
+        applicationVersion.setSupported(supported);
+        return applicationVersion;
+    }
+
+    private MasterKeyPairEntity createMasterKeyPair(final Long id, final KeyPair keyPair) throws Exception {
+        final MasterKeyPairEntity masterKeyPair = new MasterKeyPairEntity();
+        masterKeyPair.setId(id);
+        masterKeyPair.setApplication(application);
+        masterKeyPair.setMasterKeyPrivateBase64(Base64.getEncoder().encodeToString(keyConvertor.convertPrivateKeyToBytes(keyPair.getPrivate())));
+        masterKeyPair.setMasterKeyPublicBase64(Base64.getEncoder().encodeToString(keyConvertor.convertPublicKeyToBytes(keyPair.getPublic())));
+        return masterKeyPair;
+    }
+
+    private static class RemoteTransport implements CacheInvalidationTransport {
+
+        private Consumer<CacheInvalidationEvent> receiver;
+
+        @Override
+        public void publish(final CacheInvalidationEvent event) {
+        }
+
+        @Override
+        public void start(final String nodeId, final Consumer<CacheInvalidationEvent> receiver) {
+            this.receiver = receiver;
+        }
+
+    }
+
+}
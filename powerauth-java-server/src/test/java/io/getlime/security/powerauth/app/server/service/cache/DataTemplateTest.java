@@ -0,0 +1,79 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import org.apache.commons.text.StringSubstitutor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link DataTemplate}.
+ *
+ * @author agent, agent@local
+ */
+class DataTemplateTest {
+
+    private static final Map<String, String> PARAMETERS = Map.of(
+            "amount", "100",
+            "currency", "CZK",
+            "iban", "CZ5508000000001234567899",
+            "note", "a\\*b"
+    );
+
+    private static final List<String> TEMPLATES = List.of(
+            "",
+            "A2",
+            "A1*A${amount}${currency}*I${iban}",
+            "A1*A${amount}${currency}*I${iban}*N${note}",
+            "${amount}",
+            "prefix ${unknown} suffix",
+            "${amount}}",
+            "${amount",
+            "${}",
+            "$${amount}",
+            "$$ ${amount}",
+            "${unknown:-default}",
+            "${amount${currency}}",
+            "cost $5 ${amount}"
+    );
+
+    @Test
+    void testRenderMatchesStringSubstitutor() {
+        for (String template : TEMPLATES) {
+            assertEquals(new StringSubstitutor(PARAMETERS).replace(template), DataTemplate.parse(template).render(PARAMETERS), "Template: " + template);
+        }
+    }
+
+    @Test
+    void testRenderRecursiveValueMatchesStringSubstitutor() {
+        final Map<String, String> parameters = Map.of("amount", "${currency}", "currency", "CZK");
+        final String template = "A1*A${amount}";
+        assertEquals(new StringSubstitutor(parameters).replace(template), DataTemplate.parse(template).render(parameters));
+    }
+
+    @Test
+    void testRender() {
+        assertEquals("A1*A100CZK*ICZ5508000000001234567899", DataTemplate.parse("A1*A${amount}${currency}*I${iban}").render(PARAMETERS));
+    }
+
+}
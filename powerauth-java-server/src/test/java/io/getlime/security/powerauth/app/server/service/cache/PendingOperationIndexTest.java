@@ -0,0 +1,207 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.getlime.security.powerauth.app.server.database.model.entity.OperationEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.OperationStatusDo;
+import io.getlime.security.powerauth.app.server.database.repository.OperationRepository;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationBus;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationEvent;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for {@link PendingOperationIndex}.
+ *
+ * @author agent, agent@local
+ */
+class PendingOperationIndexTest {
+
+    private static final String USER_ID = "user1";
+    private static final Instant NOW = Instant.now();
+
+    private final OperationRepository operationRepository = mock(OperationRepository.class);
+    private final Cache<String, PendingOperations> cache = Caffeine.newBuilder().build();
+    private final RecordingTransport transport = new RecordingTransport();
+
+    private PendingOperationIndex tested;
+
+    @BeforeEach
+    void setUp() {
+        final CacheInvalidationBus bus = new CacheInvalidationBus(Optional.of(transport), "node1");
+        tested = new PendingOperationIndex(cache, operationRepository, bus, true);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void testNoPendingOperationLoadedOnce() {
+        when(operationRepository.findPendingOperationViewsForUser(USER_ID)).thenReturn(List.of());
+
+        assertFalse(tested.mayHavePendingOperations(USER_ID, Date.from(NOW)));
+        assertFalse(tested.mayHavePendingOperations(USER_ID, Date.from(NOW)));
+
+        verify(operationRepository, times(1)).findPendingOperationViewsForUser(USER_ID);
+    }
+
+    @Test
+    void testCreationMarksUserPending() {
+        when(operationRepository.findPendingOperationViewsForUser(USER_ID)).thenReturn(List.of());
+        assertFalse(tested.mayHavePendingOperations(USER_ID, Date.from(NOW)));
+
+        tested.onOperationChange(operation("op1", OperationStatusDo.PENDING, NOW.plusSeconds(300)));
+        assertEquals(List.of(new CacheInvalidationEvent("node1", CacheInvalidationType.PENDING_OPERATIONS, USER_ID)), transport.published);
+        // Not applied before the transaction commits
+        assertFalse(tested.mayHavePendingOperations(USER_ID, Date.from(NOW)));
+
+        commit();
+        assertTrue(tested.mayHavePendingOperations(USER_ID, Date.from(NOW)));
+        verify(operationRepository, times(1)).findPendingOperationViewsForUser(USER_ID);
+    }
+
+    @Test
+    void testRollbackKeepsIndex() {
+        when(operationRepository.findPendingOperationViewsForUser(USER_ID)).thenReturn(List.of(view("op1", NOW.plusSeconds(300))));
+        assertTrue(tested.mayHavePendingOperations(USER_ID, Date.from(NOW)));
+
+        tested.onOperationChange(operation("op1", OperationStatusDo.APPROVED, NOW.plusSeconds(300)));
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertTrue(tested.mayHavePendingOperations(USER_ID, Date.from(NOW)));
+    }
+
+    @Test
+    void testFinalizationClearsPending() {
+        when(operationRepository.findPendingOperationViewsForUser(USER_ID)).thenReturn(List.of(view("op1", NOW.plusSeconds(300))));
+        assertTrue(tested.mayHavePendingOperations(USER_ID, Date.from(NOW)));
+
+        tested.onOperationChange(operation("op1", OperationStatusDo.APPROVED, NOW.plusSeconds(300)));
+        commit();
+
+        assertFalse(tested.mayHavePendingOperations(USER_ID, Date.from(NOW)));
+        assertTrue(transport.published.isEmpty());
+    }
+
+    @Test
+    void testExpiryClearsPending() {
+        when(operationRepository.findPendingOperationViewsForUser(USER_ID)).thenReturn(List.of(view("op1", NOW.plusSeconds(300))));
+        assertTrue(tested.mayHavePendingOperations(USER_ID, Date.from(NOW)));
+
+        // Expired by time before the expiration job runs
+        assertFalse(tested.mayHavePendingOperations(USER_ID, Date.from(NOW.plusSeconds(301))));
+
+        tested.onOperationChange(operation("op1", OperationStatusDo.EXPIRED, NOW.plusSeconds(300)));
+        commit();
+        assertFalse(tested.mayHavePendingOperations(USER_ID, Date.from(NOW)));
+    }
+
+    @Test
+    void testInvalidationThroughBus() {
+        when(operationRepository.findPendingOperationViewsForUser(USER_ID))
+                .thenReturn(List.of())
+                .thenReturn(List.of(view("op1", NOW.plusSeconds(300))));
+        assertFalse(tested.mayHavePendingOperations(USER_ID, Date.from(NOW)));
+
+        // Operation created on another node
+        transport.receiver.accept(new CacheInvalidationEvent("node2", CacheInvalidationType.PENDING_OPERATIONS, USER_ID));
+
+        assertTrue(tested.mayHavePendingOperations(USER_ID, Date.from(NOW)));
+        verify(operationRepository, times(2)).findPendingOperationViewsForUser(USER_ID);
+    }
+
+    @Test
+    void testDisabled() {
+        tested = new PendingOperationIndex(cache, operationRepository, new CacheInvalidationBus(Optional.empty(), "node1"), false);
+
+        assertTrue(tested.mayHavePendingOperations(USER_ID, Date.from(NOW)));
+        tested.onOperationChange(operation("op1", OperationStatusDo.PENDING, NOW.plusSeconds(300)));
+
+        verifyNoInteractions(operationRepository);
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static OperationEntity operation(final String id, final OperationStatusDo status, final Instant timestampExpires) {
+        final OperationEntity operation = new OperationEntity();
+        operation.setId(id);
+        operation.setUserId(USER_ID);
+        operation.setStatus(status);
+        operation.setTimestampExpires(Date.from(timestampExpires));
+        return operation;
+    }
+
+    private static OperationRepository.PendingOperationView view(final String id, final Instant timestampExpires) {
+        return new OperationRepository.PendingOperationView() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public Date getTimestampExpires() {
+                return Date.from(timestampExpires);
+            }
+        };
+    }
+
+    private static class RecordingTransport implements CacheInvalidationTransport {
+
+        private final List<CacheInvalidationEvent> published = new ArrayList<>();
+        private Consumer<CacheInvalidationEvent> receiver;
+
+        @Override
+        public void publish(final CacheInvalidationEvent event) {
+            published.add(event);
+        }
+
+        @Override
+        public void start(final String nodeId, final Consumer<CacheInvalidationEvent> receiver) {
+            this.receiver = receiver;
+        }
+
+    }
+
+}
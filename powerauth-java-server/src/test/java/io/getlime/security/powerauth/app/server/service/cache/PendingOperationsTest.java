@@ -0,0 +1,59 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link PendingOperations}.
+ *
+ * @author agent, agent@local
+ */
+class PendingOperationsTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    @Test
+    void testEmpty() {
+        assertFalse(PendingOperations.empty().anyPendingAt(Date.from(NOW)));
+    }
+
+    @Test
+    void testWithAndWithout() {
+        final PendingOperations pendingOperations = PendingOperations.empty()
+                .with("op1", Date.from(NOW.plusSeconds(60)));
+        assertTrue(pendingOperations.anyPendingAt(Date.from(NOW)));
+        assertFalse(pendingOperations.without("op1").anyPendingAt(Date.from(NOW)));
+        assertSame(pendingOperations, pendingOperations.without("unknown"));
+        assertTrue(PendingOperations.empty().expirations().isEmpty());
+    }
+
+    @Test
+    void testExpiredOperationIsNotPending() {
+        final PendingOperations pendingOperations = PendingOperations.empty()
+                .with("op1", Date.from(NOW.minusSeconds(1)));
+        assertFalse(pendingOperations.anyPendingAt(Date.from(NOW)));
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache.invalidation;
+
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link CacheInvalidationBus}.
+ *
+ * @author agent, agent@local
+ */
+class CacheInvalidationBusTest {
+
+    private final RecordingTransport transport = new RecordingTransport();
+    private final List<String> invalidatedKeys = new ArrayList<>();
+
+    private CacheInvalidationBus tested;
+
+    @BeforeEach
+    void setUp() {
+        tested = new CacheInvalidationBus(Optional.of(transport), "node1");
+        tested.subscribe(CacheInvalidationType.OPERATION_TEMPLATE, invalidatedKeys::add);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void testPublishAfterCommit() {
+        tested.publishAfterCommit(CacheInvalidationType.OPERATION_TEMPLATE, "template1");
+
+        assertEquals(List.of(new CacheInvalidationEvent("node1", CacheInvalidationType.OPERATION_TEMPLATE, "template1")), transport.published);
+        assertTrue(invalidatedKeys.isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of("template1"), invalidatedKeys);
+    }
+
+    @Test
+    void testPublishRemote() {
+        tested.publishRemote(CacheInvalidationType.OPERATION_TEMPLATE, "template1");
+
+        assertEquals(1, transport.published.size());
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void testPublishWithoutListener() {
+        tested.publishAfterCommit(CacheInvalidationType.ACTIVATION, "activation1");
+
+        assertTrue(transport.published.isEmpty());
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void testReceive() {
+        transport.receiver.accept(new CacheInvalidationEvent("node2", CacheInvalidationType.OPERATION_TEMPLATE, "template1"));
+        transport.receiver.accept(new CacheInvalidationEvent("node1", CacheInvalidationType.OPERATION_TEMPLATE, "template2"));
+        transport.receiver.accept(new CacheInvalidationEvent("node2", CacheInvalidationType.ACTIVATION, "activation1"));
+
+        assertEquals(List.of("template1"), invalidatedKeys);
+    }
+
+    private static class RecordingTransport implements CacheInvalidationTransport {
+
+        private final List<CacheInvalidationEvent> published = new ArrayList<>();
+        private Consumer<CacheInvalidationEvent> receiver;
+
+        @Override
+        public void publish(final CacheInvalidationEvent event) {
+            published.add(event);
+        }
+
+        @Override
+        public void start(final String nodeId, final Consumer<CacheInvalidationEvent> receiver) {
+            this.receiver = receiver;
+        }
+
+    }
+
+}
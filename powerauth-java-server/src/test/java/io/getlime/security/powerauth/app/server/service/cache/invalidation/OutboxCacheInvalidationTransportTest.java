@@ -0,0 +1,190 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache.invalidation;
+
+import io.getlime.security.powerauth.app.server.database.model.entity.CacheInvalidationEventEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
+import io.getlime.security.powerauth.app.server.database.repository.CacheInvalidationEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for {@link OutboxCacheInvalidationTransport}.
+ *
+ * @author agent, agent@local
+ */
+class OutboxCacheInvalidationTransportTest {
+
+    private static final Duration LOOKBACK = Duration.ofSeconds(10);
+    private static final LocalDateTime LATEST = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    private final CacheInvalidationEventRepository eventRepository = mock(CacheInvalidationEventRepository.class);
+    private final List<CacheInvalidationEvent> received = new ArrayList<>();
+
+    private OutboxCacheInvalidationTransport tested;
+
+    @BeforeEach
+    void setUp() {
+        tested = new OutboxCacheInvalidationTransport(eventRepository, LOOKBACK, Duration.ofHours(1));
+        when(eventRepository.findLatestTimestamp()).thenReturn(Optional.of(LATEST));
+        when(eventRepository.findEventsOfOtherNodes(any(), eq("node1"))).thenReturn(List.of());
+    }
+
+    @Test
+    void testPollNotStarted() {
+        tested.poll();
+
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void testPollFromLatestEvent() {
+        tested.start("node1", received::add);
+
+        tested.poll();
+
+        verify(eventRepository).findEventsOfOtherNodes(LATEST.minus(LOOKBACK), "node1");
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void testPollWithoutEvents() {
+        when(eventRepository.findLatestTimestamp()).thenReturn(Optional.empty());
+        final CacheInvalidationEventEntity event = createEvent(1L, LATEST);
+        when(eventRepository.findEventsOfOtherNodes(any(), eq("node1"))).thenReturn(List.of(event));
+        tested.start("node1", received::add);
+
+        tested.poll();
+
+        verify(eventRepository).findEventsOfOtherNodes(LocalDateTime.of(1970, 1, 1, 0, 0).minus(LOOKBACK), "node1");
+        assertEquals(List.of(new CacheInvalidationEvent("node2", CacheInvalidationType.OPERATION_TEMPLATE, "key1")), received);
+    }
+
+    @Test
+    void testPollDeliversOnce() {
+        final CacheInvalidationEventEntity first = createEvent(1L, LATEST.plusSeconds(1));
+        final CacheInvalidationEventEntity second = createEvent(2L, LATEST.plusSeconds(2));
+        when(eventRepository.findEventsOfOtherNodes(any(), eq("node1"))).thenReturn(List.of(first), List.of(first, second));
+        tested.start("node1", received::add);
+
+        tested.poll();
+        tested.poll();
+
+        assertEquals(List.of("key1", "key2"), received.stream().map(CacheInvalidationEvent::key).toList());
+    }
+
+    @Test
+    void testPollFollowsEventTimestamps() {
+        final CacheInvalidationEventEntity event = createEvent(1L, LATEST.plusMinutes(5));
+        when(eventRepository.findEventsOfOtherNodes(any(), eq("node1"))).thenReturn(List.of(event), List.of());
+        tested.start("node1", received::add);
+
+        tested.poll();
+        tested.poll();
+        tested.poll();
+
+        verify(eventRepository).findEventsOfOtherNodes(LATEST.minus(LOOKBACK), "node1");
+        verify(eventRepository, times(2)).findEventsOfOtherNodes(LATEST.plusMinutes(5).minus(LOOKBACK), "node1");
+        verify(eventRepository, times(1)).findLatestTimestamp();
+    }
+
+    @Test
+    void testPollDeliversLateCommit() {
+        final CacheInvalidationEventEntity newer = createEvent(1L, LATEST.plusSeconds(5));
+        final CacheInvalidationEventEntity older = createEvent(2L, LATEST.plusSeconds(5).minus(LOOKBACK));
+        when(eventRepository.findEventsOfOtherNodes(any(), eq("node1"))).thenReturn(List.of(newer), List.of(older, newer));
+        tested.start("node1", received::add);
+
+        tested.poll();
+        tested.poll();
+
+        assertEquals(List.of("key1", "key2"), received.stream().map(CacheInvalidationEvent::key).toList());
+        verify(eventRepository).findEventsOfOtherNodes(LATEST.plusSeconds(5).minus(LOOKBACK), "node1");
+    }
+
+    @Test
+    void testPublish() {
+        tested.publish(new CacheInvalidationEvent("node1", CacheInvalidationType.ACTIVATION, "activation1"));
+
+        verify(eventRepository).save(argThat(entity -> "node1".equals(entity.getNodeId())
+                && entity.getEventType() == CacheInvalidationType.ACTIVATION
+                && "activation1".equals(entity.getEventKey())
+                && entity.getTimestampCreated() == null));
+    }
+
+    private static CacheInvalidationEventEntity createEvent(final Long id, final LocalDateTime timestampCreated) {
+        final CacheInvalidationEventEntity event = new CacheInvalidationEventEntity();
+        event.setId(id);
+        event.setNodeId("node2");
+        event.setEventType(CacheInvalidationType.OPERATION_TEMPLATE);
+        event.setEventKey("key" + id);
+        event.setTimestampCreated(timestampCreated);
+        return event;
+    }
+
+    @SpringBootTest
+    @ActiveProfiles("test")
+    @Nested
+    @Transactional
+    class Database {
+
+        @Autowired
+        private CacheInvalidationEventRepository eventRepository;
+
+        @Test
+        void testDeliverToOtherNode() {
+            final List<CacheInvalidationEvent> receivedByNode1 = new ArrayList<>();
+            final List<CacheInvalidationEvent> receivedByNode2 = new ArrayList<>();
+            final OutboxCacheInvalidationTransport node1 = new OutboxCacheInvalidationTransport(eventRepository, LOOKBACK, Duration.ofHours(1));
+            final OutboxCacheInvalidationTransport node2 = new OutboxCacheInvalidationTransport(eventRepository, LOOKBACK, Duration.ofHours(1));
+            node1.start("node1", receivedByNode1::add);
+            node2.start("node2", receivedByNode2::add);
+            node1.poll();
+            node2.poll();
+
+            final CacheInvalidationEvent event = new CacheInvalidationEvent("node1", CacheInvalidationType.OPERATION_TEMPLATE, "template1");
+            node1.publish(event);
+            node1.poll();
+            node2.poll();
+            node2.poll();
+
+            assertTrue(receivedByNode1.isEmpty());
+            assertEquals(List.of(event), receivedByNode2);
+            assertTrue(eventRepository.findLatestTimestamp().isPresent());
+        }
+
+    }
+
+}
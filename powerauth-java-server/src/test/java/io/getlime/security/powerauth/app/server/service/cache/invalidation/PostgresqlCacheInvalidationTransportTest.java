@@ -0,0 +1,127 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.cache.invalidation;
+
+import io.getlime.security.powerauth.app.server.database.model.enumeration.CacheInvalidationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for {@link PostgresqlCacheInvalidationTransport}.
+ *
+ * @author agent, agent@local
+ */
+class PostgresqlCacheInvalidationTransportTest {
+
+    private static final String CHANNEL = "powerauth_cache_invalidation";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PGConnection pgConnection = mock(PGConnection.class);
+    private final BlockingQueue<CacheInvalidationEvent> received = new LinkedBlockingQueue<>();
+    private final BlockingQueue<List<PGNotification>> notifications = new LinkedBlockingQueue<>();
+
+    private PostgresqlCacheInvalidationTransport tested;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tested = new PostgresqlCacheInvalidationTransport(jdbcTemplate, dataSource, Duration.ofMillis(10));
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getNotifications(anyInt())).thenAnswer(invocation -> {
+            try {
+                final List<PGNotification> next = notifications.poll(10, TimeUnit.MILLISECONDS);
+                return next == null ? null : next.toArray(new PGNotification[0]);
+            } catch (InterruptedException ex) {
+                // Stopped by the test
+                return null;
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tested.stop();
+    }
+
+    @Test
+    void testPublish() {
+        tested.publish(new CacheInvalidationEvent("node1", CacheInvalidationType.ACTIVATION, "activation1"));
+
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class), eq(CHANNEL), eq("node1|ACTIVATION|activation1"));
+    }
+
+    @Test
+    void testReceive() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        tested.start("node1", received::add);
+
+        notifications.add(List.of(
+                notification("node2|OPERATION_TEMPLATE|template|1"),
+                notification("invalid"),
+                notification("node2|UNKNOWN|key1"),
+                notification("node2|ACTIVATION|activation1")));
+
+        assertEquals(new CacheInvalidationEvent("node2", CacheInvalidationType.OPERATION_TEMPLATE, "template|1"), received.poll(10, TimeUnit.SECONDS));
+        assertEquals(new CacheInvalidationEvent("node2", CacheInvalidationType.ACTIVATION, "activation1"), received.poll(10, TimeUnit.SECONDS));
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void testReconnect() throws Exception {
+        when(dataSource.getConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenReturn(connection);
+        tested.start("node1", received::add);
+
+        notifications.add(List.of(notification("node2|ACTIVATION|activation1")));
+
+        assertEquals(new CacheInvalidationEvent("node2", CacheInvalidationType.ACTIVATION, "activation1"), received.poll(10, TimeUnit.SECONDS));
+        verify(dataSource, times(2)).getConnection();
+    }
+
+    private static PGNotification notification(final String payload) {
+        final PGNotification notification = mock(PGNotification.class);
+        when(notification.getParameter()).thenReturn(payload);
+        return notification;
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.encryption;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.getlime.security.powerauth.app.server.configuration.PowerAuthServiceConfiguration;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
+import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
+import io.getlime.security.powerauth.app.server.service.i18n.LocalizationProvider;
+import io.getlime.security.powerauth.app.server.service.model.ServiceError;
+import io.getlime.security.powerauth.crypto.lib.generator.KeyGenerator;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.Security;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for {@link EncryptionService} focused on the derived key cache and the rotation of the master DB encryption key.
+ *
+ * @author agent, agent@local
+ */
+class EncryptionServiceTest {
+
+    private static final String MASTER_KEY = "MTIzNDU2Nzg5MDEyMzQ1Ng==";
+    private static final String NEW_MASTER_KEY = "NjU0MzIxMDk4NzY1NDMyMQ==";
+    private static final Supplier<List<String>> KEY_PROVIDER = () -> List.of("user1", "e43a5dec-afea-4a10-a80b-b2183399f16b");
+    private static final String INDEX = "user1&e43a5dec-afea-4a10-a80b-b2183399f16b";
+
+    private final PowerAuthServiceConfiguration configuration = mock(PowerAuthServiceConfiguration.class);
+    private final Cache<String, CachedDerivedKey> cache = Caffeine.newBuilder()
+            .executor(Runnable::run)
+            .<String, CachedDerivedKey>removalListener((key, value, cause) -> {
+                if (value != null) {
+                    value.destroy();
+                }
+            })
+            .build();
+
+    private EncryptionService cached;
+    private EncryptionService uncached;
+
+    @BeforeAll
+    static void setUpProvider() {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(configuration.getMasterDbEncryptionKey()).thenReturn(MASTER_KEY);
+        cached = new EncryptionService(configuration, new LocalizationProvider(), cache, true);
+        uncached = new EncryptionService(configuration, new LocalizationProvider(), Caffeine.newBuilder().build(), false);
+    }
+
+    @Test
+    void testCachedKeyDecryptsFreshlyEncrypted() throws Exception {
+        final EncryptableString encrypted = uncached.encrypt("secret data", KEY_PROVIDER);
+        assertEquals(EncryptionMode.AES_HMAC, encrypted.encryptionMode());
+
+        assertEquals("secret data", cached.decrypt(encrypted.encryptedData(), encrypted.encryptionMode(), KEY_PROVIDER));
+        final CachedDerivedKey entry = cache.getIfPresent(INDEX);
+        assertNotNull(entry);
+        assertEquals("secret data", cached.decrypt(encrypted.encryptedData(), encrypted.encryptionMode(), KEY_PROVIDER));
+        assertSame(entry, cache.getIfPresent(INDEX), "Key taken from the cache");
+
+        final EncryptableString encryptedByCached = cached.encrypt("other data", KEY_PROVIDER);
+        assertEquals("other data", uncached.decrypt(encryptedByCached.encryptedData(), encryptedByCached.encryptionMode(), KEY_PROVIDER));
+        assertArrayEquals(uncached.deriveSecretKey(KEY_PROVIDER).getEncoded(), cached.deriveSecretKey(KEY_PROVIDER).getEncoded());
+    }
+
+    @Test
+    void testEvictionZeroesKeyBytes() throws Exception {
+        cached.deriveSecretKey(KEY_PROVIDER);
+        final CachedDerivedKey entry = cache.getIfPresent(INDEX);
+        assertNotNull(entry);
+        assertNotNull(entry.getKeyBytes());
+
+        cache.invalidate(INDEX);
+
+        assertNull(entry.getKeyBytes());
+    }
+
+    @Test
+    void testDestroyedEntryDerivedAgain() throws Exception {
+        final EncryptableString encrypted = uncached.encrypt("secret data", KEY_PROVIDER);
+        cached.deriveSecretKey(KEY_PROVIDER);
+        final CachedDerivedKey entry = cache.getIfPresent(INDEX);
+        assertNotNull(entry);
+
+        entry.destroy();
+
+        assertEquals("secret data", cached.decrypt(encrypted.encryptedData(), encrypted.encryptionMode(), KEY_PROVIDER));
+        final CachedDerivedKey derivedAgain = cache.getIfPresent(INDEX);
+        assertNotNull(derivedAgain);
+        assertNotSame(entry, derivedAgain);
+        assertNotNull(derivedAgain.getKeyBytes());
+    }
+
+    @Test
+    void testMasterKeyChangeClearsCache() throws Exception {
+        final byte[] oldKey = cached.deriveSecretKey(KEY_PROVIDER).getEncoded();
+        final CachedDerivedKey entry = cache.getIfPresent(INDEX);
+        assertNotNull(entry);
+
+        when(configuration.getMasterDbEncryptionKey()).thenReturn(NEW_MASTER_KEY);
+        final byte[] newKey = cached.deriveSecretKey(KEY_PROVIDER).getEncoded();
+
+        assertNull(entry.getKeyBytes(), "Entry of the previous master key is destroyed");
+        assertFalse(Arrays.equals(oldKey, newKey));
+        assertArrayEquals(uncached.deriveSecretKey(KEY_PROVIDER).getEncoded(), newKey);
+        final CachedDerivedKey newEntry = cache.getIfPresent(INDEX);
+        assertNotNull(newEntry);
+        assertNotSame(entry, newEntry);
+    }
+
+    @Test
+    void testDecryptByPreviousKey() throws Exception {
+        final EncryptableString encryptedString = uncached.encrypt("secret data", KEY_PROVIDER);
+        final byte[] privateKey = new KeyGenerator().generateRandomBytes(32);
+        final EncryptableData encryptedPrivateKey = uncached.encrypt(privateKey, KEY_PROVIDER);
+        final String fingerprint = uncached.getMasterDbEncryptionKeyFingerprint();
+
+        when(configuration.getMasterDbEncryptionKey()).thenReturn(NEW_MASTER_KEY);
+        when(configuration.getMasterDbEncryptionPreviousKey()).thenReturn(MASTER_KEY);
+
+        assertNotEquals(fingerprint, uncached.getMasterDbEncryptionKeyFingerprint());
+        assertEquals("secret data", cached.decrypt(encryptedString.encryptedData(), encryptedString.encryptionMode(), KEY_PROVIDER));
+        assertTrue(cached.isEncryptedByPreviousKey(encryptedString.encryptedData(), encryptedString.encryptionMode(), KEY_PROVIDER));
+        assertArrayEquals(privateKey, cached.decrypt(encryptedPrivateKey.encryptedData(), encryptedPrivateKey.encryptionMode(), KEY_PROVIDER, EncryptionService.PRIVATE_KEY_VALIDATOR));
+        assertTrue(cached.isEncryptedByPreviousKey(encryptedPrivateKey.encryptedData(), encryptedPrivateKey.encryptionMode(), KEY_PROVIDER, EncryptionService.PRIVATE_KEY_VALIDATOR));
+
+        // Records are always encrypted by the current key
+        final EncryptableData reEncrypted = cached.encrypt(privateKey, KEY_PROVIDER);
+        assertFalse(cached.isEncryptedByPreviousKey(reEncrypted.encryptedData(), reEncrypted.encryptionMode(), KEY_PROVIDER, EncryptionService.PRIVATE_KEY_VALIDATOR));
+        assertArrayEquals(privateKey, uncached.decrypt(reEncrypted.encryptedData(), reEncrypted.encryptionMode(), KEY_PROVIDER, EncryptionService.PRIVATE_KEY_VALIDATOR));
+        assertFalse(cached.isEncryptedByPreviousKey("plain data", EncryptionMode.NO_ENCRYPTION, KEY_PROVIDER));
+
+        // No record is re-encrypted once the previous key is removed
+        when(configuration.getMasterDbEncryptionPreviousKey()).thenReturn("");
+        assertFalse(cached.isEncryptedByPreviousKey(encryptedPrivateKey.encryptedData(), encryptedPrivateKey.encryptionMode(), KEY_PROVIDER, EncryptionService.PRIVATE_KEY_VALIDATOR));
+    }
+
+    @Test
+    void testPurposeKeyDiffersFromRecordKey() throws Exception {
+        final byte[] purposeKey = uncached.derivePurposeSecretKey("purpose").getEncoded();
+        assertArrayEquals(purposeKey, cached.derivePurposeSecretKey("purpose").getEncoded());
+        assertFalse(Arrays.equals(purposeKey, uncached.deriveSecretKey(() -> List.of("purpose")).getEncoded()));
+        assertFalse(Arrays.equals(purposeKey, uncached.derivePurposeSecretKey("other purpose").getEncoded()));
+    }
+
+    @Test
+    void testMissingMasterKey() {
+        when(configuration.getMasterDbEncryptionKey()).thenReturn(null);
+
+        final GenericServiceException exception = assertThrows(GenericServiceException.class, () -> cached.deriveSecretKey(KEY_PROVIDER));
+        assertEquals(ServiceError.MISSING_MASTER_DB_ENCRYPTION_KEY, exception.getCode());
+    }
+
+}
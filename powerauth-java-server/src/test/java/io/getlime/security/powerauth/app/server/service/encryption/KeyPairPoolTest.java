@@ -0,0 +1,143 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.encryption;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link KeyPairPool}.
+ *
+ * @author agent, agent@local
+ */
+class KeyPairPoolTest {
+
+    private static final String THREAD_NAME_PREFIX = "key-pair-pool-";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private KeyPairPool tested;
+
+    @AfterEach
+    void tearDown() {
+        if (tested != null) {
+            tested.stop();
+        }
+    }
+
+    @Test
+    void testDisabled() throws Exception {
+        tested = new KeyPairPool(false, 10, 1, meterRegistry);
+        tested.start();
+
+        assertNotNull(tested.takeKeyPair());
+        assertEquals(0, requests("hit"));
+        assertEquals(0, requests("miss"));
+    }
+
+    @Test
+    void testEmptyPoolFallback() throws Exception {
+        tested = new KeyPairPool(true, 10, 1, meterRegistry);
+
+        assertNotNull(tested.takeKeyPair());
+        assertEquals(0, requests("hit"));
+        assertEquals(1, requests("miss"));
+    }
+
+    @Test
+    void testPooledKeyPair() throws Exception {
+        tested = new KeyPairPool(true, 2, 1, meterRegistry);
+        tested.start();
+        awaitPoolSize(2);
+        assertEquals(0, refillLag());
+
+        assertNotNull(tested.takeKeyPair());
+        assertEquals(1, requests("hit"));
+        assertEquals(0, requests("miss"));
+
+        // The pool is refilled in the background
+        awaitPoolSize(2);
+        assertEquals(0, refillLag());
+    }
+
+    @Test
+    void testRefillLag() throws Exception {
+        tested = new KeyPairPool(true, 10, 1, meterRegistry);
+
+        tested.takeKeyPair();
+        Thread.sleep(20);
+
+        assertTrue(refillLag() >= 20);
+    }
+
+    @Test
+    void testStopEndsRefillThreads() throws Exception {
+        tested = new KeyPairPool(true, 2, 2, meterRegistry);
+        tested.start();
+        awaitPoolSize(2);
+        assertTrue(isRefillThreadAlive());
+
+        tested.stop();
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (isRefillThreadAlive() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(isRefillThreadAlive());
+        assertEquals(0, poolSize());
+    }
+
+    @Test
+    void testZeroCapacityRejected() {
+        assertThrows(IllegalStateException.class, () -> new KeyPairPool(true, 0, 1, meterRegistry));
+        assertDoesNotThrow(() -> new KeyPairPool(false, 0, 1, new SimpleMeterRegistry()));
+    }
+
+    private double requests(final String result) {
+        return meterRegistry.get("powerauth.keypair.pool.requests").tag("result", result).counter().count();
+    }
+
+    private double poolSize() {
+        return meterRegistry.get("powerauth.keypair.pool.size").gauge().value();
+    }
+
+    private double refillLag() {
+        return meterRegistry.get("powerauth.keypair.pool.refill.lag").timeGauge().value(TimeUnit.MILLISECONDS);
+    }
+
+    private void awaitPoolSize(final int size) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10_000;
+        while (poolSize() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(size, poolSize());
+    }
+
+    private static boolean isRefillThreadAlive() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().startsWith(THREAD_NAME_PREFIX) && thread.isAlive());
+    }
+
+}
@@ -0,0 +1,276 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.encryption;
+
+import io.getlime.security.powerauth.app.server.configuration.PowerAuthServiceConfiguration;
+import io.getlime.security.powerauth.app.server.converter.RecoveryPrivateKeyConverter;
+import io.getlime.security.powerauth.app.server.converter.RecoveryPukConverter;
+import io.getlime.security.powerauth.app.server.converter.ServerPrivateKeyConverter;
+import io.getlime.security.powerauth.app.server.database.model.RecoveryPrivateKey;
+import io.getlime.security.powerauth.app.server.database.model.RecoveryPuk;
+import io.getlime.security.powerauth.app.server.database.model.ServerPrivateKey;
+import io.getlime.security.powerauth.app.server.database.model.entity.*;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionMode;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.EncryptionTarget;
+import io.getlime.security.powerauth.app.server.database.repository.ActivationRepository;
+import io.getlime.security.powerauth.app.server.database.repository.ApplicationConfigRepository;
+import io.getlime.security.powerauth.app.server.database.repository.EncryptionProgressRepository;
+import io.getlime.security.powerauth.app.server.database.repository.RecoveryConfigRepository;
+import io.getlime.security.powerauth.app.server.service.persistence.ApplicationConfigService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for {@link ReEncryptionService}.
+ *
+ * @author agent, agent@local
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql
+@Transactional
+class ReEncryptionServiceTest {
+
+    private static final String ACTIVATION_ID_1 = "0d34cfc4-af98-4eb8-aba5-58f766bd2967";
+    private static final String ACTIVATION_ID_2 = "e43a5dec-afea-4a10-a80b-b2183399f16b";
+    private static final String PUK_HASH = "$argon2i$v=19$m=32768,t=3,p=16$ZHA5cVRlNjNlb0J5YUtTdw$Es3wkbY0eJCXXy6Q8Qbb5zaSg0eStfKUwlvvPA9c0RA";
+    private static final String POSTCARD_PRIVATE_KEY = "KdcJHQAT/BBF+26uBGNhGC0GQ93ncTx7V6kusNA8AdE=";
+
+    @Autowired
+    private ReEncryptionService tested;
+
+    @Autowired
+    private ApplicationConfigService applicationConfigService;
+
+    @Autowired
+    private ApplicationConfigRepository applicationConfigRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PowerAuthServiceConfiguration powerAuthServiceConfiguration;
+
+    @Autowired
+    private ActivationRepository activationRepository;
+
+    @Autowired
+    private RecoveryConfigRepository recoveryConfigRepository;
+
+    @Autowired
+    private EncryptionProgressRepository encryptionProgressRepository;
+
+    @Autowired
+    private ServerPrivateKeyConverter serverPrivateKeyConverter;
+
+    @Autowired
+    private RecoveryPukConverter recoveryPukConverter;
+
+    @Autowired
+    private RecoveryPrivateKeyConverter recoveryPrivateKeyConverter;
+
+    @Autowired
+    private EncryptionService encryptionService;
+
+    @Test
+    void testEncryptChunk() {
+        assertEquals(1, tested.encryptChunk(EncryptionTarget.APPLICATION_CONFIG));
+        assertFalse(tested.isCompleted(EncryptionTarget.APPLICATION_CONFIG));
+        entityManager.clear();
+
+        final ApplicationConfigEntity entity = applicationConfigRepository.findByApplicationIdAndKey("PA_Tests", "oauth2_providers").orElseThrow();
+        assertEquals(EncryptionMode.AES_HMAC, entity.getEncryptionMode());
+        assertFalse(entity.getValues().contains("client_secret"));
+        assertEquals(List.of("client_secret"), applicationConfigService.findByApplicationIdAndKey("PA_Tests", "oauth2_providers").orElseThrow().values());
+
+        // The next pass finds no record to encrypt
+        assertEquals(0, tested.encryptChunk(EncryptionTarget.APPLICATION_CONFIG));
+        assertTrue(tested.isCompleted(EncryptionTarget.APPLICATION_CONFIG));
+    }
+
+    @Test
+    void testEncryptServerPrivateKeys() throws Exception {
+        assertEquals(2, tested.encryptChunk(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY));
+        assertFalse(tested.isCompleted(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY));
+        entityManager.clear();
+
+        assertServerPrivateKeyEncrypted(ACTIVATION_ID_1, "APD6fH4t8WRiLr60mQQBMusCfgHjl5/oxe3fAE8NM6IB");
+        assertServerPrivateKeyEncrypted(ACTIVATION_ID_2, "PUz/He8+RFoOPS1NG6Gw3TDXIQ/DnS1skNBOQWzXX60=");
+
+        assertEquals(0, tested.encryptChunk(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY));
+        assertTrue(tested.isCompleted(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY));
+    }
+
+    @Test
+    void testEncryptRecoveryPuk() throws Exception {
+        assertEquals(1, tested.encryptChunk(EncryptionTarget.RECOVERY_PUK));
+        entityManager.clear();
+
+        final RecoveryPukEntity puk = entityManager.find(RecoveryPukEntity.class, 1L);
+        assertEquals(EncryptionMode.AES_HMAC, puk.getPukEncryption());
+        assertNotEquals(PUK_HASH, puk.getPuk());
+        assertEquals(PUK_HASH, recoveryPukConverter.fromDBValue(new RecoveryPuk(puk.getPukEncryption(), puk.getPuk()), 21L, "user1", "VVVVV-VVVVV-VVVVV-VTFVA", 1L));
+
+        assertEquals(0, tested.encryptChunk(EncryptionTarget.RECOVERY_PUK));
+        assertTrue(tested.isCompleted(EncryptionTarget.RECOVERY_PUK));
+    }
+
+    @Test
+    void testEncryptRecoveryPostcardPrivateKey() throws Exception {
+        assertEquals(1, tested.encryptChunk(EncryptionTarget.RECOVERY_POSTCARD_PRIVATE_KEY));
+        entityManager.clear();
+
+        final RecoveryConfigEntity config = recoveryConfigRepository.findById(1L).orElseThrow();
+        assertEquals(EncryptionMode.AES_HMAC, config.getPrivateKeyEncryption());
+        assertNotEquals(POSTCARD_PRIVATE_KEY, config.getRecoveryPostcardPrivateKeyBase64());
+        assertEquals(POSTCARD_PRIVATE_KEY, recoveryPrivateKeyConverter.fromDBValue(new RecoveryPrivateKey(config.getPrivateKeyEncryption(), config.getRecoveryPostcardPrivateKeyBase64()), 21L));
+
+        assertEquals(0, tested.encryptChunk(EncryptionTarget.RECOVERY_POSTCARD_PRIVATE_KEY));
+        assertTrue(tested.isCompleted(EncryptionTarget.RECOVERY_POSTCARD_PRIVATE_KEY));
+    }
+
+    @Test
+    void testSaveCheckpoint() {
+        final int chunkSize = powerAuthServiceConfiguration.getReEncryptionChunkSize();
+        try {
+            powerAuthServiceConfiguration.setReEncryptionChunkSize(1);
+            assertEquals(1, tested.encryptChunk(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY));
+            final EncryptionProgressEntity progress = encryptionProgressRepository.findById(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY).orElseThrow();
+            assertEquals(ACTIVATION_ID_1, progress.getLastId());
+            assertEquals(1, progress.getRecordsEncrypted());
+            assertNull(progress.getTimestampCompleted());
+        } finally {
+            powerAuthServiceConfiguration.setReEncryptionChunkSize(chunkSize);
+        }
+        entityManager.clear();
+        assertEquals(EncryptionMode.AES_HMAC, activationRepository.findById(ACTIVATION_ID_1).orElseThrow().getServerPrivateKeyEncryption());
+        assertEquals(EncryptionMode.NO_ENCRYPTION, activationRepository.findById(ACTIVATION_ID_2).orElseThrow().getServerPrivateKeyEncryption());
+
+        // The next chunk continues after the checkpoint and finishes the pass
+        assertEquals(1, tested.encryptChunk(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY));
+        assertFalse(tested.isCompleted(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY));
+        final EncryptionProgressEntity progress = encryptionProgressRepository.findById(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY).orElseThrow();
+        assertNull(progress.getLastId());
+        assertEquals(0, progress.getRecordsEncrypted());
+        entityManager.clear();
+        assertEquals(EncryptionMode.AES_HMAC, activationRepository.findById(ACTIVATION_ID_2).orElseThrow().getServerPrivateKeyEncryption());
+
+        assertEquals(0, tested.encryptChunk(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY));
+        assertTrue(tested.isCompleted(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY));
+    }
+
+    @Test
+    void testResumeFromSavedCheckpoint() {
+        final EncryptionProgressEntity checkpoint = new EncryptionProgressEntity();
+        checkpoint.setTarget(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY);
+        checkpoint.setLastId(ACTIVATION_ID_1);
+        checkpoint.setRecordsEncrypted(1);
+        checkpoint.setTimestampLastChange(new Date());
+        checkpoint.setKeyFingerprint(encryptionService.getMasterDbEncryptionKeyFingerprint());
+        encryptionProgressRepository.save(checkpoint);
+
+        assertEquals(1, tested.encryptChunk(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY));
+        entityManager.clear();
+        assertEquals(EncryptionMode.NO_ENCRYPTION, activationRepository.findById(ACTIVATION_ID_1).orElseThrow().getServerPrivateKeyEncryption(), "Scanned before the checkpoint");
+        assertEquals(EncryptionMode.AES_HMAC, activationRepository.findById(ACTIVATION_ID_2).orElseThrow().getServerPrivateKeyEncryption());
+        assertFalse(tested.isCompleted(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY));
+
+        // The next pass starts from the beginning
+        assertEquals(1, tested.encryptChunk(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY));
+        entityManager.clear();
+        assertEquals(EncryptionMode.AES_HMAC, activationRepository.findById(ACTIVATION_ID_1).orElseThrow().getServerPrivateKeyEncryption());
+    }
+
+    @Test
+    void testCheckpointOfAnotherMasterKeyRestartsPass() {
+        final EncryptionProgressEntity checkpoint = new EncryptionProgressEntity();
+        checkpoint.setTarget(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY);
+        checkpoint.setLastId(ACTIVATION_ID_1);
+        checkpoint.setTimestampLastChange(new Date());
+        checkpoint.setKeyFingerprint("0000000000000000");
+        encryptionProgressRepository.save(checkpoint);
+
+        assertEquals(2, tested.encryptChunk(EncryptionTarget.ACTIVATION_SERVER_PRIVATE_KEY));
+    }
+
+    @Test
+    void testRotateMasterKey() {
+        final String masterKey = powerAuthServiceConfiguration.getMasterDbEncryptionKey();
+        assertEquals(1, tested.encryptChunk(EncryptionTarget.APPLICATION_CONFIG));
+        assertEquals(0, tested.encryptChunk(EncryptionTarget.APPLICATION_CONFIG));
+        assertTrue(tested.isCompleted(EncryptionTarget.APPLICATION_CONFIG));
+        entityManager.clear();
+        final String encryptedByPreviousKey = applicationConfigRepository.findByApplicationIdAndKey("PA_Tests", "oauth2_providers").orElseThrow().getValues();
+
+        try {
+            powerAuthServiceConfiguration.setMasterDbEncryptionKey("NjU0MzIxMDk4NzY1NDMyMQ==");
+            powerAuthServiceConfiguration.setMasterDbEncryptionPreviousKey(masterKey);
+            assertFalse(tested.isCompleted(EncryptionTarget.APPLICATION_CONFIG), "Completion is bound to the master key");
+            assertEquals(List.of("client_secret"), applicationConfigService.findByApplicationIdAndKey("PA_Tests", "oauth2_providers").orElseThrow().values());
+
+            assertEquals(1, tested.encryptChunk(EncryptionTarget.APPLICATION_CONFIG));
+            assertFalse(tested.isCompleted(EncryptionTarget.APPLICATION_CONFIG));
+            entityManager.clear();
+
+            final ApplicationConfigEntity entity = applicationConfigRepository.findByApplicationIdAndKey("PA_Tests", "oauth2_providers").orElseThrow();
+            assertEquals(EncryptionMode.AES_HMAC, entity.getEncryptionMode());
+            assertNotEquals(encryptedByPreviousKey, entity.getValues());
+
+            // The next pass finds the record encrypted by the current key
+            assertEquals(1, tested.encryptChunk(EncryptionTarget.APPLICATION_CONFIG));
+            assertTrue(tested.isCompleted(EncryptionTarget.APPLICATION_CONFIG));
+
+            powerAuthServiceConfiguration.setMasterDbEncryptionPreviousKey("");
+            assertEquals(List.of("client_secret"), applicationConfigService.findByApplicationIdAndKey("PA_Tests", "oauth2_providers").orElseThrow().values());
+        } finally {
+            powerAuthServiceConfiguration.setMasterDbEncryptionKey(masterKey);
+            powerAuthServiceConfiguration.setMasterDbEncryptionPreviousKey("");
+        }
+    }
+
+    @Sql
+    @Test
+    void testEncryptChunkFailed() {
+        assertEquals(1, tested.encryptChunk(EncryptionTarget.RECOVERY_POSTCARD_PRIVATE_KEY));
+        assertFalse(tested.isCompleted(EncryptionTarget.RECOVERY_POSTCARD_PRIVATE_KEY));
+
+        // The failed record is retried by the next pass, which encrypts no record, but does not complete the target
+        assertEquals(1, tested.encryptChunk(EncryptionTarget.RECOVERY_POSTCARD_PRIVATE_KEY));
+        assertFalse(tested.isCompleted(EncryptionTarget.RECOVERY_POSTCARD_PRIVATE_KEY));
+    }
+
+    private void assertServerPrivateKeyEncrypted(final String activationId, final String serverPrivateKeyBase64) throws Exception {
+        final ActivationRecordEntity activation = activationRepository.findById(activationId).orElseThrow();
+        assertEquals(EncryptionMode.AES_HMAC, activation.getServerPrivateKeyEncryption());
+        assertNotEquals(serverPrivateKeyBase64, activation.getServerPrivateKeyBase64());
+        final ServerPrivateKey serverPrivateKey = new ServerPrivateKey(activation.getServerPrivateKeyEncryption(), activation.getServerPrivateKeyBase64());
+        assertEquals(serverPrivateKeyBase64, serverPrivateKeyConverter.fromDBValue(serverPrivateKey, activation.getUserId(), activationId));
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.persistence;
+
+import io.getlime.security.powerauth.app.server.database.model.entity.ActivationRecordEntity;
+import io.getlime.security.powerauth.app.server.database.repository.ActivationRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for {@link ActivationQueryServiceDefault}.
+ *
+ * @author agent, agent@local
+ */
+class ActivationQueryServiceDefaultTest {
+
+    private final ActivationRepository activationRepository = mock(ActivationRepository.class);
+
+    private final ActivationQueryServiceDefault tested = new ActivationQueryServiceDefault(activationRepository);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFindActivationsForUpdateChunked() {
+        final List<String> activationIds = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            activationIds.add(UUID.randomUUID().toString());
+        }
+        activationIds.add(activationIds.get(0));
+        Collections.shuffle(activationIds);
+        when(activationRepository.findActivationsWithLock(anyCollection())).thenAnswer(invocation -> {
+            final Collection<String> chunk = invocation.getArgument(0);
+            return chunk.stream().map(ActivationQueryServiceDefaultTest::activation).toList();
+        });
+
+        final List<ActivationRecordEntity> result = tested.findActivationsForUpdate(activationIds);
+
+        final ArgumentCaptor<Collection<String>> chunks = ArgumentCaptor.forClass(Collection.class);
+        verify(activationRepository, times(3)).findActivationsWithLock(chunks.capture());
+        assertEquals(List.of(1000, 1000, 500), chunks.getAllValues().stream().map(Collection::size).toList());
+
+        final List<String> expected = activationIds.stream().distinct().sorted().toList();
+        assertEquals(expected, result.stream().map(ActivationRecordEntity::getActivationId).toList());
+    }
+
+    @Test
+    void testFindActivationsForUpdateFailurePropagated() {
+        when(activationRepository.findActivationsWithLock(anyCollection())).thenThrow(new QueryTimeoutException("Lock timeout"));
+
+        final List<String> activationIds = List.of(UUID.randomUUID().toString());
+        assertThrows(QueryTimeoutException.class, () -> tested.findActivationsForUpdate(activationIds));
+    }
+
+    private static ActivationRecordEntity activation(final String activationId) {
+        final ActivationRecordEntity activation = new ActivationRecordEntity();
+        activation.setActivationId(activationId);
+        return activation;
+    }
+
+}
@@ -0,0 +1,386 @@
+/*
+ * PowerAuth Server and related software components
+ * Copyright (C) 2026 Wultra s.r.o.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.getlime.security.powerauth.app.server.service.subscription;
+
+import com.wultra.security.powerauth.client.model.entity.OperationChangeEvent;
+import com.wultra.security.powerauth.client.model.request.OperationChangeSubscribeRequest;
+import io.getlime.security.powerauth.app.server.database.model.entity.ApplicationEntity;
+import io.getlime.security.powerauth.app.server.database.model.entity.OperationEntity;
+import io.getlime.security.powerauth.app.server.database.model.enumeration.OperationStatusDo;
+import io.getlime.security.powerauth.app.server.database.repository.OperationRepository;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationBus;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationEvent;
+import io.getlime.security.powerauth.app.server.service.cache.invalidation.CacheInvalidationTransport;
+import io.getlime.security.powerauth.app.server.service.exceptions.GenericServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for {@link OperationChangeSubscriptionService}.
+ *
+ * @author agent, agent@local
+ */
+class OperationChangeSubscriptionServiceTest {
+
+    private static final int SUBSCRIBER_QUEUE_CAPACITY = 2;
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void testSubscriptionFiltering() throws Exception {
+        final OperationChangeSubscriptionService tested = createService(new SyncTaskExecutor());
+        final RecordingEmitter user = subscribe(tested, "user1", null);
+        final RecordingEmitter userAndApplication = subscribe(tested, "user1", "app2");
+        final RecordingEmitter application = subscribe(tested, null, "app1");
+
+        tested.publish(operation("op1", "user1", "app1"));
+        tested.publish(operation("op2", "user2", "app1"));
+        tested.publish(operation("op3", "user1", "app2"));
+        commit();
+
+        assertEquals(List.of("op1", "op3"), user.sentOperationIds());
+        assertEquals(List.of("op3"), userAndApplication.sentOperationIds());
+        assertEquals(List.of("op1", "op2"), application.sentOperationIds());
+    }
+
+    @Test
+    void testPublishAfterCommit() throws Exception {
+        final OperationChangeSubscriptionService tested = createService(new SyncTaskExecutor());
+        final RecordingEmitter emitter = subscribe(tested, "user1", null);
+
+        tested.publish(operation("op1", "user1", "app1"));
+        assertTrue(emitter.sentOperationIds().isEmpty());
+
+        commit();
+        assertEquals(List.of("op1"), emitter.sentOperationIds());
+    }
+
+    @Test
+    void testPublishWithoutSubscription() {
+        final OperationChangeSubscriptionService tested = createService(new SyncTaskExecutor());
+
+        tested.publish(operation("op1", "user1", "app1"));
+
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void testUnregisterOnCompletion() throws Exception {
+        final OperationChangeSubscriptionService tested = createService(new SyncTaskExecutor());
+        final RecordingEmitter emitter = subscribe(tested, "user1", null);
+
+        emitter.completionCallback.run();
+        tested.publish(operation("op1", "user1", "app1"));
+
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+        assertTrue(emitter.sentOperationIds().isEmpty());
+    }
+
+    @Test
+    void testUnregisterOnTimeout() throws Exception {
+        final OperationChangeSubscriptionService tested = createService(new SyncTaskExecutor());
+        final RecordingEmitter emitter = subscribe(tested, null, "app1");
+        final RecordingEmitter other = subscribe(tested, null, "app1");
+
+        emitter.timeoutCallback.run();
+        tested.publish(operation("op1", "user1", "app1"));
+        commit();
+
+        assertTrue(emitter.sentOperationIds().isEmpty());
+        assertEquals(List.of("op1"), other.sentOperationIds());
+    }
+
+    @Test
+    void testUnregisterOnSendFailure() throws Exception {
+        final OperationChangeSubscriptionService tested = createService(new SyncTaskExecutor());
+        final RecordingEmitter emitter = subscribe(tested, "user1", null);
+        emitter.failure = new IOException("Connection reset");
+
+        tested.publish(operation("op1", "user1", "app1"));
+        commit();
+
+        assertTrue(emitter.completedWithError);
+        tested.publish(operation("op2", "user1", "app1"));
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void testMaxSubscriptions() throws Exception {
+        final OperationChangeSubscriptionService tested = createService(new SyncTaskExecutor());
+        for (int i = 0; i < 3; i++) {
+            subscribe(tested, "user" + i, null);
+        }
+        assertThrows(GenericServiceException.class, () -> subscribe(tested, "user4", null));
+
+        emitters.get(0).completionCallback.run();
+        assertNotNull(subscribe(tested, "user4", null));
+    }
+
+    @Test
+    void testSlowSubscriberDoesNotDelayOthers() throws Exception {
+        final OperationChangeSubscriptionService tested = createService(new SimpleAsyncTaskExecutor());
+        final RecordingEmitter slow = subscribe(tested, "user1", null);
+        final CountDownLatch release = new CountDownLatch(1);
+        slow.blockUntil = release;
+        final RecordingEmitter fast = subscribe(tested, null, "app1");
+
+        // Events are delivered to the fast subscriber while the slow one is still blocked in its first send
+        for (int i = 0; i < SUBSCRIBER_QUEUE_CAPACITY + 3; i++) {
+            tested.publish(operation("op" + i, "user1", "app1"));
+            commit();
+            assertTrue(fast.awaitSent(i + 1));
+        }
+        // The queue of the slow subscriber overflowed, its emitter is completed once the blocked send returns
+        release.countDown();
+        assertTrue(slow.awaitCompleted());
+        assertTrue(slow.sentOperationIds().size() <= 1);
+        assertFalse(fast.completed);
+    }
+
+    @Test
+    void testPublishToOtherNode() throws Exception {
+        final ClusterTransport cluster = new ClusterTransport();
+        final OperationEntity operation = operation("op1", "user1", "app1");
+        final OperationRepository operationRepository = mock(OperationRepository.class);
+        when(operationRepository.findOperationWithoutLock("op1")).thenReturn(Optional.of(operation));
+        final OperationChangeSubscriptionService node1 = createService(new SyncTaskExecutor(), new CacheInvalidationBus(Optional.of(cluster), "node1"), operationRepository);
+        final OperationChangeSubscriptionService node2 = createService(new SyncTaskExecutor(), new CacheInvalidationBus(Optional.of(cluster), "node2"), operationRepository);
+        final RecordingEmitter subscriber1 = subscribe(node1, "user1", null);
+        final RecordingEmitter subscriber2 = subscribe(node2, "user1", null);
+        final RecordingEmitter otherUser = subscribe(node2, "user2", null);
+
+        node1.publish(operation);
+        commit();
+        cluster.deliver();
+
+        assertEquals(List.of("op1"), subscriber1.sentOperationIds());
+        assertEquals(List.of("op1"), subscriber2.sentOperationIds());
+        assertTrue(otherUser.sentOperationIds().isEmpty());
+        // Loaded by the other node only, the publishing node delivers the event it already holds
+        verify(operationRepository, times(1)).findOperationWithoutLock("op1");
+    }
+
+    @Test
+    void testPublishToOtherNodeWithoutLocalSubscription() throws Exception {
+        final ClusterTransport cluster = new ClusterTransport();
+        final OperationEntity operation = operation("op1", "user1", "app1");
+        final OperationRepository operationRepository = mock(OperationRepository.class);
+        when(operationRepository.findOperationWithoutLock("op1")).thenReturn(Optional.of(operation));
+        final OperationChangeSubscriptionService node1 = createService(new SyncTaskExecutor(), new CacheInvalidationBus(Optional.of(cluster), "node1"), operationRepository);
+        final OperationChangeSubscriptionService node2 = createService(new SyncTaskExecutor(), new CacheInvalidationBus(Optional.of(cluster), "node2"), operationRepository);
+        final RecordingEmitter subscriber = subscribe(node2, null, "app1");
+
+        node1.publish(operation);
+        commit();
+        cluster.deliver();
+
+        assertEquals(List.of("op1"), subscriber.sentOperationIds());
+    }
+
+    @Test
+    void testReceiveWithoutSubscription() {
+        final ClusterTransport cluster = new ClusterTransport();
+        final OperationRepository operationRepository = mock(OperationRepository.class);
+        final OperationChangeSubscriptionService node1 = createService(new SyncTaskExecutor(), new CacheInvalidationBus(Optional.of(cluster), "node1"), operationRepository);
+        createService(new SyncTaskExecutor(), new CacheInvalidationBus(Optional.of(cluster), "node2"), operationRepository);
+
+        node1.publish(operation("op1", "user1", "app1"));
+        commit();
+        cluster.deliver();
+
+        verify(operationRepository, never()).findOperationWithoutLock(any());
+    }
+
+    private OperationChangeSubscriptionService createService(final TaskExecutor sendExecutor) {
+        return createService(sendExecutor, new CacheInvalidationBus(Optional.empty(), "node1"), mock(OperationRepository.class));
+    }
+
+    private OperationChangeSubscriptionService createService(final TaskExecutor sendExecutor, final CacheInvalidationBus cacheInvalidationBus, final OperationRepository operationRepository) {
+        return new OperationChangeSubscriptionService(new SyncTaskExecutor(), sendExecutor, cacheInvalidationBus, operationRepository, TransactionOperations.withoutTransaction(),
+                true, Duration.ofMinutes(5), 3, SUBSCRIBER_QUEUE_CAPACITY, Duration.ofSeconds(10)) {
+            @Override
+            SseEmitter createEmitter(final long timeoutMillis) {
+                final RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private static RecordingEmitter subscribe(final OperationChangeSubscriptionService tested, final String userId, final String applicationId) throws GenericServiceException {
+        final OperationChangeSubscribeRequest request = new OperationChangeSubscribeRequest();
+        request.setUserId(userId);
+        request.setApplicationId(applicationId);
+        return (RecordingEmitter) tested.subscribe(request);
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static OperationEntity operation(final String id, final String userId, final String applicationId) {
+        final ApplicationEntity application = new ApplicationEntity();
+        application.setId(applicationId);
+        final OperationEntity operation = new OperationEntity();
+        operation.setId(id);
+        operation.setUserId(userId);
+        operation.setApplications(List.of(application));
+        operation.setOperationType("login");
+        operation.setStatus(OperationStatusDo.PENDING);
+        operation.setTimestampCreated(new Date());
+        operation.setTimestampExpires(new Date());
+        return operation;
+    }
+
+    /**
+     * Transport connecting the nodes of a cluster in memory, published events are delivered to all nodes on demand.
+     */
+    private static class ClusterTransport implements CacheInvalidationTransport {
+
+        private final List<CacheInvalidationEvent> published = new ArrayList<>();
+        private final List<Consumer<CacheInvalidationEvent>> receivers = new ArrayList<>();
+
+        @Override
+        public void publish(final CacheInvalidationEvent event) {
+            published.add(event);
+        }
+
+        @Override
+        public void start(final String nodeId, final Consumer<CacheInvalidationEvent> receiver) {
+            receivers.add(receiver);
+        }
+
+        void deliver() {
+            published.forEach(event -> receivers.forEach(receiver -> receiver.accept(event)));
+            published.clear();
+        }
+
+    }
+
+    /**
+     * Emitter recording the sent events instead of writing them to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completedLatch = new CountDownLatch(1);
+        private volatile CountDownLatch blockUntil;
+        private volatile IOException failure;
+        private volatile boolean completed;
+        private volatile boolean completedWithError;
+        private Runnable completionCallback;
+        private Runnable timeoutCallback;
+
+        @Override
+        public void send(final SseEventBuilder builder) throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            if (blockUntil != null) {
+                try {
+                    blockUntil.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            for (ResponseBodyEmitter.DataWithMediaType item : builder.build()) {
+                if (item.getData() instanceof final OperationChangeEvent event) {
+                    sent.add(event.getOperationId());
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            completedLatch.countDown();
+        }
+
+        @Override
+        public void completeWithError(final Throwable ex) {
+            completedWithError = true;
+            complete();
+        }
+
+        @Override
+        public void onCompletion(final Runnable callback) {
+            this.completionCallback = callback;
+        }
+
+        @Override
+        public void onTimeout(final Runnable callback) {
+            this.timeoutCallback = callback;
+        }
+
+        @Override
+        public void onError(final Consumer<Throwable> callback) {
+            // Errors are simulated by failing sends
+        }
+
+        List<String> sentOperationIds() {
+            return new ArrayList<>(sent);
+        }
+
+        boolean awaitSent(final int count) throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + 10_000;
+            while (sent.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            return sent.size() >= count;
+        }
+
+        boolean awaitCompleted() throws InterruptedException {
+            return completedLatch.await(10, TimeUnit.SECONDS);
+        }
+
+    }
+
+}
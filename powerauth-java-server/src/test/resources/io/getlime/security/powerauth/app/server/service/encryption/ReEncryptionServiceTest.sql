@@ -0,0 +1,21 @@
+INSERT INTO pa_application (id, name) VALUES
+    (21, 'PA_Tests');
+
+INSERT INTO pa_application_config (id, application_id, config_key, config_values, encryption_mode) VALUES
+    (1, 21, 'oauth2_providers', '[ "client_secret" ]', 'NO_ENCRYPTION');
+
+INSERT INTO pa_master_keypair (id, application_id, master_key_private_base64, master_key_public_base64, name, timestamp_created) VALUES
+    (21, 21, 'KdcJHQAT/BBF+26uBGNhGC0GQ93ncTx7V6kusNA8AdE=', 'BP8ZZ0LjiwRCQPob3NFwF9pPDLhxCjnPNmENzayEeeGCiDdk0gl3UzUhYk9ntMg18LZdhpvYnprZ8mk/71WlQqo=', 'PA_Tests Default Keypair', '2022-06-07 09:13:27.599000');
+
+INSERT INTO pa_activation (activation_id, application_id, user_id, protocol, activation_name, activation_code, activation_status, activation_otp, activation_otp_validation, blocked_reason, counter, ctr_data, device_public_key_base64, extras, platform, device_info, flags, failed_attempts, max_failed_attempts, server_private_key_base64, server_private_key_encryption, server_public_key_base64, timestamp_activation_expire, timestamp_created, timestamp_last_used, timestamp_last_change, master_keypair_id, version) VALUES
+    ('0d34cfc4-af98-4eb8-aba5-58f766bd2967', 21, 'user1', 'POWERAUTH', 'test v3', 'DO3MN-7NUEG-5ETT4-CJZEA', 3, null, 0, null, 0, 'D5XibWWPCv+nOOfcdfnUGQ==', 'BF3Sc/vqg8Zk70Y8rbT45xzAIxblGoWgLqknCHuNj7f6QFBNi2UnLbG7yMqf2eWShhyBJdu9zqx7DG2qzlqhbBE=', null, 'unknown', 'backend-tests', '[ ]', 0, 5, 'APD6fH4t8WRiLr60mQQBMusCfgHjl5/oxe3fAE8NM6IB', 0, 'BDE7yrNfAL/RRSTvoKOp8C24EPr5/OZNljr8UkwcjQIgZKypfhFDMd+JCDJOgw3/a4J5z52y+QcOhqWEIGDiHuI=', '2023-04-03 14:04:06.015000', '2023-04-03 13:59:06.015000', '2023-04-03 13:59:16.293000', '2023-04-03 13:59:16.343000', 21, 3),
+    ('e43a5dec-afea-4a10-a80b-b2183399f16b', 21, 'user2', 'POWERAUTH', 'test v3', 'PXSNR-E2B46-7TY3G-TMR2Q', 3, null, 0, null, 0, 'D5XibWWPCv+nOOfcdfnUGQ==', 'BF3Sc/vqg8Zk70Y8rbT45xzAIxblGoWgLqknCHuNj7f6QFBNi2UnLbG7yMqf2eWShhyBJdu9zqx7DG2qzlqhbBE=', null, 'unknown', 'backend-tests', '[ ]', 0, 5, 'PUz/He8+RFoOPS1NG6Gw3TDXIQ/DnS1skNBOQWzXX60=', 0, 'BPHJ4N90NUuLDq92FJUPcaKZOMad1KH2HrwQEN9DB5ST5fiJU4baYF1VlK1JHglnnN1miL3/Qb6IyW3YSMBySYM=', '2023-04-03 14:04:06.015000', '2023-04-03 13:59:06.015000', '2023-04-03 13:59:16.293000', '2023-04-03 13:59:16.343000', 21, 3);
+
+INSERT INTO pa_recovery_code (id, recovery_code, application_id, user_id, activation_id, status, failed_attempts, max_failed_attempts, timestamp_created) VALUES
+    (1, 'VVVVV-VVVVV-VVVVV-VTFVA', 21, 'user1', '0d34cfc4-af98-4eb8-aba5-58f766bd2967', 2, 0, 10, '2023-04-03 13:59:06.015000');
+
+INSERT INTO pa_recovery_puk (id, recovery_code_id, puk, puk_encryption, puk_index, status) VALUES
+    (1, 1, '$argon2i$v=19$m=32768,t=3,p=16$ZHA5cVRlNjNlb0J5YUtTdw$Es3wkbY0eJCXXy6Q8Qbb5zaSg0eStfKUwlvvPA9c0RA', 0, 1, 1);
+
+INSERT INTO pa_recovery_config (id, application_id, activation_recovery_enabled, recovery_postcard_enabled, allow_multiple_recovery_codes, postcard_private_key_base64, postcard_public_key_base64, remote_public_key_base64, postcard_priv_key_encryption) VALUES
+    (1, 21, true, true, false, 'KdcJHQAT/BBF+26uBGNhGC0GQ93ncTx7V6kusNA8AdE=', 'BP8ZZ0LjiwRCQPob3NFwF9pPDLhxCjnPNmENzayEeeGCiDdk0gl3UzUhYk9ntMg18LZdhpvYnprZ8mk/71WlQqo=', null, 0);
@@ -0,0 +1,5 @@
+INSERT INTO pa_application (id, name) VALUES
+    (21, 'PA_Tests');
+
+INSERT INTO pa_recovery_config (id, application_id, activation_recovery_enabled, recovery_postcard_enabled, allow_multiple_recovery_codes, postcard_private_key_base64, postcard_public_key_base64, remote_public_key_base64, postcard_priv_key_encryption) VALUES
+    (1, 21, true, true, false, 'not a private key', 'BPHJ4N90NUuLDq92FJUPcaKZOMad1KH2HrwQEN9DB5ST5fiJU4baYF1VlK1JHglnnN1miL3/Qb6IyW3YSMBySYM=', null, 0);
@@ -253,6 +253,16 @@ public class PowerAuthRestClient implements PowerAuthClient {
         return initActivation(request, EMPTY_MULTI_MAP, EMPTY_MULTI_MAP);
     }
 
+    @Override
+    public InitActivationBatchResponse initActivationBatch(InitActivationBatchRequest request) throws PowerAuthClientException {
+        return initActivationBatch(request, EMPTY_MULTI_MAP, EMPTY_MULTI_MAP);
+    }
+
+    @Override
+    public InitActivationBatchResponse initActivationBatch(InitActivationBatchRequest request, MultiValueMap<String, String> queryParams, MultiValueMap<String, String> httpHeaders) throws PowerAuthClientException {
+        return callV3RestApi("/activation/init/batch", request, queryParams, httpHeaders, InitActivationBatchResponse.class);
+    }
+
     @Override
     public PrepareActivationResponse prepareActivation(PrepareActivationRequest request) throws PowerAuthClientException {
         return prepareActivation(request, EMPTY_MULTI_MAP, EMPTY_MULTI_MAP);
@@ -1378,6 +1388,16 @@ public class PowerAuthRestClient implements PowerAuthClient {
         return callV3RestApi("/operation/create", request, queryParams, httpHeaders, OperationDetailResponse.class);
     }
 
+    @Override
+    public OperationCreateBatchResponse createOperationBatch(OperationCreateBatchRequest request) throws PowerAuthClientException {
+        return createOperationBatch(request, EMPTY_MULTI_MAP, EMPTY_MULTI_MAP);
+    }
+
+    @Override
+    public OperationCreateBatchResponse createOperationBatch(OperationCreateBatchRequest request, MultiValueMap<String, String> queryParams, MultiValueMap<String, String> httpHeaders) throws PowerAuthClientException {
+        return callV3RestApi("/operation/create/batch", request, queryParams, httpHeaders, OperationCreateBatchResponse.class);
+    }
+
     @Override
     public OperationDetailResponse operationDetail(OperationDetailRequest request) throws PowerAuthClientException {
         return operationDetail(request, EMPTY_MULTI_MAP, EMPTY_MULTI_MAP);